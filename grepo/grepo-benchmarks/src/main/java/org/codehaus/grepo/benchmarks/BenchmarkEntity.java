@@ -0,0 +1,78 @@
+/*
+ * Copyright 2009 Grepo Committers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.codehaus.grepo.benchmarks;
+
+import java.io.Serializable;
+
+/**
+ * Entity used by the query benchmarks (mapped for hibernate and jpa).
+ *
+ * @author dguggi
+ */
+public class BenchmarkEntity implements Serializable {
+
+    /** SerialVersionUid. */
+    private static final long serialVersionUID = 3410960385120466287L;
+
+    /** The id. */
+    private Long id;
+
+    /** The name. */
+    private String name;
+
+    /** The type. */
+    private Integer type;
+
+    /** Default constructor. */
+    public BenchmarkEntity() {
+        super();
+    }
+
+    /**
+     * @param name The name to set.
+     * @param type The type to set.
+     */
+    public BenchmarkEntity(String name, Integer type) {
+        this.name = name;
+        this.type = type;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Integer getType() {
+        return type;
+    }
+
+    public void setType(Integer type) {
+        this.type = type;
+    }
+
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2009 Grepo Committers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.codehaus.grepo.benchmarks.converter;
+
+import java.util.concurrent.TimeUnit;
+
+import org.codehaus.grepo.core.aop.MethodParameterInfo;
+import org.codehaus.grepo.core.aop.MethodParameterInfoImpl;
+import org.codehaus.grepo.core.converter.PlaceHolderResultConverter;
+import org.codehaus.grepo.core.converter.ResultConversionServiceImpl;
+import org.codehaus.grepo.core.converter.ResultConverterFindingStrategyImpl;
+import org.codehaus.grepo.core.converter.ResultConverterRegistry;
+import org.codehaus.grepo.core.converter.ResultToBooleanConverter;
+import org.codehaus.grepo.core.converter.ResultToIntegerConverter;
+import org.codehaus.grepo.core.converter.ResultToLongConverter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link ResultConversionServiceImpl#convert(MethodParameterInfo, Class, Object)} using the same registry
+ * as the default configuration ({@code grepo-core-default.cfg.xml}).
+ *
+ * @author dguggi
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResultConversionBenchmark {
+
+    /**
+     * Declares the method return types used by the benchmark.
+     */
+    public interface ConversionTarget {
+
+        boolean isExisting();
+
+        int getCount();
+
+        Long getId();
+
+        String getName();
+    }
+
+    private ResultConversionServiceImpl conversionService;
+
+    private MethodParameterInfo booleanMpi;
+
+    private MethodParameterInfo intMpi;
+
+    private MethodParameterInfo longMpi;
+
+    private MethodParameterInfo stringMpi;
+
+    private Long longResult;
+
+    private Integer integerResult;
+
+    /**
+     * Creates the conversion service.
+     *
+     * @throws Exception in case of errors.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        ResultConverterRegistry registry = new ResultConverterRegistry();
+        registry.add(boolean.class, ResultToBooleanConverter.class);
+        registry.add(Boolean.class, ResultToBooleanConverter.class);
+        registry.add(long.class, ResultToLongConverter.class);
+        registry.add(Long.class, ResultToLongConverter.class);
+        registry.add(int.class, ResultToIntegerConverter.class);
+        registry.add(Integer.class, ResultToIntegerConverter.class);
+
+        ResultConverterFindingStrategyImpl findingStrategy = new ResultConverterFindingStrategyImpl();
+        findingStrategy.setConverterRegistry(registry);
+
+        conversionService = new ResultConversionServiceImpl();
+        conversionService.setConverterFindingStrategy(findingStrategy);
+
+        booleanMpi = createMethodParameterInfo("isExisting");
+        intMpi = createMethodParameterInfo("getCount");
+        longMpi = createMethodParameterInfo("getId");
+        stringMpi = createMethodParameterInfo("getName");
+
+        longResult = Long.valueOf(1L);
+        integerResult = Integer.valueOf(1);
+    }
+
+    private MethodParameterInfo createMethodParameterInfo(String methodName) throws NoSuchMethodException {
+        return new MethodParameterInfoImpl(ConversionTarget.class.getMethod(methodName), new Object[0]);
+    }
+
+    /**
+     * @return Returns the result converted from {@link Long} to {@code boolean}.
+     */
+    @Benchmark
+    public Object convertToBoolean() {
+        return conversionService.convert(booleanMpi, PlaceHolderResultConverter.class, longResult);
+    }
+
+    /**
+     * @return Returns the result converted from {@link Long} to {@code int}.
+     */
+    @Benchmark
+    public Object convertToInteger() {
+        return conversionService.convert(intMpi, PlaceHolderResultConverter.class, longResult);
+    }
+
+    /**
+     * @return Returns the result converted from {@link Integer} to {@link Long}.
+     */
+    @Benchmark
+    public Object convertToLong() {
+        return conversionService.convert(longMpi, PlaceHolderResultConverter.class, integerResult);
+    }
+
+    /**
+     * @return Returns the unconverted result (no conversion is required).
+     */
+    @Benchmark
+    public Object noConversion() {
+        return conversionService.convert(stringMpi, PlaceHolderResultConverter.class, "name");
+    }
+
+}
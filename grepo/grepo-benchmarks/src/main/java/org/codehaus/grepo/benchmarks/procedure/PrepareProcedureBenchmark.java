@@ -0,0 +1,114 @@
+/*
+ * Copyright 2009 Grepo Committers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.codehaus.grepo.benchmarks.procedure;
+
+import java.util.concurrent.TimeUnit;
+
+import org.codehaus.grepo.procedure.aop.ProcedureMethodParameterInfo;
+import org.codehaus.grepo.procedure.aop.ProcedureMethodParameterInfoImpl;
+import org.codehaus.grepo.procedure.cache.ConcurrentProcedureCachingStrategyImpl;
+import org.codehaus.grepo.procedure.cache.ProcedureCachingStrategyImpl;
+import org.codehaus.grepo.procedure.compile.ProcedureCompilationStrategyImpl;
+import org.codehaus.grepo.procedure.input.ProcedureInputGenerationStrategyImpl;
+import org.codehaus.grepo.procedure.repository.GrepoProcedureConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.object.StoredProcedure;
+
+/**
+ * Measures {@code GenericProcedureRepositoryImpl.prepareProcedure} with and without procedure caching. Run with
+ * {@code -t <threads>} to see the effect of contention on the caching strategy.
+ *
+ * @author dguggi
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PrepareProcedureBenchmark {
+
+    /** The caching strategy to use. */
+    @Param({"concurrent", "synchronized"})
+    private String cachingStrategy;
+
+    private BenchmarkProcedureRepositoryImpl repository;
+
+    private ProcedureMethodParameterInfo cachedPmpi;
+
+    private ProcedureMethodParameterInfo uncachedPmpi;
+
+    /**
+     * Creates the repository and the method parameter infos.
+     *
+     * @throws Exception in case of errors.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        GrepoProcedureConfiguration configuration = new GrepoProcedureConfiguration();
+        configuration.setCompilationStrategy(new ProcedureCompilationStrategyImpl());
+        configuration.setInputGenerationStrategy(new ProcedureInputGenerationStrategyImpl());
+        if ("synchronized".equals(cachingStrategy)) {
+            configuration.setCachingStrategy(new ProcedureCachingStrategyImpl());
+        } else {
+            configuration.setCachingStrategy(new ConcurrentProcedureCachingStrategyImpl());
+        }
+
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:hsqldb:mem:benchmarks/procedure", "SA",
+            "");
+        dataSource.setDriverClassName("org.hsqldb.jdbcDriver");
+
+        repository = new BenchmarkProcedureRepositoryImpl();
+        repository.setConfiguration(configuration);
+        repository.setDataSource(dataSource);
+
+        Object[] parameters = new Object[] {"value", 1};
+        cachedPmpi = new ProcedureMethodParameterInfoImpl(ProcedureBenchmarkRepository.class.getMethod(
+            "executeWithCaching", String.class, Integer.class), parameters);
+        uncachedPmpi = new ProcedureMethodParameterInfoImpl(ProcedureBenchmarkRepository.class.getMethod(
+            "executeWithoutCaching", String.class, Integer.class), parameters);
+    }
+
+    /**
+     * @return Returns the cached procedure.
+     */
+    @Benchmark
+    public StoredProcedure prepareWithCaching() {
+        return repository.prepare(cachedPmpi);
+    }
+
+    /**
+     * @return Returns the newly compiled procedure.
+     */
+    @Benchmark
+    public StoredProcedure prepareWithoutCaching() {
+        return repository.prepare(uncachedPmpi);
+    }
+
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2009 Grepo Committers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.codehaus.grepo.benchmarks.procedure;
+
+import java.sql.Types;
+
+import org.codehaus.grepo.procedure.annotation.GenericProcedure;
+import org.codehaus.grepo.procedure.annotation.In;
+import org.codehaus.grepo.procedure.annotation.Out;
+import org.codehaus.grepo.procedure.repository.GenericProcedureRepository;
+
+/**
+ * Procedure definitions used by {@link PrepareProcedureBenchmark}. The procedures are only compiled, never executed.
+ *
+ * @author dguggi
+ */
+public interface ProcedureBenchmarkRepository extends GenericProcedureRepository {
+
+    @GenericProcedure(sql = "grepo_benchmark.simple_proc", cachingEnabled = true)
+    @Out(name = "p_result", sqlType = Types.VARCHAR)
+    String executeWithCaching(
+            @In(name = "p_string", sqlType = Types.VARCHAR) String p1,
+            @In(name = "p_integer", sqlType = Types.INTEGER) Integer p2);
+
+    @GenericProcedure(sql = "grepo_benchmark.simple_proc", cachingEnabled = false)
+    @Out(name = "p_result", sqlType = Types.VARCHAR)
+    String executeWithoutCaching(
+            @In(name = "p_string", sqlType = Types.VARCHAR) String p1,
+            @In(name = "p_integer", sqlType = Types.INTEGER) Integer p2);
+
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2009 Grepo Committers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.codehaus.grepo.benchmarks.query.hibernate;
+
+import java.util.List;
+
+import org.codehaus.grepo.benchmarks.BenchmarkEntity;
+import org.codehaus.grepo.query.commons.annotation.FirstResult;
+import org.codehaus.grepo.query.commons.annotation.GenericQuery;
+import org.codehaus.grepo.query.commons.annotation.MaxResults;
+import org.codehaus.grepo.query.hibernate.repository.ReadWriteHibernateRepository;
+
+/**
+ * Repository used by {@link HibernateListQueryBenchmark}.
+ *
+ * @author dguggi
+ */
+public interface HibernateBenchmarkRepository extends ReadWriteHibernateRepository<BenchmarkEntity, Long> {
+
+    /**
+     * Uses the named query {@code org.codehaus.grepo.benchmarks.BenchmarkEntity.ByType}.
+     *
+     * @param type The type.
+     * @param firstResult The first result.
+     * @param maxResults The max results.
+     * @return Returns a list of entities.
+     */
+    @GenericQuery
+    List<BenchmarkEntity> findByType(int type, @FirstResult int firstResult, @MaxResults int maxResults);
+
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2009 Grepo Committers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.codehaus.grepo.benchmarks.query.hibernate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.codehaus.grepo.benchmarks.BenchmarkEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.support.ClassPathXmlApplicationContext;
+
+/**
+ * Measures a list query through the whole proxy path: {@code GenericQueryMethodInterceptor} -&gt;
+ * {@code DefaultHibernateRepository.executeGenericQuery} -&gt; {@code ListQueryExecutor} against an in-memory HSQLDB.
+ *
+ * @author dguggi
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HibernateListQueryBenchmark {
+
+    /** The number of rows returned by each query. */
+    @Param({"1", "10", "100"})
+    private int rows;
+
+    private ClassPathXmlApplicationContext applicationContext;
+
+    private HibernateBenchmarkRepository repository;
+
+    /**
+     * Creates the application context and the test data.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        applicationContext = new ClassPathXmlApplicationContext(
+            "org/codehaus/grepo/benchmarks/query/hibernate/HibernateListQueryBenchmark-context.xml");
+        repository = applicationContext.getBean(HibernateBenchmarkRepository.class);
+        for (int i = 0; i < rows; i++) {
+            repository.save(new BenchmarkEntity("name" + i, 1));
+        }
+    }
+
+    /**
+     * Closes the application context.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        applicationContext.close();
+    }
+
+    /**
+     * @return Returns the query result.
+     */
+    @Benchmark
+    public List<BenchmarkEntity> findByType() {
+        return repository.findByType(1, 0, rows);
+    }
+
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2010 Grepo Committers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.codehaus.grepo.benchmarks.statistics;
+
+import java.util.Calendar;
+import java.util.concurrent.TimeUnit;
+
+import org.codehaus.grepo.statistics.collection.StatisticsCollectionImpl;
+import org.codehaus.grepo.statistics.domain.DurationAwareStatisticsEntryImpl;
+import org.codehaus.grepo.statistics.domain.StatisticsEntry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link StatisticsCollectionImpl#addStatisticsEntry(StatisticsEntry)} with several threads adding entries
+ * to a shared collection.
+ *
+ * @author dguggi
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class StatisticsCollectionBenchmark {
+
+    /** The number of distinct identifiers (a single identifier means maximum contention). */
+    @Param({"1", "100"})
+    private int identifiers;
+
+    /** The max number of recent and top duration entries kept per identifier. */
+    @Param({"0", "10"})
+    private int maxEntries;
+
+    private StatisticsCollectionImpl collection;
+
+    /**
+     * Creates the shared collection.
+     */
+    @Setup(Level.Iteration)
+    public void setUp() {
+        collection = new StatisticsCollectionImpl();
+        if (maxEntries > 0) {
+            collection.setMaxNumberOfRecentStatisticsEntries(maxEntries);
+            collection.setMaxNumberOfTopDurationStatisticsEntries(maxEntries);
+        }
+    }
+
+    /**
+     * Holds the (pre-created) entries of a single thread.
+     */
+    @State(Scope.Thread)
+    public static class ThreadEntries {
+
+        private StatisticsEntry[] entries;
+
+        private int index;
+
+        /**
+         * @param benchmark The benchmark state.
+         */
+        @Setup(Level.Trial)
+        public void setUp(StatisticsCollectionBenchmark benchmark) {
+            entries = new StatisticsEntry[benchmark.identifiers];
+            for (int i = 0; i < entries.length; i++) {
+                DurationAwareStatisticsEntryImpl entry = new DurationAwareStatisticsEntryImpl();
+                entry.setIdentifier("identifier" + i);
+                entry.setCreation(Calendar.getInstance());
+                entry.setCompletion(Calendar.getInstance());
+                entry.setDurationMillis(Long.valueOf(i));
+                entries[i] = entry;
+            }
+        }
+
+        /**
+         * @return Returns the next entry.
+         */
+        public StatisticsEntry next() {
+            StatisticsEntry entry = entries[index];
+            index = (index + 1) % entries.length;
+            return entry;
+        }
+    }
+
+    /**
+     * @param entries The entries of the current thread.
+     */
+    @Benchmark
+    public void addStatisticsEntry(ThreadEntries entries) {
+        collection.addStatisticsEntry(entries.next());
+    }
+
+}
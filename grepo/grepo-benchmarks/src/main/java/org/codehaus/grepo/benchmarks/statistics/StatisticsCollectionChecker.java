@@ -0,0 +1,130 @@
+/*
+ * Copyright 2010 Grepo Committers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.codehaus.grepo.benchmarks.statistics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.codehaus.grepo.statistics.collection.DurationHistogramSnapshot;
+import org.codehaus.grepo.statistics.collection.StatisticsCollection;
+import org.codehaus.grepo.statistics.collection.StatisticsCollectionEntry;
+import org.codehaus.grepo.statistics.domain.DurationAwareStatisticsEntry;
+
+/**
+ * Checks the consistency of a {@link StatisticsCollection} after a known number of entries has been added. Only
+ * methods of the {@link StatisticsCollection} and {@link StatisticsCollectionEntry} interfaces are used, so any
+ * implementation can be checked.
+ *
+ * @author dguggi
+ */
+public class StatisticsCollectionChecker {
+
+    /**
+     * @param collection The collection to check.
+     * @param expectedInvocations The expected number of invocations mapped by identifier.
+     * @return Returns a description of each violation found (empty if the collection is consistent).
+     */
+    public List<String> check(StatisticsCollection collection, Map<String, Long> expectedInvocations) {
+        List<String> violations = new ArrayList<String>();
+
+        for (Map.Entry<String, Long> expected : expectedInvocations.entrySet()) {
+            StatisticsCollectionEntry entry = collection.get(expected.getKey());
+            if (entry == null) {
+                violations.add(String.format("identifier '%s': missing", expected.getKey()));
+            } else {
+                checkEntry(expected.getKey(), entry, expected.getValue(), collection, violations);
+            }
+        }
+
+        for (String identifier : collection.getCollectionEntryIdentifiersList()) {
+            if (!expectedInvocations.containsKey(identifier)) {
+                violations.add(String.format("identifier '%s': unexpected", identifier));
+            }
+        }
+        return violations;
+    }
+
+    /**
+     * @param collection The collection.
+     * @return Returns the sum of the number of invocations of all collection entries.
+     */
+    public long getTotalNumberOfInvocations(StatisticsCollection collection) {
+        long total = 0;
+        for (StatisticsCollectionEntry entry : collection.getCollectionEntriesList()) {
+            total += entry.getNumberOfInvocations();
+        }
+        return total;
+    }
+
+    /**
+     * @param identifier The identifier.
+     * @param entry The collection entry to check.
+     * @param expectedInvocations The expected number of invocations.
+     * @param collection The collection.
+     * @param violations The list to add violations to.
+     */
+    protected void checkEntry(String identifier, StatisticsCollectionEntry entry, long expectedInvocations,
+            StatisticsCollection collection, List<String> violations) {
+        long invocations = entry.getNumberOfInvocations();
+        if (invocations != expectedInvocations) {
+            violations.add(String.format("identifier '%s': expected %d invocations, got %d", identifier,
+                expectedInvocations, invocations));
+        }
+
+        DurationHistogramSnapshot histogram = entry.getDurationHistogram().getSnapshot();
+        if (histogram.getCount() != expectedInvocations) {
+            violations.add(String.format("identifier '%s': expected %d recorded durations, got %d", identifier,
+                expectedInvocations, histogram.getCount()));
+        }
+
+        checkSize(identifier, "recent", entry.getRecentStatisticsEntriesList().size(), expectedInvocations,
+            collection.getMaxNumberOfRecentStatisticsEntries(), violations);
+
+        List<DurationAwareStatisticsEntry> top = entry.getTopDurationStatisticsEntriesList();
+        checkSize(identifier, "top duration", top.size(), expectedInvocations,
+            collection.getMaxNumberOfTopDurationStatisticsEntries(), violations);
+
+        DurationAwareStatisticsEntry min = entry.getMinDurationStatisticsEntry();
+        DurationAwareStatisticsEntry max = entry.getMaxDurationStatisticsEntry();
+        if (min == null || max == null) {
+            violations.add(String.format("identifier '%s': missing min/max duration entry", identifier));
+        } else if (min.getDurationMillis() > max.getDurationMillis()) {
+            violations.add(String.format("identifier '%s': min duration %d exceeds max duration %d", identifier,
+                min.getDurationMillis(), max.getDurationMillis()));
+        } else if (!top.isEmpty()) {
+            // the slowest entry must always be one of the top duration entries...
+            long maxTopDuration = Long.MIN_VALUE;
+            for (DurationAwareStatisticsEntry topEntry : top) {
+                maxTopDuration = Math.max(maxTopDuration, topEntry.getDurationMillis());
+            }
+            if (maxTopDuration != max.getDurationMillis()) {
+                violations.add(String.format("identifier '%s': max duration %d is not among the top durations "
+                    + "(slowest is %d)", identifier, max.getDurationMillis(), maxTopDuration));
+            }
+        }
+    }
+
+    private void checkSize(String identifier, String name, int size, long expectedInvocations, Integer maxSize,
+            List<String> violations) {
+        if (size > expectedInvocations || (maxSize != null && size > maxSize)) {
+            violations.add(String.format("identifier '%s': %d %s entries (max is %s, invocations are %d)",
+                identifier, size, name, maxSize, expectedInvocations));
+        }
+    }
+
+}
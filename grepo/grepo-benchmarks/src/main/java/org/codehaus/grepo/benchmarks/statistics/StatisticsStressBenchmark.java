@@ -0,0 +1,288 @@
+/*
+ * Copyright 2010 Grepo Committers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.codehaus.grepo.benchmarks.statistics;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+
+import org.codehaus.grepo.statistics.collection.InMemoryStatisticsCollectionStrategy;
+import org.codehaus.grepo.statistics.collection.StatisticsCollection;
+import org.codehaus.grepo.statistics.collection.StatisticsCollectionImpl;
+import org.codehaus.grepo.statistics.domain.StatisticsEntry;
+import org.codehaus.grepo.statistics.domain.StatisticsEntryFactoryImpl;
+import org.codehaus.grepo.statistics.service.StatisticsManagerImpl;
+import org.springframework.beans.BeanUtils;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.StringUtils;
+
+/**
+ * Contention benchmark for {@link StatisticsManagerImpl}, {@link InMemoryStatisticsCollectionStrategy} and a
+ * {@link StatisticsCollection}. For each combination of threads and identifiers a fresh collection is created, each
+ * thread records a fixed number of entries (spread over all identifiers) and the following numbers are reported:
+ * <ul>
+ * <li>throughput (recorded entries per second over all threads)</li>
+ * <li>p99 latency of recording a single entry (create and complete)</li>
+ * <li>lost updates (recorded entries minus the sum of {@code getNumberOfInvocations()})</li>
+ * <li>retained heap (used heap after gc compared to the used heap before the run)</li>
+ * <li>the result of the {@link StatisticsCollectionChecker}</li>
+ * </ul>
+ * The benchmark is configured with system properties:
+ *
+ * <pre>
+ * java -Dthreads=1,2,4,8,16,32,64 -Didentifiers=1,10,100,1000,10000 -Doperations=20000 -DmaxEntries=10 \
+ *     -Dcollection=org.codehaus.grepo.statistics.collection.StatisticsCollectionImpl \
+ *     -cp grepo-benchmarks/target/benchmarks.jar org.codehaus.grepo.benchmarks.statistics.StatisticsStressBenchmark
+ * </pre>
+ *
+ * The {@code collection} class must implement {@link StatisticsCollection} and have a default constructor, so
+ * alternative implementations can be compared under identical load. The process exits with status {@code 1} if any
+ * run fails the consistency check. Note that many identifiers combined with the default max number of recent and top
+ * duration entries need a large heap (e.g. {@code -Xmx2g}).
+ *
+ * @author dguggi
+ */
+public class StatisticsStressBenchmark {
+
+    private static final String DEFAULT_THREADS = "1,2,4,8,16,32,64";
+
+    private static final String DEFAULT_IDENTIFIERS = "1,10,100,1000,10000";
+
+    private static final int DEFAULT_OPERATIONS = 20000;
+
+    private final Class<? extends StatisticsCollection> collectionClass;
+
+    private final int operationsPerThread;
+
+    private final Integer maxEntries;
+
+    private final StatisticsCollectionChecker checker = new StatisticsCollectionChecker();
+
+    /**
+     * @param collectionClass The collection implementation to benchmark.
+     * @param operationsPerThread The number of entries recorded by each thread.
+     * @param maxEntries The max number of recent and top duration entries (may be {@code null}).
+     */
+    public StatisticsStressBenchmark(Class<? extends StatisticsCollection> collectionClass, int operationsPerThread,
+            Integer maxEntries) {
+        this.collectionClass = collectionClass;
+        this.operationsPerThread = operationsPerThread;
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * @param args The arguments (not used, see class description).
+     * @throws Exception in case of errors.
+     */
+    @SuppressWarnings("unchecked")
+    public static void main(String[] args) throws Exception {
+        Class<? extends StatisticsCollection> collectionClass = (Class<? extends StatisticsCollection>)ClassUtils
+            .forName(System.getProperty("collection", StatisticsCollectionImpl.class.getName()),
+                StatisticsStressBenchmark.class.getClassLoader());
+        int operations = Integer.getInteger("operations", DEFAULT_OPERATIONS);
+        Integer maxEntries = Integer.getInteger("maxEntries");
+        int[] threadCounts = parseIntegers(System.getProperty("threads", DEFAULT_THREADS));
+        int[] identifierCounts = parseIntegers(System.getProperty("identifiers", DEFAULT_IDENTIFIERS));
+
+        StatisticsStressBenchmark benchmark = new StatisticsStressBenchmark(collectionClass, operations, maxEntries);
+
+        // warm-up
+        benchmark.run(threadCounts[threadCounts.length - 1], identifierCounts[0]);
+
+        System.out.println(String.format("collection=%s, operations/thread=%d, maxEntries=%s",
+            collectionClass.getName(), operations, maxEntries));
+        System.out.println(String.format("%8s %12s %14s %12s %12s %14s  %s", "threads", "identifiers", "ops/s",
+            "p99 (us)", "lost", "retained (KB)", "check"));
+
+        boolean consistent = true;
+        for (int identifiers : identifierCounts) {
+            for (int threads : threadCounts) {
+                StatisticsStressResult result = benchmark.run(threads, identifiers);
+                System.out.println(String.format("%8d %12d %14.0f %12.1f %12d %14d  %s", threads, identifiers,
+                    result.getThroughput(), result.getP99LatencyNanos() / 1000d, result.getLostUpdates(),
+                    result.getRetainedHeapBytes() / 1024, (result.isConsistent() ? "OK" : "FAILED")));
+                for (String violation : result.getViolations()) {
+                    System.out.println("    " + violation);
+                }
+                consistent &= result.isConsistent();
+            }
+        }
+
+        if (!consistent) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Records {@code operationsPerThread} entries from each of the given number of threads.
+     *
+     * @param threads The number of threads.
+     * @param identifiers The number of distinct identifiers.
+     * @return Returns the result.
+     * @throws InterruptedException if interrupted while waiting for the threads.
+     */
+    public StatisticsStressResult run(int threads, int identifiers) throws InterruptedException {
+        StatisticsCollection collection = BeanUtils.instantiateClass(collectionClass);
+        if (maxEntries != null) {
+            collection.setMaxNumberOfRecentStatisticsEntries(maxEntries);
+            collection.setMaxNumberOfTopDurationStatisticsEntries(maxEntries);
+        }
+        InMemoryStatisticsCollectionStrategy strategy = new InMemoryStatisticsCollectionStrategy();
+        strategy.setStatisticsCollection(collection);
+        StatisticsManagerImpl manager = new StatisticsManagerImpl();
+        manager.setStatisticsEntryFactory(new StatisticsEntryFactoryImpl());
+        manager.setStatisticsCollectionStrategy(strategy);
+
+        String[] identifierNames = new String[identifiers];
+        for (int i = 0; i < identifiers; i++) {
+            identifierNames[i] = "identifier" + i;
+        }
+
+        long usedHeapBefore = getUsedHeapAfterGc();
+
+        Worker[] workers = new Worker[threads];
+        CountDownLatch start = new CountDownLatch(1);
+        for (int t = 0; t < threads; t++) {
+            workers[t] = new Worker(manager, identifierNames, t, operationsPerThread, start);
+        }
+
+        for (Worker worker : workers) {
+            worker.start();
+        }
+        long startNanos = System.nanoTime();
+        start.countDown();
+        for (Worker worker : workers) {
+            worker.join();
+        }
+        long elapsedNanos = System.nanoTime() - startNanos;
+
+        long[] latencies = new long[threads * operationsPerThread];
+        Map<String, Long> expectedInvocations = new HashMap<String, Long>();
+        List<String> failures = new ArrayList<String>();
+        for (int t = 0; t < threads; t++) {
+            if (workers[t].failure != null) {
+                failures.add(String.format("thread %d failed: %s", t, workers[t].failure));
+            }
+            System.arraycopy(workers[t].latencies, 0, latencies, t * operationsPerThread, operationsPerThread);
+            for (int i = 0; i < identifiers; i++) {
+                long count = workers[t].invocations[i];
+                if (count > 0) {
+                    Long current = expectedInvocations.get(identifierNames[i]);
+                    expectedInvocations.put(identifierNames[i], (current == null ? count : current + count));
+                }
+            }
+            workers[t] = null;
+        }
+        Arrays.sort(latencies);
+        long p99 = (latencies.length == 0 ? 0 : latencies[(int)Math.ceil(latencies.length * 0.99d) - 1]);
+        latencies = null;
+
+        long retainedHeap = Math.max(0, getUsedHeapAfterGc() - usedHeapBefore);
+
+        long operations = (long)threads * operationsPerThread;
+        long lostUpdates = sum(expectedInvocations.values()) - checker.getTotalNumberOfInvocations(collection);
+        List<String> violations = checker.check(collection, expectedInvocations);
+        violations.addAll(0, failures);
+
+        return new StatisticsStressResult(threads, identifiers, operations, elapsedNanos, p99, lostUpdates,
+            retainedHeap, violations);
+    }
+
+    private static long sum(Collection<Long> values) {
+        long sum = 0;
+        for (Long value : values) {
+            sum += value;
+        }
+        return sum;
+    }
+
+    private static long getUsedHeapAfterGc() throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(50);
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private static int[] parseIntegers(String value) {
+        String[] values = StringUtils.commaDelimitedListToStringArray(value);
+        int[] result = new int[values.length];
+        for (int i = 0; i < values.length; i++) {
+            result[i] = Integer.parseInt(values[i].trim());
+        }
+        return result;
+    }
+
+    /**
+     * Records entries using the statistics manager.
+     */
+    private static final class Worker extends Thread {
+
+        private final StatisticsManagerImpl manager;
+
+        private final String[] identifiers;
+
+        private final int offset;
+
+        private final CountDownLatch start;
+
+        private final long[] latencies;
+
+        private final long[] invocations;
+
+        private volatile Throwable failure;
+
+        Worker(StatisticsManagerImpl manager, String[] identifiers, int offset, int operations,
+                CountDownLatch start) {
+            super("statistics-stress-" + offset);
+            this.manager = manager;
+            this.identifiers = identifiers;
+            this.offset = offset;
+            this.start = start;
+            this.latencies = new long[operations];
+            this.invocations = new long[identifiers.length];
+        }
+
+        @Override
+        public void run() {
+            try {
+                start.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            try {
+                for (int i = 0; i < latencies.length; i++) {
+                    int index = (offset + i) % identifiers.length;
+                    long startNanos = System.nanoTime();
+                    StatisticsEntry entry = manager.createStatisticsEntry(identifiers[index]);
+                    manager.completeStatisticsEntry(entry);
+                    latencies[i] = System.nanoTime() - startNanos;
+                    invocations[index]++;
+                }
+            } catch (Throwable e) {
+                failure = e;
+            }
+        }
+    }
+
+}
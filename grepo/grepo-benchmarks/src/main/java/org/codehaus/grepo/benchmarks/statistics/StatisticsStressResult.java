@@ -0,0 +1,112 @@
+/*
+ * Copyright 2010 Grepo Committers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.codehaus.grepo.benchmarks.statistics;
+
+import java.util.List;
+
+/**
+ * The result of a single {@link StatisticsStressBenchmark} run.
+ *
+ * @author dguggi
+ */
+public class StatisticsStressResult {
+
+    private final int threads;
+
+    private final int identifiers;
+
+    private final long operations;
+
+    private final long elapsedNanos;
+
+    private final long p99LatencyNanos;
+
+    private final long lostUpdates;
+
+    private final long retainedHeapBytes;
+
+    private final List<String> violations;
+
+    /**
+     * @param threads The number of threads.
+     * @param identifiers The number of identifiers.
+     * @param operations The number of recorded entries (over all threads).
+     * @param elapsedNanos The elapsed time.
+     * @param p99LatencyNanos The 99th percentile of the time needed to record a single entry.
+     * @param lostUpdates The number of recorded entries which are not counted by the collection.
+     * @param retainedHeapBytes The heap retained by the collection.
+     * @param violations The violations reported by the {@link StatisticsCollectionChecker}.
+     */
+    public StatisticsStressResult(int threads, int identifiers, long operations, long elapsedNanos,
+            long p99LatencyNanos, long lostUpdates, long retainedHeapBytes, List<String> violations) {
+        this.threads = threads;
+        this.identifiers = identifiers;
+        this.operations = operations;
+        this.elapsedNanos = elapsedNanos;
+        this.p99LatencyNanos = p99LatencyNanos;
+        this.lostUpdates = lostUpdates;
+        this.retainedHeapBytes = retainedHeapBytes;
+        this.violations = violations;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public int getIdentifiers() {
+        return identifiers;
+    }
+
+    public long getOperations() {
+        return operations;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * @return Returns the number of recorded entries per second.
+     */
+    public double getThroughput() {
+        return (elapsedNanos == 0 ? 0 : operations * 1000000000d / elapsedNanos);
+    }
+
+    public long getP99LatencyNanos() {
+        return p99LatencyNanos;
+    }
+
+    public long getLostUpdates() {
+        return lostUpdates;
+    }
+
+    public long getRetainedHeapBytes() {
+        return retainedHeapBytes;
+    }
+
+    public List<String> getViolations() {
+        return violations;
+    }
+
+    /**
+     * @return Returns {@code true} if the collection passed all checks.
+     */
+    public boolean isConsistent() {
+        return violations.isEmpty();
+    }
+
+}
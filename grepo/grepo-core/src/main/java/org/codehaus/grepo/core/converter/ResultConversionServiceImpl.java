@@ -16,12 +16,18 @@
 
 package org.codehaus.grepo.core.converter;
 
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.codehaus.grepo.core.annotation.Stateless;
 import org.codehaus.grepo.core.aop.MethodParameterInfo;
+import org.codehaus.grepo.core.util.ClassUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Implementation of {@link ResultConversionService}.
+ * Implementation of {@link ResultConversionService}. Converters annotated with {@link Stateless} are instantiated only
+ * once and reused afterwards.
  *
  * @author dguggi
  */
@@ -31,6 +37,10 @@ public class ResultConversionServiceImpl implements ResultConversionService {
 
     private ResultConverterFindingStrategy converterFindingStrategy;
 
+    /** Cached instances of stateless converters. */
+    private final ConcurrentMap<Class<?>, ResultConverter<?>> statelessConverters =
+        new ConcurrentHashMap<Class<?>, ResultConverter<?>>();
+
     /**
      * {@inheritDoc}
      */
@@ -49,21 +59,49 @@ public class ResultConversionServiceImpl implements ResultConversionService {
                 logger.debug("Doing conversion for result (class={}, value={}) with converter '{}'", params);
             }
 
-            try {
-                ResultConverter<?> rc = converter.newInstance();
-                Object convertedResult = rc.convert(result);
-                logger.debug("Conversion result is '{}'", convertedResult);
-                return convertedResult;
-            } catch (InstantiationException e) {
-                String msg = String.format("Unable to create new instance of '%s': '%s'", converter.getName(), e
-                    .getMessage());
-                throw new ConversionException(msg, e);
-            } catch (IllegalAccessException e) {
-                String msg = String.format("Unable to create new instance of '%s': '%s'", converter.getName(), e
-                    .getMessage());
-                throw new ConversionException(msg, e);
+            Object convertedResult = getConverterInstance(converter).convert(result);
+            logger.debug("Conversion result is '{}'", convertedResult);
+            return convertedResult;
+        }
+    }
+
+    /**
+     * Returns an instance of the given converter class. Instances of stateless converters are cached.
+     *
+     * @param converter The converter class.
+     * @return Returns the converter instance.
+     * @throws ConversionException if the converter cannot be instantiated.
+     */
+    protected ResultConverter<?> getConverterInstance(Class<? extends ResultConverter<?>> converter)
+        throws ConversionException {
+        if (!ClassUtils.isStateless(converter)) {
+            return newConverterInstance(converter);
+        }
+
+        ResultConverter<?> rc = statelessConverters.get(converter);
+        if (rc == null) {
+            ResultConverter<?> created = newConverterInstance(converter);
+            rc = statelessConverters.putIfAbsent(converter, created);
+            if (rc == null) {
+                rc = created;
             }
         }
+        return rc;
+    }
+
+    private ResultConverter<?> newConverterInstance(Class<? extends ResultConverter<?>> converter)
+        throws ConversionException {
+        try {
+            return converter.newInstance();
+        } catch (InstantiationException e) {
+            String msg = String.format("Unable to create new instance of '%s': '%s'", converter.getName(), e
+                .getMessage());
+            throw new ConversionException(msg, e);
+        } catch (IllegalAccessException e) {
+            String msg = String.format("Unable to create new instance of '%s': '%s'", converter.getName(), e
+                .getMessage());
+            throw new ConversionException(msg, e);
+        }
     }
 
     public void setConverterFindingStrategy(ResultConverterFindingStrategy converterFindingStrategy) {
@@ -16,6 +16,9 @@
 
 package org.codehaus.grepo.core.converter;
 
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
 import org.codehaus.grepo.core.aop.MethodParameterInfo;
 import org.codehaus.grepo.core.exception.GrepoException;
 import org.codehaus.grepo.core.util.ClassUtils;
@@ -24,6 +27,9 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Default implementation of {@link ResultConverterFindingStrategy}.
+ * <p>
+ * If the user did not specify a converter, the decision whether (and which) build-in converter is required for a
+ * given combination of method return type and result class is cached, so subsequent lookups cost a single map hit.
  *
  * @author dguggi
  */
@@ -31,8 +37,15 @@ public class ResultConverterFindingStrategyImpl implements ResultConverterFindin
 
     private static final Logger logger = LoggerFactory.getLogger(ResultConverterFindingStrategyImpl.class);
 
+    /** Marks a cached decision where no conversion is required. */
+    private static final Class<? extends ResultConverter<?>> NO_CONVERSION = PlaceHolderResultConverter.class;
+
     private ResultConverterRegistry converterRegistry;
 
+    /** Cached conversion decisions. */
+    private final ConcurrentMap<ConversionKey, Class<? extends ResultConverter<?>>> conversionDecisions =
+        new ConcurrentHashMap<ConversionKey, Class<? extends ResultConverter<?>>>();
+
     /**
      * {@inheritDoc}
      *
@@ -71,10 +84,9 @@ public class ResultConverterFindingStrategyImpl implements ResultConverterFindin
                     String msg = String.format("No result converter specified for result 'null', but method '%s' "
                         + "has primitive return type '%s'", mpi.getMethodName(), methodReturnType);
                     throw new ConversionException(msg);
-                } else if (!resultIsNull && !ClassUtils.isAssignableFrom(methodReturnType, result.getClass())) {
-                    // ... and conversion is required, so try to find appropriate build-in converter from registry,
-                    // and throw an exception if no converter could be found...
-                    converterToUse = converterRegistry.get(methodReturnType, true);
+                } else if (!resultIsNull) {
+                    // ... and result is not null, so check if conversion is required...
+                    converterToUse = findRequiredConverter(methodReturnType, result.getClass());
                 }
             }
         }
@@ -88,12 +100,83 @@ public class ResultConverterFindingStrategyImpl implements ResultConverterFindin
         return converterToUse;
     }
 
+    /**
+     * Finds the build-in converter required to convert instances of {@code resultClass} to {@code methodReturnType}.
+     * The decision is cached per combination of both classes.
+     *
+     * @param methodReturnType The method return type.
+     * @param resultClass The class of the result.
+     * @return Returns the converter to use or {@code null} if no conversion is required.
+     * @throws GrepoException if conversion is required, but no converter could be found in the registry.
+     */
+    protected Class<? extends ResultConverter<?>> findRequiredConverter(Class<?> methodReturnType,
+            Class<?> resultClass) throws GrepoException {
+        ConversionKey key = new ConversionKey(methodReturnType, resultClass);
+        Class<? extends ResultConverter<?>> converter = conversionDecisions.get(key);
+        if (converter == null) {
+            if (ClassUtils.isAssignableFrom(methodReturnType, resultClass)) {
+                converter = NO_CONVERSION;
+            } else {
+                // conversion is required, so try to find appropriate build-in converter from registry,
+                // and throw an exception if no converter could be found...
+                converter = converterRegistry.get(methodReturnType, true);
+            }
+            conversionDecisions.putIfAbsent(key, converter);
+        }
+        return (converter == NO_CONVERSION ? null : converter);
+    }
+
+    /**
+     * Clears all cached conversion decisions.
+     */
+    public void clearConversionDecisions() {
+        conversionDecisions.clear();
+    }
+
     public void setConverterRegistry(ResultConverterRegistry registry) {
         this.converterRegistry = registry;
+        clearConversionDecisions();
     }
 
     protected ResultConverterRegistry getConverterRegistry() {
         return converterRegistry;
     }
 
+    /**
+     * Key for cached conversion decisions.
+     */
+    private static final class ConversionKey {
+
+        private final Class<?> methodReturnType;
+        private final Class<?> resultClass;
+
+        public ConversionKey(Class<?> methodReturnType, Class<?> resultClass) {
+            this.methodReturnType = methodReturnType;
+            this.resultClass = resultClass;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof ConversionKey)) {
+                return false;
+            }
+            ConversionKey other = (ConversionKey)obj;
+            return methodReturnType == other.methodReturnType && resultClass == other.resultClass;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int hashCode() {
+            return 31 * methodReturnType.hashCode() + resultClass.hashCode();
+        }
+    }
+
 }
@@ -18,6 +18,8 @@ package org.codehaus.grepo.core.converter;
 
 import java.util.regex.Pattern;
 
+import org.codehaus.grepo.core.annotation.Stateless;
+
 /**
  * This converter can convert instances of {@code java.lang.Number} objects to {@code java.lang.Boolean} - for any other
  * type {@code Boolean.FALSE} will be returned.<br>
@@ -29,6 +31,7 @@ import java.util.regex.Pattern;
  *
  * @author dguggi
  */
+@Stateless
 public class ResultToBooleanConverter implements ResultConverter<Boolean> {
 
     /** The string pattern. */
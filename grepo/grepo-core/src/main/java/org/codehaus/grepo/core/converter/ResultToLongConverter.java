@@ -16,12 +16,15 @@
 
 package org.codehaus.grepo.core.converter;
 
+import org.codehaus.grepo.core.annotation.Stateless;
+
 /**
  * This converter can convert {@code java.lang.String} and {@code java.lang.Number} objects to {@code java.lang.Long} -
  * for any other type {@code null} will be returned.
  *
  * @author dguggi
  */
+@Stateless
 public class ResultToLongConverter implements ResultConverter<Long> {
 
     /**
@@ -25,8 +25,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.aop.framework.ProxyFactory;
 import org.springframework.beans.BeansException;
-import org.springframework.beans.factory.FactoryBean;
 import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.SmartFactoryBean;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
 import org.springframework.transaction.support.TransactionTemplate;
@@ -40,7 +40,7 @@ import org.springframework.util.Assert;
  */
 public abstract class //
         GenericRepositoryFactoryBean<T extends GenericRepositorySupport, C extends GrepoConfiguration> //
-        implements FactoryBean<Object>, InitializingBean, ApplicationContextAware {
+        implements SmartFactoryBean<Object>, InitializingBean, ApplicationContextAware {
 
     private static final Logger logger = LoggerFactory.getLogger(GenericRepositoryFactoryBean.class);
 
@@ -71,6 +71,12 @@ public abstract class //
      */
     private boolean validateAfterPropertiesSet = true;
 
+    /**
+     * Flag to control whether or not the repository is created and initialized eagerly at context startup (default is
+     * {@code false}). See {@link #initializeEagerly(GenericRepositorySupport)}.
+     */
+    private boolean eagerInitialization = false;
+
     /** The optional transaction template. */
     private TransactionTemplate transactionTemplate;
 
@@ -89,6 +95,9 @@ public abstract class //
         // create target
         T target = createTarget();
         configureTarget(target);
+        if (isEagerInit()) {
+            initializeEagerly(target);
+        }
 
         // create proxy
         ProxyFactory proxyFactory = new ProxyFactory();
@@ -112,6 +121,20 @@ public abstract class //
         return true;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    public boolean isPrototype() {
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean isEagerInit() {
+        return eagerInitialization;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -260,6 +283,16 @@ public abstract class //
         }
     }
 
+    /**
+     * Resolves and validates everything which can be resolved statically for the methods of the {@link #proxyInterface}
+     * if {@link #isEagerInit()} returns {@code true}. Subclasses should throw an appropriate exception (for instance
+     * {@link ConfigurationException}) if an invalid method is detected. The default implementation does nothing.
+     *
+     * @param target The configured target.
+     */
+    protected void initializeEagerly(T target) {
+    }
+
     /**
      * @return Returns the required {@link GenericRepository} type for this factory.
      */
@@ -319,6 +352,14 @@ public abstract class //
         this.validateAfterPropertiesSet = validateAfterPropertiesSet;
     }
 
+    public boolean isEagerInitialization() {
+        return eagerInitialization;
+    }
+
+    public void setEagerInitialization(boolean eagerInitialization) {
+        this.eagerInitialization = eagerInitialization;
+    }
+
     public TransactionTemplate getTransactionTemplate() {
         return transactionTemplate;
     }
@@ -19,6 +19,7 @@ package org.codehaus.grepo.core.util;
 import java.util.HashMap;
 import java.util.Map;
 
+import org.codehaus.grepo.core.annotation.Stateless;
 import org.codehaus.grepo.core.exception.ConfigurationException;
 
 /**
@@ -69,6 +70,14 @@ public final class ClassUtils {
         return (clazz == void.class || clazz == Void.class);
     }
 
+    /**
+     * @param clazz The class to check.
+     * @return Returns {@code true} if the given {@code clazz} is annotated with {@link Stateless}.
+     */
+    public static boolean isStateless(Class<?> clazz) {
+        return clazz.isAnnotationPresent(Stateless.class);
+    }
+
     /**
      * @param <T> The type of clazz.
      * @param clazz The clazz to instantiate.
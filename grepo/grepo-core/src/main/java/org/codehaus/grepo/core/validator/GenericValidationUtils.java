@@ -16,8 +16,13 @@
 
 package org.codehaus.grepo.core.validator;
 
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
 import org.apache.commons.lang.ArrayUtils;
+import org.codehaus.grepo.core.annotation.Stateless;
 import org.codehaus.grepo.core.aop.MethodParameterInfo;
+import org.codehaus.grepo.core.util.ClassUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -30,6 +35,10 @@ public final class GenericValidationUtils {
 
     private static final Logger logger = LoggerFactory.getLogger(GenericValidationUtils.class);
 
+    /** Cached instances of stateless validators. */
+    private static final ConcurrentMap<Class<?>, ResultValidator> STATELESS_VALIDATORS =
+        new ConcurrentHashMap<Class<?>, ResultValidator>();
+
     private GenericValidationUtils() {
     }
 
@@ -54,19 +63,8 @@ public final class GenericValidationUtils {
     public static void validateResult(MethodParameterInfo mpi, Class<? extends ResultValidator> clazz, Object result)
             throws Exception, ValidationException {
         if (isValidResultValidator(clazz)) {
-            ResultValidator validator = null;
-            try {
-                logger.debug("Using result validator '{}' for validating result '{}'", clazz, result);
-                validator = clazz.newInstance();
-            } catch (InstantiationException e) {
-                String msg = String.format("Unable to create new instance of '%s': '%s'", clazz.getName(), e
-                    .getMessage());
-                throw new ValidationException(msg, e);
-            } catch (IllegalAccessException e) {
-                String msg = String.format("Unable to create new instance of '%s': '%s'", clazz.getName(), e
-                    .getMessage());
-                throw new ValidationException(msg, e);
-            }
+            logger.debug("Using result validator '{}' for validating result '{}'", clazz, result);
+            ResultValidator validator = getValidatorInstance(clazz);
 
             try {
                 validator.validate(result);
@@ -87,4 +85,44 @@ public final class GenericValidationUtils {
         }
     }
 
+    /**
+     * Returns an instance of the given validator class. Instances of validators annotated with {@link Stateless} are
+     * cached.
+     *
+     * @param clazz The validator class.
+     * @return Returns the validator instance.
+     * @throws ValidationException if the given {@link ResultValidator} cannot be instantiated.
+     */
+    public static ResultValidator getValidatorInstance(Class<? extends ResultValidator> clazz)
+            throws ValidationException {
+        if (!ClassUtils.isStateless(clazz)) {
+            return newValidatorInstance(clazz);
+        }
+
+        ResultValidator validator = STATELESS_VALIDATORS.get(clazz);
+        if (validator == null) {
+            ResultValidator created = newValidatorInstance(clazz);
+            validator = STATELESS_VALIDATORS.putIfAbsent(clazz, created);
+            if (validator == null) {
+                validator = created;
+            }
+        }
+        return validator;
+    }
+
+    private static ResultValidator newValidatorInstance(Class<? extends ResultValidator> clazz)
+            throws ValidationException {
+        try {
+            return clazz.newInstance();
+        } catch (InstantiationException e) {
+            String msg = String.format("Unable to create new instance of '%s': '%s'", clazz.getName(), e
+                .getMessage());
+            throw new ValidationException(msg, e);
+        } catch (IllegalAccessException e) {
+            String msg = String.format("Unable to create new instance of '%s': '%s'", clazz.getName(), e
+                .getMessage());
+            throw new ValidationException(msg, e);
+        }
+    }
+
 }
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2009 Grepo Committers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.codehaus.grepo.core.converter;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import junit.framework.Assert;
+
+import org.codehaus.grepo.core.aop.MethodParameterInfo;
+import org.codehaus.grepo.core.aop.MethodParameterInfoImpl;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the {@link ResultConversionServiceImpl} and {@link ResultConverterFindingStrategyImpl}.
+ *
+ * @author dguggi
+ */
+public class ResultConversionServiceImplTest {
+
+    private ResultConversionServiceImpl service;
+
+    /** Sets up the conversion service. */
+    @Before
+    public void before() {
+        Map<Class<?>, Class<? extends ResultConverter<?>>> map =
+            new HashMap<Class<?>, Class<? extends ResultConverter<?>>>();
+        map.put(boolean.class, ResultToBooleanConverter.class);
+        map.put(Long.class, ResultToLongConverter.class);
+        ResultConverterRegistry registry = new ResultConverterRegistry();
+        registry.setRegistryMap(map);
+
+        ResultConverterFindingStrategyImpl strategy = new ResultConverterFindingStrategyImpl();
+        strategy.setConverterRegistry(registry);
+
+        service = new ResultConversionServiceImpl();
+        service.setConverterFindingStrategy(strategy);
+    }
+
+    /** Tests conversions using build-in converters. */
+    @Test
+    public void testConversions() throws Exception {
+        MethodParameterInfo mpi = createMpi("isSomething");
+        Assert.assertEquals(Boolean.TRUE, service.convert(mpi, null, 1L));
+        Assert.assertEquals(Boolean.FALSE, service.convert(mpi, null, 0L));
+        Assert.assertEquals(Boolean.TRUE, service.convert(mpi, null, Boolean.TRUE));
+
+        mpi = createMpi("getCount");
+        Assert.assertEquals(Long.valueOf(5L), service.convert(mpi, null, 5));
+        Assert.assertEquals(Long.valueOf(5L), service.convert(mpi, null, 5L));
+
+        mpi = createMpi("getName");
+        Assert.assertEquals("name", service.convert(mpi, null, "name"));
+    }
+
+    /** Tests that stateless converters are cached. */
+    @Test
+    public void testConverterInstanceCaching() {
+        Assert.assertSame(service.getConverterInstance(ResultToBooleanConverter.class),
+            service.getConverterInstance(ResultToBooleanConverter.class));
+        Assert.assertNotSame(service.getConverterInstance(TestResultConverter.class),
+            service.getConverterInstance(TestResultConverter.class));
+    }
+
+    private MethodParameterInfo createMpi(String methodName) throws NoSuchMethodException {
+        return new MethodParameterInfoImpl(TestMethods.class.getMethod(methodName), (Object[])null);
+    }
+
+    /**
+     * Methods used for testing.
+     */
+    public interface TestMethods {
+        boolean isSomething();
+
+        Long getCount();
+
+        String getName();
+    }
+}
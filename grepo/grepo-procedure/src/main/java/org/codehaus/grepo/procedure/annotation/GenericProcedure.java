@@ -58,4 +58,14 @@ public @interface GenericProcedure {
 
     /** Specifies whether or not the procedure is read-only (default is {@code false}). */
     boolean isReadOnly() default false;
+
+    /**
+     * Specifies whether or not the procedure is executed in batch mode (default is {@code false}). Batch methods take
+     * a single {@code Collection} of argument maps or beans (one element per execution) and return the update counts
+     * ({@code int[]}). Only procedures with IN parameters are supported.
+     */
+    boolean batch() default false;
+
+    /** The max number of executions sent to the database at once in batch mode. */
+    int batchSize() default 100;
 }
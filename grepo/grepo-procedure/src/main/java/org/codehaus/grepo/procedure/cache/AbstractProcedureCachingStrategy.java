@@ -0,0 +1,54 @@
+/*
+ * Copyright 2009 Grepo Committers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.codehaus.grepo.procedure.cache;
+
+import org.apache.commons.lang.StringUtils;
+import org.codehaus.grepo.procedure.annotation.GenericProcedure;
+import org.codehaus.grepo.procedure.aop.ProcedureMethodParameterInfo;
+
+/**
+ * Base class for {@link ProcedureCachingStrategy} implementations.
+ *
+ * @author dguggi
+ */
+public abstract class AbstractProcedureCachingStrategy implements ProcedureCachingStrategy {
+
+    /**
+     * {@inheritDoc}
+     */
+    public String generateCacheName(final ProcedureMethodParameterInfo pmpi) {
+        GenericProcedure annotation = pmpi.getMethodAnnotation(GenericProcedure.class);
+        String name = null;
+        if (StringUtils.isEmpty(annotation.cacheName())) {
+            name = pmpi.getDeclaringClass().getName() + "/" + pmpi.getMethodName() + "/" + annotation.sql();
+        } else {
+            name = annotation.cacheName();
+        }
+        return name;
+    }
+
+    /**
+     * @param cacheName The cache name.
+     * @throws ProcedureCachingException if the given {@code cacheName} is empty.
+     */
+    protected void validateCacheName(String cacheName) throws ProcedureCachingException {
+        if (StringUtils.isEmpty(cacheName)) {
+            throw new ProcedureCachingException("Unable to cache procedure, because cacheName is empty");
+        }
+    }
+
+}
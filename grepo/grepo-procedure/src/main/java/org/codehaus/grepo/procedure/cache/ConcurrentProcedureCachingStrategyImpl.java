@@ -0,0 +1,552 @@
+/*
+ * Copyright 2009 Grepo Committers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.codehaus.grepo.procedure.cache;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.codehaus.grepo.procedure.aop.ProcedureMethodParameterInfo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.object.StoredProcedure;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedOperation;
+import org.springframework.jmx.export.annotation.ManagedOperationParameter;
+import org.springframework.jmx.export.annotation.ManagedOperationParameters;
+import org.springframework.jmx.export.annotation.ManagedResource;
+
+/**
+ * Thread-safe implementation of {@link ProcedureCachingStrategy} based on a {@link ConcurrentHashMap}.
+ * <p>
+ * Cache hits do not acquire any lock. The hit and miss counters are striped and cached procedures only keep the
+ * access metadata their eviction policy requires, so concurrent hits do not contend on shared counters. Compilation
+ * is done at most once per cache name: if several threads request the same uncached procedure concurrently, one of
+ * them compiles it while the others wait for the result. Requests for other procedures are not blocked. If the
+ * compilation fails, nothing is cached and the next request compiles the procedure again.
+ * <p>
+ * The cache holds at most {@link #getMaxSize()} procedures, if a newly compiled procedure exceeds this limit another
+ * procedure is evicted according to the configured {@link ProcedureCacheEvictionPolicy}. Procedures may also expire
+ * after a configurable time to live. Cached procedures can be invalidated by cache name or by repository (e.g. after
+ * a schema change), both programmatically and via JMX.
+ *
+ * @author dguggi
+ */
+@ManagedResource("Procedure cache")
+public class ConcurrentProcedureCachingStrategyImpl extends AbstractProcedureCachingStrategy {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConcurrentProcedureCachingStrategyImpl.class);
+
+    /** The default max number of cached procedures. */
+    public static final int DEFAULT_MAX_SIZE = 1000;
+
+    /** Used to create already completed tasks. */
+    private static final Runnable NO_OP = new Runnable() {
+
+        public void run() {
+            // nothing to do
+        }
+    };
+
+    private final ConcurrentMap<String, CacheEntry> cache = new ConcurrentHashMap<String, CacheEntry>();
+
+    /** Serializes evictions, cache hits are never blocked by this lock. */
+    private final Object evictionLock = new Object();
+
+    /** The max number of cached procedures ({@code 0} means unbounded). */
+    private volatile int maxSize = DEFAULT_MAX_SIZE;
+
+    /** The time to live in milliseconds ({@code 0} means procedures never expire). */
+    private volatile long timeToLiveMillis;
+
+    private volatile ProcedureCacheEvictionPolicy evictionPolicy = ProcedureCacheEvictionPolicy.LRU;
+
+    private final StripedCounter hitCount = new StripedCounter();
+
+    private final StripedCounter missCount = new StripedCounter();
+
+    private final AtomicLong evictionCount = new AtomicLong();
+
+    private final AtomicLong expirationCount = new AtomicLong();
+
+    private final AtomicLong compilationCount = new AtomicLong();
+
+    private final AtomicLong compilationFailureCount = new AtomicLong();
+
+    private final AtomicLong totalCompilationNanos = new AtomicLong();
+
+    private final AtomicLong maxCompilationNanos = new AtomicLong();
+
+    /**
+     * {@inheritDoc}
+     */
+    public StoredProcedure getFromCache(final String cacheName) {
+        CacheEntry entry = getEntry(cacheName);
+        if (entry == null || !entry.task.isDone()) {
+            missCount.increment();
+            return null;
+        }
+        hitCount.increment();
+        return getResult(cacheName, entry.task);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public StoredProcedure getFromCache(final String cacheName, final ProcedureMethodParameterInfo pmpi,
+            final ProcedureCompilationCallback callback) {
+        validateCacheName(cacheName);
+
+        CacheEntry entry = getEntry(cacheName);
+        if (entry == null) {
+            missCount.increment();
+            CacheEntry created = new CacheEntry(new FutureTask<StoredProcedure>(new CompilationCallable(callback)),
+                (pmpi == null ? null : pmpi.getDeclaringClass().getName()));
+            entry = cache.putIfAbsent(cacheName, created);
+            if (entry == null) {
+                // this thread won the race, so compile the procedure...
+                entry = created;
+                logger.debug("Compiling procedure for cacheName '{}'", cacheName);
+                entry.task.run();
+                entry.createdMillis = System.currentTimeMillis();
+                evictIfNecessary(entry);
+            }
+        } else {
+            hitCount.increment();
+        }
+
+        try {
+            StoredProcedure sp = getResult(cacheName, entry.task);
+            if (sp == null) {
+                cache.remove(cacheName, entry);
+            }
+            return sp;
+        } catch (RuntimeException e) {
+            // do not cache failed compilations...
+            cache.remove(cacheName, entry);
+            throw e;
+        } catch (Error e) {
+            cache.remove(cacheName, entry);
+            throw e;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void addToCache(final StoredProcedure storedProcedure, final String cacheName) {
+        if (storedProcedure != null) {
+            validateCacheName(cacheName);
+            CacheEntry entry = new CacheEntry(new FutureTask<StoredProcedure>(NO_OP, storedProcedure), null);
+            entry.task.run();
+            if (cache.put(cacheName, entry) != null) {
+                logger.warn("Replaced cached procedure ('{}') for cacheName '{}'", storedProcedure.getSql(),
+                    cacheName);
+            }
+            evictIfNecessary(entry);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public StoredProcedure removeFromCache(final String cacheName) {
+        CacheEntry entry = cache.remove(cacheName);
+        return (entry == null || !entry.task.isDone() ? null : getResult(cacheName, entry.task));
+    }
+
+    /**
+     * Invalidates the procedure with the given {@code cacheName}, it is compiled again on next use.
+     *
+     * @param cacheName The cache name.
+     * @return Returns {@code true} if a procedure was invalidated.
+     */
+    @ManagedOperation(description = "Invalidates the procedure with the given cache name")
+    @ManagedOperationParameters({@ManagedOperationParameter(name = "cacheName", description = "The cache name")})
+    public boolean invalidate(String cacheName) {
+        boolean invalidated = (cache.remove(cacheName) != null);
+        if (invalidated) {
+            logger.info("Invalidated procedure for cacheName '{}'", cacheName);
+        }
+        return invalidated;
+    }
+
+    /**
+     * Invalidates all procedures which have been compiled for methods of the given repository.
+     *
+     * @param repositoryInterface The repository interface.
+     * @return Returns the number of invalidated procedures.
+     */
+    public int invalidateRepository(Class<?> repositoryInterface) {
+        return invalidateRepository(repositoryInterface.getName());
+    }
+
+    /**
+     * Invalidates all procedures which have been compiled for methods of the repository with the given name.
+     *
+     * @param repositoryName The fully qualified name of the repository interface.
+     * @return Returns the number of invalidated procedures.
+     */
+    @ManagedOperation(description = "Invalidates all procedures of the given repository")
+    @ManagedOperationParameters({@ManagedOperationParameter(name = "repositoryName",
+        description = "The fully qualified name of the repository interface")})
+    public int invalidateRepository(String repositoryName) {
+        int count = 0;
+        for (Entry<String, CacheEntry> entry : cache.entrySet()) {
+            if (repositoryName.equals(entry.getValue().repositoryName)
+                && cache.remove(entry.getKey(), entry.getValue())) {
+                count++;
+            }
+        }
+        logger.info("Invalidated {} procedure(s) of repository '{}'", count, repositoryName);
+        return count;
+    }
+
+    /**
+     * Invalidates all cached procedures.
+     */
+    @ManagedOperation(description = "Invalidates all cached procedures")
+    public void invalidateAll() {
+        cache.clear();
+        logger.info("Invalidated all cached procedures");
+    }
+
+    /**
+     * Resets all counters.
+     */
+    @ManagedOperation(description = "Resets all counters")
+    public void resetStatistics() {
+        hitCount.reset();
+        missCount.reset();
+        evictionCount.set(0);
+        expirationCount.set(0);
+        compilationCount.set(0);
+        compilationFailureCount.set(0);
+        totalCompilationNanos.set(0);
+        maxCompilationNanos.set(0);
+    }
+
+    /**
+     * @return Returns the number of cached procedures (including procedures currently being compiled).
+     */
+    @ManagedAttribute(description = "The number of cached procedures")
+    public int size() {
+        return cache.size();
+    }
+
+    /**
+     * @return Returns the (sorted) cache names of all cached procedures.
+     */
+    @ManagedAttribute(description = "The cache names of all cached procedures")
+    public String[] getCacheNames() {
+        List<String> names = new ArrayList<String>(cache.keySet());
+        Collections.sort(names);
+        return names.toArray(new String[names.size()]);
+    }
+
+    @ManagedAttribute(description = "The number of cache hits")
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    @ManagedAttribute(description = "The number of cache misses")
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * @return Returns the ratio of cache hits to all cache requests (or {@code 0} if there were no requests).
+     */
+    @ManagedAttribute(description = "The ratio of cache hits to all cache requests")
+    public double getHitRatio() {
+        long hits = hitCount.get();
+        long requests = hits + missCount.get();
+        return (requests == 0 ? 0D : (double)hits / requests);
+    }
+
+    @ManagedAttribute(description = "The number of procedures evicted because the cache was full")
+    public long getEvictionCount() {
+        return evictionCount.get();
+    }
+
+    @ManagedAttribute(description = "The number of procedures removed because their time to live elapsed")
+    public long getExpirationCount() {
+        return expirationCount.get();
+    }
+
+    @ManagedAttribute(description = "The number of successful compilations")
+    public long getCompilationCount() {
+        return compilationCount.get();
+    }
+
+    @ManagedAttribute(description = "The number of failed compilations")
+    public long getCompilationFailureCount() {
+        return compilationFailureCount.get();
+    }
+
+    /**
+     * @return Returns the average compilation time (including failed compilations) in milliseconds.
+     */
+    @ManagedAttribute(description = "The average compilation time in milliseconds")
+    public double getAverageCompilationTimeMillis() {
+        long compilations = compilationCount.get() + compilationFailureCount.get();
+        return (compilations == 0 ? 0D : totalCompilationNanos.get() / 1000000D / compilations);
+    }
+
+    @ManagedAttribute(description = "The max compilation time in milliseconds")
+    public double getMaxCompilationTimeMillis() {
+        return maxCompilationNanos.get() / 1000000D;
+    }
+
+    @ManagedAttribute
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Sets the max number of cached procedures, {@code 0} means the size of the cache is not bounded. If the cache
+     * currently holds more procedures, they are evicted when the next procedure is added.
+     *
+     * @param maxSize The max size.
+     */
+    @ManagedAttribute(description = "Sets the max number of cached procedures (0 means unbounded)")
+    public void setMaxSize(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    @ManagedAttribute
+    public long getTimeToLiveMillis() {
+        return timeToLiveMillis;
+    }
+
+    /**
+     * Sets the time (since compilation) after which a cached procedure expires, {@code 0} means procedures never
+     * expire.
+     *
+     * @param timeToLiveMillis The time to live in milliseconds.
+     */
+    @ManagedAttribute(description = "Sets the time to live in milliseconds (0 means procedures never expire)")
+    public void setTimeToLiveMillis(long timeToLiveMillis) {
+        this.timeToLiveMillis = timeToLiveMillis;
+    }
+
+    public ProcedureCacheEvictionPolicy getEvictionPolicy() {
+        return evictionPolicy;
+    }
+
+    public void setEvictionPolicy(ProcedureCacheEvictionPolicy evictionPolicy) {
+        this.evictionPolicy = evictionPolicy;
+    }
+
+    /**
+     * @param cacheName The cache name.
+     * @return Returns the (not expired) entry for the given {@code cacheName} or {@code null}.
+     */
+    private CacheEntry getEntry(String cacheName) {
+        CacheEntry entry = cache.get(cacheName);
+        if (entry != null) {
+            if (isExpired(entry)) {
+                if (cache.remove(cacheName, entry)) {
+                    expirationCount.incrementAndGet();
+                    logger.debug("Cached procedure for cacheName '{}' expired", cacheName);
+                }
+                entry = null;
+            } else {
+                recordAccess(entry);
+            }
+        }
+        return entry;
+    }
+
+    /**
+     * Updates the access metadata of the given {@code entry}, but only the metadata required by the eviction policy:
+     * the last access time for {@link ProcedureCacheEvictionPolicy#LRU} and the access count for
+     * {@link ProcedureCacheEvictionPolicy#LFU}. Nothing is updated if the cache is unbounded, since nothing is ever
+     * evicted then.
+     *
+     * @param entry The entry.
+     */
+    private void recordAccess(CacheEntry entry) {
+        if (maxSize <= 0) {
+            return;
+        }
+        if (evictionPolicy == ProcedureCacheEvictionPolicy.LFU) {
+            entry.accessCount.incrementAndGet();
+        } else {
+            entry.lastAccessNanos = System.nanoTime();
+        }
+    }
+
+    /**
+     * @param entry The entry.
+     * @return Returns {@code true} if the time to live of the given (compiled) {@code entry} elapsed.
+     */
+    private boolean isExpired(CacheEntry entry) {
+        long ttl = timeToLiveMillis;
+        return (ttl > 0 && entry.task.isDone() && System.currentTimeMillis() - entry.createdMillis >= ttl);
+    }
+
+    /**
+     * Evicts procedures until the size of the cache does not exceed {@link #getMaxSize()}. The given entry (which
+     * has just been added) and procedures which are currently being compiled are never evicted. Finding the victim
+     * requires a scan of the cache, which is acceptable since this is only done after a compilation.
+     *
+     * @param added The entry which has just been added.
+     */
+    private void evictIfNecessary(CacheEntry added) {
+        if (maxSize <= 0 || cache.size() <= maxSize) {
+            return;
+        }
+
+        synchronized (evictionLock) {
+            while (maxSize > 0 && cache.size() > maxSize) {
+                Entry<String, CacheEntry> victim = null;
+                for (Entry<String, CacheEntry> entry : cache.entrySet()) {
+                    CacheEntry candidate = entry.getValue();
+                    if (candidate != added && candidate.task.isDone()
+                        && (victim == null || isPreferredVictim(candidate, victim.getValue()))) {
+                        victim = entry;
+                    }
+                }
+                if (victim == null) {
+                    break;
+                }
+                if (cache.remove(victim.getKey(), victim.getValue())) {
+                    evictionCount.incrementAndGet();
+                    logger.debug("Evicted procedure for cacheName '{}'", victim.getKey());
+                }
+            }
+        }
+    }
+
+    /**
+     * @param candidate The candidate.
+     * @param victim The current victim.
+     * @return Returns {@code true} if the given {@code candidate} should rather be evicted than the {@code victim}.
+     *         With {@link ProcedureCacheEvictionPolicy#LFU} the last access time is the creation time, so ties are
+     *         broken in favour of newer procedures.
+     */
+    private boolean isPreferredVictim(CacheEntry candidate, CacheEntry victim) {
+        if (evictionPolicy == ProcedureCacheEvictionPolicy.LFU) {
+            long candidateCount = candidate.accessCount.get();
+            long victimCount = victim.accessCount.get();
+            if (candidateCount != victimCount) {
+                return candidateCount < victimCount;
+            }
+        }
+        return candidate.lastAccessNanos - victim.lastAccessNanos < 0;
+    }
+
+    /**
+     * Waits for the given task to complete and returns its result. Exceptions thrown during the compilation are
+     * rethrown unchanged if possible.
+     *
+     * @param cacheName The cache name.
+     * @param task The task.
+     * @return Returns the compiled procedure.
+     */
+    private StoredProcedure getResult(String cacheName, FutureTask<StoredProcedure> task) {
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    return task.get();
+                } catch (InterruptedException e) {
+                    // keep waiting, the compiling thread is not affected by the interrupt...
+                    interrupted = true;
+                }
+            }
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException)cause;
+            } else if (cause instanceof Error) {
+                throw (Error)cause;
+            }
+            String msg = String.format("Unable to compile procedure for cacheName '%s'", cacheName);
+            throw new ProcedureCachingException(msg, cause);
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * A cached (or currently compiling) procedure.
+     */
+    private static final class CacheEntry {
+
+        private final FutureTask<StoredProcedure> task;
+
+        /** The name of the repository the procedure belongs to (may be {@code null}). */
+        private final String repositoryName;
+
+        private final AtomicLong accessCount = new AtomicLong(1);
+
+        private volatile long lastAccessNanos = System.nanoTime();
+
+        private volatile long createdMillis = System.currentTimeMillis();
+
+        CacheEntry(FutureTask<StoredProcedure> task, String repositoryName) {
+            this.task = task;
+            this.repositoryName = repositoryName;
+        }
+    }
+
+    /**
+     * Adapts a {@link ProcedureCompilationCallback} to a {@link Callable} and records the compilation time.
+     */
+    private final class CompilationCallable implements Callable<StoredProcedure> {
+
+        private final ProcedureCompilationCallback callback;
+
+        CompilationCallable(ProcedureCompilationCallback callback) {
+            this.callback = callback;
+        }
+
+        public StoredProcedure call() {
+            long start = System.nanoTime();
+            boolean success = false;
+            try {
+                StoredProcedure sp = callback.doCompile();
+                success = true;
+                return sp;
+            } finally {
+                long nanos = System.nanoTime() - start;
+                if (success) {
+                    compilationCount.incrementAndGet();
+                } else {
+                    compilationFailureCount.incrementAndGet();
+                }
+                totalCompilationNanos.addAndGet(nanos);
+                long max = maxCompilationNanos.get();
+                while (nanos > max && !maxCompilationNanos.compareAndSet(max, nanos)) {
+                    max = maxCompilationNanos.get();
+                }
+            }
+        }
+    }
+
+}
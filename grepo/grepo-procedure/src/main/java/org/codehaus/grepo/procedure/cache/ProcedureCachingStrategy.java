@@ -34,6 +34,19 @@ public interface ProcedureCachingStrategy {
      */
     StoredProcedure getFromCache(String cacheName);
 
+    /**
+     * Get a procedure from the cache. If the procedure is not cached yet, it is compiled using the given
+     * {@code callback} and added to the cache.
+     *
+     * @param cacheName The cache name.
+     * @param pmpi The procedure method parameter info (may be {@code null}), used to associate the cached procedure
+     *            with its repository.
+     * @param callback The callback used to compile the procedure.
+     * @return Returns the (possibly newly compiled) procedure for the given {@code cacheName}.
+     */
+    StoredProcedure getFromCache(String cacheName, ProcedureMethodParameterInfo pmpi,
+            ProcedureCompilationCallback callback);
+
     /**
      * Add the given {@code storedProcedure} to the cache with the given {@code cacheName}.
      *
@@ -20,7 +20,6 @@ import java.util.HashMap;
 import java.util.Map;
 
 import org.apache.commons.lang.StringUtils;
-import org.codehaus.grepo.procedure.annotation.GenericProcedure;
 import org.codehaus.grepo.procedure.aop.ProcedureMethodParameterInfo;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -28,11 +27,12 @@ import org.springframework.jdbc.object.StoredProcedure;
 
 /**
  * Implementation of {@link ProcedureCachingStrategy} which uses {@code java.util.HashMap} for storing compiled
- * procedures.
+ * procedures. All access to the cache is synchronized, procedures are compiled while holding the lock. See
+ * {@link ConcurrentProcedureCachingStrategyImpl} for a strategy which does not serialize cache hits.
  *
  * @author dguggi
  */
-public class ProcedureCachingStrategyImpl implements ProcedureCachingStrategy {
+public class ProcedureCachingStrategyImpl extends AbstractProcedureCachingStrategy {
 
     private static final Logger logger = LoggerFactory.getLogger(ProcedureCachingStrategyImpl.class);
 
@@ -41,7 +41,7 @@ public class ProcedureCachingStrategyImpl implements ProcedureCachingStrategy {
     /**
      * {@inheritDoc}
      */
-    public void addToCache(final StoredProcedure storedProcedure, final String cacheName) {
+    public synchronized void addToCache(final StoredProcedure storedProcedure, final String cacheName) {
         if (storedProcedure != null) {
             if (StringUtils.isEmpty(cacheName)) {
                 String msg = String.format("Unable to cache procedure ('%s'), because cacheName is empty",
@@ -64,7 +64,7 @@ public class ProcedureCachingStrategyImpl implements ProcedureCachingStrategy {
     /**
      * {@inheritDoc}
      */
-    public StoredProcedure getFromCache(final String cacheName) {
+    public synchronized StoredProcedure getFromCache(final String cacheName) {
         StoredProcedure sp = cache.get(cacheName);
         if (sp != null) {
             logger.debug("Got procedure from cache (key='{}', value='{}')", cacheName, sp);
@@ -75,22 +75,21 @@ public class ProcedureCachingStrategyImpl implements ProcedureCachingStrategy {
     /**
      * {@inheritDoc}
      */
-    public StoredProcedure removeFromCache(final String cacheName) {
-        return cache.remove(cacheName);
+    public synchronized StoredProcedure getFromCache(final String cacheName, final ProcedureMethodParameterInfo pmpi,
+            final ProcedureCompilationCallback callback) {
+        StoredProcedure sp = getFromCache(cacheName);
+        if (sp == null) {
+            sp = callback.doCompile();
+            addToCache(sp, cacheName);
+        }
+        return sp;
     }
 
     /**
      * {@inheritDoc}
      */
-    public String generateCacheName(final ProcedureMethodParameterInfo pmpi) {
-        GenericProcedure annotation = pmpi.getMethodAnnotation(GenericProcedure.class);
-        String name = null;
-        if (StringUtils.isEmpty(annotation.cacheName())) {
-            name = pmpi.getDeclaringClass().getName() + "/" + pmpi.getMethodName() + "/" + annotation.sql();
-        } else {
-            name = annotation.cacheName();
-        }
-        return name;
+    public synchronized StoredProcedure removeFromCache(final String cacheName) {
+        return cache.remove(cacheName);
     }
 
     protected Map<String, StoredProcedure> getCache() {
@@ -0,0 +1,35 @@
+/*
+ * Copyright 2009 Grepo Committers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.codehaus.grepo.procedure.cache;
+
+import org.springframework.jdbc.object.StoredProcedure;
+
+/**
+ * Callback used by {@link ProcedureCachingStrategy#getFromCache(String,
+ * org.codehaus.grepo.procedure.aop.ProcedureMethodParameterInfo, ProcedureCompilationCallback)} to compile a procedure
+ * which is not cached yet.
+ *
+ * @author dguggi
+ */
+public interface ProcedureCompilationCallback {
+
+    /**
+     * @return Returns the newly compiled procedure.
+     */
+    StoredProcedure doCompile();
+
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2009 Grepo Committers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.codehaus.grepo.procedure.cache;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A counter which spreads increments over several cells in order to avoid contention on a single memory location
+ * when it is incremented by many threads (like {@code LongAdder} of later JDK versions). Each thread increments the
+ * cell selected by its id, the cells are padded so that they do not share a cache line. Reading the counter sums up
+ * all cells, so the value is not an atomic snapshot while increments are in progress.
+ *
+ * @author dguggi
+ */
+final class StripedCounter {
+
+    /** The max number of cells. */
+    private static final int MAX_CELLS = 64;
+
+    /** The distance (in longs) between two cells, 8 longs fill a 64 byte cache line. */
+    private static final int PADDING = 8;
+
+    private final AtomicLongArray cells;
+
+    private final int mask;
+
+    StripedCounter() {
+        int numberOfCells = 1;
+        int limit = Math.min(MAX_CELLS, Runtime.getRuntime().availableProcessors() * 2);
+        while (numberOfCells < limit) {
+            numberOfCells <<= 1;
+        }
+        mask = numberOfCells - 1;
+        cells = new AtomicLongArray(numberOfCells * PADDING);
+    }
+
+    /**
+     * Increments the counter.
+     */
+    void increment() {
+        cells.incrementAndGet(getCellIndex());
+    }
+
+    /**
+     * @return Returns the sum of all cells.
+     */
+    long get() {
+        long sum = 0;
+        for (int i = 0; i < cells.length(); i += PADDING) {
+            sum += cells.get(i);
+        }
+        return sum;
+    }
+
+    /**
+     * Resets all cells, increments which happen concurrently may or may not be lost.
+     */
+    void reset() {
+        for (int i = 0; i < cells.length(); i += PADDING) {
+            cells.set(i, 0);
+        }
+    }
+
+    /**
+     * @return Returns the index of the cell of the current thread.
+     */
+    private int getCellIndex() {
+        long id = Thread.currentThread().getId();
+        // spread the (usually consecutive) thread ids...
+        int hash = (int)(id ^ (id >>> 32)) * 0x9E3779B9;
+        return ((hash ^ (hash >>> 16)) & mask) * PADDING;
+    }
+}
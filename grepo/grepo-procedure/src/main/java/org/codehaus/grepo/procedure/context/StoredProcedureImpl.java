@@ -16,10 +16,22 @@
 
 package org.codehaus.grepo.procedure.context;
 
+import java.sql.CallableStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
 import javax.sql.DataSource;
 
 import org.apache.commons.lang.builder.ToStringBuilder;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.jdbc.core.CallableStatementCallback;
+import org.springframework.jdbc.core.SqlOutParameter;
+import org.springframework.jdbc.core.SqlParameter;
+import org.springframework.jdbc.core.StatementCreatorUtils;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
 import org.springframework.jdbc.object.StoredProcedure;
+import org.springframework.jdbc.support.JdbcUtils;
 
 /**
  * Default stored procedure implementation.
@@ -36,6 +48,129 @@ public class StoredProcedureImpl extends StoredProcedure {
         super(ds, name);
     }
 
+    /**
+     * Executes the (compiled) procedure once for each of the given {@code batchArgs} using JDBC batching. A single
+     * {@link CallableStatement} is used for all executions, the batch is sent to the database whenever
+     * {@code batchSize} executions have been added. If the driver does not support batch updates, the procedure is
+     * executed separately for each element. Only procedures with IN parameters are supported.
+     * <p>
+     * The value of a parameter named {@code p_some_value} is looked up as {@code p_some_value} first and as
+     * {@code pSomeValue} afterwards, so beans may use either naming.
+     *
+     * @param batchArgs The parameter values for each execution.
+     * @param batchSize The max number of executions sent to the database at once.
+     * @return Returns the update counts for each execution.
+     */
+    public int[] executeBatch(final List<? extends SqlParameterSource> batchArgs, final int batchSize) {
+        checkCompiled();
+        if (isFunction()) {
+            throw new InvalidDataAccessApiUsageException("Batch execution is not supported for functions: "
+                + getSql());
+        }
+
+        final List<SqlParameter> params = new ArrayList<SqlParameter>();
+        for (SqlParameter param : getDeclaredParameters()) {
+            if (param instanceof SqlOutParameter) {
+                throw new InvalidDataAccessApiUsageException("Batch execution is only supported for procedures "
+                    + "with IN parameters, but '" + param.getName() + "' is an OUT/INOUT parameter: " + getSql());
+            }
+            if (!param.isResultsParameter()) {
+                params.add(param);
+            }
+        }
+
+        return getJdbcTemplate().execute(getCallString(), new CallableStatementCallback<int[]>() {
+
+            public int[] doInCallableStatement(CallableStatement cs) throws SQLException {
+                List<Object> values = new ArrayList<Object>();
+                try {
+                    return executeBatch(cs, params, batchArgs, Math.max(1, batchSize), values);
+                } finally {
+                    cleanupValues(values);
+                }
+            }
+        });
+    }
+
+    /**
+     * @param cs The callable statement.
+     * @param params The IN parameters.
+     * @param batchArgs The parameter values for each execution.
+     * @param batchSize The batch size.
+     * @param values Collects the bound values which have not been cleaned up yet.
+     * @return Returns the update counts for each execution.
+     * @throws SQLException in case of errors.
+     */
+    private int[] executeBatch(CallableStatement cs, List<SqlParameter> params,
+            List<? extends SqlParameterSource> batchArgs, int batchSize, List<Object> values) throws SQLException {
+        int[] updateCounts = new int[batchArgs.size()];
+        boolean batchSupported = JdbcUtils.supportsBatchUpdates(cs.getConnection());
+        int executed = 0;
+        int pending = 0;
+        for (SqlParameterSource args : batchArgs) {
+            for (int i = 0; i < params.size(); i++) {
+                Object value = getValue(args, params.get(i));
+                values.add(value);
+                StatementCreatorUtils.setParameterValue(cs, i + 1, params.get(i), value);
+            }
+
+            if (batchSupported) {
+                cs.addBatch();
+                if (++pending == batchSize) {
+                    executed = copyUpdateCounts(cs.executeBatch(), updateCounts, executed);
+                    pending = 0;
+                    cleanupValues(values);
+                }
+            } else {
+                cs.execute();
+                updateCounts[executed++] = cs.getUpdateCount();
+                cleanupValues(values);
+            }
+        }
+        if (pending > 0) {
+            copyUpdateCounts(cs.executeBatch(), updateCounts, executed);
+        }
+        return updateCounts;
+    }
+
+    /**
+     * Cleans up and removes the given bound values.
+     *
+     * @param values The values.
+     */
+    private static void cleanupValues(List<Object> values) {
+        StatementCreatorUtils.cleanupParameters(values);
+        values.clear();
+    }
+
+    /**
+     * @param counts The update counts of a batch.
+     * @param updateCounts The update counts of all executions.
+     * @param offset The number of executions already processed.
+     * @return Returns the new number of executions processed.
+     */
+    private static int copyUpdateCounts(int[] counts, int[] updateCounts, int offset) {
+        System.arraycopy(counts, 0, updateCounts, offset, counts.length);
+        return offset + counts.length;
+    }
+
+    /**
+     * @param args The parameter values.
+     * @param param The parameter.
+     * @return Returns the value for the given {@code param}.
+     */
+    private static Object getValue(SqlParameterSource args, SqlParameter param) {
+        String name = param.getName();
+        if (args.hasValue(name)) {
+            return args.getValue(name);
+        }
+        String propertyName = JdbcUtils.convertUnderscoreNameToPropertyName(name);
+        if (args.hasValue(propertyName)) {
+            return args.getValue(propertyName);
+        }
+        throw new InvalidDataAccessApiUsageException("No value supplied for procedure parameter '" + name + "'");
+    }
+
     /**
      * {@inheritDoc}
      */
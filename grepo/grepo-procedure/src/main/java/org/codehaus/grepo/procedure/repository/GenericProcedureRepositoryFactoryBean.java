@@ -16,14 +16,29 @@
 
 package org.codehaus.grepo.procedure.repository;
 
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import javax.sql.DataSource;
 
+import org.codehaus.grepo.core.exception.ConfigurationException;
+import org.codehaus.grepo.procedure.annotation.GenericProcedure;
+import org.codehaus.grepo.procedure.aop.ProcedureMethodParameterInfo;
+import org.codehaus.grepo.procedure.aop.ProcedureMethodParameterInfoImpl;
 import org.codehaus.grepo.statistics.repository.GenericStatisticsRepositoryFactoryBean;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.util.Assert;
 
 /**
@@ -36,8 +51,23 @@ public class GenericProcedureRepositoryFactoryBean extends
 
     private static final Logger logger = LoggerFactory.getLogger(GenericProcedureRepositoryFactoryBean.class);
 
+    /** The default max number of threads used to precompile procedures. */
+    public static final int DEFAULT_PRECOMPILATION_THREADS = 4;
+
     private DataSource dataSource;
 
+    /**
+     * Flag to control whether or not all procedures with {@code cachingEnabled=true} are compiled (and cached) at
+     * context startup (default is {@code false}).
+     */
+    private boolean precompileProcedures = false;
+
+    /** The max number of threads used to precompile procedures. */
+    private int precompilationThreads = DEFAULT_PRECOMPILATION_THREADS;
+
+    /** The compilation times in milliseconds of the precompiled procedures mapped by cache name. */
+    private Map<String, Long> precompilationTimes = Collections.emptyMap();
+
     /**
      * {@inheritDoc}
      */
@@ -95,6 +125,107 @@ public class GenericProcedureRepositoryFactoryBean extends
         target.setDataSource(dataSource);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isEagerInit() {
+        return super.isEagerInit() || precompileProcedures;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void initializeEagerly(GenericProcedureRepositorySupport target) {
+        super.initializeEagerly(target);
+        if (precompileProcedures) {
+            precompileProcedures(target);
+        }
+    }
+
+    /**
+     * Compiles all procedures of the proxy interface which have {@code cachingEnabled=true} in parallel, using at most
+     * {@link #precompilationThreads} threads. The compiled procedures are added to the configured caching strategy.
+     *
+     * @param target The configured target.
+     * @throws ConfigurationException if a procedure could not be compiled.
+     */
+    protected void precompileProcedures(GenericProcedureRepositorySupport target) throws ConfigurationException {
+        if (!(target instanceof GenericProcedureRepositoryImpl)) {
+            logger.warn("Unable to precompile procedures of repository '{}' - target is not of type '{}'",
+                getProxyInterface().getName(), GenericProcedureRepositoryImpl.class.getName());
+            return;
+        }
+
+        List<ProcedureMethodParameterInfo> infos = new ArrayList<ProcedureMethodParameterInfo>();
+        for (Method method : getProxyInterface().getMethods()) {
+            GenericProcedure annotation = method.getAnnotation(GenericProcedure.class);
+            if (annotation != null && annotation.cachingEnabled()) {
+                infos.add(new ProcedureMethodParameterInfoImpl(method, new Object[method.getParameterTypes().length]));
+            }
+        }
+        if (infos.isEmpty()) {
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        final GenericProcedureRepositoryImpl repository = (GenericProcedureRepositoryImpl)target;
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("grepo-precompilation-");
+        threadFactory.setDaemon(true);
+        ExecutorService executor =
+            Executors.newFixedThreadPool(Math.max(1, Math.min(precompilationThreads, infos.size())), threadFactory);
+        try {
+            List<Future<Long>> futures = new ArrayList<Future<Long>>();
+            for (final ProcedureMethodParameterInfo pmpi : infos) {
+                futures.add(executor.submit(new Callable<Long>() {
+
+                    public Long call() {
+                        long compilationStart = System.currentTimeMillis();
+                        repository.precompileProcedure(pmpi);
+                        return System.currentTimeMillis() - compilationStart;
+                    }
+                }));
+            }
+
+            Map<String, Long> times = new LinkedHashMap<String, Long>();
+            for (int i = 0; i < infos.size(); i++) {
+                ProcedureMethodParameterInfo pmpi = infos.get(i);
+                long millis = waitForPrecompilation(futures.get(i), pmpi.getMethodName());
+                times.put(repository.getCachingStrategy().generateCacheName(pmpi), millis);
+                logger.info("Precompiled procedure of method '{}' (repository '{}') in {}ms", new Object[] {
+                    pmpi.getMethodName(), getProxyInterface().getName(), millis });
+            }
+            precompilationTimes = Collections.unmodifiableMap(times);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        logger.info("Precompiled {} procedures of repository '{}' in {}ms", new Object[] {infos.size(),
+            getProxyInterface().getName(), System.currentTimeMillis() - start });
+    }
+
+    /**
+     * @param future The future of the precompilation.
+     * @param methodName The method name.
+     * @return Returns the compilation time in milliseconds.
+     * @throws ConfigurationException if the procedure could not be compiled.
+     */
+    private long waitForPrecompilation(Future<Long> future, String methodName) throws ConfigurationException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            String msg = String.format("Interrupted while precompiling procedure of method '%s' (repository '%s')",
+                methodName, getProxyInterface().getName());
+            throw new ConfigurationException(msg, e);
+        } catch (ExecutionException e) {
+            String msg = String.format("Unable to precompile procedure of method '%s' (repository '%s')", methodName,
+                getProxyInterface().getName());
+            throw new ConfigurationException(msg, e.getCause());
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -127,4 +258,27 @@ public class GenericProcedureRepositoryFactoryBean extends
         this.dataSource = dataSource;
     }
 
+    public boolean isPrecompileProcedures() {
+        return precompileProcedures;
+    }
+
+    public void setPrecompileProcedures(boolean precompileProcedures) {
+        this.precompileProcedures = precompileProcedures;
+    }
+
+    public int getPrecompilationThreads() {
+        return precompilationThreads;
+    }
+
+    public void setPrecompilationThreads(int precompilationThreads) {
+        this.precompilationThreads = precompilationThreads;
+    }
+
+    /**
+     * @return Returns the compilation times in milliseconds of the precompiled procedures mapped by cache name.
+     */
+    public Map<String, Long> getPrecompilationTimes() {
+        return precompilationTimes;
+    }
+
 }
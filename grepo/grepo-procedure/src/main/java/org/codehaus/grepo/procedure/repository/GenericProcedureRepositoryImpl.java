@@ -16,17 +16,26 @@
 
 package org.codehaus.grepo.procedure.repository;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.apache.commons.lang.StringUtils;
+import org.codehaus.grepo.core.exception.ConfigurationException;
 import org.codehaus.grepo.core.validator.GenericValidationUtils;
 import org.codehaus.grepo.procedure.annotation.GenericProcedure;
 import org.codehaus.grepo.procedure.aop.ProcedureMethodParameterInfo;
+import org.codehaus.grepo.procedure.cache.ProcedureCompilationCallback;
 import org.codehaus.grepo.procedure.context.ProcedureExecutionContext;
 import org.codehaus.grepo.procedure.context.ProcedureExecutionContextImpl;
+import org.codehaus.grepo.procedure.context.StoredProcedureImpl;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.namedparam.BeanPropertySqlParameterSource;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
 import org.springframework.jdbc.object.StoredProcedure;
 import org.springframework.transaction.TransactionStatus;
 import org.springframework.transaction.support.TransactionCallback;
@@ -47,15 +56,23 @@ public class GenericProcedureRepositoryImpl extends GenericProcedureRepositorySu
         throws Exception {
         createStatisticsEntry(pmpi);
         try {
-            Map<String, Object> resultMap = executeProcedure(pmpi, genericProcedure);
-
-            Object result = convertResult(resultMap, pmpi, genericProcedure);
+            Object result = null;
+            if (genericProcedure.batch()) {
+                result = executeBatchProcedure(pmpi, genericProcedure);
+            } else {
+                Map<String, Object> resultMap = executeProcedure(pmpi, genericProcedure);
+                result = convertResult(resultMap, pmpi, genericProcedure);
+            }
 
             validateResult(result, pmpi, genericProcedure);
 
+            recordStatisticsSuccess(pmpi, null);
             return result;
+        } catch (Exception e) {
+            recordStatisticsFailure(pmpi, e);
+            throw e;
         } finally {
-            completeStatisticsEntry(pmpi.getStatisticsEntry());
+            completeStatisticsEntry(pmpi);
         }
     }
 
@@ -68,9 +85,9 @@ public class GenericProcedureRepositoryImpl extends GenericProcedureRepositorySu
      */
     protected Map<String, Object> executeProcedure(final ProcedureMethodParameterInfo pmpi,
         GenericProcedure genericProcedure) {
-        TransactionCallback<Object> callback = new TransactionCallback<Object>() {
+        TransactionCallback<Map<String, Object>> callback = new TransactionCallback<Map<String, Object>>() {
 
-            public Object doInTransaction(final TransactionStatus status) {
+            public Map<String, Object> doInTransaction(final TransactionStatus status) {
                 ProcedureExecutionContext context = createProcedureExecutionContext();
 
                 StoredProcedure sp = prepareProcedure(pmpi, context);
@@ -82,7 +99,7 @@ public class GenericProcedureRepositoryImpl extends GenericProcedureRepositorySu
                     logger.debug("Using input map: {}", input);
                 }
 
-                Object result = sp.execute(input);
+                Map<String, Object> result = sp.execute(input);
                 logger.debug("Procedure result is '{}'", result);
                 return result;
             }
@@ -91,6 +108,67 @@ public class GenericProcedureRepositoryImpl extends GenericProcedureRepositorySu
         return executeCallback(callback, genericProcedure.isReadOnly());
     }
 
+    /**
+     * Executes the procedure in batch mode, see {@link GenericProcedure#batch()}.
+     *
+     * @param pmpi The method parameter info.
+     * @param genericProcedure The annotation.
+     * @return Returns the update counts for each execution.
+     * @throws ConfigurationException if the method is not a valid batch method.
+     */
+    protected int[] executeBatchProcedure(final ProcedureMethodParameterInfo pmpi,
+        final GenericProcedure genericProcedure) throws ConfigurationException {
+        final List<SqlParameterSource> batchArgs = generateBatchArgs(pmpi);
+
+        TransactionCallback<int[]> callback = new TransactionCallback<int[]>() {
+
+            public int[] doInTransaction(final TransactionStatus status) {
+                StoredProcedure sp = prepareProcedure(pmpi, createProcedureExecutionContext());
+                if (!(sp instanceof StoredProcedureImpl)) {
+                    String msg = String.format("Unable to execute procedure '%s' in batch mode, because it is not "
+                        + "of type '%s'", sp.getSql(), StoredProcedureImpl.class.getName());
+                    throw new ConfigurationException(msg);
+                }
+
+                logger.debug("About to execute procedure {} times in batch mode: {}", batchArgs.size(), sp.getSql());
+                return ((StoredProcedureImpl)sp).executeBatch(batchArgs, genericProcedure.batchSize());
+            }
+        };
+
+        return executeCallback(callback, genericProcedure.isReadOnly());
+    }
+
+    /**
+     * Converts the elements of the collection passed to a batch method to parameter sources. Elements may be
+     * {@link Map}s, {@link SqlParameterSource}s or beans.
+     *
+     * @param pmpi The method parameter info.
+     * @return Returns the parameter values for each execution.
+     * @throws ConfigurationException if the method is not a valid batch method.
+     */
+    @SuppressWarnings("unchecked")
+    protected List<SqlParameterSource> generateBatchArgs(ProcedureMethodParameterInfo pmpi)
+        throws ConfigurationException {
+        if (pmpi.getParameters().size() != 1 || !(pmpi.getParameter(0) instanceof Collection<?>)) {
+            String msg = String.format("Batch method '%s' must have exactly one (non-null) parameter of type '%s'",
+                pmpi.getMethodName(), Collection.class.getName());
+            throw new ConfigurationException(msg);
+        }
+
+        Collection<?> elements = pmpi.getParameter(0, Collection.class);
+        List<SqlParameterSource> batchArgs = new ArrayList<SqlParameterSource>(elements.size());
+        for (Object element : elements) {
+            if (element instanceof SqlParameterSource) {
+                batchArgs.add((SqlParameterSource)element);
+            } else if (element instanceof Map<?, ?>) {
+                batchArgs.add(new MapSqlParameterSource((Map<String, ?>)element));
+            } else {
+                batchArgs.add(new BeanPropertySqlParameterSource(element));
+            }
+        }
+        return batchArgs;
+    }
+
     /**
      * @param resultMap The procedure result to convert.
      * @param pmpi The procedure method parameter info.
@@ -142,31 +220,37 @@ public class GenericProcedureRepositoryImpl extends GenericProcedureRepositorySu
      * @param context The procedure execution context.
      * @return Returns the stored procedure.
      */
-    protected StoredProcedure prepareProcedure(ProcedureMethodParameterInfo pmpi, ProcedureExecutionContext context) {
+    protected StoredProcedure prepareProcedure(final ProcedureMethodParameterInfo pmpi,
+        final ProcedureExecutionContext context) {
         GenericProcedure annotation = pmpi.getMethodAnnotation(GenericProcedure.class);
 
         StoredProcedure storedProcedure = null;
-        String cacheName = null;
-        synchronized (getProcedureCachingStrategy()) {
-            if (annotation.cachingEnabled()) {
-                // try to get an already compiled procedure from the cache...
-                cacheName = getCachingStrategy().generateCacheName(pmpi);
-                storedProcedure = getCachingStrategy().getFromCache(cacheName);
-            }
-    
-            if (storedProcedure == null) {
-                // no procedure found in cache, so create new procedure...
-                storedProcedure = getCompilationStrategy().compile(pmpi, context);
-                if (annotation.cachingEnabled()) {
-                    // cache the newly compiled procedure...
-                    getCachingStrategy().addToCache(storedProcedure, cacheName);
+        if (annotation.cachingEnabled()) {
+            // get an already compiled procedure from the cache or compile and cache a new one...
+            String cacheName = getCachingStrategy().generateCacheName(pmpi);
+            storedProcedure = getCachingStrategy().getFromCache(cacheName, pmpi, new ProcedureCompilationCallback() {
+
+                public StoredProcedure doCompile() {
+                    return getCompilationStrategy().compile(pmpi, context);
                 }
-    
-            }
+            });
+        } else {
+            storedProcedure = getCompilationStrategy().compile(pmpi, context);
         }
         return storedProcedure;
     }
 
+    /**
+     * Compiles the procedure of the given method and adds it to the cache (if caching is enabled and the procedure is
+     * not cached yet). Used to precompile procedures at startup.
+     *
+     * @param pmpi The procedure method parameter info.
+     * @return Returns the compiled procedure.
+     */
+    public StoredProcedure precompileProcedure(ProcedureMethodParameterInfo pmpi) {
+        return prepareProcedure(pmpi, createProcedureExecutionContext());
+    }
+
     /**
      * @param pmpi The procedure method parameter info.
      * @param context The procedure execution context.
@@ -16,8 +16,6 @@
 
 package org.codehaus.grepo.procedure.repository;
 
-import java.util.Map;
-
 import javax.sql.DataSource;
 
 import org.codehaus.grepo.procedure.cache.ProcedureCachingStrategy;
@@ -44,11 +42,10 @@ public abstract class GenericProcedureRepositorySupport extends GenericStatistic
      *
      * @param callback The callback to execute.
      * @param preferReadOnlyTransactionTemplate Flag to indicate if the read-only template should be prefered.
+     * @param <R> The result type.
      * @return Returns the result.
      */
-    @SuppressWarnings("unchecked")
-    protected Map<String, Object> executeCallback(TransactionCallback<Object> callback,
-            boolean preferReadOnlyTransactionTemplate) {
+    protected <R> R executeCallback(TransactionCallback<R> callback, boolean preferReadOnlyTransactionTemplate) {
         boolean isReadOnlyTemplateUsed = false;
         TransactionTemplate templateToUse = null;
         if (preferReadOnlyTransactionTemplate && getReadOnlyTransactionTemplate() != null) {
@@ -58,15 +55,15 @@ public abstract class GenericProcedureRepositorySupport extends GenericStatistic
             templateToUse = getTransactionTemplate();
         }
 
-        Map<String, Object> retVal = null;
+        R retVal = null;
         if (templateToUse == null) {
             logger.debug("Executing procedure without using transaction template");
             // execute without transaction...
-            retVal = (Map<String, Object>)callback.doInTransaction(null);
+            retVal = callback.doInTransaction(null);
         } else {
             logger.debug("Executing procedure using {} transaction template",
                 (isReadOnlyTemplateUsed ? "read-only" : ""));
-            retVal = (Map<String, Object>)templateToUse.execute(callback);
+            retVal = templateToUse.execute(callback);
         }
         return retVal;
     }
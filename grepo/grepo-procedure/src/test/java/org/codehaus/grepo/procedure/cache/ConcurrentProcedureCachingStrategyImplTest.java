@@ -0,0 +1,263 @@
+/*
+ * Copyright 2009 Grepo Committers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.codehaus.grepo.procedure.cache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.codehaus.grepo.procedure.aop.ProcedureMethodParameterInfo;
+import org.codehaus.grepo.procedure.aop.ProcedureMethodParameterInfoImpl;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.jdbc.object.StoredProcedure;
+
+/**
+ * @author dguggi
+ */
+public class ConcurrentProcedureCachingStrategyImplTest {
+
+    private ConcurrentProcedureCachingStrategyImpl strategy;
+
+    @Before
+    public void before() {
+        strategy = new ConcurrentProcedureCachingStrategyImpl();
+    }
+
+    @Test
+    public void testCompilesOnlyOnce() {
+        CountingCallback callback = new CountingCallback();
+        StoredProcedure sp = strategy.getFromCache("proc", null, callback);
+        Assert.assertNotNull(sp);
+        Assert.assertSame(sp, strategy.getFromCache("proc", null, callback));
+        Assert.assertSame(sp, strategy.getFromCache("proc"));
+        Assert.assertEquals(1, callback.count.get());
+
+        Assert.assertSame(sp, strategy.removeFromCache("proc"));
+        Assert.assertNull(strategy.getFromCache("proc"));
+        Assert.assertNotSame(sp, strategy.getFromCache("proc", null, callback));
+        Assert.assertEquals(2, callback.count.get());
+    }
+
+    @Test
+    public void testConcurrentFirstCallsCompileOnce() throws Exception {
+        final CountDownLatch compiling = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountingCallback callback = new CountingCallback() {
+
+            @Override
+            public StoredProcedure doCompile() {
+                compiling.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.doCompile();
+            }
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<StoredProcedure>> futures = new ArrayList<Future<StoredProcedure>>();
+            for (int i = 0; i < 8; i++) {
+                futures.add(executor.submit(new Callable<StoredProcedure>() {
+
+                    public StoredProcedure call() {
+                        return strategy.getFromCache("slow", null, callback);
+                    }
+                }));
+            }
+
+            // other procedures are not blocked by the ongoing compilation...
+            Assert.assertTrue(compiling.await(5, TimeUnit.SECONDS));
+            CountingCallback other = new CountingCallback();
+            Assert.assertNotNull(strategy.getFromCache("other", null, other));
+            Assert.assertEquals(1, other.count.get());
+
+            release.countDown();
+            StoredProcedure sp = futures.get(0).get(5, TimeUnit.SECONDS);
+            for (Future<StoredProcedure> future : futures) {
+                Assert.assertSame(sp, future.get(5, TimeUnit.SECONDS));
+            }
+            Assert.assertEquals(1, callback.count.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testFailedCompilationIsNotCached() {
+        try {
+            strategy.getFromCache("proc", null, new ProcedureCompilationCallback() {
+
+                public StoredProcedure doCompile() {
+                    throw new IllegalStateException("compilation failed");
+                }
+            });
+            Assert.fail("exception expected");
+        } catch (IllegalStateException e) {
+            Assert.assertEquals("compilation failed", e.getMessage());
+        }
+        Assert.assertEquals(0, strategy.size());
+
+        CountingCallback callback = new CountingCallback();
+        Assert.assertNotNull(strategy.getFromCache("proc", null, callback));
+        Assert.assertEquals(1, callback.count.get());
+    }
+
+    @Test(expected = ProcedureCachingException.class)
+    public void testEmptyCacheName() {
+        strategy.getFromCache("", null, new CountingCallback());
+    }
+
+    @Test
+    public void testStatistics() {
+        CountingCallback callback = new CountingCallback();
+        strategy.getFromCache("proc", null, callback);
+        strategy.getFromCache("proc", null, callback);
+        strategy.getFromCache("proc");
+        strategy.getFromCache("unknown");
+
+        Assert.assertEquals(2, strategy.getHitCount());
+        Assert.assertEquals(2, strategy.getMissCount());
+        Assert.assertEquals(0.5D, strategy.getHitRatio(), 0.001D);
+        Assert.assertEquals(1, strategy.getCompilationCount());
+        Assert.assertEquals(0, strategy.getCompilationFailureCount());
+        Assert.assertTrue(strategy.getMaxCompilationTimeMillis() >= 0D);
+
+        strategy.resetStatistics();
+        Assert.assertEquals(0, strategy.getHitCount());
+        Assert.assertEquals(0, strategy.getCompilationCount());
+    }
+
+    @Test
+    public void testConcurrentHitCount() throws Exception {
+        final int threads = 8;
+        final int hitsPerThread = 10000;
+        final CountingCallback callback = new CountingCallback();
+        strategy.getFromCache("proc", null, callback);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<Future<?>>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(new Runnable() {
+
+                    public void run() {
+                        for (int j = 0; j < hitsPerThread; j++) {
+                            strategy.getFromCache("proc", null, callback);
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        Assert.assertEquals(threads * hitsPerThread, strategy.getHitCount());
+        Assert.assertEquals(1, strategy.getMissCount());
+        Assert.assertEquals(1, callback.count.get());
+    }
+
+    @Test
+    public void testLruEviction() {
+        strategy.setMaxSize(2);
+        CountingCallback callback = new CountingCallback();
+        strategy.getFromCache("a", null, callback);
+        strategy.getFromCache("b", null, callback);
+        strategy.getFromCache("a", null, callback);
+        strategy.getFromCache("c", null, callback);
+
+        Assert.assertEquals(2, strategy.size());
+        Assert.assertArrayEquals(new String[] {"a", "c"}, strategy.getCacheNames());
+        Assert.assertEquals(1, strategy.getEvictionCount());
+        Assert.assertEquals(3, callback.count.get());
+    }
+
+    @Test
+    public void testLfuEviction() {
+        strategy.setMaxSize(2);
+        strategy.setEvictionPolicy(ProcedureCacheEvictionPolicy.LFU);
+        CountingCallback callback = new CountingCallback();
+        strategy.getFromCache("a", null, callback);
+        strategy.getFromCache("a", null, callback);
+        strategy.getFromCache("a", null, callback);
+        strategy.getFromCache("b", null, callback);
+        strategy.getFromCache("c", null, callback);
+
+        Assert.assertArrayEquals(new String[] {"a", "c"}, strategy.getCacheNames());
+        Assert.assertEquals(1, strategy.getEvictionCount());
+    }
+
+    @Test
+    public void testExpiration() throws InterruptedException {
+        strategy.setTimeToLiveMillis(50);
+        CountingCallback callback = new CountingCallback();
+        StoredProcedure sp = strategy.getFromCache("proc", null, callback);
+        Thread.sleep(100);
+        Assert.assertNotSame(sp, strategy.getFromCache("proc", null, callback));
+        Assert.assertEquals(2, callback.count.get());
+        Assert.assertEquals(1, strategy.getExpirationCount());
+    }
+
+    @Test
+    public void testInvalidation() throws Exception {
+        ProcedureMethodParameterInfo runnable =
+            new ProcedureMethodParameterInfoImpl(Runnable.class.getMethod("run"), new Object[0]);
+        ProcedureMethodParameterInfo callable =
+            new ProcedureMethodParameterInfoImpl(Callable.class.getMethod("call"), new Object[0]);
+        CountingCallback callback = new CountingCallback();
+        strategy.getFromCache("a", runnable, callback);
+        strategy.getFromCache("b", runnable, callback);
+        strategy.getFromCache("c", callable, callback);
+        strategy.getFromCache("d", null, callback);
+
+        Assert.assertTrue(strategy.invalidate("d"));
+        Assert.assertFalse(strategy.invalidate("d"));
+        Assert.assertEquals(2, strategy.invalidateRepository(Runnable.class));
+        Assert.assertArrayEquals(new String[] {"c"}, strategy.getCacheNames());
+
+        strategy.invalidateAll();
+        Assert.assertEquals(0, strategy.size());
+    }
+
+    /**
+     * Counts the number of compilations.
+     */
+    private static class CountingCallback implements ProcedureCompilationCallback {
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        public StoredProcedure doCompile() {
+            count.incrementAndGet();
+            return new StoredProcedure() {
+            };
+        }
+    }
+
+}
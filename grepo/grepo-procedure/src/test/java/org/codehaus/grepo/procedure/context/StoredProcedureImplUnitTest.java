@@ -0,0 +1,231 @@
+/*
+ * Copyright 2009 Grepo Committers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.codehaus.grepo.procedure.context;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.jdbc.core.SqlOutParameter;
+import org.springframework.jdbc.core.SqlParameter;
+import org.springframework.jdbc.core.namedparam.BeanPropertySqlParameterSource;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+/**
+ * Tests the batch execution of {@link StoredProcedureImpl} against a recording JDBC stub.
+ *
+ * @author dguggi
+ */
+public class StoredProcedureImplUnitTest {
+
+    @Test
+    public void testExecuteBatch() {
+        RecordingJdbc jdbc = new RecordingJdbc(true);
+        StoredProcedureImpl sp = createProcedure(jdbc);
+
+        List<SqlParameterSource> batchArgs = new ArrayList<SqlParameterSource>();
+        for (int i = 0; i < 4; i++) {
+            batchArgs.add(new MapSqlParameterSource("row_string", "value" + i).addValue("row_integer", i));
+        }
+        batchArgs.add(new BeanPropertySqlParameterSource(new BatchRow("bean", 42)));
+
+        int[] updateCounts = sp.executeBatch(batchArgs, 2);
+
+        Assert.assertEquals("{call test_proc(?, ?)}", jdbc.callString);
+        Assert.assertEquals(5, updateCounts.length);
+        Assert.assertEquals(Arrays.asList(2, 2, 1), jdbc.batchSizes);
+        Assert.assertEquals(0, jdbc.executions);
+        Assert.assertEquals("value0", jdbc.rows.get(0).get(1));
+        Assert.assertEquals(3, jdbc.rows.get(3).get(2));
+        Assert.assertEquals("bean", jdbc.rows.get(4).get(1));
+        Assert.assertEquals(42, jdbc.rows.get(4).get(2));
+        Assert.assertTrue(jdbc.closed);
+    }
+
+    @Test
+    public void testExecuteBatchWithoutDriverSupport() {
+        RecordingJdbc jdbc = new RecordingJdbc(false);
+        StoredProcedureImpl sp = createProcedure(jdbc);
+
+        List<SqlParameterSource> batchArgs = new ArrayList<SqlParameterSource>();
+        for (int i = 0; i < 3; i++) {
+            batchArgs.add(new MapSqlParameterSource("row_string", "value" + i).addValue("row_integer", i));
+        }
+
+        int[] updateCounts = sp.executeBatch(batchArgs, 2);
+
+        Assert.assertArrayEquals(new int[] {1, 1, 1}, updateCounts);
+        Assert.assertTrue(jdbc.batchSizes.isEmpty());
+        Assert.assertEquals(3, jdbc.executions);
+    }
+
+    @Test(expected = InvalidDataAccessApiUsageException.class)
+    public void testExecuteBatchWithMissingValue() {
+        StoredProcedureImpl sp = createProcedure(new RecordingJdbc(true));
+        List<SqlParameterSource> batchArgs = new ArrayList<SqlParameterSource>();
+        batchArgs.add(new MapSqlParameterSource("row_string", "value"));
+        sp.executeBatch(batchArgs, 2);
+    }
+
+    @Test(expected = InvalidDataAccessApiUsageException.class)
+    public void testExecuteBatchWithOutParameter() {
+        StoredProcedureImpl sp = new StoredProcedureImpl(new RecordingJdbc(true).createDataSource(), "test_proc");
+        sp.declareParameter(new SqlParameter("row_string", Types.VARCHAR));
+        sp.declareParameter(new SqlOutParameter("p_result", Types.VARCHAR));
+        sp.compile();
+        sp.executeBatch(new ArrayList<SqlParameterSource>(), 2);
+    }
+
+    private StoredProcedureImpl createProcedure(RecordingJdbc jdbc) {
+        StoredProcedureImpl sp = new StoredProcedureImpl(jdbc.createDataSource(), "test_proc");
+        sp.declareParameter(new SqlParameter("row_string", Types.VARCHAR));
+        sp.declareParameter(new SqlParameter("row_integer", Types.INTEGER));
+        sp.compile();
+        return sp;
+    }
+
+    /**
+     * Bean used as batch row.
+     */
+    public static class BatchRow {
+
+        private final String rowString;
+
+        private final Integer rowInteger;
+
+        public BatchRow(String rowString, Integer rowInteger) {
+            this.rowString = rowString;
+            this.rowInteger = rowInteger;
+        }
+
+        public String getRowString() {
+            return rowString;
+        }
+
+        public Integer getRowInteger() {
+            return rowInteger;
+        }
+    }
+
+    /**
+     * Creates JDBC proxies which record the calls relevant for batching.
+     */
+    private static class RecordingJdbc implements InvocationHandler {
+
+        private final boolean batchSupported;
+
+        private final List<Map<Integer, Object>> rows = new ArrayList<Map<Integer, Object>>();
+
+        private final List<Integer> batchSizes = new ArrayList<Integer>();
+
+        private Map<Integer, Object> current = new HashMap<Integer, Object>();
+
+        private int pending;
+
+        private int executions;
+
+        private String callString;
+
+        private boolean closed;
+
+        /** Implements both {@link DataSource} and {@link Connection}. */
+        private Object dataSource;
+
+        RecordingJdbc(boolean batchSupported) {
+            this.batchSupported = batchSupported;
+        }
+
+        DataSource createDataSource() {
+            dataSource = createProxy(DataSource.class, Connection.class);
+            return (DataSource)dataSource;
+        }
+
+        private Object createProxy(Class<?>... interfaces) {
+            return Proxy.newProxyInstance(getClass().getClassLoader(), interfaces, this);
+        }
+
+        public Object invoke(Object proxy, Method method, Object[] args) {
+            String name = method.getName();
+            if (name.equals("getConnection")) {
+                return dataSource;
+            } else if (name.equals("getMetaData")) {
+                return createProxy(DatabaseMetaData.class);
+            } else if (name.equals("prepareCall")) {
+                callString = (String)args[0];
+                return createProxy(CallableStatement.class);
+            } else if (name.equals("supportsBatchUpdates")) {
+                return batchSupported;
+            } else if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                current.put((Integer)args[0], (name.equals("setNull") ? null : args[1]));
+                return null;
+            } else if (name.equals("addBatch")) {
+                rows.add(current);
+                current = new HashMap<Integer, Object>();
+                pending++;
+                return null;
+            } else if (name.equals("executeBatch")) {
+                batchSizes.add(pending);
+                int[] counts = new int[pending];
+                Arrays.fill(counts, 1);
+                pending = 0;
+                return counts;
+            } else if (name.equals("execute")) {
+                rows.add(current);
+                current = new HashMap<Integer, Object>();
+                executions++;
+                return false;
+            } else if (name.equals("getUpdateCount")) {
+                return 1;
+            } else if (name.equals("close")) {
+                closed |= (proxy instanceof CallableStatement);
+                return null;
+            } else if (name.equals("hashCode")) {
+                return System.identityHashCode(proxy);
+            } else if (name.equals("equals")) {
+                return proxy == args[0];
+            }
+            return defaultValue(method.getReturnType());
+        }
+
+        private static Object defaultValue(Class<?> type) {
+            if (type == boolean.class) {
+                return false;
+            } else if (type == int.class) {
+                return 0;
+            } else if (type == long.class) {
+                return 0L;
+            }
+            return null;
+        }
+    }
+
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2009 Grepo Committers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.codehaus.grepo.procedure.repository;
+
+import java.sql.Types;
+
+import org.codehaus.grepo.procedure.annotation.GenericProcedure;
+import org.codehaus.grepo.procedure.annotation.In;
+
+/**
+ * @author dguggi
+ */
+public interface PrecompilationTestRepository extends GenericProcedureRepository {
+
+    @GenericProcedure(sql = "grepo_test.simple_proc1")
+    void executeProc1(@In(name = "p_string", sqlType = Types.VARCHAR) String p1);
+
+    @GenericProcedure(sql = "grepo_test.simple_proc2")
+    void executeProc2();
+
+    @GenericProcedure(sql = "grepo_test.simple_proc3", cachingEnabled = false)
+    void executeProc3();
+
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2009 Grepo Committers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.codehaus.grepo.procedure.repository;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.codehaus.grepo.core.exception.ConfigurationException;
+import org.codehaus.grepo.procedure.aop.ProcedureMethodParameterInfo;
+import org.codehaus.grepo.procedure.cache.ConcurrentProcedureCachingStrategyImpl;
+import org.codehaus.grepo.procedure.compile.ProcedureCompilationStrategy;
+import org.codehaus.grepo.procedure.context.ProcedureExecutionContext;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.jdbc.object.StoredProcedure;
+
+/**
+ * Tests the precompilation of procedures without a database.
+ *
+ * @author dguggi
+ */
+public class PrecompilationUnitTest {
+
+    private ConcurrentProcedureCachingStrategyImpl cachingStrategy;
+
+    private CountingCompilationStrategy compilationStrategy;
+
+    private GenericProcedureRepositoryImpl target;
+
+    private GenericProcedureRepositoryFactoryBean factory;
+
+    @Before
+    public void before() {
+        cachingStrategy = new ConcurrentProcedureCachingStrategyImpl();
+        compilationStrategy = new CountingCompilationStrategy();
+
+        GrepoProcedureConfiguration configuration = new GrepoProcedureConfiguration();
+        configuration.setCachingStrategy(cachingStrategy);
+        configuration.setCompilationStrategy(compilationStrategy);
+
+        target = new GenericProcedureRepositoryImpl();
+        target.setConfiguration(configuration);
+
+        factory = new GenericProcedureRepositoryFactoryBean();
+        factory.setConfiguration(configuration);
+        factory.setProxyInterface(PrecompilationTestRepository.class);
+    }
+
+    @Test
+    public void testPrecompilationIsDisabledByDefault() {
+        Assert.assertFalse(factory.isEagerInit());
+        Assert.assertTrue(factory.getPrecompilationTimes().isEmpty());
+    }
+
+    @Test
+    public void testPrecompileProcedures() {
+        factory.setPrecompileProcedures(true);
+        factory.setPrecompilationThreads(2);
+        Assert.assertTrue(factory.isEagerInit());
+
+        factory.initializeEagerly(target);
+
+        // procedures with cachingEnabled=false are not precompiled...
+        Assert.assertEquals(2, compilationStrategy.count.get());
+        Assert.assertEquals(2, cachingStrategy.size());
+        Set<String> expected = new HashSet<String>();
+        Collections.addAll(expected, cachingStrategy.getCacheNames());
+        Assert.assertEquals(expected, factory.getPrecompilationTimes().keySet());
+    }
+
+    @Test(expected = ConfigurationException.class)
+    public void testPrecompilationFailure() {
+        compilationStrategy.fail = true;
+        factory.setPrecompileProcedures(true);
+        factory.initializeEagerly(target);
+    }
+
+    /**
+     * Counts the number of compilations.
+     */
+    private static class CountingCompilationStrategy implements ProcedureCompilationStrategy {
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        private volatile boolean fail;
+
+        public StoredProcedure compile(ProcedureMethodParameterInfo pmpi, ProcedureExecutionContext context) {
+            if (fail) {
+                throw new ConfigurationException("compilation failed");
+            }
+            count.incrementAndGet();
+            return new StoredProcedure() {
+            };
+        }
+    }
+
+}
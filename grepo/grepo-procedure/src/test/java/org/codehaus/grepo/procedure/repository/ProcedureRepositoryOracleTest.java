@@ -18,6 +18,9 @@ package org.codehaus.grepo.procedure.repository;
 
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.codehaus.grepo.core.context.GrepoOracleTestContextLoaderWithDefLoc;
@@ -99,6 +102,23 @@ public class ProcedureRepositoryOracleTest extends AbstractProcedureRepositoryTe
         Assert.assertEquals("p1=value p2=42", result);
     }
 
+    /** Tests batch execution with maps and beans. */
+    @Test
+    public void testBatchProc() {
+        List<Object> rows = new ArrayList<Object>();
+        for (int i = 0; i < 5; i++) {
+            Map<String, Object> row = new HashMap<String, Object>();
+            row.put("row_string", "value" + i);
+            row.put("row_integer", i);
+            rows.add(row);
+        }
+        rows.add(new BatchRow("bean", 42));
+
+        int[] updateCounts = repo.executeBatchProc(rows);
+        Assert.assertNotNull(updateCounts);
+        Assert.assertEquals(6, updateCounts.length);
+    }
+
     /**
      * Tests simple function.
      *
@@ -119,6 +139,30 @@ public class ProcedureRepositoryOracleTest extends AbstractProcedureRepositoryTe
         thread2.join();
     }
 
+    /**
+     * Bean used as batch row, properties are mapped to the procedure parameters {@code row_string} and
+     * {@code row_integer}.
+     */
+    public static class BatchRow {
+
+        private final String rowString;
+
+        private final Integer rowInteger;
+
+        public BatchRow(String rowString, Integer rowInteger) {
+            this.rowString = rowString;
+            this.rowInteger = rowInteger;
+        }
+
+        public String getRowString() {
+            return rowString;
+        }
+
+        public Integer getRowInteger() {
+            return rowInteger;
+        }
+    }
+
     private class TestProcThread extends Thread {
 
         @Override
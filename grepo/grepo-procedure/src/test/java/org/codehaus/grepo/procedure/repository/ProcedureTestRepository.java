@@ -17,6 +17,7 @@
 package org.codehaus.grepo.procedure.repository;
 
 import java.sql.Types;
+import java.util.Collection;
 import java.util.Map;
 
 import org.codehaus.grepo.core.annotation.Param;
@@ -97,4 +98,11 @@ public interface ProcedureTestRepository extends GenericProcedureRepository {
             @In(name = "p_string", sqlType = Types.VARCHAR) String p1,
             @In(name = "p_integer", sqlType = Types.INTEGER) Integer p2);
 
+
+    @GenericProcedure(sql = "grepo_test.batch_proc", batch = true, batchSize = 2)
+    @InParams({
+        @In(name = "row_string", sqlType = Types.VARCHAR),
+        @In(name = "row_integer", sqlType = Types.INTEGER) })
+    int[] executeBatchProc(Collection<?> rows);
+
 }
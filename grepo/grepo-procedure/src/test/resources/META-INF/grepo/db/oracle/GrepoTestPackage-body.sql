@@ -34,6 +34,14 @@ IS
        open p_result FOR
        select p_string as value from dual;
   END cursor_proc;
+
+  PROCEDURE batch_proc (
+    row_string IN VARCHAR2,
+    row_integer IN INTEGER)
+    IS
+    BEGIN
+       NULL;
+  END batch_proc;
   
 
 END grepo_test;
@@ -17,6 +17,10 @@ IS
   PROCEDURE cursor_proc (
     p_string IN VARCHAR2,
     p_result OUT SYS_REFCURSOR);
+
+  PROCEDURE batch_proc (
+    row_string IN VARCHAR2,
+    row_integer IN INTEGER);
   
 
 END grepo_test;
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2009 Grepo Committers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.codehaus.grepo.query.commons.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Annotation used to enable keyset (seek) pagination for a query. The annotated parameter holds the key of the last
+ * row of the previous page (or the previous {@link org.codehaus.grepo.query.commons.executor.Slice}); the query is
+ * ordered by the sort key and restricted to rows following that key. If the parameter is {@code null} the first page
+ * is returned.
+ * <p>
+ * Unlike {@link FirstResult} the database does not have to skip all rows of the previous pages, so deep pages are
+ * as fast as the first one. The sort key has to be unique and not-null (e.g. the primary key).
+ *
+ * @author dguggi
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.PARAMETER)
+public @interface SeekAfter {
+
+    /** The sort key as used in the query (e.g. {@code e.id}). */
+    String value();
+
+    /**
+     * The property of the result objects holding the key, used to compute the continuation key of a
+     * {@link org.codehaus.grepo.query.commons.executor.Slice}. Defaults to the sort key without a leading alias.
+     */
+    String property() default "";
+
+    /** Flag to indicate whether the rows are ordered descending. */
+    boolean descending() default false;
+
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright 2009 Grepo Committers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.codehaus.grepo.query.commons.aop;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.codehaus.grepo.core.annotation.Param;
+import org.codehaus.grepo.core.converter.ResultConverter;
+import org.codehaus.grepo.core.validator.ResultValidator;
+import org.codehaus.grepo.query.commons.annotation.GenericQuery;
+import org.codehaus.grepo.query.commons.executor.QueryExecutor;
+import org.codehaus.grepo.query.commons.generator.QueryGenerator;
+
+/**
+ * Holds all information about a generic repository method which does not change between invocations. A plan is
+ * created once per method (and entity class) by the
+ * {@link org.codehaus.grepo.query.commons.repository.GenericQueryMethodInterceptor} and shared by all
+ * {@link QueryMethodParameterInfo} instances created for that method.
+ * <p>
+ * The executor class and query name are resolved lazily by the first invocation (or during warm-up) and cached
+ * afterwards.
+ *
+ * @author dguggi
+ */
+public class QueryMethodInvocationPlan {
+
+    /** The method. */
+    private final Method method;
+
+    /** The entity class of the target repository. */
+    private final Class<?> entityClass;
+
+    /** The generic query annotation (may be {@code null}). */
+    private final GenericQuery genericQuery;
+
+    /** The method annotations mapped by annotation type. */
+    private final Map<Class<? extends Annotation>, Annotation> methodAnnotations;
+
+    /** The method annotations. */
+    private final Annotation[] methodAnnotationsArray;
+
+    /** The parameter annotations. */
+    private final Annotation[][] parameterAnnotations;
+
+    /** Maps {@link Param} names to parameter indexes. */
+    private final Map<String, Integer> paramIndexes;
+
+    /** Maps parameter annotation types to the index of the first parameter annotated with that type. */
+    private final Map<Class<? extends Annotation>, Integer> annotatedParameterIndexes;
+
+    /** The resolved query executor class. */
+    private volatile Class<? extends QueryExecutor<?>> queryExecutorClass;
+
+    /** The resolved query name. */
+    private volatile String queryName;
+
+    /**
+     * @param method The method.
+     * @param entityClass The entity class.
+     */
+    public QueryMethodInvocationPlan(Method method, Class<?> entityClass) {
+        this.method = method;
+        this.entityClass = entityClass;
+        this.methodAnnotationsArray = method.getAnnotations();
+        this.parameterAnnotations = method.getParameterAnnotations();
+
+        this.methodAnnotations = new HashMap<Class<? extends Annotation>, Annotation>();
+        for (Annotation a : methodAnnotationsArray) {
+            methodAnnotations.put(a.annotationType(), a);
+        }
+        this.genericQuery = getMethodAnnotation(GenericQuery.class);
+
+        this.paramIndexes = new HashMap<String, Integer>();
+        this.annotatedParameterIndexes = new HashMap<Class<? extends Annotation>, Integer>();
+        for (int i = 0; i < parameterAnnotations.length; i++) {
+            for (Annotation a : parameterAnnotations[i]) {
+                if (!annotatedParameterIndexes.containsKey(a.annotationType())) {
+                    annotatedParameterIndexes.put(a.annotationType(), i);
+                }
+                if (a instanceof Param && !paramIndexes.containsKey(((Param)a).value())) {
+                    paramIndexes.put(((Param)a).value(), i);
+                }
+            }
+        }
+    }
+
+    /**
+     * @param clazz The annotation type.
+     * @param <T> The annotation type.
+     * @return Returns the method annotation of the given type or {@code null}.
+     */
+    public <T extends Annotation> T getMethodAnnotation(Class<T> clazz) {
+        return clazz.cast(methodAnnotations.get(clazz));
+    }
+
+    /**
+     * @param clazz The parameter annotation type.
+     * @return Returns the index of the first parameter annotated with the given type or {@code -1}.
+     */
+    public int getAnnotatedParameterIndex(Class<? extends Annotation> clazz) {
+        Integer index = annotatedParameterIndexes.get(clazz);
+        return (index == null ? -1 : index);
+    }
+
+    /**
+     * @param paramName The value of the {@link Param} annotation.
+     * @return Returns the index of the parameter with the given name or {@code -1}.
+     */
+    public int getParameterIndexByParamName(String paramName) {
+        Integer index = paramIndexes.get(paramName);
+        return (index == null ? -1 : index);
+    }
+
+    public Method getMethod() {
+        return method;
+    }
+
+    public Class<?> getEntityClass() {
+        return entityClass;
+    }
+
+    public GenericQuery getGenericQuery() {
+        return genericQuery;
+    }
+
+    /**
+     * @return Returns {@code true} if the method is annotated with {@link GenericQuery}.
+     */
+    public boolean isGenericQuery() {
+        return (genericQuery != null);
+    }
+
+    /**
+     * Note that the returned array is shared and must not be modified.
+     *
+     * @return Returns the method annotations.
+     */
+    public Annotation[] getMethodAnnotations() {
+        return methodAnnotationsArray;
+    }
+
+    /**
+     * Note that the returned array is shared and must not be modified.
+     *
+     * @return Returns the parameter annotations.
+     */
+    public Annotation[][] getParameterAnnotations() {
+        return parameterAnnotations;
+    }
+
+    /**
+     * @return Returns the specified query generator or {@code null}.
+     */
+    public Class<? extends QueryGenerator<?, ?>> getQueryGeneratorClass() {
+        return (genericQuery == null ? null : genericQuery.queryGenerator());
+    }
+
+    /**
+     * @return Returns the specified result converter or {@code null}.
+     */
+    public Class<? extends ResultConverter<?>> getResultConverterClass() {
+        return (genericQuery == null ? null : genericQuery.resultConverter());
+    }
+
+    /**
+     * @return Returns the specified result validator or {@code null}.
+     */
+    public Class<? extends ResultValidator> getResultValidatorClass() {
+        return (genericQuery == null ? null : genericQuery.resultValidator());
+    }
+
+    public Class<? extends QueryExecutor<?>> getQueryExecutorClass() {
+        return queryExecutorClass;
+    }
+
+    public void setQueryExecutorClass(Class<? extends QueryExecutor<?>> queryExecutorClass) {
+        this.queryExecutorClass = queryExecutorClass;
+    }
+
+    public String getQueryName() {
+        return queryName;
+    }
+
+    public void setQueryName(String queryName) {
+        this.queryName = queryName;
+    }
+
+}
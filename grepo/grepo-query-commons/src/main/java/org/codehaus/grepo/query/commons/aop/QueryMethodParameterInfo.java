@@ -16,6 +16,7 @@
 
 package org.codehaus.grepo.query.commons.aop;
 
+import org.codehaus.grepo.query.commons.slowquery.CapturedQuery;
 import org.codehaus.grepo.statistics.aop.StatisticsMethodParameterInfo;
 
 /**
@@ -30,4 +31,19 @@ public interface QueryMethodParameterInfo extends StatisticsMethodParameterInfo
      */
     Class<?> getEntityClass();
 
+    /**
+     * @return Returns the (cached) invocation plan or {@code null} if not available.
+     */
+    QueryMethodInvocationPlan getInvocationPlan();
+
+    /**
+     * @return Returns the captured query or {@code null} if the query is not captured.
+     */
+    CapturedQuery getCapturedQuery();
+
+    /**
+     * @param capturedQuery The captured query to set.
+     */
+    void setCapturedQuery(CapturedQuery capturedQuery);
+
 }
@@ -16,9 +16,11 @@
 
 package org.codehaus.grepo.query.commons.aop;
 
+import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
 import java.util.Collection;
 
+import org.codehaus.grepo.query.commons.slowquery.CapturedQuery;
 import org.codehaus.grepo.statistics.aop.StatisticsMethodParameterInfoImpl;
 
 /**
@@ -35,6 +37,12 @@ public class QueryMethodParameterInfoImpl extends StatisticsMethodParameterInfoI
     /** The entityClass of the target repository. */
     private Class<?> entityClass;
 
+    /** The invocation plan (may be {@code null}). */
+    private transient QueryMethodInvocationPlan invocationPlan;
+
+    /** The captured query (may be {@code null}). */
+    private transient CapturedQuery capturedQuery;
+
     /**
      * @param method The method.
      * @param parameters The parameters.
@@ -55,6 +63,91 @@ public class QueryMethodParameterInfoImpl extends StatisticsMethodParameterInfoI
         this.entityClass = entityClass;
     }
 
+    /**
+     * @param parameters The parameters.
+     * @param invocationPlan The invocation plan.
+     */
+    public QueryMethodParameterInfoImpl(Object[] parameters, QueryMethodInvocationPlan invocationPlan) {
+        super(invocationPlan.getMethod(), parameters);
+        this.entityClass = invocationPlan.getEntityClass();
+        this.invocationPlan = invocationPlan;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Annotation[] getMethodAnnotations() {
+        if (invocationPlan == null) {
+            return super.getMethodAnnotations();
+        }
+        return invocationPlan.getMethodAnnotations();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <T extends Annotation> T getMethodAnnotation(Class<T> clazz) {
+        if (invocationPlan == null) {
+            return super.getMethodAnnotation(clazz);
+        }
+        return invocationPlan.getMethodAnnotation(clazz);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Annotation[][] getParameterAnnotations() {
+        if (invocationPlan == null) {
+            return super.getParameterAnnotations();
+        }
+        return invocationPlan.getParameterAnnotations();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Object getAnnotatedParameter(Class<? extends Annotation> clazz) {
+        if (invocationPlan == null || !clazz.isAnnotation()) {
+            return super.getAnnotatedParameter(clazz);
+        }
+        int index = invocationPlan.getAnnotatedParameterIndex(clazz);
+        return (index == -1 ? null : getParameter(index));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Object getParameterByParamName(String paramName) {
+        if (invocationPlan == null) {
+            return super.getParameterByParamName(paramName);
+        }
+        int index = invocationPlan.getParameterIndexByParamName(paramName);
+        return (index == -1 ? null : getParameter(index));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getParameterIndexByParamName(String paramName) {
+        if (invocationPlan == null) {
+            return super.getParameterIndexByParamName(paramName);
+        }
+        return invocationPlan.getParameterIndexByParamName(paramName);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public QueryMethodInvocationPlan getInvocationPlan() {
+        return invocationPlan;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -62,6 +155,20 @@ public class QueryMethodParameterInfoImpl extends StatisticsMethodParameterInfoI
         return entityClass;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    public CapturedQuery getCapturedQuery() {
+        return capturedQuery;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void setCapturedQuery(CapturedQuery capturedQuery) {
+        this.capturedQuery = capturedQuery;
+    }
+
     protected void setEntityClass(Class<?> entityClass) {
         this.entityClass = entityClass;
     }
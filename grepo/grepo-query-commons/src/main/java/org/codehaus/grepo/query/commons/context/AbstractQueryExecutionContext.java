@@ -17,6 +17,7 @@
 package org.codehaus.grepo.query.commons.context;
 
 import org.codehaus.grepo.core.context.AbstractGenericExecutionContext;
+import org.codehaus.grepo.query.commons.generator.QueryGeneratorFactory;
 import org.codehaus.grepo.query.commons.naming.QueryNamingStrategy;
 
 /**
@@ -27,6 +28,7 @@ public abstract class AbstractQueryExecutionContext extends AbstractGenericExecu
 
     private Integer maxResults;
     private QueryNamingStrategy queryNamingStrategy;
+    private QueryGeneratorFactory queryGeneratorFactory;
 
     /**
      * {@inheritDoc}
@@ -49,4 +51,15 @@ public abstract class AbstractQueryExecutionContext extends AbstractGenericExecu
     public void setMaxResults(Integer maxResults) {
         this.maxResults = maxResults;
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    public QueryGeneratorFactory getQueryGeneratorFactory() {
+        return queryGeneratorFactory;
+    }
+
+    public void setQueryGeneratorFactory(QueryGeneratorFactory queryGeneratorFactory) {
+        this.queryGeneratorFactory = queryGeneratorFactory;
+    }
 }
@@ -16,6 +16,7 @@
 
 package org.codehaus.grepo.query.commons.context;
 
+import org.codehaus.grepo.query.commons.generator.QueryGeneratorFactory;
 import org.codehaus.grepo.query.commons.naming.QueryNamingStrategy;
 import org.springframework.context.ApplicationContext;
 
@@ -50,5 +51,13 @@ public final class PlaceHolderQueryExecutionContext implements QueryExecutionCon
         return null;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public QueryGeneratorFactory getQueryGeneratorFactory() {
+        return null;
+    }
+
 
 }
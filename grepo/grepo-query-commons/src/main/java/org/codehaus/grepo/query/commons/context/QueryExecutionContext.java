@@ -17,6 +17,7 @@
 package org.codehaus.grepo.query.commons.context;
 
 import org.codehaus.grepo.core.context.GenericExecutionContext;
+import org.codehaus.grepo.query.commons.generator.QueryGeneratorFactory;
 import org.codehaus.grepo.query.commons.naming.QueryNamingStrategy;
 
 /**
@@ -32,4 +33,9 @@ public interface QueryExecutionContext extends GenericExecutionContext {
     Integer getMaxResults();
 
     QueryNamingStrategy getQueryNamingStrategy();
+
+    /**
+     * @return Returns the factory used to create query generators (may be {@code null}).
+     */
+    QueryGeneratorFactory getQueryGeneratorFactory();
 }
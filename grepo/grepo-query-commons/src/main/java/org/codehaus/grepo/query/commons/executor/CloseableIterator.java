@@ -0,0 +1,44 @@
+/*
+ * Copyright 2009 Grepo Committers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.codehaus.grepo.query.commons.executor;
+
+import java.io.Closeable;
+import java.util.Iterator;
+
+/**
+ * An {@link Iterator} over a (database) cursor which must be closed after use. The cursor is closed automatically
+ * once the iterator is exhausted or fails, so callers only have to close it explicitly if they stop iterating early.
+ * <p>
+ * Implementations return themselves from {@link #iterator()}, which allows to use them in for-each loops exactly
+ * once.
+ *
+ * @author dguggi
+ * @param <T> The element type.
+ */
+public interface CloseableIterator<T> extends Iterator<T>, Iterable<T>, Closeable {
+
+    /**
+     * Closes the underlying cursor, subsequent calls have no effect.
+     */
+    void close();
+
+    /**
+     * @return Returns {@code true} if the underlying cursor is closed.
+     */
+    boolean isClosed();
+
+}
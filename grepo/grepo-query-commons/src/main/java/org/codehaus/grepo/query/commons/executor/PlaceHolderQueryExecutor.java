@@ -34,6 +34,13 @@ public final class PlaceHolderQueryExecutor implements QueryExecutor<PlaceHolder
         return null;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    public Object monitorResult(QueryMethodParameterInfo qmpi, Object result, QueryResultMonitor monitor) {
+        return result;
+    }
+
     /**
      * {@inheritDoc}
      */
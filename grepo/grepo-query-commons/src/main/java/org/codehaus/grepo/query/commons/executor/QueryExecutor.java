@@ -37,6 +37,19 @@ public interface QueryExecutor<T extends QueryExecutionContext> {
      */
     Object execute(QueryMethodParameterInfo qmpi, T obj);
 
+    /**
+     * Reports the number of rows of the given {@code result} (as returned by
+     * {@link #execute(QueryMethodParameterInfo, QueryExecutionContext)}) to the given {@code monitor}. Executors which
+     * return lazily consumed results (e.g. scrollable results or iterators) may return a wrapper, which notifies a
+     * {@link QueryResultTracker} about the rows actually consumed by the caller.
+     *
+     * @param qmpi The query method parameter info.
+     * @param result The result.
+     * @param monitor The monitor.
+     * @return Returns the (possibly wrapped) result.
+     */
+    Object monitorResult(QueryMethodParameterInfo qmpi, Object result, QueryResultMonitor monitor);
+
     /**
      * This method should return {@code true} if the execution of the queries requires read-only access.
      *
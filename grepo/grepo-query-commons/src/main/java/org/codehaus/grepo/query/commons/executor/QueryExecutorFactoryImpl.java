@@ -16,9 +16,16 @@
 
 package org.codehaus.grepo.query.commons.executor;
 
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.codehaus.grepo.core.annotation.Stateless;
 import org.codehaus.grepo.core.util.ClassUtils;
 
 /**
+ * Default {@link QueryExecutorFactory} implementation. Executors annotated with {@link Stateless} are created (and
+ * configured) only once and reused afterwards, all other executors are instantiated for every invocation.
+ *
  * @author dguggi
  */
 public class QueryExecutorFactoryImpl implements QueryExecutorFactory {
@@ -26,10 +33,43 @@ public class QueryExecutorFactoryImpl implements QueryExecutorFactory {
     /** SerialVersionUid. */
     private static final long serialVersionUID = 8754550555671992432L;
 
+    /** Cached instances of stateless executors. */
+    private final transient ConcurrentMap<Class<?>, QueryExecutor<?>> statelessExecutors =
+        new ConcurrentHashMap<Class<?>, QueryExecutor<?>>();
+
     /**
      * {@inheritDoc}
      */
     public QueryExecutor<?> createExecutor(Class<? extends QueryExecutor<?>> clazz) {
+        if (!ClassUtils.isStateless(clazz) || statelessExecutors == null) {
+            return newExecutor(clazz);
+        }
+
+        QueryExecutor<?> executor = statelessExecutors.get(clazz);
+        if (executor == null) {
+            QueryExecutor<?> created = newExecutor(clazz);
+            executor = statelessExecutors.putIfAbsent(clazz, created);
+            if (executor == null) {
+                executor = created;
+            }
+        }
+        return executor;
+    }
+
+    /**
+     * @return Returns the number of cached stateless executor instances.
+     */
+    public int getCachedExecutorCount() {
+        return (statelessExecutors == null ? 0 : statelessExecutors.size());
+    }
+
+    /**
+     * Creates and configures a new executor instance.
+     *
+     * @param clazz The executor class.
+     * @return Returns the newly created executor.
+     */
+    protected QueryExecutor<?> newExecutor(Class<? extends QueryExecutor<?>> clazz) {
         QueryExecutor<?> executor = ClassUtils.instantiateClass(clazz);
         configure(executor);
         return executor;
@@ -16,6 +16,8 @@
 
 package org.codehaus.grepo.query.commons.executor;
 
+import java.util.Collection;
+
 /**
  * @author dguggi
  */
@@ -27,4 +29,22 @@ public final class QueryExecutorUtils {
     public static boolean isValidQueryExecutor(Class<? extends QueryExecutor<?>> clazz) {
         return (clazz != null && clazz != PlaceHolderQueryExecutor.class);
     }
+
+    /**
+     * @param result The (materialized) query result.
+     * @return Returns the number of elements for collections and slices, {@code 0} for {@code null} and {@code 1} for
+     *         all other (single) results.
+     */
+    public static long getNumberOfRows(Object result) {
+        if (result == null) {
+            return 0;
+        }
+        if (result instanceof Collection<?>) {
+            return ((Collection<?>)result).size();
+        }
+        if (result instanceof Slice<?>) {
+            return ((Slice<?>)result).size();
+        }
+        return 1;
+    }
 }
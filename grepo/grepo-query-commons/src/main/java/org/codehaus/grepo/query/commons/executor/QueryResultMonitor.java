@@ -0,0 +1,47 @@
+/*
+ * Copyright 2009 Grepo Committers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.codehaus.grepo.query.commons.executor;
+
+import org.codehaus.grepo.query.commons.aop.QueryMethodParameterInfo;
+
+/**
+ * A query result monitor is notified by {@link QueryExecutor}s (see
+ * {@link QueryExecutor#monitorResult(QueryMethodParameterInfo, Object, QueryResultMonitor)}) about the number of rows
+ * returned by a query.
+ *
+ * @author dguggi
+ */
+public interface QueryResultMonitor {
+
+    /**
+     * Called for queries which return a materialized result (e.g. a list, a single entity or an update count).
+     *
+     * @param qmpi The query method parameter info.
+     * @param rows The number of rows returned (or updated).
+     */
+    void rowsReturned(QueryMethodParameterInfo qmpi, long rows);
+
+    /**
+     * Called for queries which return a lazily consumed result (e.g. scrollable results or iterators). The returned
+     * tracker has to be notified about every row fetched by the caller and about the end of the consumption.
+     *
+     * @param qmpi The query method parameter info.
+     * @return Returns the tracker or {@code null} if the result does not need to be tracked.
+     */
+    QueryResultTracker startTracking(QueryMethodParameterInfo qmpi);
+
+}
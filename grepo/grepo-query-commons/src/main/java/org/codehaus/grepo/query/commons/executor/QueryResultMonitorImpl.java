@@ -0,0 +1,232 @@
+/*
+ * Copyright 2009 Grepo Committers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.codehaus.grepo.query.commons.executor;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.codehaus.grepo.query.commons.aop.QueryMethodParameterInfo;
+import org.codehaus.grepo.statistics.domain.StatisticsEntry;
+import org.codehaus.grepo.statistics.domain.StatisticsEntryOutcome;
+import org.codehaus.grepo.statistics.service.StatisticsManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link QueryResultMonitor} which additionally tracks lazily consumed results and checks row budgets. This monitor
+ * is opt-in (see {@link org.codehaus.grepo.query.commons.repository.GrepoQueryConfiguration#setQueryResultMonitor}),
+ * because scrollable results and iterators are wrapped into proxies in order to track them.
+ * <p>
+ * The number of returned rows is recorded like {@link ResultSizeQueryResultMonitor} does. If a
+ * {@link StatisticsManager} is configured, the consumption of lazily consumed results is recorded using two
+ * additional statistics entries: {@code <identifier>.firstRow} (whose duration is the time to the first row) and
+ * {@code <identifier>.fetch} (whose duration is the time until the result was exhausted or closed and whose result
+ * size is the number of rows actually consumed).
+ * <p>
+ * A warning is logged whenever a query returns (or a caller consumes) more rows than its row budget. The budget of a
+ * method may be configured using {@link #setRowBudgets(Map)} (keyed by {@code <declaring class name>.<method name>}),
+ * all other methods use the {@link #setRowBudget(long) default row budget}.
+ *
+ * @author dguggi
+ */
+public class QueryResultMonitorImpl extends ResultSizeQueryResultMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueryResultMonitorImpl.class);
+
+    /** The identifier suffix of statistics entries which record the time to the first row. */
+    public static final String FIRST_ROW_IDENTIFIER_SUFFIX = ".firstRow";
+
+    /** The identifier suffix of statistics entries which record the consumption of lazily consumed results. */
+    public static final String FETCH_IDENTIFIER_SUFFIX = ".fetch";
+
+    /** The default row budget ({@code -1} disables the row budget check). */
+    private long rowBudget = -1;
+
+    /** The row budgets per method. */
+    private Map<String, Long> rowBudgets = new HashMap<String, Long>();
+
+    /** The (optional) statistics manager used to record the consumption of lazily consumed results. */
+    private StatisticsManager statisticsManager;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void rowsReturned(QueryMethodParameterInfo qmpi, long rows) {
+        super.rowsReturned(qmpi, rows);
+        long budget = getRowBudget(qmpi);
+        if (isRowBudgetExceeded(budget, rows)) {
+            logRowBudgetExceeded(qmpi, budget, rows, "returned");
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public QueryResultTracker startTracking(QueryMethodParameterInfo qmpi) {
+        StatisticsEntry firstRowEntry = null;
+        StatisticsEntry fetchEntry = null;
+        StatisticsEntry entry = qmpi.getStatisticsEntry();
+        if (statisticsManager != null && entry != null) {
+            firstRowEntry = statisticsManager.createStatisticsEntry(entry.getIdentifier() + FIRST_ROW_IDENTIFIER_SUFFIX,
+                entry.getOrigin());
+            fetchEntry = statisticsManager.createStatisticsEntry(entry.getIdentifier() + FETCH_IDENTIFIER_SUFFIX,
+                entry.getOrigin());
+        }
+        return new QueryResultTrackerImpl(qmpi, getRowBudget(qmpi), firstRowEntry, fetchEntry);
+    }
+
+    /**
+     * @param qmpi The query method parameter info.
+     * @return Returns the row budget of the given method ({@code -1} if the row budget check is disabled).
+     */
+    protected long getRowBudget(QueryMethodParameterInfo qmpi) {
+        Long budget = rowBudgets.get(getMethodKey(qmpi));
+        return (budget == null ? rowBudget : budget.longValue());
+    }
+
+    /**
+     * @param qmpi The query method parameter info.
+     * @return Returns the key of the given method ({@code <declaring class name>.<method name>}).
+     */
+    protected String getMethodKey(QueryMethodParameterInfo qmpi) {
+        return qmpi.getDeclaringClass().getName() + "." + qmpi.getMethodName();
+    }
+
+    /**
+     * @param budget The row budget.
+     * @param rows The number of rows.
+     * @return Returns {@code true} if the given number of rows exceeds the given row budget.
+     */
+    protected boolean isRowBudgetExceeded(long budget, long rows) {
+        return (budget >= 0 && rows > budget);
+    }
+
+    /**
+     * @param qmpi The query method parameter info.
+     * @param budget The row budget.
+     * @param rows The number of rows.
+     * @param action The action (returned or consumed).
+     */
+    protected void logRowBudgetExceeded(QueryMethodParameterInfo qmpi, long budget, long rows, String action) {
+        logger.warn("Method '{}' {} {} rows which exceeds the row budget of {} rows", new Object[] {
+            getMethodKey(qmpi), action, rows, budget });
+    }
+
+    /**
+     * @param entry The statistics entry to complete (may be {@code null}).
+     * @param resultSize The result size.
+     */
+    protected void completeStatisticsEntry(StatisticsEntry entry, long resultSize) {
+        if (entry != null) {
+            entry.setOutcome(StatisticsEntryOutcome.SUCCESS);
+            entry.setResultSize(resultSize);
+            statisticsManager.completeStatisticsEntry(entry);
+        }
+    }
+
+    public long getRowBudget() {
+        return rowBudget;
+    }
+
+    public void setRowBudget(long rowBudget) {
+        this.rowBudget = rowBudget;
+    }
+
+    public Map<String, Long> getRowBudgets() {
+        return rowBudgets;
+    }
+
+    public void setRowBudgets(Map<String, Long> rowBudgets) {
+        this.rowBudgets = rowBudgets;
+    }
+
+    public StatisticsManager getStatisticsManager() {
+        return statisticsManager;
+    }
+
+    public void setStatisticsManager(StatisticsManager statisticsManager) {
+        this.statisticsManager = statisticsManager;
+    }
+
+    /**
+     * Tracks a single lazily consumed result. Like the results themselves, trackers are not thread-safe.
+     */
+    private class QueryResultTrackerImpl implements QueryResultTracker {
+
+        private final QueryMethodParameterInfo qmpi;
+        private final long budget;
+        private final StatisticsEntry firstRowEntry;
+        private final StatisticsEntry fetchEntry;
+        private final long startNanos = System.nanoTime();
+        private long rowsFetched;
+        private long timeToFirstRowMillis = -1;
+        private boolean completed;
+
+        QueryResultTrackerImpl(QueryMethodParameterInfo qmpi, long budget, StatisticsEntry firstRowEntry,
+                StatisticsEntry fetchEntry) {
+            this.qmpi = qmpi;
+            this.budget = budget;
+            this.firstRowEntry = firstRowEntry;
+            this.fetchEntry = fetchEntry;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public void rowFetched() {
+            if (completed) {
+                return;
+            }
+            rowsFetched++;
+            if (rowsFetched == 1) {
+                timeToFirstRowMillis = (System.nanoTime() - startNanos) / 1000000L;
+                completeStatisticsEntry(firstRowEntry, 1);
+            }
+            if (budget >= 0 && rowsFetched == budget + 1) {
+                logRowBudgetExceeded(qmpi, budget, rowsFetched, "consumed");
+            }
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public void complete() {
+            if (!completed) {
+                completed = true;
+                completeStatisticsEntry(fetchEntry, rowsFetched);
+                logger.debug("Consumed {} rows of method '{}' (time to first row {}ms)", new Object[] {rowsFetched,
+                    qmpi.getMethodName(), timeToFirstRowMillis });
+            }
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public long getRowsFetched() {
+            return rowsFetched;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public long getTimeToFirstRowMillis() {
+            return timeToFirstRowMillis;
+        }
+    }
+}
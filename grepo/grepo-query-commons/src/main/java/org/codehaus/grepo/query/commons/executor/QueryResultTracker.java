@@ -0,0 +1,48 @@
+/*
+ * Copyright 2009 Grepo Committers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.codehaus.grepo.query.commons.executor;
+
+/**
+ * Tracks the consumption of a lazily consumed query result (see
+ * {@link QueryResultMonitor#startTracking(org.codehaus.grepo.query.commons.aop.QueryMethodParameterInfo)}).
+ *
+ * @author dguggi
+ */
+public interface QueryResultTracker {
+
+    /**
+     * Called for every row fetched from the result.
+     */
+    void rowFetched();
+
+    /**
+     * Called when the result is exhausted or closed. Subsequent invocations are ignored.
+     */
+    void complete();
+
+    /**
+     * @return Returns the number of rows fetched so far.
+     */
+    long getRowsFetched();
+
+    /**
+     * @return Returns the time in milliseconds it took to fetch the first row or {@code -1} if no row has been
+     *         fetched yet.
+     */
+    long getTimeToFirstRowMillis();
+
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2009 Grepo Committers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.codehaus.grepo.query.commons.executor;
+
+import org.codehaus.grepo.query.commons.aop.QueryMethodParameterInfo;
+import org.codehaus.grepo.statistics.domain.StatisticsEntry;
+
+/**
+ * {@link QueryResultMonitor} which records the number of returned rows as result size of the statistics entry of the
+ * invocation (if any) and as row count of the captured query (if any). Lazily consumed results are not tracked, so
+ * they are returned to the caller as is. This monitor is used if no monitor is configured.
+ *
+ * @author dguggi
+ */
+public class ResultSizeQueryResultMonitor implements QueryResultMonitor {
+
+    /**
+     * {@inheritDoc}
+     */
+    public void rowsReturned(QueryMethodParameterInfo qmpi, long rows) {
+        StatisticsEntry entry = qmpi.getStatisticsEntry();
+        if (entry != null) {
+            entry.setResultSize(rows);
+        }
+        if (qmpi.getCapturedQuery() != null) {
+            qmpi.getCapturedQuery().setRowCount(rows);
+        }
+    }
+
+    /**
+     * Lazily consumed results are not tracked.
+     *
+     * @param qmpi The query method parameter info.
+     * @return Returns always {@code null}.
+     */
+    public QueryResultTracker startTracking(QueryMethodParameterInfo qmpi) {
+        return null;
+    }
+
+}
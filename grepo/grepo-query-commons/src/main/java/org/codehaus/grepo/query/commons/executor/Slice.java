@@ -0,0 +1,89 @@
+/*
+ * Copyright 2009 Grepo Committers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.codehaus.grepo.query.commons.executor;
+
+import java.io.Serializable;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * A page of results returned by keyset paginated queries (see
+ * {@link org.codehaus.grepo.query.commons.annotation.SeekAfter}). The {@link #getNextKey() next key} is the
+ * continuation token which has to be passed to the next invocation (either the key itself or the slice).
+ *
+ * @author dguggi
+ * @param <T> The element type.
+ */
+public class Slice<T> implements Iterable<T>, Serializable {
+
+    private static final long serialVersionUID = -4405127385425317592L;
+
+    /** The rows of this slice. */
+    private final List<T> content;
+
+    /** The key of the last row (or {@code null}). */
+    private final Object nextKey;
+
+    /** Flag to indicate whether there are more rows. */
+    private final boolean hasNext;
+
+    /**
+     * @param content The rows of this slice.
+     * @param nextKey The key of the last row.
+     * @param hasNext Flag to indicate whether there are more rows.
+     */
+    public Slice(List<T> content, Object nextKey, boolean hasNext) {
+        this.content = content;
+        this.nextKey = nextKey;
+        this.hasNext = hasNext;
+    }
+
+    public List<T> getContent() {
+        return content;
+    }
+
+    public Object getNextKey() {
+        return nextKey;
+    }
+
+    public boolean hasNext() {
+        return hasNext;
+    }
+
+    public int size() {
+        return content.size();
+    }
+
+    public boolean isEmpty() {
+        return content.isEmpty();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Iterator<T> iterator() {
+        return content.iterator();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "Slice[size=" + content.size() + ", nextKey=" + nextKey + ", hasNext=" + hasNext + "]";
+    }
+}
@@ -17,11 +17,15 @@
 package org.codehaus.grepo.query.commons.generator;
 
 import org.apache.commons.lang.ArrayUtils;
+import org.apache.commons.lang.StringUtils;
 import org.codehaus.grepo.core.exception.ConfigurationException;
 import org.codehaus.grepo.query.commons.annotation.FirstResult;
 import org.codehaus.grepo.query.commons.annotation.GenericQuery;
 import org.codehaus.grepo.query.commons.annotation.MaxResults;
+import org.codehaus.grepo.query.commons.aop.QueryMethodInvocationPlan;
 import org.codehaus.grepo.query.commons.aop.QueryMethodParameterInfo;
+import org.codehaus.grepo.query.commons.naming.QueryNamingStrategy;
+import org.codehaus.grepo.query.commons.slowquery.CapturedQuery;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -134,7 +138,64 @@ public final class GeneratorUtils {
         return retVal;
     }
 
+    /**
+     * Resolves the query name using the given {@code namingStrategy}. The result is cached in the invocation plan (if
+     * available), so the naming strategy is consulted only once per method.
+     *
+     * @param qmpi The query method parameter info.
+     * @param namingStrategy The naming strategy.
+     * @return Returns the query name.
+     */
+    public static String getQueryName(QueryMethodParameterInfo qmpi, QueryNamingStrategy namingStrategy) {
+        QueryMethodInvocationPlan plan = qmpi.getInvocationPlan();
+        if (plan != null && plan.getQueryName() != null) {
+            return plan.getQueryName();
+        }
+
+        String queryName = namingStrategy.getQueryName(qmpi);
+        if (plan != null) {
+            plan.setQueryName(queryName);
+        }
+        return queryName;
+    }
+
+    /**
+     * @param genericQuery The generic query.
+     * @return Returns {@code true} if the query is resolved via named-query lookup (that is neither a query string
+     *         nor a query generator is specified) and {@code false} otherwise.
+     */
+    public static boolean isNamedQuery(GenericQuery genericQuery) {
+        return StringUtils.isEmpty(genericQuery.query()) && !isUserDefinedQueryGenerator(genericQuery.queryGenerator());
+    }
+
     private static boolean isUserDefinedQueryGenerator(Class<? extends QueryGenerator<?, ?>> clazz) {
         return (clazz != null && clazz != PlaceHolderQueryGenerator.class);
     }
+
+    /**
+     * Sets the query of the captured query of the given {@code qmpi} (if any).
+     *
+     * @param qmpi The query method parameter info.
+     * @param query The query string or an object whose {@code toString()} describes the query.
+     */
+    public static void captureQuery(QueryMethodParameterInfo qmpi, Object query) {
+        CapturedQuery capturedQuery = qmpi.getCapturedQuery();
+        if (capturedQuery != null) {
+            capturedQuery.setQuery(query);
+        }
+    }
+
+    /**
+     * Adds a parameter to the captured query of the given {@code qmpi} (if any).
+     *
+     * @param qmpi The query method parameter info.
+     * @param name The parameter name (or position).
+     * @param value The parameter value.
+     */
+    public static void captureParameter(QueryMethodParameterInfo qmpi, String name, Object value) {
+        CapturedQuery capturedQuery = qmpi.getCapturedQuery();
+        if (capturedQuery != null) {
+            capturedQuery.addParameter(name, value);
+        }
+    }
 }
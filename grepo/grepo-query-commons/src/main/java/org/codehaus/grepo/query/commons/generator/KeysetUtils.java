@@ -0,0 +1,259 @@
+/*
+ * Copyright 2009 Grepo Committers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.codehaus.grepo.query.commons.generator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.commons.lang.StringUtils;
+import org.codehaus.grepo.core.exception.ConfigurationException;
+import org.codehaus.grepo.query.commons.annotation.SeekAfter;
+import org.codehaus.grepo.query.commons.aop.QueryMethodInvocationPlan;
+import org.codehaus.grepo.query.commons.aop.QueryMethodParameterInfo;
+import org.codehaus.grepo.query.commons.executor.Slice;
+import org.springframework.beans.BeanWrapperImpl;
+
+/**
+ * Utilities for keyset (seek) pagination, see {@link SeekAfter}.
+ *
+ * @author dguggi
+ */
+public final class KeysetUtils {
+
+    /** The name of the named parameter holding the key of the last row. */
+    public static final String SEEK_PARAMETER_NAME = "grepoSeekAfter";
+
+    private static final Pattern WHERE_PATTERN = Pattern.compile("\\bwhere\\b", Pattern.CASE_INSENSITIVE);
+
+    private static final Pattern GROUP_BY_PATTERN = Pattern.compile("\\bgroup\\s+by\\b", Pattern.CASE_INSENSITIVE);
+
+    private static final Pattern ORDINAL_PARAMETER_PATTERN = Pattern.compile("\\?(?!\\d)");
+
+    private static final Pattern ORDER_BY_PATTERN = Pattern.compile("\\border\\s+by\\b", Pattern.CASE_INSENSITIVE);
+
+    private static final Pattern ORDER_BY_CLAUSE_PATTERN =
+        Pattern.compile("order\\s+by\\s+(\\S+?)(?:\\s+(asc|desc))?", Pattern.CASE_INSENSITIVE);
+
+    private KeysetUtils() {
+    }
+
+    /**
+     * @param qmpi The query method parameter info.
+     * @return Returns the {@link SeekAfter} annotation of the method or {@code null}.
+     */
+    public static SeekAfter getSeekAfter(QueryMethodParameterInfo qmpi) {
+        QueryMethodInvocationPlan plan = qmpi.getInvocationPlan();
+        if (plan != null) {
+            int index = plan.getAnnotatedParameterIndex(SeekAfter.class);
+            return (index == -1 ? null : qmpi.getParameterAnnotation(index, SeekAfter.class));
+        }
+        List<SeekAfter> list = qmpi.getParameterAnnotations(SeekAfter.class);
+        return (list.isEmpty() ? null : list.get(0));
+    }
+
+    /**
+     * @param qmpi The query method parameter info.
+     * @return Returns the key of the last row of the previous page or {@code null}.
+     */
+    public static Object getSeekValue(QueryMethodParameterInfo qmpi) {
+        Object value = qmpi.getAnnotatedParameter(SeekAfter.class);
+        if (value instanceof Slice<?>) {
+            value = ((Slice<?>)value).getNextKey();
+        }
+        return value;
+    }
+
+    /**
+     * @param qmpi The query method parameter info.
+     * @return Returns {@code true} if the method returns a {@link Slice}.
+     */
+    public static boolean isSliceMethod(QueryMethodParameterInfo qmpi) {
+        return Slice.class.isAssignableFrom(qmpi.getMethodReturnType());
+    }
+
+    /**
+     * @param queryString The query string.
+     * @return Returns {@code true} if the given query uses positional parameters.
+     */
+    public static boolean hasPositionalParameters(String queryString) {
+        return mask(queryString, false).indexOf('?') != -1;
+    }
+
+    /**
+     * @param queryString The query string.
+     * @return Returns {@code true} if the given query uses (unnumbered) ordinal parameters.
+     */
+    public static boolean hasOrdinalParameters(String queryString) {
+        return ORDINAL_PARAMETER_PATTERN.matcher(mask(queryString, false)).find();
+    }
+
+    /**
+     * Restricts the given query to rows following the given {@code placeholder} (if not {@code null}) and orders the
+     * rows by the sort key. An existing {@code ORDER BY} clause must order by the sort key (in the direction given by
+     * the keyset definition) only.
+     *
+     * @param queryString The query string.
+     * @param seekAfter The keyset definition.
+     * @param placeholder The parameter placeholder for the key or {@code null}.
+     * @return Returns the rewritten query string.
+     */
+    public static String applyKeyset(String queryString, SeekAfter seekAfter, String placeholder) {
+        String query = queryString.trim();
+        String masked = mask(query, true);
+
+        int orderBy = lastIndexOf(ORDER_BY_PATTERN, masked);
+        if (orderBy != -1) {
+            validateOrderBy(query.substring(orderBy).trim(), seekAfter, queryString);
+            query = query.substring(0, orderBy).trim();
+            masked = masked.substring(0, orderBy);
+        }
+
+        if (placeholder != null) {
+            String predicate = seekAfter.value() + (seekAfter.descending() ? " < " : " > ") + placeholder;
+            int where = indexOf(WHERE_PATTERN, masked);
+            int end = indexOf(GROUP_BY_PATTERN, masked);
+            if (end == -1 || end < where) {
+                end = query.length();
+            }
+
+            String remainder = query.substring(end);
+            if ("?".equals(placeholder) && remainder.indexOf('?') != -1) {
+                throw new ConfigurationException(String.format(
+                    "Keyset pagination requires named parameters if positional parameters follow the where clause"
+                        + " (query='%s')", queryString));
+            }
+
+            StringBuilder sb = new StringBuilder();
+            if (where == -1) {
+                sb.append(query.substring(0, end).trim()).append(" WHERE ").append(predicate);
+            } else {
+                int conditions = where + "where".length();
+                sb.append(query.substring(0, conditions));
+                sb.append(" (").append(query.substring(conditions, end).trim()).append(") AND ").append(predicate);
+            }
+            query = sb.append(' ').append(remainder).toString().trim();
+        }
+
+        return query + " ORDER BY " + seekAfter.value() + (seekAfter.descending() ? " DESC" : " ASC");
+    }
+
+    /**
+     * @param orderBy The order by clause.
+     * @param seekAfter The keyset definition.
+     * @param queryString The query string.
+     */
+    private static void validateOrderBy(String orderBy, SeekAfter seekAfter, String queryString) {
+        Matcher matcher = ORDER_BY_CLAUSE_PATTERN.matcher(orderBy);
+        boolean matches = matcher.matches() && matcher.group(1).equals(seekAfter.value())
+            && seekAfter.descending() == "desc".equalsIgnoreCase(matcher.group(2));
+        if (!matches) {
+            throw new ConfigurationException(String.format(
+                "The clause '%s' conflicts with the keyset order of @SeekAfter('%s'%s) (query='%s')", orderBy,
+                seekAfter.value(), (seekAfter.descending() ? ", descending=true" : ""), queryString));
+        }
+    }
+
+    /**
+     * @param seekAfter The keyset definition.
+     * @return Returns the property of the result objects holding the key.
+     */
+    public static String getKeyProperty(SeekAfter seekAfter) {
+        if (StringUtils.isNotEmpty(seekAfter.property())) {
+            return seekAfter.property();
+        }
+        return (seekAfter.value().indexOf('.') == -1 ? seekAfter.value() : StringUtils.substringAfter(seekAfter
+            .value(), "."));
+    }
+
+    /**
+     * Creates a slice for the given {@code rows}. The query is expected to fetch one more row than {@code pageSize}
+     * in order to detect whether there is a next page.
+     *
+     * @param qmpi The query method parameter info.
+     * @param rows The rows.
+     * @param pageSize The page size or {@code null} if the result is not limited.
+     * @return Returns the slice.
+     */
+    @SuppressWarnings("unchecked")
+    public static Slice<Object> createSlice(QueryMethodParameterInfo qmpi, List<?> rows, Integer pageSize) {
+        SeekAfter seekAfter = getSeekAfter(qmpi);
+        if (seekAfter == null) {
+            throw new ConfigurationException(String.format(
+                "Method '%s' returns a slice, but has no parameter annotated with @SeekAfter", qmpi.getMethodName()));
+        }
+
+        boolean hasNext = (pageSize != null && rows.size() > pageSize);
+        List<Object> content = new ArrayList<Object>(hasNext ? rows.subList(0, pageSize) : rows);
+
+        Object nextKey = null;
+        if (hasNext) {
+            Object lastRow = content.get(content.size() - 1);
+            String property = getKeyProperty(seekAfter);
+            if (lastRow instanceof Map<?, ?>) {
+                nextKey = ((Map<String, ?>)lastRow).get(property);
+            } else if (lastRow instanceof Object[]) {
+                throw new ConfigurationException(String.format(
+                    "Unable to get key '%s' from row of type Object[] (method='%s')", property, qmpi.getMethodName()));
+            } else {
+                nextKey = new BeanWrapperImpl(lastRow).getPropertyValue(property);
+            }
+        }
+        return new Slice<Object>(content, nextKey, hasNext);
+    }
+
+    /**
+     * Replaces all characters within quotes (and optionally within parentheses) with blanks, so that clauses of
+     * literals and sub-queries are ignored when searching the query.
+     */
+    private static String mask(String query, boolean maskParentheses) {
+        StringBuilder sb = new StringBuilder(query.length());
+        boolean quoted = false;
+        int depth = 0;
+        for (int i = 0; i < query.length(); i++) {
+            char c = query.charAt(i);
+            boolean masked = quoted || depth > 0;
+            if (c == '\'') {
+                quoted = !quoted;
+                masked = true;
+            } else if (!quoted && maskParentheses && c == '(') {
+                depth++;
+            } else if (!quoted && maskParentheses && c == ')' && depth > 0) {
+                depth--;
+                masked = true;
+            }
+            sb.append(masked ? ' ' : c);
+        }
+        return sb.toString();
+    }
+
+    private static int indexOf(Pattern pattern, String str) {
+        Matcher matcher = pattern.matcher(str);
+        return (matcher.find() ? matcher.start() : -1);
+    }
+
+    private static int lastIndexOf(Pattern pattern, String str) {
+        int index = -1;
+        Matcher matcher = pattern.matcher(str);
+        while (matcher.find()) {
+            index = matcher.start();
+        }
+        return index;
+    }
+}
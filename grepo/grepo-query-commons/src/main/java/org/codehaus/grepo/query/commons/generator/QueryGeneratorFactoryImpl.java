@@ -0,0 +1,67 @@
+/*
+ * Copyright 2009 Grepo Committers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.codehaus.grepo.query.commons.generator;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.codehaus.grepo.core.annotation.Stateless;
+import org.codehaus.grepo.core.util.ClassUtils;
+
+/**
+ * Default {@link QueryGeneratorFactory} implementation. Generators annotated with {@link Stateless} are created only
+ * once and reused afterwards. All other generators (for instance those implementing {@link DynamicQueryParamsAware},
+ * which collect dynamic query parameters while generating) are instantiated for every invocation.
+ *
+ * @author dguggi
+ */
+public class QueryGeneratorFactoryImpl implements QueryGeneratorFactory {
+
+    /** SerialVersionUid. */
+    private static final long serialVersionUID = -3460151960409826143L;
+
+    /** Cached instances of stateless generators. */
+    private final transient ConcurrentMap<Class<?>, QueryGenerator<?, ?>> statelessGenerators =
+        new ConcurrentHashMap<Class<?>, QueryGenerator<?, ?>>();
+
+    /**
+     * {@inheritDoc}
+     */
+    public <T extends QueryGenerator<?, ?>> T createGenerator(Class<T> clazz) {
+        if (!ClassUtils.isStateless(clazz) || statelessGenerators == null) {
+            return ClassUtils.instantiateClass(clazz);
+        }
+
+        QueryGenerator<?, ?> generator = statelessGenerators.get(clazz);
+        if (generator == null) {
+            T created = ClassUtils.instantiateClass(clazz);
+            generator = statelessGenerators.putIfAbsent(clazz, created);
+            if (generator == null) {
+                generator = created;
+            }
+        }
+        return clazz.cast(generator);
+    }
+
+    /**
+     * @return Returns the number of cached stateless generator instances.
+     */
+    public int getCachedGeneratorCount() {
+        return (statelessGenerators == null ? 0 : statelessGenerators.size());
+    }
+
+}
@@ -16,10 +16,15 @@
 
 package org.codehaus.grepo.query.commons.repository;
 
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
 import org.aopalliance.intercept.MethodInterceptor;
 import org.aopalliance.intercept.MethodInvocation;
 import org.apache.commons.lang.time.StopWatch;
 import org.codehaus.grepo.query.commons.annotation.GenericQuery;
+import org.codehaus.grepo.query.commons.aop.QueryMethodInvocationPlan;
 import org.codehaus.grepo.query.commons.aop.QueryMethodParameterInfo;
 import org.codehaus.grepo.query.commons.aop.QueryMethodParameterInfoImpl;
 import org.slf4j.Logger;
@@ -34,6 +39,10 @@ public class GenericQueryMethodInterceptor implements MethodInterceptor {
 
     private static final Logger logger = LoggerFactory.getLogger(GenericQueryMethodInterceptor.class);
 
+    /** The cached invocation plans. */
+    private final ConcurrentMap<InvocationPlanKey, QueryMethodInvocationPlan> invocationPlans =
+        new ConcurrentHashMap<InvocationPlanKey, QueryMethodInvocationPlan>();
+
     /**
      * {@inheritDoc}
      *
@@ -50,13 +59,13 @@ public class GenericQueryMethodInterceptor implements MethodInterceptor {
         }
 
         GenericQueryRepository<?> repo = (GenericQueryRepository<?>)invocation.getThis();
-        QueryMethodParameterInfo qmpi =
-            new QueryMethodParameterInfoImpl(invocation.getMethod(), invocation.getArguments(), repo.getEntityClass());
+        QueryMethodInvocationPlan plan = getInvocationPlan(invocation.getMethod(), repo.getEntityClass());
+        QueryMethodParameterInfo qmpi = new QueryMethodParameterInfoImpl(invocation.getArguments(), plan);
 
         logger.debug("Invoking method '{}'", qmpi.getMethodName());
 
         try {
-            GenericQuery annotation = qmpi.getMethodAnnotation(GenericQuery.class);
+            GenericQuery annotation = plan.getGenericQuery();
             if (annotation == null) {
                 // no GenericQuery annotation present, so do not invoke via aop...
                 logger
@@ -77,4 +86,73 @@ public class GenericQueryMethodInterceptor implements MethodInterceptor {
         return result;
     }
 
+    /**
+     * Returns the invocation plan for the given {@code method} and {@code entityClass}. The plan is created on first
+     * access and cached afterwards.
+     *
+     * @param method The method.
+     * @param entityClass The entity class of the target repository.
+     * @return Returns the invocation plan.
+     */
+    public QueryMethodInvocationPlan getInvocationPlan(Method method, Class<?> entityClass) {
+        InvocationPlanKey key = new InvocationPlanKey(method, entityClass);
+        QueryMethodInvocationPlan plan = invocationPlans.get(key);
+        if (plan == null) {
+            plan = new QueryMethodInvocationPlan(method, entityClass);
+            QueryMethodInvocationPlan existing = invocationPlans.putIfAbsent(key, plan);
+            if (existing == null) {
+                logger.debug("Created invocation plan for method '{}'", method.getName());
+            } else {
+                plan = existing;
+            }
+        }
+        return plan;
+    }
+
+    /**
+     * @return Returns the number of cached invocation plans.
+     */
+    public int getInvocationPlanCount() {
+        return invocationPlans.size();
+    }
+
+    /**
+     * Key for cached invocation plans.
+     *
+     * @author dguggi
+     */
+    private static final class InvocationPlanKey {
+
+        private final Method method;
+        private final Class<?> entityClass;
+
+        public InvocationPlanKey(Method method, Class<?> entityClass) {
+            this.method = method;
+            this.entityClass = entityClass;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof InvocationPlanKey)) {
+                return false;
+            }
+            InvocationPlanKey other = (InvocationPlanKey)obj;
+            return method.equals(other.method) && entityClass == other.entityClass;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int hashCode() {
+            return 31 * method.hashCode() + (entityClass == null ? 0 : entityClass.hashCode());
+        }
+    }
+
 }
@@ -16,6 +16,10 @@
 
 package org.codehaus.grepo.query.commons.repository;
 
+import java.lang.reflect.Method;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.codehaus.grepo.query.commons.aop.QueryMethodInvocationPlan;
 import org.codehaus.grepo.statistics.repository.GenericStatisticsRepositoryFactoryBean;
 import org.codehaus.grepo.statistics.repository.GrepoStatisticsConfiguration;
 import org.slf4j.Logger;
@@ -66,6 +70,36 @@ public abstract class GenericQueryRepositoryFactoryBean<E, C extends GrepoStatis
         }
     }
 
+    /**
+     * Creates (and caches) the invocation plans for all generic query methods of the proxy interface and resolves the
+     * query executor, query generator and named query of each method.
+     *
+     * @param target The configured target.
+     */
+    @Override
+    protected void initializeEagerly(GenericQueryRepositorySupport<E> target) {
+        MethodInterceptor methodInterceptor = getConfiguration().getMethodInterceptor();
+        if (!(methodInterceptor instanceof GenericQueryMethodInterceptor)) {
+            logger.warn("Unable to initialize repository '{}' eagerly - methodInterceptor is not of type '{}'",
+                getProxyInterface().getName(), GenericQueryMethodInterceptor.class.getName());
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        GenericQueryMethodInterceptor interceptor = (GenericQueryMethodInterceptor)methodInterceptor;
+        int count = 0;
+        for (Method method : getProxyInterface().getMethods()) {
+            QueryMethodInvocationPlan plan = interceptor.getInvocationPlan(method, entityClass);
+            if (plan.isGenericQuery()) {
+                target.initializeInvocationPlan(plan);
+                count++;
+            }
+        }
+
+        logger.info("Eagerly initialized {} generic query methods of repository '{}' in {}ms", new Object[] {count,
+            getProxyInterface().getName(), System.currentTimeMillis() - start });
+    }
+
     /**
      * {@inheritDoc}
      */
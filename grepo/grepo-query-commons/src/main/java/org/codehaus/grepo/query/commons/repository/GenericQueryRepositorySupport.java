@@ -16,9 +16,20 @@
 
 package org.codehaus.grepo.query.commons.repository;
 
+import org.codehaus.grepo.query.commons.annotation.GenericQuery;
+import org.codehaus.grepo.query.commons.aop.QueryMethodInvocationPlan;
+import org.codehaus.grepo.query.commons.aop.QueryMethodParameterInfo;
+import org.codehaus.grepo.query.commons.aop.QueryMethodParameterInfoImpl;
+import org.codehaus.grepo.query.commons.executor.QueryExecutor;
 import org.codehaus.grepo.query.commons.executor.QueryExecutorFactory;
 import org.codehaus.grepo.query.commons.executor.QueryExecutorFindingStrategy;
+import org.codehaus.grepo.query.commons.executor.QueryResultMonitor;
+import org.codehaus.grepo.query.commons.executor.ResultSizeQueryResultMonitor;
+import org.codehaus.grepo.query.commons.generator.GeneratorUtils;
+import org.codehaus.grepo.query.commons.generator.QueryGeneratorFactory;
 import org.codehaus.grepo.query.commons.naming.QueryNamingStrategy;
+import org.codehaus.grepo.query.commons.slowquery.CapturedQuery;
+import org.codehaus.grepo.query.commons.slowquery.SlowQueryRecorder;
 import org.codehaus.grepo.statistics.domain.StatisticsEntry;
 import org.codehaus.grepo.statistics.repository.GenericStatisticsRepositorySupport;
 import org.slf4j.Logger;
@@ -35,6 +46,9 @@ public abstract class GenericQueryRepositorySupport<T> extends GenericStatistics
 
     private static final Logger logger = LoggerFactory.getLogger(GenericQueryRepositorySupport.class);
 
+    /** The monitor used if no query result monitor is configured. */
+    private static final QueryResultMonitor DEFAULT_QUERY_RESULT_MONITOR = new ResultSizeQueryResultMonitor();
+
     private Class<T> entityClass;
     private Integer maxResults;
 
@@ -67,6 +81,77 @@ public abstract class GenericQueryRepositorySupport<T> extends GenericStatistics
         return getConfiguration().getQueryNamingStrategy();
     }
 
+    public QueryGeneratorFactory getQueryGeneratorFactory() {
+        return getConfiguration().getQueryGeneratorFactory();
+    }
+
+    public QueryResultMonitor getQueryResultMonitor() {
+        return getConfiguration().getQueryResultMonitor();
+    }
+
+    public SlowQueryRecorder getSlowQueryRecorder() {
+        return getConfiguration().getSlowQueryRecorder();
+    }
+
+    /**
+     * Finds the query executor class for the given method. The result is cached in the invocation plan (if
+     * available), so the executor finding strategy is consulted only once per method.
+     *
+     * @param qmpi The query method parameter info.
+     * @param genericQuery The annotation.
+     * @return Returns the query executor class.
+     */
+    protected Class<? extends QueryExecutor<?>> findQueryExecutorClass(QueryMethodParameterInfo qmpi,
+                                                                       GenericQuery genericQuery) {
+        QueryMethodInvocationPlan plan = qmpi.getInvocationPlan();
+        if (plan != null && plan.getQueryExecutorClass() != null) {
+            return plan.getQueryExecutorClass();
+        }
+
+        Class<? extends QueryExecutor<?>> clazz =
+            getQueryExecutorFindingStrategy().findExecutor(genericQuery.queryExecutor(), qmpi);
+        if (plan != null) {
+            plan.setQueryExecutorClass(clazz);
+        }
+        return clazz;
+    }
+
+    /**
+     * Resolves and validates everything which can be resolved statically for the given plan, that is the query
+     * executor, the query generator and (for named queries) the query name.
+     *
+     * @param plan The invocation plan of a method annotated with
+     *            {@link org.codehaus.grepo.query.commons.annotation.GenericQuery}.
+     */
+    public void initializeInvocationPlan(QueryMethodInvocationPlan plan) {
+        GenericQuery genericQuery = plan.getGenericQuery();
+        QueryMethodParameterInfo qmpi = new QueryMethodParameterInfoImpl(null, plan);
+
+        findQueryExecutorClass(qmpi, genericQuery);
+        validateQueryGenerator(genericQuery);
+        if (GeneratorUtils.isNamedQuery(genericQuery)) {
+            validateNamedQuery(GeneratorUtils.getQueryName(qmpi, getQueryNamingStrategy()), qmpi);
+        }
+    }
+
+    /**
+     * Validates the query generator specified via the given {@code genericQuery}. The default implementation does
+     * nothing.
+     *
+     * @param genericQuery The annotation.
+     */
+    protected void validateQueryGenerator(GenericQuery genericQuery) {
+    }
+
+    /**
+     * Validates that the named query {@code queryName} exists. The default implementation does nothing.
+     *
+     * @param queryName The query name.
+     * @param qmpi The query method parameter info.
+     */
+    protected void validateNamedQuery(String queryName, QueryMethodParameterInfo qmpi) {
+    }
+
     /**
      * Executes the given {@code callback} with either an read-only, normal or none transaction template.
      *
@@ -113,12 +198,64 @@ public abstract class GenericQueryRepositorySupport<T> extends GenericStatistics
         }
 
         try {
-            return executeCallback(callback, preferReadOnlyTransactionTemplate);
+            Object result = executeCallback(callback, preferReadOnlyTransactionTemplate);
+            recordStatisticsSuccess(entry);
+            return result;
+        } catch (RuntimeException e) {
+            recordStatisticsFailure(entry, e);
+            throw e;
         } finally {
             completeStatisticsEntry(entry);
         }
     }
 
+    /**
+     * Passes the given {@code result} to the configured {@link QueryResultMonitor}, see
+     * {@link QueryExecutor#monitorResult(QueryMethodParameterInfo, Object, QueryResultMonitor)}. If no monitor is
+     * configured, a {@link ResultSizeQueryResultMonitor} is used.
+     *
+     * @param executor The executor which returned the result.
+     * @param qmpi The query method parameter info.
+     * @param result The (unconverted) query result.
+     * @return Returns the (possibly wrapped) result.
+     */
+    protected Object monitorQueryResult(QueryExecutor<?> executor, QueryMethodParameterInfo qmpi, Object result) {
+        QueryResultMonitor monitor = getQueryResultMonitor();
+        if (monitor == null) {
+            monitor = DEFAULT_QUERY_RESULT_MONITOR;
+        }
+        return executor.monitorResult(qmpi, result, monitor);
+    }
+
+    /**
+     * Starts capturing the query and the bound parameters of the given invocation if a {@link SlowQueryRecorder} is
+     * configured.
+     *
+     * @param qmpi The query method parameter info.
+     */
+    protected void startQueryCapture(QueryMethodParameterInfo qmpi) {
+        if (getSlowQueryRecorder() != null) {
+            qmpi.setCapturedQuery(new CapturedQuery());
+        }
+    }
+
+    /**
+     * Passes the captured query (if any) of the given invocation to the configured {@link SlowQueryRecorder}.
+     *
+     * @param qmpi The query method parameter info.
+     */
+    protected void completeQueryCapture(QueryMethodParameterInfo qmpi) {
+        CapturedQuery capturedQuery = qmpi.getCapturedQuery();
+        SlowQueryRecorder recorder = getSlowQueryRecorder();
+        if (capturedQuery != null && recorder != null) {
+            try {
+                recorder.recordIfSlow(qmpi, capturedQuery);
+            } catch (RuntimeException e) {
+                logger.warn("Unable to record slow query: " + e.getMessage(), e);
+            }
+        }
+    }
+
     /**
      * @param methodName The method name.
      * @return Returns the proxy interface method name.
@@ -18,7 +18,11 @@ package org.codehaus.grepo.query.commons.repository;
 
 import org.codehaus.grepo.query.commons.executor.QueryExecutorFactory;
 import org.codehaus.grepo.query.commons.executor.QueryExecutorFindingStrategy;
+import org.codehaus.grepo.query.commons.executor.QueryResultMonitor;
+import org.codehaus.grepo.query.commons.generator.QueryGeneratorFactory;
+import org.codehaus.grepo.query.commons.generator.QueryGeneratorFactoryImpl;
 import org.codehaus.grepo.query.commons.naming.QueryNamingStrategy;
+import org.codehaus.grepo.query.commons.slowquery.SlowQueryRecorder;
 import org.codehaus.grepo.statistics.repository.GrepoStatisticsConfiguration;
 import org.springframework.util.Assert;
 
@@ -30,6 +34,9 @@ public class GrepoQueryConfiguration extends GrepoStatisticsConfiguration {
     private QueryExecutorFactory queryExecutorFactory;
     private QueryExecutorFindingStrategy queryExecutorFindingStrategy;
     private QueryNamingStrategy queryNamingStrategy;
+    private QueryGeneratorFactory queryGeneratorFactory = new QueryGeneratorFactoryImpl();
+    private QueryResultMonitor queryResultMonitor;
+    private SlowQueryRecorder slowQueryRecorder;
 
     public QueryExecutorFactory getQueryExecutorFactory() {
         return queryExecutorFactory;
@@ -55,6 +62,30 @@ public class GrepoQueryConfiguration extends GrepoStatisticsConfiguration {
         this.queryNamingStrategy = queryNamingStrategy;
     }
 
+    public QueryGeneratorFactory getQueryGeneratorFactory() {
+        return queryGeneratorFactory;
+    }
+
+    public void setQueryGeneratorFactory(QueryGeneratorFactory queryGeneratorFactory) {
+        this.queryGeneratorFactory = queryGeneratorFactory;
+    }
+
+    public QueryResultMonitor getQueryResultMonitor() {
+        return queryResultMonitor;
+    }
+
+    public void setQueryResultMonitor(QueryResultMonitor queryResultMonitor) {
+        this.queryResultMonitor = queryResultMonitor;
+    }
+
+    public SlowQueryRecorder getSlowQueryRecorder() {
+        return slowQueryRecorder;
+    }
+
+    public void setSlowQueryRecorder(SlowQueryRecorder slowQueryRecorder) {
+        this.slowQueryRecorder = slowQueryRecorder;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -64,6 +95,7 @@ public class GrepoQueryConfiguration extends GrepoStatisticsConfiguration {
         Assert.notNull(queryExecutorFactory, "queryExecutorFactory must not be null");
         Assert.notNull(queryExecutorFindingStrategy, "queryExecutorFindingStrategy must not be null");
         Assert.notNull(queryNamingStrategy, "queryNamingStrategy must not be null");
+        Assert.notNull(queryGeneratorFactory, "queryGeneratorFactory must not be null");
     }
 
     /**
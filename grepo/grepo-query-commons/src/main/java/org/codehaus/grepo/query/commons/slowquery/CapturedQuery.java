@@ -0,0 +1,93 @@
+/*
+ * Copyright 2009 Grepo Committers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.codehaus.grepo.query.commons.slowquery;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Captures the query and the bound parameters of a single generic query invocation. Captures are only created if a
+ * {@link SlowQueryRecorder} is configured and are converted into {@link SlowQueryRecord}s only if the invocation
+ * turns out to be slow, so capturing itself is kept as cheap as possible (no string formatting).
+ * <p>
+ * Captures are bound to a single invocation and thus not thread-safe.
+ *
+ * @author dguggi
+ */
+public class CapturedQuery {
+
+    /** The start time (see {@link System#nanoTime()}). */
+    private final long startNanos = System.nanoTime();
+
+    /** The query string or an object whose {@code toString()} describes the query (e.g. a criteria). */
+    private Object query;
+
+    /** The bound parameters. */
+    private Map<String, Object> parameters;
+
+    /** The number of returned rows (may be {@code null}). */
+    private Long rowCount;
+
+    /**
+     * @param query The query string or an object whose {@code toString()} describes the query (e.g. a criteria). The
+     *            description is only evaluated if the invocation is recorded.
+     */
+    public void setQuery(Object query) {
+        this.query = query;
+    }
+
+    public Object getQuery() {
+        return query;
+    }
+
+    /**
+     * @param name The parameter name (or position).
+     * @param value The parameter value.
+     */
+    public void addParameter(String name, Object value) {
+        if (parameters == null) {
+            parameters = new LinkedHashMap<String, Object>();
+        }
+        parameters.put(name, value);
+    }
+
+    /**
+     * @return Returns the bound parameters.
+     */
+    public Map<String, Object> getParameters() {
+        if (parameters == null) {
+            return Collections.emptyMap();
+        }
+        return Collections.unmodifiableMap(parameters);
+    }
+
+    public Long getRowCount() {
+        return rowCount;
+    }
+
+    public void setRowCount(Long rowCount) {
+        this.rowCount = rowCount;
+    }
+
+    /**
+     * @return Returns the milliseconds elapsed since this capture has been created.
+     */
+    public long getElapsedMillis() {
+        return (System.nanoTime() - startNanos) / 1000000L;
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2009 Grepo Committers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.codehaus.grepo.query.commons.slowquery;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Required;
+
+/**
+ * Appends every record as a single line (see {@link SlowQueryRecord#toString()}) to the configured file. The file is
+ * opened for each record, slow queries are expected to be rare.
+ *
+ * @author dguggi
+ */
+public class FileSlowQuerySink implements SlowQuerySink {
+
+    private static final Logger logger = LoggerFactory.getLogger(FileSlowQuerySink.class);
+
+    private static final String LINE_SEPARATOR = System.getProperty("line.separator");
+
+    /** The file. */
+    private File file;
+
+    /** The encoding. */
+    private String encoding = "UTF-8";
+
+    public FileSlowQuerySink() {
+    }
+
+    /**
+     * @param file The file.
+     */
+    public FileSlowQuerySink(File file) {
+        this.file = file;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public synchronized void write(SlowQueryRecord record) {
+        Writer writer = null;
+        try {
+            writer = new OutputStreamWriter(new FileOutputStream(file, true), encoding);
+            writer.write(record.toString());
+            writer.write(LINE_SEPARATOR);
+        } catch (IOException e) {
+            logger.warn("Unable to write slow query record to '" + file + "': " + e.getMessage());
+        } finally {
+            if (writer != null) {
+                try {
+                    writer.close();
+                } catch (IOException e) {
+                    logger.debug("Unable to close writer: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    @Required
+    public void setFile(File file) {
+        this.file = file;
+    }
+
+    public String getEncoding() {
+        return encoding;
+    }
+
+    public void setEncoding(String encoding) {
+        this.encoding = encoding;
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2009 Grepo Committers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.codehaus.grepo.query.commons.slowquery;
+
+import java.util.regex.Pattern;
+
+/**
+ * Masks the values of all parameters whose name matches the configured {@link #setNamePattern(Pattern) pattern}.
+ * Note that positional parameters are named by their position.
+ *
+ * @author dguggi
+ */
+public class QueryParameterMaskerImpl implements QueryParameterMasker {
+
+    /** The default pattern. */
+    public static final String DEFAULT_NAME_PATTERN = "(?i).*(password|passwd|secret|token|credential).*";
+
+    /** The default mask. */
+    public static final String DEFAULT_MASK = "******";
+
+    private Pattern namePattern = Pattern.compile(DEFAULT_NAME_PATTERN);
+
+    private String mask = DEFAULT_MASK;
+
+    /**
+     * {@inheritDoc}
+     */
+    public Object mask(String name, Object value) {
+        if (value != null && namePattern != null && namePattern.matcher(name).matches()) {
+            return mask;
+        }
+        return value;
+    }
+
+    public Pattern getNamePattern() {
+        return namePattern;
+    }
+
+    public void setNamePattern(Pattern namePattern) {
+        this.namePattern = namePattern;
+    }
+
+    public String getMask() {
+        return mask;
+    }
+
+    public void setMask(String mask) {
+        this.mask = mask;
+    }
+}
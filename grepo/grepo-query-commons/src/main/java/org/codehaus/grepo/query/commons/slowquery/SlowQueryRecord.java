@@ -0,0 +1,112 @@
+/*
+ * Copyright 2009 Grepo Committers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.codehaus.grepo.query.commons.slowquery;
+
+import java.io.Serializable;
+import java.text.SimpleDateFormat;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * Immutable record of a slow query execution.
+ *
+ * @author dguggi
+ */
+public class SlowQueryRecord implements Serializable {
+
+    /** SerialVersionUid. */
+    private static final long serialVersionUID = -2983720356611402786L;
+
+    /** The timestamp format used by {@link #toString()}. */
+    private static final String TIMESTAMP_FORMAT = "yyyy-MM-dd HH:mm:ss.SSS";
+
+    private final long timestamp;
+    private final String identifier;
+    private final String query;
+    private final Map<String, String> parameters;
+    private final long durationMillis;
+    private final Long rowCount;
+
+    /**
+     * @param timestamp The completion time in milliseconds.
+     * @param identifier The method identifier.
+     * @param query The query description.
+     * @param parameters The (masked) parameters.
+     * @param durationMillis The duration in milliseconds.
+     * @param rowCount The number of returned rows (may be {@code null}).
+     */
+    public SlowQueryRecord(long timestamp, String identifier, String query, Map<String, String> parameters,
+            long durationMillis, Long rowCount) {
+        this.timestamp = timestamp;
+        this.identifier = identifier;
+        this.query = query;
+        this.parameters = Collections.unmodifiableMap(new LinkedHashMap<String, String>(parameters));
+        this.durationMillis = durationMillis;
+        this.rowCount = rowCount;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public String getIdentifier() {
+        return identifier;
+    }
+
+    public String getQuery() {
+        return query;
+    }
+
+    public Map<String, String> getParameters() {
+        return parameters;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    public Long getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(new SimpleDateFormat(TIMESTAMP_FORMAT).format(new Date(timestamp)));
+        sb.append(" identifier=").append(identifier);
+        sb.append(" durationMillis=").append(durationMillis);
+        sb.append(" rows=").append(rowCount == null ? "?" : rowCount.toString());
+        sb.append(" query=[").append(query).append(']');
+        sb.append(" parameters=[");
+        boolean first = true;
+        for (Entry<String, String> entry : parameters.entrySet()) {
+            if (!first) {
+                sb.append(", ");
+            }
+            sb.append(entry.getKey()).append('=').append(entry.getValue());
+            first = false;
+        }
+        sb.append(']');
+        return sb.toString();
+    }
+}
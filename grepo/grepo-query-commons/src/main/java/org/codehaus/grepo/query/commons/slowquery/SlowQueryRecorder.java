@@ -0,0 +1,50 @@
+/*
+ * Copyright 2009 Grepo Committers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.codehaus.grepo.query.commons.slowquery;
+
+import java.util.List;
+
+import org.codehaus.grepo.query.commons.aop.QueryMethodParameterInfo;
+
+/**
+ * Records generic query invocations which exceed a threshold.
+ *
+ * @author dguggi
+ */
+public interface SlowQueryRecorder {
+
+    /**
+     * Called after every generic query invocation for which a {@link CapturedQuery} has been created. The invocation
+     * is recorded if it took longer than the threshold.
+     *
+     * @param qmpi The query method parameter info.
+     * @param capturedQuery The captured query.
+     * @return Returns the record or {@code null} if the invocation has not been recorded.
+     */
+    SlowQueryRecord recordIfSlow(QueryMethodParameterInfo qmpi, CapturedQuery capturedQuery);
+
+    /**
+     * @return Returns the recorded slow queries (newest first).
+     */
+    List<SlowQueryRecord> getRecords();
+
+    /**
+     * Removes all records.
+     */
+    void clear();
+
+}
@@ -0,0 +1,211 @@
+/*
+ * Copyright 2009 Grepo Committers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.codehaus.grepo.query.commons.slowquery;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.apache.commons.lang.ArrayUtils;
+import org.codehaus.grepo.query.commons.aop.QueryMethodParameterInfo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedOperation;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.util.Assert;
+
+/**
+ * Keeps the most recent slow queries in a bounded in-memory ring and passes every record to an (optional)
+ * {@link SlowQuerySink}. Parameter values are masked using the configured {@link QueryParameterMasker}.
+ *
+ * @author dguggi
+ */
+@ManagedResource("Slow query recorder")
+public class SlowQueryRecorderImpl implements SlowQueryRecorder {
+
+    private static final Logger logger = LoggerFactory.getLogger(SlowQueryRecorderImpl.class);
+
+    /** The default threshold in milliseconds. */
+    public static final long DEFAULT_THRESHOLD_MILLIS = 1000L;
+
+    /** The default capacity of the ring. */
+    public static final int DEFAULT_CAPACITY = 100;
+
+    /** The max length of a single recorded parameter value. */
+    private static final int MAX_PARAMETER_LENGTH = 256;
+
+    private volatile long thresholdMillis = DEFAULT_THRESHOLD_MILLIS;
+
+    private volatile AtomicReferenceArray<SlowQueryRecord> ring =
+        new AtomicReferenceArray<SlowQueryRecord>(DEFAULT_CAPACITY);
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private QueryParameterMasker parameterMasker = new QueryParameterMaskerImpl();
+
+    private SlowQuerySink sink;
+
+    /**
+     * {@inheritDoc}
+     */
+    public SlowQueryRecord recordIfSlow(QueryMethodParameterInfo qmpi, CapturedQuery capturedQuery) {
+        long durationMillis = capturedQuery.getElapsedMillis();
+        if (durationMillis < thresholdMillis) {
+            return null;
+        }
+
+        SlowQueryRecord record = createRecord(qmpi, capturedQuery, durationMillis);
+        AtomicReferenceArray<SlowQueryRecord> currentRing = ring;
+        currentRing.set((int)(sequence.getAndIncrement() % currentRing.length()), record);
+        logger.debug("Recorded slow query: {}", record);
+
+        if (sink != null) {
+            sink.write(record);
+        }
+        return record;
+    }
+
+    /**
+     * @param qmpi The query method parameter info.
+     * @param capturedQuery The captured query.
+     * @param durationMillis The duration.
+     * @return Returns the record.
+     */
+    protected SlowQueryRecord createRecord(QueryMethodParameterInfo qmpi, CapturedQuery capturedQuery,
+            long durationMillis) {
+        Map<String, String> parameters = new LinkedHashMap<String, String>();
+        for (Entry<String, Object> entry : capturedQuery.getParameters().entrySet()) {
+            Object value = entry.getValue();
+            if (parameterMasker != null) {
+                value = parameterMasker.mask(entry.getKey(), value);
+            }
+            parameters.put(entry.getKey(), formatParameterValue(value));
+        }
+
+        String identifier = qmpi.getDeclaringClass().getName() + "." + qmpi.getMethodName();
+        String query = (capturedQuery.getQuery() == null ? null : capturedQuery.getQuery().toString().trim());
+        return new SlowQueryRecord(System.currentTimeMillis(), identifier, query, parameters, durationMillis,
+            capturedQuery.getRowCount());
+    }
+
+    /**
+     * @param value The value.
+     * @return Returns the formatted (and possibly truncated) value.
+     */
+    protected String formatParameterValue(Object value) {
+        String str = (value != null && value.getClass().isArray() ? ArrayUtils.toString(value) : String
+            .valueOf(value));
+        if (str.length() > MAX_PARAMETER_LENGTH) {
+            str = str.substring(0, MAX_PARAMETER_LENGTH) + "...";
+        }
+        return str;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public List<SlowQueryRecord> getRecords() {
+        AtomicReferenceArray<SlowQueryRecord> currentRing = ring;
+        long last = sequence.get();
+        long first = Math.max(0, last - currentRing.length());
+        List<SlowQueryRecord> list = new ArrayList<SlowQueryRecord>((int)(last - first));
+        for (long i = last - 1; i >= first; i--) {
+            SlowQueryRecord record = currentRing.get((int)(i % currentRing.length()));
+            if (record != null) {
+                list.add(record);
+            }
+        }
+        return list;
+    }
+
+    /**
+     * @return Returns the recorded slow queries (newest first), one per line.
+     */
+    @ManagedOperation(description = "Prints the recorded slow queries (newest first)")
+    public String printRecords() {
+        StringBuilder sb = new StringBuilder();
+        for (SlowQueryRecord record : getRecords()) {
+            sb.append(record).append('\n');
+        }
+        return sb.toString();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @ManagedOperation(description = "Removes all recorded slow queries")
+    public void clear() {
+        ring = new AtomicReferenceArray<SlowQueryRecord>(ring.length());
+        sequence.set(0);
+    }
+
+    /**
+     * @return Returns the number of slow queries recorded so far (including records no longer kept in the ring).
+     */
+    @ManagedAttribute(description = "The number of slow queries recorded so far")
+    public long getNumberOfRecordedQueries() {
+        return sequence.get();
+    }
+
+    @ManagedAttribute
+    public long getThresholdMillis() {
+        return thresholdMillis;
+    }
+
+    @ManagedAttribute(description = "Sets the threshold in milliseconds")
+    public void setThresholdMillis(long thresholdMillis) {
+        this.thresholdMillis = thresholdMillis;
+    }
+
+    @ManagedAttribute
+    public int getCapacity() {
+        return ring.length();
+    }
+
+    /**
+     * Sets the capacity of the ring, all existing records are discarded.
+     *
+     * @param capacity The capacity (must be greater than 0).
+     */
+    @ManagedAttribute(description = "Sets the capacity of the ring (discards all records)")
+    public void setCapacity(int capacity) {
+        Assert.isTrue(capacity > 0, "capacity must be greater than 0");
+        ring = new AtomicReferenceArray<SlowQueryRecord>(capacity);
+        sequence.set(0);
+    }
+
+    public QueryParameterMasker getParameterMasker() {
+        return parameterMasker;
+    }
+
+    public void setParameterMasker(QueryParameterMasker parameterMasker) {
+        this.parameterMasker = parameterMasker;
+    }
+
+    public SlowQuerySink getSink() {
+        return sink;
+    }
+
+    public void setSink(SlowQuerySink sink) {
+        this.sink = sink;
+    }
+}
@@ -51,6 +51,25 @@ public @interface HibernateQueryOptions {
     /** The fetch size. */
     int fetchSize() default 0;
 
+    /**
+     * The number of rows after which the session is cleared while streaming the results of a "scroll" method which
+     * returns an {@link java.util.Iterator} (see {@link org.codehaus.grepo.query.commons.executor.CloseableIterator}),
+     * {@code 0} means the session is never cleared.
+     */
+    int clearInterval() default 0;
+
+    /**
+     * The session mode. If set to {@link HibernateSessionMode#STATELESS} the query is executed on a
+     * {@link org.hibernate.StatelessSession}, which does not maintain a first-level cache.
+     */
+    HibernateSessionMode sessionMode() default HibernateSessionMode.UNDEFINED;
+
+    /**
+     * The read-only flag. Queries executed by read-only executors (for instance "get", "list" or "scroll") are
+     * executed in read-only mode unless disabled (see {@link HibernateReadOnly#DISABLED}).
+     */
+    HibernateReadOnly readOnly() default HibernateReadOnly.UNDEFINED;
+
     /** Entity classes specified for native queries. */
     EntityClass[] entityClasses() default { };
 
@@ -21,6 +21,7 @@ import org.codehaus.grepo.query.hibernate.annotation.HibernateCaching;
 import org.codehaus.grepo.query.hibernate.type.ArgumentTypeFactory;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
 
 /**
  * Context for execution of hibernate queries.
@@ -57,4 +58,18 @@ public interface HibernateQueryExecutionContext extends QueryExecutionContext {
      * @return Returns the argument type factory.
      */
     ArgumentTypeFactory getArgumentTypeFactory();
+
+    /**
+     * Note that if a stateless session is used, {@link #getSession()} returns an adapter which only supports the
+     * operations available on a {@link StatelessSession}.
+     *
+     * @return Returns the stateless session or {@code null} if a regular session is used.
+     */
+    StatelessSession getStatelessSession();
+
+    /**
+     * @return Returns {@code true} if the loaded entities should be read-only (the session does not keep snapshots
+     *         of read-only entities and does not check them for modifications when flushing).
+     */
+    boolean isReadOnly();
 }
@@ -21,6 +21,7 @@ import org.codehaus.grepo.query.hibernate.annotation.HibernateCaching;
 import org.codehaus.grepo.query.hibernate.type.ArgumentTypeFactory;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
 
 /**
  * @author dguggi
@@ -30,6 +31,8 @@ public class HibernateQueryExecutionContextImpl
 
     private SessionFactory sessionFactory;
     private Session session;
+    private StatelessSession statelessSession;
+    private boolean readOnly;
     private HibernateCaching caching;
     private String cacheRegion;
     private Integer fetchSize;
@@ -101,4 +104,26 @@ public class HibernateQueryExecutionContextImpl
         this.fetchSize = fetchSize;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    public StatelessSession getStatelessSession() {
+        return statelessSession;
+    }
+
+    public void setStatelessSession(StatelessSession statelessSession) {
+        this.statelessSession = statelessSession;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean isReadOnly() {
+        return readOnly;
+    }
+
+    public void setReadOnly(boolean readOnly) {
+        this.readOnly = readOnly;
+    }
+
 }
@@ -16,9 +16,19 @@
 
 package org.codehaus.grepo.query.hibernate.executor;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
 import org.codehaus.grepo.core.util.ClassUtils;
 import org.codehaus.grepo.query.commons.annotation.GenericQuery;
 import org.codehaus.grepo.query.commons.aop.QueryMethodParameterInfo;
+import org.codehaus.grepo.query.commons.executor.QueryExecutorUtils;
+import org.codehaus.grepo.query.commons.executor.QueryResultMonitor;
+import org.codehaus.grepo.query.commons.generator.QueryGenerator;
+import org.codehaus.grepo.query.commons.generator.QueryGeneratorFactory;
 import org.codehaus.grepo.query.hibernate.context.HibernateQueryExecutionContext;
 import org.codehaus.grepo.query.hibernate.generator.DefaultQueryGenerator;
 import org.codehaus.grepo.query.hibernate.generator.HibernateCriteriaGenerator;
@@ -26,6 +36,8 @@ import org.codehaus.grepo.query.hibernate.generator.HibernateGeneratorUtils;
 import org.codehaus.grepo.query.hibernate.generator.HibernateQueryGenerator;
 import org.hibernate.Criteria;
 import org.hibernate.Query;
+import org.hibernate.Session;
+import org.hibernate.engine.SessionImplementor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -36,6 +48,9 @@ public abstract class AbstractQueryExecutor implements HibernateQueryExecutor {
 
     private static final Logger logger = LoggerFactory.getLogger(AbstractQueryExecutor.class);
 
+    /** The shared default query generator (which is stateless). */
+    private static final HibernateQueryGenerator DEFAULT_QUERY_GENERATOR = new DefaultQueryGenerator();
+
     /**
      * Creates a criteria using a {@link HibernateCriteriaGenerator} is one is specified.
      *
@@ -49,7 +64,7 @@ public abstract class AbstractQueryExecutor implements HibernateQueryExecutor {
             @SuppressWarnings("unchecked")
             Class<? extends HibernateCriteriaGenerator> clazz =
                 (Class<? extends HibernateCriteriaGenerator>)genericQuery.queryGenerator();
-            HibernateCriteriaGenerator generator = ClassUtils.instantiateClass(clazz);
+            HibernateCriteriaGenerator generator = createGenerator(clazz, context);
             logger.info("Generating criteria using criteriaGenerator: {}", clazz.getName());
             return generator.generate(qmpi, context);
         }
@@ -71,15 +86,88 @@ public abstract class AbstractQueryExecutor implements HibernateQueryExecutor {
             @SuppressWarnings("unchecked")
             Class<? extends HibernateQueryGenerator> clazz =
                 (Class<? extends HibernateQueryGenerator>)genericQuery.queryGenerator();
-            HibernateQueryGenerator generator = ClassUtils.instantiateClass(clazz);
+            HibernateQueryGenerator generator = createGenerator(clazz, context);
             logger.info("Generating query using queryGenerator: {}", clazz.getSimpleName());
             return generator.generate(qmpi, context);
         }
         return createDefaultQueryGenerator().generate(qmpi, context);
     }
 
+    /**
+     * Reports the number of rows of the (materialized) result, see
+     * {@link QueryExecutorUtils#getNumberOfRows(Object)}.
+     *
+     * @param qmpi The query method parameter info.
+     * @param result The result.
+     * @param monitor The monitor.
+     * @return Returns the result.
+     */
+    public Object monitorResult(QueryMethodParameterInfo qmpi, Object result, QueryResultMonitor monitor) {
+        monitor.rowsReturned(qmpi, QueryExecutorUtils.getNumberOfRows(result));
+        return result;
+    }
+
+    /**
+     * Returns the entities which are managed by the session before a criteria is executed, so that only the entities
+     * newly loaded by the criteria are marked read-only (see {@link #applyReadOnly(Object, Set, Session)}).
+     *
+     * @param context The context.
+     * @return Returns the managed entities (compared by identity) or {@code null} if the entities of criteria results
+     *         are not marked read-only.
+     */
+    protected Set<Object> getManagedEntities(HibernateQueryExecutionContext context) {
+        if (!context.isReadOnly() || !(context.getSession() instanceof SessionImplementor)) {
+            return null;
+        }
+        Set<Object> entities = Collections.newSetFromMap(new IdentityHashMap<Object, Boolean>());
+        Map<?, ?> entitiesByKey =
+            ((SessionImplementor)context.getSession()).getPersistenceContext().getEntitiesByKey();
+        entities.addAll(entitiesByKey.values());
+        return entities;
+    }
+
+    /**
+     * Marks the entities of the given criteria {@code result} read-only, unless they have already been managed by the
+     * session before the criteria was executed. Note that this is only required for criteria (which do not support
+     * read-only mode), queries are marked read-only by the query generator. Entities which are already managed must
+     * not be marked read-only, as hibernate would discard their (possibly modified) state.
+     *
+     * @param result The result.
+     * @param managedEntities The entities managed before the criteria was executed or {@code null} if the entities
+     *            should not be marked read-only (see {@link #getManagedEntities(HibernateQueryExecutionContext)}).
+     * @param session The session.
+     */
+    protected void applyReadOnly(Object result, Set<Object> managedEntities, Session session) {
+        if (managedEntities != null && result != null) {
+            Collection<?> entities = (result instanceof Collection ? (Collection<?>)result : Collections
+                .singleton(result));
+            for (Object entity : entities) {
+                if (!managedEntities.contains(entity) && session.contains(entity)) {
+                    session.setReadOnly(entity, true);
+                }
+            }
+        }
+    }
+
     protected HibernateQueryGenerator createDefaultQueryGenerator() {
-        return new DefaultQueryGenerator();
+        return DEFAULT_QUERY_GENERATOR;
+    }
+
+    /**
+     * Creates a generator of the given type using the {@link QueryGeneratorFactory} of the given context. If the
+     * context does not provide a factory, a new instance is created.
+     *
+     * @param <T> The generator type.
+     * @param clazz The generator class.
+     * @param context The context.
+     * @return Returns the generator.
+     */
+    protected <T extends QueryGenerator<?, ?>> T createGenerator(Class<T> clazz, HibernateQueryExecutionContext context) {
+        QueryGeneratorFactory factory = context.getQueryGeneratorFactory();
+        if (factory == null) {
+            return ClassUtils.instantiateClass(clazz);
+        }
+        return factory.createGenerator(clazz);
     }
 
 }
@@ -16,6 +16,9 @@
 
 package org.codehaus.grepo.query.hibernate.executor;
 
+import java.util.Set;
+
+import org.codehaus.grepo.core.annotation.Stateless;
 import org.codehaus.grepo.query.commons.aop.QueryMethodParameterInfo;
 import org.codehaus.grepo.query.hibernate.context.HibernateQueryExecutionContext;
 import org.hibernate.Criteria;
@@ -26,6 +29,7 @@ import org.hibernate.Query;
  *
  *  @author dguggi
  */
+@Stateless
 public class GetQueryExecutor extends AbstractQueryExecutor {
 
     /**
@@ -37,7 +41,10 @@ public class GetQueryExecutor extends AbstractQueryExecutor {
             Query query = createQuery(qmpi, context);
             return query.uniqueResult();
         }
-        return criteria.uniqueResult();
+        Set<Object> managedEntities = getManagedEntities(context);
+        Object result = criteria.uniqueResult();
+        applyReadOnly(result, managedEntities, context.getSession());
+        return result;
     }
 
     /**
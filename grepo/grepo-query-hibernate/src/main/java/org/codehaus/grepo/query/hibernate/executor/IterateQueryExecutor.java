@@ -16,7 +16,10 @@
 
 package org.codehaus.grepo.query.hibernate.executor;
 
+import org.codehaus.grepo.core.annotation.Stateless;
 import org.codehaus.grepo.query.commons.aop.QueryMethodParameterInfo;
+import org.codehaus.grepo.query.commons.executor.QueryResultMonitor;
+import org.codehaus.grepo.query.commons.executor.QueryResultTracker;
 import org.codehaus.grepo.query.hibernate.context.HibernateQueryExecutionContext;
 import org.hibernate.Query;
 
@@ -25,6 +28,7 @@ import org.hibernate.Query;
  *
  * @author dguggi
  */
+@Stateless
 public class IterateQueryExecutor extends AbstractQueryExecutor {
 
     /**
@@ -35,6 +39,24 @@ public class IterateQueryExecutor extends AbstractQueryExecutor {
         return query.iterate();
     }
 
+    /**
+     * Wraps the iterator in order to track the rows consumed by the caller, if the given {@code monitor} tracks
+     * lazily consumed results.
+     *
+     * @param qmpi The query method parameter info.
+     * @param result The result.
+     * @param monitor The monitor.
+     * @return Returns the (possibly wrapped) result.
+     */
+    @Override
+    public Object monitorResult(QueryMethodParameterInfo qmpi, Object result, QueryResultMonitor monitor) {
+        if (result == null) {
+            return null;
+        }
+        QueryResultTracker tracker = monitor.startTracking(qmpi);
+        return (tracker == null ? result : ResultTrackingInvocationHandler.createProxy(result, tracker));
+    }
+
     /**
      * {@inheritDoc}
      */
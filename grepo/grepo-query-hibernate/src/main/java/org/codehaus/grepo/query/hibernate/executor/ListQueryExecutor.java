@@ -17,17 +17,25 @@
 package org.codehaus.grepo.query.hibernate.executor;
 
 import java.util.List;
+import java.util.Set;
 
+import org.codehaus.grepo.core.annotation.Stateless;
+import org.codehaus.grepo.query.commons.annotation.GenericQuery;
 import org.codehaus.grepo.query.commons.aop.QueryMethodParameterInfo;
+import org.codehaus.grepo.query.commons.generator.GeneratorUtils;
+import org.codehaus.grepo.query.commons.generator.KeysetUtils;
 import org.codehaus.grepo.query.hibernate.context.HibernateQueryExecutionContext;
 import org.hibernate.Criteria;
 import org.hibernate.Query;
 
 /**
- * This executor is used to execute generic "list" queries.
+ * This executor is used to execute generic "list" queries. Methods returning a
+ * {@link org.codehaus.grepo.query.commons.executor.Slice} get the rows of the requested page along with the key
+ * required to fetch the next page.
  *
  * @author dguggi
  */
+@Stateless
 public class ListQueryExecutor extends AbstractQueryExecutor {
 
     /**
@@ -35,11 +43,22 @@ public class ListQueryExecutor extends AbstractQueryExecutor {
      */
     public Object execute(QueryMethodParameterInfo qmpi, HibernateQueryExecutionContext context) {
         Criteria criteria = createCriteria(qmpi, context);
+        List<?> list = null;
         if (criteria == null) {
             Query query = createQuery(qmpi, context);
-            return (List<?>)query.list();
+            list = (List<?>)query.list();
+        } else {
+            Set<Object> managedEntities = getManagedEntities(context);
+            list = (List<?>)criteria.list();
+            applyReadOnly(list, managedEntities, context.getSession());
         }
-        return (List<?>)criteria.list();
+
+        if (KeysetUtils.isSliceMethod(qmpi)) {
+            GenericQuery genericQuery = qmpi.getMethodAnnotation(GenericQuery.class);
+            return KeysetUtils.createSlice(qmpi, list,
+                GeneratorUtils.getMaxResults(qmpi, genericQuery, context.getMaxResults()));
+        }
+        return list;
     }
 
     /**
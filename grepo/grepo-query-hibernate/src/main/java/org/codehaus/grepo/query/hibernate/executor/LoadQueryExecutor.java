@@ -16,6 +16,7 @@
 
 package org.codehaus.grepo.query.hibernate.executor;
 
+import org.codehaus.grepo.core.annotation.Stateless;
 import org.codehaus.grepo.query.commons.aop.QueryMethodParameterInfo;
 import org.codehaus.grepo.query.hibernate.context.HibernateQueryExecutionContext;
 
@@ -24,6 +25,7 @@ import org.codehaus.grepo.query.hibernate.context.HibernateQueryExecutionContext
  *
  * @author dguggi
  */
+@Stateless
 public class LoadQueryExecutor extends GetQueryExecutor {
 
     /**
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2009 Grepo Committers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.codehaus.grepo.query.hibernate.executor;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Iterator;
+
+import org.codehaus.grepo.query.commons.executor.QueryResultTracker;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Invocation handler for proxies of lazily consumed results ({@link org.hibernate.ScrollableResults} and
+ * {@link Iterator}s), which notifies a {@link QueryResultTracker} about fetched rows. Only rows fetched by moving
+ * forward ({@code next()}) are counted, repositioning scrollable results (e.g. {@code previous()}, {@code first()} or
+ * {@code scroll(int)}) does not fetch new rows. The proxy implements all interfaces of the target, so for instance
+ * {@link org.hibernate.Hibernate#close(Iterator)} still works.
+ *
+ * @author dguggi
+ */
+public class ResultTrackingInvocationHandler implements InvocationHandler {
+
+    private final Object target;
+
+    private final QueryResultTracker tracker;
+
+    private final boolean iterator;
+
+    /**
+     * @param target The target result.
+     * @param tracker The tracker.
+     */
+    public ResultTrackingInvocationHandler(Object target, QueryResultTracker tracker) {
+        this.target = target;
+        this.tracker = tracker;
+        this.iterator = (target instanceof Iterator<?>);
+    }
+
+    /**
+     * @param target The target result.
+     * @param tracker The tracker.
+     * @return Returns a proxy which implements all interfaces of the given {@code target}.
+     */
+    public static Object createProxy(Object target, QueryResultTracker tracker) {
+        return Proxy.newProxyInstance(target.getClass().getClassLoader(), ClassUtils.getAllInterfaces(target),
+            new ResultTrackingInvocationHandler(target, tracker));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        String name = method.getName();
+        if (name.equals("equals")) {
+            // Only consider equal when proxies are identical.
+            return (proxy == args[0]);
+        } else if (name.equals("hashCode")) {
+            // Use hashCode of result proxy.
+            return System.identityHashCode(proxy);
+        }
+
+        Object retVal = null;
+        try {
+            retVal = method.invoke(this.target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getTargetException();
+        }
+
+        if (name.equals("close")) {
+            tracker.complete();
+        } else if (name.equals("iterator") && retVal == target) {
+            // keep tracking if the target returns itself (e.g. in for-each loops)...
+            retVal = proxy;
+        } else if (iterator) {
+            if (name.equals("next")) {
+                tracker.rowFetched();
+            } else if (name.equals("hasNext") && Boolean.FALSE.equals(retVal)) {
+                tracker.complete();
+            }
+        } else if (name.equals("next")) {
+            if (Boolean.TRUE.equals(retVal)) {
+                tracker.rowFetched();
+            } else {
+                tracker.complete();
+            }
+        }
+        return retVal;
+    }
+}
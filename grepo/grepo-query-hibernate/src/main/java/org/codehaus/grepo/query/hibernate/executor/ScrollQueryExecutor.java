@@ -16,7 +16,13 @@
 
 package org.codehaus.grepo.query.hibernate.executor;
 
+import java.util.Set;
+
+import org.codehaus.grepo.core.annotation.Stateless;
 import org.codehaus.grepo.query.commons.aop.QueryMethodParameterInfo;
+import org.codehaus.grepo.query.commons.executor.CloseableIterator;
+import org.codehaus.grepo.query.commons.executor.QueryResultMonitor;
+import org.codehaus.grepo.query.commons.executor.QueryResultTracker;
 import org.codehaus.grepo.query.hibernate.annotation.GScrollMode;
 import org.codehaus.grepo.query.hibernate.annotation.HibernateQueryOptions;
 import org.codehaus.grepo.query.hibernate.annotation.HibernateScrollMode;
@@ -24,14 +30,22 @@ import org.codehaus.grepo.query.hibernate.context.HibernateQueryExecutionContext
 import org.hibernate.Criteria;
 import org.hibernate.Query;
 import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * This executor is used to execute generic "scroll" queries.
+ * This executor is used to execute generic "scroll" queries. Methods returning {@link ScrollableResults} get the raw
+ * results, methods returning a {@link CloseableIterator} (or {@link java.util.Iterator}, {@link Iterable}) get a
+ * managed {@link ScrollableResultsIterator}.
+ * <p>
+ * Note that Hibernate 3.3 criteria cannot be marked read-only. In read-only mode, entities scrolled by a criteria are
+ * marked read-only by the {@link ScrollableResultsIterator}, entities read from raw {@link ScrollableResults} of a
+ * criteria are not.
  *
  * @author dguggi
  */
+@Stateless
 public class ScrollQueryExecutor extends AbstractQueryExecutor {
 
     private static final Logger logger = LoggerFactory.getLogger(ScrollQueryExecutor.class);
@@ -43,18 +57,35 @@ public class ScrollQueryExecutor extends AbstractQueryExecutor {
         HibernateQueryOptions queryOptions = qmpi.getMethodAnnotation(HibernateQueryOptions.class);
         ScrollMode scrollMode = getScrollMode(qmpi, queryOptions);
 
+        ScrollableResults results = null;
+        Set<Object> managedEntities = null;
         Criteria criteria = createCriteria(qmpi, context);
         if (criteria == null) {
             Query query = createQuery(qmpi, context);
-            if (scrollMode == null) {
-                return query.scroll();
-            }
-            return query.scroll(scrollMode);
+            results = (scrollMode == null ? query.scroll() : query.scroll(scrollMode));
+        } else {
+            managedEntities = getManagedEntities(context);
+            results = (scrollMode == null ? criteria.scroll() : criteria.scroll(scrollMode));
         }
-        if (scrollMode == null) {
-            return criteria.scroll();
+
+        if (isStreamingMethod(qmpi)) {
+            // stateless sessions do not have a first-level cache which could be cleared
+            int clearInterval = (queryOptions == null || context.getStatelessSession() != null //
+                ? 0 : queryOptions.clearInterval());
+            return new ScrollableResultsIterator<Object>(results, context.getSession(), clearInterval,
+                managedEntities, "method '" + qmpi.getMethodName() + "'");
         }
-        return criteria.scroll(scrollMode);
+        return results;
+    }
+
+    /**
+     * @param qmpi The query method parameter info.
+     * @return Returns {@code true} if the method returns a {@link CloseableIterator} (or one of its super types other
+     *         than {@code Object}) instead of the raw {@link ScrollableResults}.
+     */
+    protected boolean isStreamingMethod(QueryMethodParameterInfo qmpi) {
+        Class<?> returnType = qmpi.getMethodReturnType();
+        return (returnType != Object.class && returnType.isAssignableFrom(CloseableIterator.class));
     }
 
     /**
@@ -93,6 +124,24 @@ public class ScrollQueryExecutor extends AbstractQueryExecutor {
         return retVal;
     }
 
+    /**
+     * Wraps the scrollable results in order to track the rows consumed by the caller, if the given {@code monitor}
+     * tracks lazily consumed results.
+     *
+     * @param qmpi The query method parameter info.
+     * @param result The result.
+     * @param monitor The monitor.
+     * @return Returns the (possibly wrapped) result.
+     */
+    @Override
+    public Object monitorResult(QueryMethodParameterInfo qmpi, Object result, QueryResultMonitor monitor) {
+        if (result == null) {
+            return null;
+        }
+        QueryResultTracker tracker = monitor.startTracking(qmpi);
+        return (tracker == null ? result : ResultTrackingInvocationHandler.createProxy(result, tracker));
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -0,0 +1,225 @@
+/*
+ * Copyright 2009 Grepo Committers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.codehaus.grepo.query.hibernate.executor;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.codehaus.grepo.query.commons.executor.CloseableIterator;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * {@link CloseableIterator} backed by Hibernate {@link ScrollableResults}. Rows with a single column are returned
+ * as is, other rows are returned as {@code Object[]}.
+ * <p>
+ * If a {@code clearInterval} is set, the session is cleared every {@code clearInterval} rows (before the next row
+ * is fetched), so the first-level cache does not grow with every row. Note that clearing the session detaches all
+ * entities and discards pending changes.
+ * <p>
+ * If {@code managedEntities} are given, the returned entities are marked read-only in the session unless they have
+ * already been managed before the cursor was opened. This is used for criteria which (unlike queries) cannot be marked
+ * read-only with Hibernate 3.3.
+ * <p>
+ * The iterator must either be exhausted or closed. Cursors which are still open when the surrounding transaction
+ * completes are reported as leaked and closed. Without a transaction, closing the iterator is up to the caller.
+ *
+ * @author dguggi
+ * @param <T> The element type.
+ */
+public class ScrollableResultsIterator<T> implements CloseableIterator<T> {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScrollableResultsIterator.class);
+
+    private final ScrollableResults results;
+
+    private final Session session;
+
+    private final int clearInterval;
+
+    /** The entities managed before the cursor was opened or {@code null} if no entities are marked read-only. */
+    private final Set<Object> managedEntities;
+
+    /** Describes the origin of the cursor (used for logging). */
+    private final String description;
+
+    /** The result of the last call to {@code results.next()} or {@code null} if not fetched yet. */
+    private Boolean hasNext;
+
+    private long rowCount;
+
+    private volatile boolean closed;
+
+    private boolean iteratorReturned;
+
+    /**
+     * @param results The scrollable results.
+     * @param session The session (required if {@code clearInterval} is greater than zero).
+     * @param clearInterval The number of rows after which the session is cleared ({@code 0} means never).
+     * @param description Describes the origin of the cursor (used for logging).
+     */
+    public ScrollableResultsIterator(ScrollableResults results, Session session, int clearInterval,
+            String description) {
+        this(results, session, clearInterval, null, description);
+    }
+
+    /**
+     * @param results The scrollable results.
+     * @param session The session (required if {@code clearInterval} is greater than zero or {@code managedEntities}
+     *            are given).
+     * @param clearInterval The number of rows after which the session is cleared ({@code 0} means never).
+     * @param managedEntities The entities (compared by identity) managed before the cursor was opened or {@code null}
+     *            if the returned entities should not be marked read-only.
+     * @param description Describes the origin of the cursor (used for logging).
+     */
+    public ScrollableResultsIterator(ScrollableResults results, Session session, int clearInterval,
+            Set<Object> managedEntities, String description) {
+        this.results = results;
+        this.session = session;
+        this.clearInterval = clearInterval;
+        this.managedEntities = managedEntities;
+        this.description = description;
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new LeakDetectingSynchronization());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean hasNext() {
+        if (closed) {
+            return false;
+        }
+        if (hasNext == null) {
+            try {
+                if (clearInterval > 0 && rowCount > 0 && rowCount % clearInterval == 0) {
+                    session.clear();
+                }
+                hasNext = results.next();
+            } catch (RuntimeException e) {
+                close();
+                throw e;
+            }
+            if (!hasNext) {
+                close();
+            }
+        }
+        return hasNext;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @SuppressWarnings("unchecked")
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException("No more rows available (" + description + ")");
+        }
+        hasNext = null;
+        try {
+            Object[] row = results.get();
+            rowCount++;
+            if (managedEntities != null) {
+                for (Object value : row) {
+                    if (value != null && !managedEntities.contains(value) && session.contains(value)) {
+                        session.setReadOnly(value, true);
+                    }
+                }
+            }
+            return (T)(row.length == 1 ? row[0] : row);
+        } catch (RuntimeException e) {
+            close();
+            throw e;
+        }
+    }
+
+    /**
+     * Not supported.
+     */
+    public void remove() {
+        throw new UnsupportedOperationException("remove() is not supported");
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Iterator<T> iterator() {
+        if (iteratorReturned) {
+            throw new IllegalStateException("The rows can only be iterated once (" + description + ")");
+        }
+        iteratorReturned = true;
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void close() {
+        if (!closed) {
+            closed = true;
+            results.close();
+            logger.debug("Closed cursor after {} rows ({})", rowCount, description);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * @return Returns the number of rows returned so far.
+     */
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Closes the cursor if it has been leaked.
+     */
+    protected void closeLeaked() {
+        if (!closed) {
+            logger.warn("Closing leaked cursor after {} rows ({}) - the iterator must either be exhausted or closed",
+                rowCount, description);
+            try {
+                close();
+            } catch (RuntimeException e) {
+                logger.warn("Unable to close leaked cursor (" + description + ")", e);
+            }
+        }
+    }
+
+    /**
+     * Closes the cursor before the surrounding transaction completes (while the session is still open).
+     */
+    private class LeakDetectingSynchronization extends TransactionSynchronizationAdapter {
+
+        @Override
+        public void beforeCompletion() {
+            closeLeaked();
+        }
+    }
+
+}
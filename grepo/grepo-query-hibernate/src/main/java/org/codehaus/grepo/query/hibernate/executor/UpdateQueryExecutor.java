@@ -16,7 +16,9 @@
 
 package org.codehaus.grepo.query.hibernate.executor;
 
+import org.codehaus.grepo.core.annotation.Stateless;
 import org.codehaus.grepo.query.commons.aop.QueryMethodParameterInfo;
+import org.codehaus.grepo.query.commons.executor.QueryResultMonitor;
 import org.codehaus.grepo.query.hibernate.context.HibernateQueryExecutionContext;
 import org.hibernate.Query;
 
@@ -25,6 +27,7 @@ import org.hibernate.Query;
  *
  * @author dguggi
  */
+@Stateless
 public class UpdateQueryExecutor extends AbstractQueryExecutor {
 
     /**
@@ -35,6 +38,20 @@ public class UpdateQueryExecutor extends AbstractQueryExecutor {
         return query.executeUpdate();
     }
 
+    /**
+     * Reports the number of updated rows.
+     *
+     * @param qmpi The query method parameter info.
+     * @param result The result.
+     * @param monitor The monitor.
+     * @return Returns the result.
+     */
+    @Override
+    public Object monitorResult(QueryMethodParameterInfo qmpi, Object result, QueryResultMonitor monitor) {
+        monitor.rowsReturned(qmpi, ((Number)result).longValue());
+        return result;
+    }
+
     /**
      * {@inheritDoc}
      */
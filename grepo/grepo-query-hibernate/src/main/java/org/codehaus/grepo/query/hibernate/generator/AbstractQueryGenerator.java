@@ -42,7 +42,7 @@ public abstract class AbstractQueryGenerator extends QueryGeneratorBase {
     @Override
     protected final Query createQuery(QueryMethodParameterInfo qmpi, HibernateQueryExecutionContext context) {
         GenericQuery genericQuery = qmpi.getMethodAnnotation(GenericQuery.class);
-        String queryString = createQueryString(qmpi, context);
+        String queryString = applyKeysetSetting(qmpi, createQueryString(qmpi, context));
 
         final Query query;
         if (isNativeQuery(genericQuery)) {
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2011 Grepo Committers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.codehaus.grepo.query.hibernate.generator;
+
+import java.util.Iterator;
+
+import org.hibernate.Criteria;
+import org.hibernate.impl.CriteriaImpl;
+
+/**
+ * Describes a criteria for slow query records. Since restrictions hold their values (which may be sensitive and
+ * cannot be masked by a {@link org.codehaus.grepo.query.commons.slowquery.QueryParameterMasker}), only the entity, the
+ * aliases (including the paths of sub criteria), the number of restrictions and the orders are described. The
+ * description is only built if the query is recorded.
+ *
+ * @author dguggi
+ */
+class CriteriaDescription {
+
+    private final Criteria criteria;
+
+    /**
+     * @param criteria The criteria.
+     */
+    public CriteriaDescription(Criteria criteria) {
+        this.criteria = criteria;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        if (!(criteria instanceof CriteriaImpl)) {
+            return "criteria " + criteria.getClass().getName();
+        }
+
+        CriteriaImpl impl = (CriteriaImpl)criteria;
+        StringBuilder sb = new StringBuilder("criteria ").append(impl.getEntityOrClassName());
+        sb.append(" as ").append(impl.getAlias());
+
+        Iterator<?> it = impl.iterateSubcriteria();
+        while (it.hasNext()) {
+            CriteriaImpl.Subcriteria subcriteria = (CriteriaImpl.Subcriteria)it.next();
+            sb.append(", join ").append(subcriteria.getPath());
+            if (subcriteria.getAlias() != null) {
+                sb.append(" as ").append(subcriteria.getAlias());
+            }
+        }
+
+        int restrictions = 0;
+        it = impl.iterateExpressionEntries();
+        while (it.hasNext()) {
+            it.next();
+            restrictions++;
+        }
+        sb.append(" (").append(restrictions).append(" restrictions)");
+
+        it = impl.iterateOrderings();
+        for (int i = 0; it.hasNext(); i++) {
+            sb.append(i == 0 ? " order by " : ", ").append(((CriteriaImpl.OrderEntry)it.next()).getOrder());
+        }
+        return sb.toString();
+    }
+}
@@ -16,14 +16,22 @@
 
 package org.codehaus.grepo.query.hibernate.generator;
 
+import java.util.Iterator;
+
+import org.codehaus.grepo.core.exception.ConfigurationException;
 import org.codehaus.grepo.query.commons.annotation.GenericQuery;
+import org.codehaus.grepo.query.commons.annotation.SeekAfter;
 import org.codehaus.grepo.query.commons.aop.QueryMethodParameterInfo;
 import org.codehaus.grepo.query.commons.generator.GeneratorUtils;
+import org.codehaus.grepo.query.commons.generator.KeysetUtils;
 import org.codehaus.grepo.query.hibernate.annotation.HibernateQueryOptions;
 import org.codehaus.grepo.query.hibernate.context.HibernateQueryExecutionContext;
 import org.hibernate.Criteria;
 import org.hibernate.criterion.CriteriaSpecification;
 import org.hibernate.criterion.DetachedCriteria;
+import org.hibernate.criterion.Order;
+import org.hibernate.criterion.Restrictions;
+import org.hibernate.impl.CriteriaImpl;
 import org.hibernate.transform.ResultTransformer;
 import org.springframework.orm.hibernate3.SessionFactoryUtils;
 
@@ -48,6 +56,7 @@ public abstract class CriteriaGeneratorBase implements HibernateCriteriaGenerato
         }
 
         applyCriteriaSettings(qmpi, context, criteria);
+        GeneratorUtils.captureQuery(qmpi, new CriteriaDescription(criteria));
 
         return criteria;
     }
@@ -78,6 +87,7 @@ public abstract class CriteriaGeneratorBase implements HibernateCriteriaGenerato
         applyFetchSizeSetting(queryOptions, context, criteria);
         applyFirstResultSetting(genericQuery, qmpi, criteria);
         appyMaxResultsSetting(genericQuery, qmpi, context, criteria);
+        applyKeysetSetting(qmpi, criteria);
         applyCachingSetting(queryOptions, context, criteria);
         applyTimeoutSetting(context, criteria);
     }
@@ -101,8 +111,56 @@ public abstract class CriteriaGeneratorBase implements HibernateCriteriaGenerato
                                          HibernateQueryExecutionContext context, Criteria criteria) {
         Integer maxResults = GeneratorUtils.getMaxResults(qmpi, genericQuery, context.getMaxResults());
         if (maxResults != null) {
-            criteria.setMaxResults(maxResults);
+            // fetch one more row for slices in order to detect whether there is a next page...
+            criteria.setMaxResults(KeysetUtils.isSliceMethod(qmpi) ? maxResults + 1 : maxResults);
+        }
+    }
+
+    /**
+     * Applies keyset pagination (see {@link SeekAfter}) to the given {@code criteria}. Orders added by the generator
+     * must start with the sort key (in the direction given by the keyset definition).
+     *
+     * @param qmpi The query method parameter info.
+     * @param criteria The criteria.
+     */
+    protected void applyKeysetSetting(QueryMethodParameterInfo qmpi, Criteria criteria) {
+        SeekAfter seekAfter = KeysetUtils.getSeekAfter(qmpi);
+        if (seekAfter != null) {
+            Order order = (seekAfter.descending() ? Order.desc(seekAfter.value()) : Order.asc(seekAfter.value()));
+            boolean ordered = validateOrderings(criteria, order, seekAfter);
+
+            Object value = KeysetUtils.getSeekValue(qmpi);
+            if (value != null) {
+                criteria.add(seekAfter.descending() ? Restrictions.lt(seekAfter.value(), value) : Restrictions.gt(
+                    seekAfter.value(), value));
+            }
+            if (!ordered) {
+                criteria.addOrder(order);
+            }
+        }
+    }
+
+    /**
+     * @param criteria The criteria.
+     * @param order The order by the sort key.
+     * @param seekAfter The keyset definition.
+     * @return Returns {@code true} if the criteria is already ordered by the sort key.
+     */
+    private boolean validateOrderings(Criteria criteria, Order order, SeekAfter seekAfter) {
+        if (criteria instanceof CriteriaImpl) {
+            Iterator<?> it = ((CriteriaImpl)criteria).iterateOrderings();
+            if (it.hasNext()) {
+                Order first = ((CriteriaImpl.OrderEntry)it.next()).getOrder();
+                if (!order.toString().equals(first.toString())) {
+                    throw new ConfigurationException(String.format(
+                        "The order '%s' conflicts with the keyset order of @SeekAfter('%s'%s) (entity='%s')", first,
+                        seekAfter.value(), (seekAfter.descending() ? ", descending=true" : ""),
+                        ((CriteriaImpl)criteria).getEntityOrClassName()));
+                }
+                return true;
+            }
         }
+        return false;
     }
 
     protected void applyFirstResultSetting(GenericQuery genericQuery, QueryMethodParameterInfo qmpi, //
@@ -17,14 +17,22 @@
 package org.codehaus.grepo.query.hibernate.generator;
 
 import org.apache.commons.lang.StringUtils;
+import org.codehaus.grepo.core.annotation.Stateless;
+import org.codehaus.grepo.core.exception.ConfigurationException;
 import org.codehaus.grepo.query.commons.annotation.GenericQuery;
 import org.codehaus.grepo.query.commons.aop.QueryMethodParameterInfo;
+import org.codehaus.grepo.query.commons.generator.GeneratorUtils;
+import org.codehaus.grepo.query.commons.generator.KeysetUtils;
 import org.codehaus.grepo.query.hibernate.context.HibernateQueryExecutionContext;
 import org.hibernate.Query;
+import org.hibernate.SQLQuery;
+import org.hibernate.engine.NamedQueryDefinition;
+import org.hibernate.engine.SessionFactoryImplementor;
 
 /**
  * @author dguggi
  */
+@Stateless
 public final class DefaultQueryGenerator extends QueryGeneratorBase {
 
     private static final long serialVersionUID = -3489628927772712068L;
@@ -38,18 +46,69 @@ public final class DefaultQueryGenerator extends QueryGeneratorBase {
 
         final Query query;
         if (StringUtils.isNotEmpty(genericQuery.query())) {
+            String queryString = applyKeysetSetting(qmpi, genericQuery.query());
             if (isNativeQuery(genericQuery)) {
-                query = context.getSession().createSQLQuery(genericQuery.query());
+                query = context.getSession().createSQLQuery(queryString);
             } else {
-                query = context.getSession().createQuery(genericQuery.query());
+                query = context.getSession().createQuery(queryString);
             }
         } else {
-            String queryName = context.getQueryNamingStrategy().getQueryName(qmpi);
-            query = context.getSession().getNamedQuery(queryName);
+            String queryName = GeneratorUtils.getQueryName(qmpi, context.getQueryNamingStrategy());
+            query = createNamedQuery(queryName, qmpi, context);
         }
 
         applyQueryParameters(qmpi, context, query);
         return query;
     }
 
+    private Query createNamedQuery(String queryName, QueryMethodParameterInfo qmpi,
+                                   HibernateQueryExecutionContext context) {
+        Query query = context.getSession().getNamedQuery(queryName);
+        if (KeysetUtils.getSeekAfter(qmpi) != null) {
+            if (query instanceof SQLQuery) {
+                throw new ConfigurationException(String.format(
+                    "Keyset pagination is not supported for named native queries (query='%s', method='%s')",
+                    queryName, qmpi.getMethodName()));
+            }
+            query = context.getSession().createQuery(applyKeysetSetting(qmpi, query.getQueryString()));
+            applyNamedQuerySettings(queryName, context, query);
+        }
+        return query;
+    }
+
+    /**
+     * Applies the settings of the named query definition (e.g. cacheable, fetch size, timeout, flush mode, read-only
+     * and comment) to the given {@code query}, which has been re-created from the rewritten query string of the named
+     * query. Settings specified via annotations are applied afterwards and take precedence.
+     *
+     * @param queryName The query name.
+     * @param context The context.
+     * @param query The re-created query.
+     */
+    private void applyNamedQuerySettings(String queryName, HibernateQueryExecutionContext context, Query query) {
+        NamedQueryDefinition definition =
+            ((SessionFactoryImplementor)context.getSessionFactory()).getNamedQuery(queryName);
+        if (definition == null) {
+            return;
+        }
+        query.setCacheable(definition.isCacheable());
+        query.setCacheRegion(definition.getCacheRegion());
+        if (definition.getTimeout() != null) {
+            query.setTimeout(definition.getTimeout().intValue());
+        }
+        if (definition.getFetchSize() != null) {
+            query.setFetchSize(definition.getFetchSize().intValue());
+        }
+        if (definition.getCacheMode() != null) {
+            query.setCacheMode(definition.getCacheMode());
+        }
+        if (definition.getFlushMode() != null) {
+            query.setFlushMode(definition.getFlushMode());
+        }
+        if (definition.getComment() != null) {
+            query.setComment(definition.getComment());
+        }
+        query.setReadOnly(definition.isReadOnly());
+    }
+
 }
@@ -18,15 +18,18 @@ package org.codehaus.grepo.query.hibernate.generator;
 
 import java.util.Collection;
 
+import org.apache.commons.lang.ArrayUtils;
 import org.apache.commons.lang.StringUtils;
 import org.codehaus.grepo.core.util.ClassUtils;
 import org.codehaus.grepo.query.commons.annotation.FirstResult;
 import org.codehaus.grepo.query.commons.annotation.GenericQuery;
 import org.codehaus.grepo.query.commons.annotation.MaxResults;
+import org.codehaus.grepo.query.commons.annotation.SeekAfter;
 import org.codehaus.grepo.query.commons.aop.QueryMethodParameterInfo;
 import org.codehaus.grepo.query.commons.generator.DynamicQueryParamsAware;
 import org.codehaus.grepo.query.commons.generator.DynamicQueryParamsAwareImpl;
 import org.codehaus.grepo.query.commons.generator.GeneratorUtils;
+import org.codehaus.grepo.query.commons.generator.KeysetUtils;
 import org.codehaus.grepo.query.hibernate.annotation.EntityClass;
 import org.codehaus.grepo.query.hibernate.annotation.GScrollMode;
 import org.codehaus.grepo.query.hibernate.annotation.GType;
@@ -77,6 +80,7 @@ public abstract class QueryGeneratorBase implements HibernateQueryGenerator,
     public Query generate(QueryMethodParameterInfo qmpi, HibernateQueryExecutionContext context) {
         Query query = createQuery(qmpi, context);
         logger.debug("Using query: {}", query.getQueryString().trim());
+        GeneratorUtils.captureQuery(qmpi, query.getQueryString());
         applyQuerySettings(qmpi, context, query);
         return query;
     }
@@ -151,6 +155,7 @@ public abstract class QueryGeneratorBase implements HibernateQueryGenerator,
         applyMaxResultsSetting(genericQuery, qmpi, context, query);
         applyCachingSetting(queryOptions, context, query);
         applyTimeoutSetting(context, query);
+        applyReadOnlySetting(context, query);
 
         if (query instanceof SQLQuery) {
             applyNativeQuerySettings(queryOptions, (SQLQuery)query);
@@ -203,10 +208,32 @@ public abstract class QueryGeneratorBase implements HibernateQueryGenerator,
                                           HibernateQueryExecutionContext context, Query query) {
         Integer maxResults = GeneratorUtils.getMaxResults(qmpi, genericQuery, context.getMaxResults());
         if (maxResults != null) {
-            query.setMaxResults(maxResults);
+            // fetch one more row for slices in order to detect whether there is a next page...
+            query.setMaxResults(KeysetUtils.isSliceMethod(qmpi) ? maxResults + 1 : maxResults);
         }
     }
 
+    /**
+     * Applies keyset pagination (see {@link SeekAfter}) to the given {@code queryString}.
+     *
+     * @param qmpi The query method parameter info.
+     * @param queryString The query string.
+     * @return Returns the (rewritten) query string.
+     */
+    protected String applyKeysetSetting(QueryMethodParameterInfo qmpi, String queryString) {
+        SeekAfter seekAfter = KeysetUtils.getSeekAfter(qmpi);
+        if (seekAfter == null) {
+            return queryString;
+        }
+
+        String placeholder = null;
+        if (KeysetUtils.getSeekValue(qmpi) != null) {
+            placeholder =
+                (KeysetUtils.hasPositionalParameters(queryString) ? "?" : ":" + KeysetUtils.SEEK_PARAMETER_NAME);
+        }
+        return KeysetUtils.applyKeyset(queryString, seekAfter, placeholder);
+    }
+
     protected void applyCachingSetting(HibernateQueryOptions queryOptions, HibernateQueryExecutionContext context,
                                        Query query) {
         if (HibernateGeneratorUtils.isCachingEnabled(queryOptions, context)) {
@@ -222,6 +249,12 @@ public abstract class QueryGeneratorBase implements HibernateQueryGenerator,
         SessionFactoryUtils.applyTransactionTimeout(query, context.getSessionFactory());
     }
 
+    protected void applyReadOnlySetting(HibernateQueryExecutionContext context, Query query) {
+        if (context.isReadOnly()) {
+            query.setReadOnly(true);
+        }
+    }
+
     protected void applyAddEntitySetting(String alias, Class<?> entityClass, SQLQuery query) {
         if (StringUtils.isEmpty(alias)) {
             query.addEntity(entityClass);
@@ -266,15 +299,53 @@ public abstract class QueryGeneratorBase implements HibernateQueryGenerator,
         } else {
             setPositionalParameters(qmpi, context, query);
         }
+        setKeysetParameter(qmpi, context, query);
+    }
+
+    protected void setKeysetParameter(QueryMethodParameterInfo qmpi, HibernateQueryExecutionContext context,
+                                      Query query) {
+        Object value = KeysetUtils.getSeekValue(qmpi);
+        if (value != null && KeysetUtils.getSeekAfter(qmpi) != null) {
+            Type argType = getArgumentType(value, context);
+            if (ArrayUtils.contains(query.getNamedParameters(), KeysetUtils.SEEK_PARAMETER_NAME)) {
+                logSetParameter(KeysetUtils.SEEK_PARAMETER_NAME, value, argType);
+                GeneratorUtils.captureParameter(qmpi, KeysetUtils.SEEK_PARAMETER_NAME, value);
+                if (argType == null) {
+                    query.setParameter(KeysetUtils.SEEK_PARAMETER_NAME, value);
+                } else {
+                    query.setParameter(KeysetUtils.SEEK_PARAMETER_NAME, value, argType);
+                }
+            } else {
+                // the key is the last positional parameter...
+                int index = 0;
+                for (int i = 0; i < qmpi.getParameters().size(); i++) {
+                    if (isValidPositionalParameter(qmpi, i)) {
+                        index += 1;
+                    }
+                }
+                logSetParameter(index, value, argType);
+                GeneratorUtils.captureParameter(qmpi, String.valueOf(index), value);
+                if (argType == null) {
+                    query.setParameter(index, value);
+                } else {
+                    query.setParameter(index, value, argType);
+                }
+            }
+        }
     }
 
     protected void setNamedParameters(QueryMethodParameterInfo qmpi, String[] namedParameters,
                                       HibernateQueryExecutionContext context, Query query) {
         if (!suppressSetNamedParameters) {
             for (String namedParam : namedParameters) {
+                if (KeysetUtils.SEEK_PARAMETER_NAME.equals(namedParam)) {
+                    // set by setKeysetParameter...
+                    continue;
+                }
                 HibernateQueryParam dnp = getNamedParameter(qmpi, namedParam, context, query);
 
                 logSetParameter(namedParam, dnp.getValue(), dnp.getType());
+                GeneratorUtils.captureParameter(qmpi, namedParam, dnp.getValue());
 
                 if (dnp.getValue() instanceof Collection<?>) {
                     if (dnp.getType() == null) {
@@ -309,6 +380,7 @@ public abstract class QueryGeneratorBase implements HibernateQueryGenerator,
 
                     Type argType = getArgumentType(i, value, qmpi, context);
                     logSetParameter(index, value, argType);
+                    GeneratorUtils.captureParameter(qmpi, String.valueOf(index), value);
 
                     if (argType == null) {
                         query.setParameter(index, value);
@@ -326,7 +398,8 @@ public abstract class QueryGeneratorBase implements HibernateQueryGenerator,
     private boolean isValidPositionalParameter(QueryMethodParameterInfo qmpi, int index) {
         return !qmpi.parameterHasAnnotation(index, MaxResults.class)
             && !qmpi.parameterHasAnnotation(index, FirstResult.class)
-            && !qmpi.parameterHasAnnotation(index, GScrollMode.class);
+            && !qmpi.parameterHasAnnotation(index, GScrollMode.class)
+            && !qmpi.parameterHasAnnotation(index, SeekAfter.class);
     }
 
     private HibernateQueryParam getNamedParameter(QueryMethodParameterInfo qmpi, String name,
@@ -20,7 +20,10 @@ import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+import org.codehaus.grepo.core.exception.ConfigurationException;
 import org.codehaus.grepo.core.validator.GenericValidationUtils;
 import org.codehaus.grepo.query.commons.annotation.GenericQuery;
 import org.codehaus.grepo.query.commons.aop.QueryMethodParameterInfo;
@@ -31,6 +34,8 @@ import org.codehaus.grepo.query.hibernate.annotation.HibernateCacheMode;
 import org.codehaus.grepo.query.hibernate.annotation.HibernateCaching;
 import org.codehaus.grepo.query.hibernate.annotation.HibernateFlushMode;
 import org.codehaus.grepo.query.hibernate.annotation.HibernateQueryOptions;
+import org.codehaus.grepo.query.hibernate.annotation.HibernateReadOnly;
+import org.codehaus.grepo.query.hibernate.annotation.HibernateSessionMode;
 import org.codehaus.grepo.query.hibernate.context.HibernateQueryExecutionContext;
 import org.codehaus.grepo.query.hibernate.context.HibernateQueryExecutionContextImpl;
 import org.codehaus.grepo.query.hibernate.executor.HibernateQueryExecutor;
@@ -45,6 +50,8 @@ import org.hibernate.Interceptor;
 import org.hibernate.JDBCException;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.engine.SessionFactoryImplementor;
 import org.hibernate.engine.SessionImplementor;
 import org.hibernate.event.EventSource;
 import org.hibernate.exception.GenericJDBCException;
@@ -56,6 +63,8 @@ import org.springframework.jdbc.support.SQLExceptionTranslator;
 import org.springframework.orm.hibernate3.SessionFactoryUtils;
 import org.springframework.transaction.TransactionStatus;
 import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 /**
  * @author dguggi
@@ -65,6 +74,9 @@ public class DefaultHibernateRepository<T> extends GenericQueryRepositorySupport
 
     private static final Logger logger = LoggerFactory.getLogger(DefaultHibernateRepository.class);
 
+    /** The default batch size for bulk write operations. */
+    public static final int DEFAULT_BATCH_SIZE = 50;
+
     /** The session factory. */
     private SessionFactory sessionFactory;
 
@@ -110,6 +122,15 @@ public class DefaultHibernateRepository<T> extends GenericQueryRepositorySupport
     /** The default fetch size for criteria and queries. */
     private Integer fetchSize;
 
+    /** The number of entities after which bulk write operations flush and clear the session. */
+    private int batchSize = DEFAULT_BATCH_SIZE;
+
+    /** The session mode for generic queries and bulk write operations. */
+    private HibernateSessionMode sessionMode = HibernateSessionMode.UNDEFINED;
+
+    /** The read-only flag for read-only generic queries. */
+    private HibernateReadOnly readOnly = HibernateReadOnly.UNDEFINED;
+
     /**
      * Default constructor.
      */
@@ -129,16 +150,23 @@ public class DefaultHibernateRepository<T> extends GenericQueryRepositorySupport
      */
     public Object executeGenericQuery(QueryMethodParameterInfo qmpi, GenericQuery annotation) throws Exception {
         createStatisticsEntry(qmpi);
+        startQueryCapture(qmpi);
         try {
             Object result = executeQuery(qmpi, annotation);
 
+            recordStatisticsSuccess(qmpi);
+
             result = convertResult(result, qmpi, annotation);
 
             validateResult(result, qmpi, annotation);
 
             return result;
+        } catch (Exception e) {
+            recordStatisticsFailure(qmpi, e);
+            throw e;
         } finally {
-            completeStatisticsEntry(qmpi.getStatisticsEntry());
+            completeStatisticsEntry(qmpi);
+            completeQueryCapture(qmpi);
         }
     }
 
@@ -147,15 +175,11 @@ public class DefaultHibernateRepository<T> extends GenericQueryRepositorySupport
      * @param genericQuery The annotation
      * @return Returns the result of the query execution.
      */
-    @SuppressWarnings("unchecked")
     protected Object executeQuery(final QueryMethodParameterInfo qmpi, final GenericQuery genericQuery) {
-        Class<? extends QueryExecutor<?>> clazz =
-            (Class<? extends QueryExecutor<?>>)getQueryExecutorFindingStrategy().findExecutor(
-                genericQuery.queryExecutor(), qmpi);
+        Class<? extends QueryExecutor<?>> clazz = findQueryExecutorClass(qmpi, genericQuery);
 
         final HibernateQueryExecutor executor = (HibernateQueryExecutor)getQueryExecutorFactory().createExecutor(clazz);
-        GeneratorUtils.validateQueryGenerator(genericQuery.queryGenerator(), HibernateQueryGenerator.class,
-            HibernateCriteriaGenerator.class);
+        validateQueryGenerator(genericQuery);
 
         HibernateCallbackCreator callback = new HibernateCallbackCreator() {
 
@@ -163,7 +187,17 @@ public class DefaultHibernateRepository<T> extends GenericQueryRepositorySupport
             protected Object doExecute(HibernateQueryExecutionContext context) throws HibernateException {
                 Object result = executor.execute(qmpi, context);
                 logger.debug("Query result is '{}'", result);
-                return result;
+                return monitorQueryResult(executor, qmpi, result);
+            }
+
+            @Override
+            protected boolean isStatelessSessionSupported() {
+                return true;
+            }
+
+            @Override
+            protected boolean isReadOnlyOperation() {
+                return executor.isReadOnlyOperation();
             }
 
         };
@@ -171,6 +205,31 @@ public class DefaultHibernateRepository<T> extends GenericQueryRepositorySupport
         return executeCallback(callback.create(qmpi, isExposeNativeSession()), executor.isReadOnlyOperation());
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void validateQueryGenerator(GenericQuery genericQuery) {
+        GeneratorUtils.validateQueryGenerator(genericQuery.queryGenerator(), HibernateQueryGenerator.class,
+            HibernateCriteriaGenerator.class);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void validateNamedQuery(String queryName, QueryMethodParameterInfo qmpi) {
+        if (getSessionFactory() instanceof SessionFactoryImplementor) {
+            SessionFactoryImplementor sfi = (SessionFactoryImplementor)getSessionFactory();
+            if (sfi.getNamedQuery(queryName) == null && sfi.getNamedSQLQuery(queryName) == null) {
+                String msg = String.format("Named query '%s' not found (method='%s', repository='%s')", queryName,
+                    qmpi.getMethodName(), getProxyInterface().getName());
+                throw new ConfigurationException(msg);
+            }
+        }
+    }
+
     /**
      * Creates a hibernate query execution context.
      *
@@ -188,9 +247,14 @@ public class DefaultHibernateRepository<T> extends GenericQueryRepositorySupport
         context.setFetchSize(getFetchSize());
         context.setSessionFactory(getSessionFactory());
         context.setQueryNamingStrategy(getQueryNamingStrategy());
+        context.setQueryGeneratorFactory(getQueryGeneratorFactory());
         context.setArgumentTypeFactory(getArgumentTypeFactory());
+        context.setReadOnly(sessionHolder.isReadOnly());
 
-        if (doExposeNativeSession) {
+        if (sessionHolder.getStatelessSession() != null) {
+            context.setStatelessSession(sessionHolder.getStatelessSession());
+            context.setSession(createStatelessSessionAdapter(sessionHolder.getStatelessSession()));
+        } else if (doExposeNativeSession) {
             context.setSession(sessionHolder.getSession());
         } else {
             context.setSession(createSessionProxy(sessionHolder.getSession()));
@@ -220,6 +284,77 @@ public class DefaultHibernateRepository<T> extends GenericQueryRepositorySupport
             new CloseSuppressingInvocationHandler(session));
     }
 
+    /**
+     * Create an adapter which exposes the given stateless session as {@link Session}, so that the existing query
+     * generators and executors can be used with stateless sessions. Operations which are not supported by stateless
+     * sessions throw an {@link UnsupportedOperationException}.
+     *
+     * @param statelessSession The stateless session.
+     * @return Returns the adapter.
+     */
+    protected Session createStatelessSessionAdapter(StatelessSession statelessSession) {
+        Class<?>[] sessionIfcs = null;
+        if (statelessSession instanceof SessionImplementor) {
+            sessionIfcs = new Class[] {Session.class, SessionImplementor.class };
+        } else {
+            sessionIfcs = new Class[] {Session.class };
+        }
+        return (Session)Proxy.newProxyInstance(statelessSession.getClass().getClassLoader(), sessionIfcs,
+            new StatelessSessionInvocationHandler(statelessSession));
+    }
+
+    /**
+     * Opens a stateless session on the jdbc connection of the current session, so that both take part in the same
+     * transaction. Within a transaction with active synchronization the stateless session is bound to the
+     * transaction and reused by subsequent executions, it is closed when the transaction completes.
+     * <p>
+     * Pending changes of the current session are flushed first (unless its flush mode is {@link FlushMode#MANUAL} or
+     * {@link FlushMode#COMMIT}), so that the stateless session sees them.
+     *
+     * @param sessionHolder The session holder.
+     */
+    @SuppressWarnings("deprecation")
+    protected void openStatelessSession(CurrentSessionHolder sessionHolder) {
+        Session session = sessionHolder.getSession();
+        if (!session.getFlushMode().lessThan(FlushMode.AUTO)) {
+            logger.debug("Flushing Hibernate session before stateless execution");
+            session.flush();
+        }
+
+        boolean bindToTransaction =
+            (sessionHolder.isExistingTransaction() && TransactionSynchronizationManager.isSynchronizationActive());
+
+        StatelessSession statelessSession = null;
+        if (bindToTransaction) {
+            statelessSession = (StatelessSession)TransactionSynchronizationManager.getResource(session);
+        }
+
+        if (statelessSession == null) {
+            logger.debug("Opening stateless Hibernate session for generic repository execution");
+            statelessSession = getSessionFactory().openStatelessSession(session.connection());
+            if (bindToTransaction) {
+                TransactionSynchronizationManager.bindResource(session, statelessSession);
+                TransactionSynchronizationManager.registerSynchronization(new StatelessSessionSynchronization(
+                    session, statelessSession));
+            }
+        }
+        sessionHolder.setStatelessSession(statelessSession);
+    }
+
+    /**
+     * Closes the stateless session of the given session holder, unless it is bound to the current transaction.
+     *
+     * @param sessionHolder The session holder.
+     */
+    protected void closeStatelessSession(CurrentSessionHolder sessionHolder) {
+        StatelessSession statelessSession = sessionHolder.getStatelessSession();
+        if (statelessSession != null
+            && TransactionSynchronizationManager.getResource(sessionHolder.getSession()) != statelessSession) {
+            logger.debug("Closing stateless Hibernate session after generic repository execution");
+            statelessSession.close();
+        }
+    }
+
     /**
      * @param result The query result to convert.
      * @param qmpi The query method parameter info.
@@ -312,8 +447,18 @@ public class DefaultHibernateRepository<T> extends GenericQueryRepositorySupport
      */
     protected void flushIfNecessary(CurrentSessionHolder sessionHolder, //
                                     HibernateQueryOptions queryOptions) throws HibernateException {
-        HibernateFlushMode flushModeToUse = getFlushMode(queryOptions);
+        flushIfNecessary(sessionHolder, getFlushMode(queryOptions));
+    }
 
+    /**
+     * Flush the given the Hibernate session if necessary.
+     *
+     * @param sessionHolder The session holder.
+     * @param flushModeToUse The flush mode to use.
+     * @throws HibernateException in case of Hibernate flushing errors
+     */
+    protected void flushIfNecessary(CurrentSessionHolder sessionHolder, //
+                                    HibernateFlushMode flushModeToUse) throws HibernateException {
         if (flushModeToUse != null && (flushModeToUse == HibernateFlushMode.EAGER //
             || (!sessionHolder.isExistingTransaction() && flushModeToUse != HibernateFlushMode.MANUAL))) {
             logger.debug("Eagerly flushing Hibernate session");
@@ -328,8 +473,16 @@ public class DefaultHibernateRepository<T> extends GenericQueryRepositorySupport
      * @param queryOptions the query options.
      */
     protected void applyFlushMode(CurrentSessionHolder sessionHolder, HibernateQueryOptions queryOptions) {
-        HibernateFlushMode flushModeToUse = getFlushMode(queryOptions);
+        applyFlushMode(sessionHolder, getFlushMode(queryOptions));
+    }
 
+    /**
+     * Apply the given flush mode.
+     *
+     * @param sessionHolder The current session holder.
+     * @param flushModeToUse The flush mode to use.
+     */
+    protected void applyFlushMode(CurrentSessionHolder sessionHolder, HibernateFlushMode flushModeToUse) {
         if (flushModeToUse != null) {
             FlushMode flushModeToSet = null;
             FlushMode previousFlushMode = null;
@@ -631,6 +784,56 @@ public class DefaultHibernateRepository<T> extends GenericQueryRepositorySupport
         this.fetchSize = fetchSize;
     }
 
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public HibernateSessionMode getSessionMode() {
+        return sessionMode;
+    }
+
+    /**
+     * @param queryOptions The query options.
+     * @return Returns the session mode.
+     */
+    public HibernateSessionMode getSessionMode(HibernateQueryOptions queryOptions) {
+        HibernateSessionMode sessionModeToUse = getSessionMode();
+        if (queryOptions != null && queryOptions.sessionMode() != HibernateSessionMode.UNDEFINED) {
+            sessionModeToUse = queryOptions.sessionMode();
+        }
+        return sessionModeToUse;
+    }
+
+    public void setSessionMode(HibernateSessionMode sessionMode) {
+        this.sessionMode = sessionMode;
+    }
+
+    public HibernateReadOnly getReadOnly() {
+        return readOnly;
+    }
+
+    /**
+     * Note that read-only queries are executed in read-only mode unless disabled explicitly.
+     *
+     * @param queryOptions The query options.
+     * @return Returns {@code true} if read-only queries should be executed in read-only mode.
+     */
+    public boolean isReadOnly(HibernateQueryOptions queryOptions) {
+        HibernateReadOnly readOnlyToUse = getReadOnly();
+        if (queryOptions != null && queryOptions.readOnly() != HibernateReadOnly.UNDEFINED) {
+            readOnlyToUse = queryOptions.readOnly();
+        }
+        return (readOnlyToUse != HibernateReadOnly.DISABLED);
+    }
+
+    public void setReadOnly(HibernateReadOnly readOnly) {
+        this.readOnly = readOnly;
+    }
+
 
     /**
      * @author dguggi
@@ -641,6 +844,8 @@ public class DefaultHibernateRepository<T> extends GenericQueryRepositorySupport
         private boolean existingTransaction;
         private FlushMode previousFlushMode;
         private CacheMode previousCacheMode;
+        private StatelessSession statelessSession;
+        private boolean readOnly;
 
         public CurrentSessionHolder(Session session, boolean existingTransaction) {
             this.session = session;
@@ -679,6 +884,22 @@ public class DefaultHibernateRepository<T> extends GenericQueryRepositorySupport
             this.previousCacheMode = previousCacheMode;
         }
 
+        public StatelessSession getStatelessSession() {
+            return statelessSession;
+        }
+
+        public void setStatelessSession(StatelessSession statelessSession) {
+            this.statelessSession = statelessSession;
+        }
+
+        public boolean isReadOnly() {
+            return readOnly;
+        }
+
+        public void setReadOnly(boolean readOnly) {
+            this.readOnly = readOnly;
+        }
+
     }
 
 
@@ -707,18 +928,39 @@ public class DefaultHibernateRepository<T> extends GenericQueryRepositorySupport
                         queryOptions = qmpi.getMethodAnnotation(HibernateQueryOptions.class);
                     }
 
+                    boolean stateless = (isStatelessSessionSupported()
+                        && getSessionMode(queryOptions) == HibernateSessionMode.STATELESS);
+
+                    HibernateFlushMode flushModeToUse = getFlushMode(queryOptions);
+                    if (!stateless && isReadOnlyOperation() && isReadOnly(queryOptions)) {
+                        sessionHolder.setReadOnly(true);
+                        // read-only queries do not need to flush a new session (unless specified explicitly), the
+                        // flush mode of a transactional session is kept, so queries still see pending changes...
+                        if (!sessionHolder.isExistingTransaction()
+                            && (flushModeToUse == null || flushModeToUse == HibernateFlushMode.UNDEFINED)) {
+                            flushModeToUse = HibernateFlushMode.MANUAL;
+                        }
+                    }
+
                     try {
-                        applyFlushMode(sessionHolder, queryOptions);
-                        applyCacheMode(sessionHolder, queryOptions);
-                        enableFilters(qmpi, sessionHolder);
+                        if (stateless) {
+                            openStatelessSession(sessionHolder);
+                        } else {
+                            applyFlushMode(sessionHolder, flushModeToUse);
+                            applyCacheMode(sessionHolder, queryOptions);
+                            enableFilters(qmpi, sessionHolder);
+                        }
 
                         Object result = doExecute(createQueryExecutionContext(sessionHolder, doExposeNativeSession));
 
-                        flushIfNecessary(sessionHolder, queryOptions);
+                        if (!stateless) {
+                            flushIfNecessary(sessionHolder, flushModeToUse);
+                        }
                         return result;
                     } catch (RuntimeException e) {
                         throw translateIfNecessary(e);
                     } finally {
+                        closeStatelessSession(sessionHolder);
                         closeNewSession(sessionHolder);
                     }
                 }
@@ -734,6 +976,21 @@ public class DefaultHibernateRepository<T> extends GenericQueryRepositorySupport
          * @throws HibernateException in case of errors.
          */
         protected abstract Object doExecute(HibernateQueryExecutionContext context) throws HibernateException;
+
+        /**
+         * @return Returns {@code true} if the callback may be executed on a stateless session (if configured).
+         */
+        protected boolean isStatelessSessionSupported() {
+            return false;
+        }
+
+        /**
+         * @return Returns {@code true} if the callback does not modify any entities and may therefore be executed in
+         *         read-only mode (if not disabled).
+         */
+        protected boolean isReadOnlyOperation() {
+            return false;
+        }
     }
 
 
@@ -775,4 +1032,83 @@ public class DefaultHibernateRepository<T> extends GenericQueryRepositorySupport
             }
         }
     }
+
+
+    /**
+     * Invocation handler that delegates calls on a {@link Session} proxy to a {@link StatelessSession}.
+     *
+     * @author dguggi
+     */
+    private static class StatelessSessionInvocationHandler implements InvocationHandler {
+
+        /** Maps {@link Session} methods to the corresponding methods of the stateless session implementation. */
+        private static final Map<Method, Method> TARGET_METHODS = new ConcurrentHashMap<Method, Method>();
+
+        private final StatelessSession target;
+
+        public StatelessSessionInvocationHandler(StatelessSession target) {
+            this.target = target;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getName().equals("equals")) {
+                // Only consider equal when proxies are identical.
+                return (proxy == args[0]);
+            } else if (method.getName().equals("hashCode")) {
+                // Use hashCode of Session proxy.
+                return System.identityHashCode(proxy);
+            } else if (method.getName().equals("close")) {
+                // Handle close method: suppress, not valid.
+                return null;
+            }
+
+            Method targetMethod = TARGET_METHODS.get(method);
+            if (targetMethod == null) {
+                try {
+                    targetMethod = target.getClass().getMethod(method.getName(), method.getParameterTypes());
+                } catch (NoSuchMethodException e) {
+                    String msg = String.format("Method '%s' is not supported by stateless sessions", method.getName());
+                    throw new UnsupportedOperationException(msg);
+                }
+                TARGET_METHODS.put(method, targetMethod);
+            }
+
+            // Invoke method on target StatelessSession.
+            try {
+                return targetMethod.invoke(this.target, args);
+            } catch (InvocationTargetException ex) {
+                throw ex.getTargetException();
+            }
+        }
+    }
+
+
+    /**
+     * Closes a stateless session bound to a transaction when the transaction completes.
+     *
+     * @author dguggi
+     */
+    private static class StatelessSessionSynchronization extends TransactionSynchronizationAdapter {
+
+        private final Session session;
+        private final StatelessSession statelessSession;
+
+        public StatelessSessionSynchronization(Session session, StatelessSession statelessSession) {
+            this.session = session;
+            this.statelessSession = statelessSession;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(session);
+            logger.debug("Closing stateless Hibernate session after transaction completion");
+            statelessSession.close();
+        }
+    }
 }
@@ -24,6 +24,8 @@ import org.codehaus.grepo.query.commons.repository.GenericQueryRepositorySupport
 import org.codehaus.grepo.query.hibernate.annotation.HibernateCacheMode;
 import org.codehaus.grepo.query.hibernate.annotation.HibernateCaching;
 import org.codehaus.grepo.query.hibernate.annotation.HibernateFlushMode;
+import org.codehaus.grepo.query.hibernate.annotation.HibernateReadOnly;
+import org.codehaus.grepo.query.hibernate.annotation.HibernateSessionMode;
 import org.codehaus.grepo.query.hibernate.filter.FilterDescriptor;
 import org.hibernate.Interceptor;
 import org.hibernate.SessionFactory;
@@ -85,6 +87,15 @@ public class HibernateRepositoryFactoryBean<T> extends
     /** The fetch size. */
     private Integer fetchSize;
 
+    /** The batch size for bulk write operations. */
+    private Integer batchSize;
+
+    /** The session mode for generic queries and bulk write operations. */
+    private HibernateSessionMode sessionMode;
+
+    /** The read-only flag for read-only generic queries. */
+    private HibernateReadOnly readOnly;
+
     /**
      * {@inheritDoc}
      */
@@ -187,6 +198,15 @@ public class HibernateRepositoryFactoryBean<T> extends
         if (fetchSize != null) {
             hibernateTarget.setFetchSize(fetchSize);
         }
+        if (batchSize != null) {
+            hibernateTarget.setBatchSize(batchSize);
+        }
+        if (sessionMode != null) {
+            hibernateTarget.setSessionMode(sessionMode);
+        }
+        if (readOnly != null) {
+            hibernateTarget.setReadOnly(readOnly);
+        }
     }
 
     /**
@@ -305,4 +325,28 @@ public class HibernateRepositoryFactoryBean<T> extends
         this.fetchSize = fetchSize;
     }
 
+    public Integer getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(Integer batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public HibernateSessionMode getSessionMode() {
+        return sessionMode;
+    }
+
+    public void setSessionMode(HibernateSessionMode sessionMode) {
+        this.sessionMode = sessionMode;
+    }
+
+    public HibernateReadOnly getReadOnly() {
+        return readOnly;
+    }
+
+    public void setReadOnly(HibernateReadOnly readOnly) {
+        this.readOnly = readOnly;
+    }
+
 }
@@ -17,6 +17,8 @@
 package org.codehaus.grepo.query.hibernate.repository;
 
 import java.io.Serializable;
+import java.util.Collection;
+import java.util.List;
 
 import org.hibernate.LockMode;
 import org.hibernate.ReplicationMode;
@@ -109,6 +111,16 @@ public interface ReadWriteHibernateRepository<T, PK extends Serializable> extend
      */
     PK save(String entityName, T entity);
 
+    /**
+     * Saves all given entities in batches, the session is flushed and cleared after each batch. Note that all
+     * entities (as well as all other entities of the session) are detached afterwards. If the repository uses a
+     * stateless session, the entities are inserted directly (bypassing the session).
+     *
+     * @param entities The entities.
+     * @return Returns the primary keys.
+     */
+    List<PK> saveAll(Collection<? extends T> entities);
+
     /**
      * Updates an entity.
      *
@@ -116,6 +128,13 @@ public interface ReadWriteHibernateRepository<T, PK extends Serializable> extend
      */
     void update(T entity);
 
+    /**
+     * Updates all given entities in batches, see {@link #saveAll(Collection)}.
+     *
+     * @param entities The entities.
+     */
+    void updateAll(Collection<? extends T> entities);
+
     /**
      * Updates an entity.
      *
@@ -131,6 +150,13 @@ public interface ReadWriteHibernateRepository<T, PK extends Serializable> extend
      */
     void saveOrUpdate(T entity);
 
+    /**
+     * Saves or updates all given entities in batches, see {@link #saveAll(Collection)}.
+     *
+     * @param entities The entities.
+     */
+    void saveOrUpdateAll(Collection<? extends T> entities);
+
     /**
      * Saves or updates an entity.
      *
@@ -161,6 +187,13 @@ public interface ReadWriteHibernateRepository<T, PK extends Serializable> extend
      */
     void delete(T entity);
 
+    /**
+     * Deletes all given entities in batches, see {@link #saveAll(Collection)}.
+     *
+     * @param entities The entities.
+     */
+    void deleteAll(Collection<? extends T> entities);
+
     /**
      * Deletes an entity.
      *
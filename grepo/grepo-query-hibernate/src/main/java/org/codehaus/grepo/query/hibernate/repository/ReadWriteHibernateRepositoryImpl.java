@@ -17,10 +17,19 @@
 package org.codehaus.grepo.query.hibernate.repository;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
 
 import org.codehaus.grepo.query.hibernate.context.HibernateQueryExecutionContext;
+import org.codehaus.grepo.statistics.domain.StatisticsEntry;
 import org.hibernate.LockMode;
 import org.hibernate.ReplicationMode;
+import org.hibernate.Session;
+import org.hibernate.StatelessSession;
+import org.hibernate.engine.SessionImplementor;
+import org.hibernate.persister.entity.EntityPersister;
 
 /**
  * @author dguggi
@@ -30,6 +39,9 @@ import org.hibernate.ReplicationMode;
 public class ReadWriteHibernateRepositoryImpl<T, PK extends Serializable> extends
         ReadOnlyHibernateRepositoryImpl<T, PK> implements ReadWriteHibernateRepository<T, PK> {
 
+    /** The suffix of the identifier of statistics entries created for each batch of a bulk write operation. */
+    public static final String BATCH_STATISTICS_SUFFIX = "#batch";
+
     public ReadWriteHibernateRepositoryImpl() {
         super();
     }
@@ -176,6 +188,26 @@ public class ReadWriteHibernateRepositoryImpl<T, PK extends Serializable> extend
         return (PK)executeCallbackWithStatistics("save", callback.create(null, true), false);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    public List<PK> saveAll(Collection<? extends T> entities) {
+        final List<PK> ids = new ArrayList<PK>(entities.size());
+        executeBatchOperation("saveAll", entities, new BatchOperation<T>() {
+
+            @SuppressWarnings("unchecked")
+            public void execute(Session session, T entity) {
+                ids.add((PK)session.save(entity));
+            }
+
+            @SuppressWarnings("unchecked")
+            public void execute(StatelessSession session, T entity) {
+                ids.add((PK)session.insert(entity));
+            }
+        });
+        return ids;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -206,6 +238,22 @@ public class ReadWriteHibernateRepositoryImpl<T, PK extends Serializable> extend
         executeCallbackWithStatistics("update", callback.create(null, true), false);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    public void updateAll(Collection<? extends T> entities) {
+        executeBatchOperation("updateAll", entities, new BatchOperation<T>() {
+
+            public void execute(Session session, T entity) {
+                session.update(entity);
+            }
+
+            public void execute(StatelessSession session, T entity) {
+                session.update(entity);
+            }
+        });
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -236,6 +284,26 @@ public class ReadWriteHibernateRepositoryImpl<T, PK extends Serializable> extend
         executeCallbackWithStatistics("saveOrUpdate", callback.create(null, true), false);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    public void saveOrUpdateAll(Collection<? extends T> entities) {
+        executeBatchOperation("saveOrUpdateAll", entities, new BatchOperation<T>() {
+
+            public void execute(Session session, T entity) {
+                session.saveOrUpdate(entity);
+            }
+
+            public void execute(StatelessSession session, T entity) {
+                if (isTransient(session, entity)) {
+                    session.insert(entity);
+                } else {
+                    session.update(entity);
+                }
+            }
+        });
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -281,6 +349,22 @@ public class ReadWriteHibernateRepositoryImpl<T, PK extends Serializable> extend
         executeCallbackWithStatistics("delete", callback.create(null, true), false);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    public void deleteAll(Collection<? extends T> entities) {
+        executeBatchOperation("deleteAll", entities, new BatchOperation<T>() {
+
+            public void execute(Session session, T entity) {
+                session.delete(entity);
+            }
+
+            public void execute(StatelessSession session, T entity) {
+                session.delete(entity);
+            }
+        });
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -371,5 +455,115 @@ public class ReadWriteHibernateRepositoryImpl<T, PK extends Serializable> extend
         executeCallbackWithStatistics("flush", callback.create(null, true), false);
     }
 
+    /**
+     * Executes the given {@code operation} for all {@code entities} within a single callback. The session is flushed
+     * and cleared every {@code batchSize} entities, so that hibernate is able to use jdbc batching and the session
+     * does not grow with the number of entities. If the repository is configured to use a stateless session (see
+     * {@link #getSessionMode()}), the entities are written directly and only pending jdbc batches are executed. A
+     * statistics entry is created for the whole operation as well as for each batch (using the
+     * {@link #BATCH_STATISTICS_SUFFIX}).
+     *
+     * @param methodName The method name.
+     * @param entities The entities.
+     * @param operation The operation.
+     */
+    protected void executeBatchOperation(final String methodName, final Collection<? extends T> entities,
+                                         final BatchOperation<T> operation) {
+        HibernateCallbackCreator callback = new HibernateCallbackCreator() {
+
+            @Override
+            protected Object doExecute(HibernateQueryExecutionContext context) {
+                Iterator<? extends T> it = entities.iterator();
+                while (it.hasNext()) {
+                    executeBatch(methodName, context, it, operation);
+                }
+                return null;
+            }
+
+            @Override
+            protected boolean isStatelessSessionSupported() {
+                return true;
+            }
+        };
+        executeCallbackWithStatistics(methodName, callback.create(null, true), false);
+    }
+
+    private void executeBatch(String methodName, HibernateQueryExecutionContext context, Iterator<? extends T> it,
+                              BatchOperation<T> operation) {
+        StatelessSession statelessSession = context.getStatelessSession();
+        StatisticsEntry entry = null;
+        if (isStatisticsEnabled()) {
+            entry = createStatisticsEntry(createStatisticEntryIdentifier(methodName + BATCH_STATISTICS_SUFFIX));
+        }
+
+        try {
+            long count = 0;
+            while (it.hasNext() && (count < getBatchSize() || getBatchSize() <= 0)) {
+                if (statelessSession == null) {
+                    operation.execute(context.getSession(), it.next());
+                } else {
+                    operation.execute(statelessSession, it.next());
+                }
+                count++;
+            }
+            if (statelessSession == null) {
+                context.getSession().flush();
+                context.getSession().clear();
+            } else {
+                // stateless sessions do not flush, but may batch statements as well...
+                ((SessionImplementor)statelessSession).getBatcher().executeBatch();
+            }
+
+            if (entry != null) {
+                entry.setResultSize(count);
+            }
+            recordStatisticsSuccess(entry);
+        } catch (RuntimeException e) {
+            recordStatisticsFailure(entry, e);
+            throw e;
+        } finally {
+            completeStatisticsEntry(entry);
+        }
+    }
+
+    /**
+     * Note that if the state of the given entity cannot be determined by its identifier, version or unsaved-value
+     * (e.g. for assigned identifiers), the database is queried.
+     *
+     * @param session The stateless session.
+     * @param entity The entity.
+     * @return Returns {@code true} if the given entity is transient.
+     */
+    private boolean isTransient(StatelessSession session, Object entity) {
+        SessionImplementor si = (SessionImplementor)session;
+        EntityPersister persister = si.getEntityPersister(null, entity);
+        Boolean isTransient = persister.isTransient(entity, si);
+        if (isTransient != null) {
+            return isTransient.booleanValue();
+        }
+
+        Serializable id = persister.getIdentifier(entity, si.getEntityMode());
+        return (id == null || persister.getDatabaseSnapshot(id, si) == null);
+    }
+
+    /**
+     * An operation executed for each entity of a bulk write operation.
+     *
+     * @param <E> The entity type.
+     */
+    protected interface BatchOperation<E> {
+
+        /**
+         * @param session The session.
+         * @param entity The entity.
+         */
+        void execute(Session session, E entity);
+
+        /**
+         * @param session The stateless session.
+         * @param entity The entity.
+         */
+        void execute(StatelessSession session, E entity);
+    }
 
 }
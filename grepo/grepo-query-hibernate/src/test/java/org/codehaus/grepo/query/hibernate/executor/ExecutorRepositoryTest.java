@@ -16,13 +16,24 @@
 
 package org.codehaus.grepo.query.hibernate.executor;
 
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
 import java.util.Iterator;
 import java.util.List;
 
 import org.codehaus.grepo.core.context.GrepoHsqlTestContextLoaderWithDefLoc;
+import org.codehaus.grepo.query.commons.aop.QueryMethodInvocationPlan;
+import org.codehaus.grepo.query.commons.executor.CloseableIterator;
+import org.codehaus.grepo.query.commons.executor.QueryExecutorFactory;
+import org.codehaus.grepo.query.commons.generator.QueryGeneratorFactory;
+import org.codehaus.grepo.query.commons.repository.GenericQueryMethodInterceptor;
 import org.codehaus.grepo.query.hibernate.AbstractHibernateRepositoryTest;
 import org.codehaus.grepo.query.hibernate.TestEntity;
+import org.codehaus.grepo.query.hibernate.annotation.GScrollMode;
 import org.codehaus.grepo.query.hibernate.annotation.HibernateScrollMode;
+import org.codehaus.grepo.query.hibernate.generator.DefaultQueryGenerator;
+import org.codehaus.grepo.query.hibernate.generator.TestHQLGeneratorUsingDynParams;
+import org.codehaus.grepo.query.hibernate.repository.GrepoQueryHibernateConfiguration;
 import org.hibernate.NonUniqueResultException;
 import org.hibernate.ScrollMode;
 import org.hibernate.ScrollableResults;
@@ -31,6 +42,8 @@ import org.junit.Before;
 import org.junit.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 /**
  * @author dguggi
@@ -41,6 +54,9 @@ public class ExecutorRepositoryTest extends AbstractHibernateRepositoryTest {
     @Autowired
     private ExecutorTestRepository repo;
 
+    @Autowired
+    private GrepoQueryHibernateConfiguration configuration;
+
     @Before
     public void before() {
         TestEntity testEntity = new TestEntity("username", 1, "firstname");
@@ -127,6 +143,8 @@ public class ExecutorRepositoryTest extends AbstractHibernateRepositoryTest {
     @Test
     public void testScrollExecutor() {
         ScrollableResults sr = repo.scrollByUsername("username");
+        // no query result monitor is configured, so the results are not wrapped...
+        Assert.assertFalse(Proxy.isProxyClass(sr.getClass()));
         Assert.assertTrue(sr.next());
 
         sr = repo.scrollByUsernameWithStaticScrollMode("username");
@@ -139,6 +157,83 @@ public class ExecutorRepositoryTest extends AbstractHibernateRepositoryTest {
         Assert.assertTrue(sr.next());
     }
 
+    /**
+     * Tests the "scroll" executor with a managed iterator.
+     */
+    @Test
+    public void testScrollExecutorStreaming() {
+        saveFlushEvict(new TestEntity("username2", 1, "firstname2"), new TestEntity("username3", 1, "firstname3"));
+
+        CloseableIterator<TestEntity> it = repo.scrollByTypeStreaming(1);
+        TestEntity previous = null;
+        int count = 0;
+        for (TestEntity entity : it) {
+            Assert.assertEquals(Integer.valueOf(1), entity.getType());
+            if (previous != null) {
+                // the session is cleared before each row (clearInterval=1)...
+                Assert.assertFalse(getSession().contains(previous));
+            }
+            previous = entity;
+            count++;
+        }
+        Assert.assertEquals(3, count);
+        Assert.assertTrue(it.isClosed());
+
+        it = repo.scrollByTypeStreaming(1);
+        Assert.assertTrue(it.hasNext());
+        Assert.assertNotNull(it.next());
+        it.close();
+        Assert.assertTrue(it.isClosed());
+        Assert.assertFalse(it.hasNext());
+        it.close();
+    }
+
+    @Test
+    public void testFindExecutorStateless() {
+        saveFlushEvict(new TestEntity("username2", 1, "firstname2"));
+
+        List<TestEntity> list = repo.findByTypeStateless(1);
+        Assert.assertEquals(2, list.size());
+        for (TestEntity entity : list) {
+            // entities loaded by a stateless session are not attached to the session...
+            Assert.assertFalse(getSession().contains(entity));
+        }
+        // the stateless session is reused within the transaction...
+        Assert.assertEquals(2, repo.findByTypeStateless(1).size());
+    }
+
+    @Test
+    public void testScrollExecutorStatelessStreaming() {
+        saveFlushEvict(new TestEntity("username2", 1, "firstname2"), new TestEntity("username3", 1, "firstname3"));
+
+        CloseableIterator<TestEntity> it = repo.scrollByTypeStatelessStreaming(1);
+        int count = 0;
+        for (TestEntity entity : it) {
+            Assert.assertFalse(getSession().contains(entity));
+            count++;
+        }
+        Assert.assertEquals(3, count);
+        Assert.assertTrue(it.isClosed());
+    }
+
+    /**
+     * Tests that cursors which are still open when the transaction completes are closed.
+     */
+    @Test
+    public void testScrollExecutorStreamingLeakDetection() {
+        CloseableIterator<TestEntity> it = repo.scrollByTypeStreaming(1);
+        Assert.assertNotNull(it.next());
+        Assert.assertFalse(it.isClosed());
+
+        // simulate the completion of the surrounding transaction...
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization.getClass().getEnclosingClass() == ScrollableResultsIterator.class) {
+                synchronization.beforeCompletion();
+            }
+        }
+        Assert.assertTrue(it.isClosed());
+    }
+
     /**
      * Tests the "update" executor.
      */
@@ -150,4 +245,41 @@ public class ExecutorRepositoryTest extends AbstractHibernateRepositoryTest {
         int deleted = repo.deleteByUsername("username");
         Assert.assertEquals(1, deleted);
     }
+
+    /**
+     * Tests that invocation plans are cached and hold the resolved executor and query name.
+     *
+     * @throws Exception in case of errors.
+     */
+    @Test
+    public void testInvocationPlanCaching() throws Exception {
+        GenericQueryMethodInterceptor interceptor = (GenericQueryMethodInterceptor)configuration.getMethodInterceptor();
+
+        Method method = ExecutorTestRepository.class.getMethod("findByUsername", String.class);
+        Assert.assertEquals(1, repo.findByUsername("username").size());
+        QueryMethodInvocationPlan plan = interceptor.getInvocationPlan(method, TestEntity.class);
+        Assert.assertEquals(1, repo.findByUsername("username").size());
+        Assert.assertSame(plan, interceptor.getInvocationPlan(method, TestEntity.class));
+        Assert.assertTrue(plan.isGenericQuery());
+        Assert.assertEquals(ListQueryExecutor.class, plan.getQueryExecutorClass());
+        Assert.assertEquals("org.codehaus.grepo.query.hibernate.TestEntity.ByUsername", plan.getQueryName());
+
+        method = ExecutorTestRepository.class.getMethod("scrollByUsernameWithDynamicScrollMode1", String.class,
+            HibernateScrollMode.class);
+        plan = interceptor.getInvocationPlan(method, TestEntity.class);
+        Assert.assertEquals(1, plan.getAnnotatedParameterIndex(GScrollMode.class));
+    }
+
+    @Test
+    public void testStatelessInstanceCaching() {
+        QueryExecutorFactory executorFactory = configuration.getQueryExecutorFactory();
+        Assert.assertSame(executorFactory.createExecutor(ListQueryExecutor.class),
+            executorFactory.createExecutor(ListQueryExecutor.class));
+
+        QueryGeneratorFactory generatorFactory = configuration.getQueryGeneratorFactory();
+        Assert.assertSame(generatorFactory.createGenerator(DefaultQueryGenerator.class),
+            generatorFactory.createGenerator(DefaultQueryGenerator.class));
+        Assert.assertNotSame(generatorFactory.createGenerator(TestHQLGeneratorUsingDynParams.class),
+            generatorFactory.createGenerator(TestHQLGeneratorUsingDynParams.class));
+    }
 }
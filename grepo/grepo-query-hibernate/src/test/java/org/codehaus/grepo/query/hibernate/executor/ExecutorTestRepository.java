@@ -20,11 +20,13 @@ import java.util.Iterator;
 import java.util.List;
 
 import org.codehaus.grepo.query.commons.annotation.GenericQuery;
+import org.codehaus.grepo.query.commons.executor.CloseableIterator;
 import org.codehaus.grepo.query.commons.repository.GenericQueryRepository;
 import org.codehaus.grepo.query.hibernate.TestEntity;
 import org.codehaus.grepo.query.hibernate.annotation.GScrollMode;
 import org.codehaus.grepo.query.hibernate.annotation.HibernateQueryOptions;
 import org.codehaus.grepo.query.hibernate.annotation.HibernateScrollMode;
+import org.codehaus.grepo.query.hibernate.annotation.HibernateSessionMode;
 import org.hibernate.ScrollMode;
 import org.hibernate.ScrollableResults;
 
@@ -123,6 +125,30 @@ public interface ExecutorTestRepository extends GenericQueryRepository<TestEntit
     ScrollableResults scrollByUsernameWithDynamicScrollMode2(String username,
             @GScrollMode ScrollMode sm);
 
+    /**
+     * @param type The type.
+     * @return Returns the managed iterator.
+     */
+    @GenericQuery(queryName = "org.codehaus.grepo.query.hibernate.TestEntity.ByType")
+    @HibernateQueryOptions(clearInterval = 1)
+    CloseableIterator<TestEntity> scrollByTypeStreaming(int type);
+
+    /**
+     * @param type The type.
+     * @return Returns the list of entities.
+     */
+    @GenericQuery(queryName = "org.codehaus.grepo.query.hibernate.TestEntity.ByType")
+    @HibernateQueryOptions(sessionMode = HibernateSessionMode.STATELESS)
+    List<TestEntity> findByTypeStateless(int type);
+
+    /**
+     * @param type The type.
+     * @return Returns the managed iterator.
+     */
+    @GenericQuery(queryName = "org.codehaus.grepo.query.hibernate.TestEntity.ByType")
+    @HibernateQueryOptions(sessionMode = HibernateSessionMode.STATELESS, clearInterval = 1)
+    CloseableIterator<TestEntity> scrollByTypeStatelessStreaming(int type);
+
     /**
      * @param type The type.
      * @param username The username.
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2009 Grepo Committers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.codehaus.grepo.query.hibernate.executor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.codehaus.grepo.query.commons.aop.QueryMethodParameterInfo;
+import org.codehaus.grepo.query.commons.aop.QueryMethodParameterInfoImpl;
+import org.codehaus.grepo.query.commons.executor.QueryResultMonitorImpl;
+import org.codehaus.grepo.query.commons.executor.QueryResultTracker;
+import org.codehaus.grepo.query.hibernate.TestEntity;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author dguggi
+ */
+public class QueryResultMonitorImplTest {
+
+    /** The budgets reported as exceeded. */
+    private final List<Long> exceeded = new ArrayList<Long>();
+
+    private final QueryResultMonitorImpl monitor = new QueryResultMonitorImpl() {
+        @Override
+        protected void logRowBudgetExceeded(QueryMethodParameterInfo qmpi, long budget, long rows, String action) {
+            exceeded.add(budget);
+        }
+    };
+
+    @Test
+    public void testRowBudgets() throws Exception {
+        QueryMethodParameterInfo find = createQmpi("findByTypeStateless", int.class);
+        QueryMethodParameterInfo get = createQmpi("getByUsername", String.class);
+
+        monitor.rowsReturned(find, 100);
+        Assert.assertTrue(exceeded.isEmpty());
+
+        monitor.setRowBudget(1);
+        monitor.getRowBudgets().put(ExecutorTestRepository.class.getName() + ".findByTypeStateless", 5L);
+        monitor.rowsReturned(find, 5);
+        monitor.rowsReturned(get, 1);
+        Assert.assertTrue(exceeded.isEmpty());
+
+        monitor.rowsReturned(find, 6);
+        monitor.rowsReturned(get, 2);
+        Assert.assertEquals(2, exceeded.size());
+        Assert.assertEquals(5L, exceeded.get(0).longValue());
+        Assert.assertEquals(1L, exceeded.get(1).longValue());
+    }
+
+    @Test
+    public void testTrackerUsesMethodBudget() throws Exception {
+        monitor.setRowBudget(1);
+        monitor.getRowBudgets().put(ExecutorTestRepository.class.getName() + ".findByTypeStateless", 2L);
+        QueryResultTracker tracker = monitor.startTracking(createQmpi("findByTypeStateless", int.class));
+        tracker.rowFetched();
+        tracker.rowFetched();
+        Assert.assertTrue(exceeded.isEmpty());
+        tracker.rowFetched();
+        tracker.rowFetched();
+        tracker.complete();
+        Assert.assertEquals(1, exceeded.size());
+        Assert.assertEquals(4L, tracker.getRowsFetched());
+    }
+
+    /**
+     * @param methodName The method name.
+     * @param parameterTypes The parameter types.
+     * @return Returns the query method parameter info.
+     * @throws NoSuchMethodException in case of errors.
+     */
+    private QueryMethodParameterInfo createQmpi(String methodName, Class<?>... parameterTypes)
+        throws NoSuchMethodException {
+        return new QueryMethodParameterInfoImpl(ExecutorTestRepository.class.getMethod(methodName, parameterTypes),
+            new Object[parameterTypes.length], TestEntity.class);
+    }
+}
@@ -20,6 +20,8 @@ import junit.framework.Assert;
 
 import org.codehaus.grepo.core.context.GrepoHsqlTestContextLoaderWithDefLoc;
 import org.codehaus.grepo.core.exception.ConfigurationException;
+import org.codehaus.grepo.query.commons.executor.CloseableIterator;
+import org.codehaus.grepo.query.commons.executor.Slice;
 import org.codehaus.grepo.query.hibernate.AbstractHibernateRepositoryTest;
 import org.codehaus.grepo.query.hibernate.TestEntity;
 import org.junit.Before;
@@ -67,6 +69,76 @@ public class GeneratorRepositoryTest extends AbstractHibernateRepositoryTest {
         Assert.assertNotNull(repo.getWithCriteriaGenerator("username", "xyz"));
     }
 
+    @Test
+    public void testWithCriteriaGeneratorReadOnly() {
+        TestEntity entity = repo.getWithCriteriaGenerator("username", "xyz");
+        entity.setFirstname("changed");
+        getSession().flush();
+        getSession().clear();
+        Assert.assertEquals("firstname", repo.getWithCriteriaGenerator("username").getFirstname());
+    }
+
+    @Test
+    public void testWithCriteriaGeneratorKeepsManagedEntitiesModifiable() {
+        TestEntity entity = (TestEntity)getSession().createQuery("FROM TestEntity WHERE username = ?").setString(0,
+            "username").uniqueResult();
+        Assert.assertSame(entity, repo.getWithCriteriaGenerator("username"));
+
+        entity.setFirstname("changed");
+        getSession().flush();
+        getSession().clear();
+        Assert.assertEquals("changed", repo.getWithCriteriaGenerator("username").getFirstname());
+    }
+
+    @Test
+    public void testScrollWithCriteriaGeneratorReadOnly() {
+        CloseableIterator<TestEntity> it = repo.scrollWithCriteriaGenerator("username");
+        try {
+            TestEntity entity = it.next();
+            entity.setFirstname("changed");
+        } finally {
+            it.close();
+        }
+        getSession().flush();
+        getSession().clear();
+        Assert.assertEquals("firstname", repo.getWithCriteriaGenerator("username").getFirstname());
+    }
+
+    @Test
+    public void testWithOrderedCriteriaGeneratorAndKeyset() {
+        saveFlushEvict(new TestEntity("username2", 1, "firstname"));
+        String[] usernames = new String[] {"username", "username2" };
+
+        Slice<TestEntity> slice = repo.findWithOrderedCriteriaGeneratorAndKeyset(usernames, "id", null, 1);
+        Assert.assertEquals("username", slice.getContent().get(0).getUsername());
+        slice = repo.findWithOrderedCriteriaGeneratorAndKeyset(usernames, "id", (Long)slice.getNextKey(), 1);
+        Assert.assertEquals("username2", slice.getContent().get(0).getUsername());
+        Assert.assertFalse(slice.hasNext());
+    }
+
+    @Test(expected = ConfigurationException.class)
+    public void testWithOrderedCriteriaGeneratorAndConflictingKeyset() {
+        repo.findWithOrderedCriteriaGeneratorAndKeyset(new String[] {"username" }, "username", null, 1);
+    }
+
+    @Test
+    public void testWithCriteriaGeneratorAndKeyset() {
+        saveFlushEvict(new TestEntity("username2", 1, "firstname"), new TestEntity("username3", 1, "firstname"));
+        String[] usernames = new String[] {"username", "username2", "username3" };
+
+        Slice<TestEntity> slice = repo.findWithCriteriaGeneratorAndKeyset(usernames, null, 2);
+        Assert.assertEquals(2, slice.size());
+        Assert.assertEquals("username", slice.getContent().get(0).getUsername());
+        Assert.assertEquals("username2", slice.getContent().get(1).getUsername());
+        Assert.assertTrue(slice.hasNext());
+
+        slice = repo.findWithCriteriaGeneratorAndKeyset(usernames, (Long)slice.getNextKey(), 2);
+        Assert.assertEquals(1, slice.size());
+        Assert.assertEquals("username3", slice.getContent().get(0).getUsername());
+        Assert.assertFalse(slice.hasNext());
+        Assert.assertNull(slice.getNextKey());
+    }
+
     @Test(expected = ConfigurationException.class)
     public void testWithInvalidGenerator() {
         repo.getWithInvalidGenerator();
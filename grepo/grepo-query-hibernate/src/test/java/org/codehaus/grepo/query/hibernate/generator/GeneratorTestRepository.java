@@ -18,6 +18,10 @@ package org.codehaus.grepo.query.hibernate.generator;
 
 import org.codehaus.grepo.core.annotation.Param;
 import org.codehaus.grepo.query.commons.annotation.GenericQuery;
+import org.codehaus.grepo.query.commons.annotation.MaxResults;
+import org.codehaus.grepo.query.commons.annotation.SeekAfter;
+import org.codehaus.grepo.query.commons.executor.CloseableIterator;
+import org.codehaus.grepo.query.commons.executor.Slice;
 import org.codehaus.grepo.query.commons.repository.GenericQueryRepository;
 import org.codehaus.grepo.query.hibernate.TestEntity;
 
@@ -41,6 +45,17 @@ public interface GeneratorTestRepository extends GenericQueryRepository<TestEnti
     @GenericQuery(queryGenerator = TestCriteriaGenerator.class)
     TestEntity getWithCriteriaGenerator(@Param("usernames") String... usernames);
 
+    @GenericQuery(queryGenerator = TestCriteriaGenerator.class)
+    Slice<TestEntity> findWithCriteriaGeneratorAndKeyset(@Param("usernames") String[] usernames,
+            @SeekAfter("id") Long lastId, @MaxResults int maxResults);
+
+    @GenericQuery(queryGenerator = TestOrderedCriteriaGenerator.class)
+    Slice<TestEntity> findWithOrderedCriteriaGeneratorAndKeyset(@Param("usernames") String[] usernames,
+            @Param("orderBy") String orderBy, @SeekAfter("id") Long lastId, @MaxResults int maxResults);
+
+    @GenericQuery(queryGenerator = TestCriteriaGenerator.class)
+    CloseableIterator<TestEntity> scrollWithCriteriaGenerator(@Param("usernames") String... usernames);
+
     @GenericQuery(queryGenerator = TestQueryDslQueryGenerator.class)
     TestEntity getWithQueryDslQueryGenerator(@Param("firstname") String firstname);
 
@@ -16,12 +16,24 @@
 
 package org.codehaus.grepo.query.hibernate.repository;
 
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
 import junit.framework.Assert;
 
 import org.codehaus.grepo.core.context.GrepoHsqlTestContextLoaderWithDefLoc;
+import org.codehaus.grepo.query.commons.executor.QueryResultMonitorImpl;
 import org.codehaus.grepo.query.hibernate.AbstractHibernateRepositoryTest;
 import org.codehaus.grepo.query.hibernate.TestEntity;
+import org.codehaus.grepo.statistics.collection.DurationHistogramSnapshot;
 import org.codehaus.grepo.statistics.collection.StatisticsCollection;
+import org.codehaus.grepo.statistics.collection.StatisticsCollectionEntry;
+import org.codehaus.grepo.statistics.domain.StatisticsEntry;
+import org.codehaus.grepo.statistics.domain.StatisticsEntryOutcome;
+import org.hibernate.Hibernate;
+import org.hibernate.NonUniqueResultException;
+import org.hibernate.ScrollableResults;
 import org.junit.Before;
 import org.junit.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -42,6 +54,7 @@ public class HibernateRepositoryStatisticsTest extends AbstractHibernateReposito
 
     @Before
     public void before() {
+        collection.clear();
         TestEntity entity = new TestEntity("username", 1, "firstname");
         saveFlushEvict(entity);
     }
@@ -54,4 +67,104 @@ public class HibernateRepositoryStatisticsTest extends AbstractHibernateReposito
         Assert.assertEquals(2, collection.size());
     }
 
+    @Test
+    public void testOutcomeAndResultSize() {
+        Assert.assertEquals(1, repo.findByUsernames("username", "unknown").size());
+        Assert.assertNull(repo.getByUsername("unknown"));
+
+        String identifier = HibernateTestRepository.class.getName() + ".findByUsernames";
+        StatisticsCollectionEntry entry = collection.get(identifier);
+        Assert.assertNotNull(entry);
+        Assert.assertEquals(0, entry.getNumberOfErrors());
+        StatisticsEntry recent = entry.getRecentStatisticsEntriesList().get(0);
+        Assert.assertEquals(StatisticsEntryOutcome.SUCCESS, recent.getOutcome());
+        Assert.assertEquals(1L, recent.getResultSize().longValue());
+
+        DurationHistogramSnapshot rows = collection.getResultSizeHistogramSnapshot(HibernateTestRepository.class
+            .getName() + ".getByUsername");
+        Assert.assertEquals(1, rows.getCount());
+        Assert.assertEquals(0, rows.getMax());
+    }
+
+    @Test
+    public void testFailureOutcome() {
+        saveFlushEvict(new TestEntity("username1", 1, "firstname"));
+        try {
+            repo.getByType(1);
+            Assert.fail("Expected NonUniqueResultException");
+        } catch (NonUniqueResultException e) {
+            // expected...
+        }
+
+        StatisticsCollectionEntry entry = collection.get(HibernateTestRepository.class.getName() + ".getByType");
+        Assert.assertNotNull(entry);
+        Assert.assertEquals(1, entry.getNumberOfInvocations());
+        Assert.assertEquals(1, entry.getNumberOfErrors());
+        StatisticsEntry recent = entry.getRecentStatisticsEntriesList().get(0);
+        Assert.assertEquals(StatisticsEntryOutcome.FAILURE, recent.getOutcome());
+        Assert.assertEquals(NonUniqueResultException.class.getName(), recent.getExceptionClassName());
+        Assert.assertFalse(recent.hasResultSize());
+    }
+
+    @Test
+    public void testBatchStatistics() {
+        List<TestEntity> list = new ArrayList<TestEntity>();
+        for (int i = 0; i < 5; i++) {
+            list.add(new TestEntity("username" + i, 2));
+        }
+        repo.saveAll(list);
+
+        String identifier = HibernateTestRepository.class.getName() + ".saveAll";
+        Assert.assertEquals(1, collection.get(identifier).getNumberOfInvocations());
+
+        // batchSize is 2, so three batches are expected...
+        StatisticsCollectionEntry entry =
+            collection.get(identifier + ReadWriteHibernateRepositoryImpl.BATCH_STATISTICS_SUFFIX);
+        Assert.assertEquals(3, entry.getNumberOfInvocations());
+        DurationHistogramSnapshot sizes =
+            collection.getResultSizeHistogramSnapshot(identifier + ReadWriteHibernateRepositoryImpl
+                .BATCH_STATISTICS_SUFFIX);
+        Assert.assertEquals(3, sizes.getCount());
+        Assert.assertEquals(2, sizes.getMax());
+    }
+
+    @Test
+    public void testScrollConsumption() {
+        ScrollableResults sr = repo.scrollByUsername("username");
+        Assert.assertTrue(sr.next());
+        // repositioning does not fetch new rows...
+        Assert.assertTrue(sr.first());
+        Assert.assertTrue(sr.last());
+        Assert.assertFalse(sr.next());
+        sr.close();
+
+        String identifier = HibernateTestRepository.class.getName() + ".scrollByUsername";
+        StatisticsCollectionEntry entry = collection.get(identifier);
+        Assert.assertNotNull(entry);
+        Assert.assertFalse(entry.getRecentStatisticsEntriesList().get(0).hasResultSize());
+
+        DurationHistogramSnapshot fetched =
+            collection.getResultSizeHistogramSnapshot(identifier + QueryResultMonitorImpl.FETCH_IDENTIFIER_SUFFIX);
+        Assert.assertEquals(1, fetched.getCount());
+        Assert.assertEquals(1, fetched.getMax());
+        Assert.assertNotNull(collection.get(identifier + QueryResultMonitorImpl.FIRST_ROW_IDENTIFIER_SUFFIX));
+    }
+
+    @Test
+    public void testIteratorConsumption() {
+        Iterator<TestEntity> it = repo.iterateByUsername("unknown");
+        Assert.assertFalse(it.hasNext());
+
+        it = repo.iterateByUsername("username");
+        Assert.assertNotNull(it.next());
+        Hibernate.close(it);
+
+        String identifier = HibernateTestRepository.class.getName() + ".iterateByUsername";
+        DurationHistogramSnapshot fetched =
+            collection.getResultSizeHistogramSnapshot(identifier + QueryResultMonitorImpl.FETCH_IDENTIFIER_SUFFIX);
+        Assert.assertEquals(2, fetched.getCount());
+        Assert.assertEquals(1, fetched.getMax());
+        Assert.assertEquals(1, collection.get(identifier + QueryResultMonitorImpl.FIRST_ROW_IDENTIFIER_SUFFIX)
+            .getNumberOfInvocations());
+    }
 }
@@ -22,8 +22,11 @@ import java.util.List;
 import junit.framework.Assert;
 
 import org.codehaus.grepo.core.context.GrepoHsqlTestContextLoaderWithDefLoc;
+import org.codehaus.grepo.core.exception.ConfigurationException;
+import org.codehaus.grepo.query.commons.executor.Slice;
 import org.codehaus.grepo.query.hibernate.AbstractHibernateRepositoryTest;
 import org.codehaus.grepo.query.hibernate.TestEntity;
+import org.hibernate.FlushMode;
 import org.junit.Before;
 import org.junit.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -59,6 +62,37 @@ public class HibernateRepositoryTest extends AbstractHibernateRepositoryTest {
         Assert.assertNotNull(repo.getByUsername("username"));
     }
 
+    @Test
+    public void testReadOnlyQuery() {
+        FlushMode flushMode = getSession().getFlushMode();
+        TestEntity entity = repo.getByUsername("username");
+        Assert.assertEquals(flushMode, getSession().getFlushMode());
+
+        entity.setFirstname("changed");
+        getSession().flush();
+        getSession().clear();
+        Assert.assertEquals("firstname", repo.getByUsername("username").getFirstname());
+    }
+
+    @Test
+    public void testReadOnlyQuerySeesPendingChanges() {
+        repo.save(new TestEntity("username2", 0));
+        TestEntity entity = repo.getByUsernameNotReadOnly("username");
+        entity.setType(0);
+
+        Assert.assertEquals(2, repo.findByType(0, 0, 10).size());
+        Assert.assertEquals(0, repo.findByType(1, 0, 10).size());
+    }
+
+    @Test
+    public void testReadOnlyQueryDisabled() {
+        TestEntity entity = repo.getByUsernameNotReadOnly("username");
+        entity.setFirstname("changed");
+        getSession().flush();
+        getSession().clear();
+        Assert.assertEquals("changed", repo.getByUsername("username").getFirstname());
+    }
+
     @Test
     public void testWithSpecifiedQuery() {
         Assert.assertNotNull(repo.getByUsernameWithSpecifiedQuery("username"));
@@ -103,6 +137,60 @@ public class HibernateRepositoryTest extends AbstractHibernateRepositoryTest {
         Assert.assertEquals(0, repo.findByType(0, 10, 2).size());
     }
 
+    @Test
+    public void testKeysetPaging() {
+        createTestEntities(20);
+
+        int usernameCounter = -1;
+        Long lastId = null;
+        for (int i = 0; i < 5; i++) {
+            Slice<TestEntity> slice = repo.findByTypeWithKeyset(0, lastId, 2);
+            Assert.assertEquals(2, slice.size());
+            Assert.assertEquals("username" + (++usernameCounter), slice.getContent().get(0).getUsername());
+            Assert.assertEquals("username" + (++usernameCounter), slice.getContent().get(1).getUsername());
+            Assert.assertEquals(i < 4, slice.hasNext());
+            if (slice.hasNext()) {
+                Assert.assertEquals(slice.getContent().get(1).getId(), slice.getNextKey());
+            }
+            lastId = (Long)slice.getNextKey();
+        }
+    }
+
+    @Test
+    public void testKeysetPagingDescending() {
+        createTestEntities(20);
+
+        List<String> usernames = new ArrayList<String>();
+        Slice<TestEntity> slice = null;
+        do {
+            slice = repo.findByTypeWithKeysetDescending(0, slice, 3);
+            for (TestEntity entity : slice) {
+                usernames.add(entity.getUsername());
+            }
+        } while (slice.hasNext());
+
+        Assert.assertEquals(10, usernames.size());
+        for (int i = 0; i < 10; i++) {
+            Assert.assertEquals("username" + (9 - i), usernames.get(i));
+        }
+    }
+
+    @Test
+    public void testKeysetPagingKeepsNamedQuerySettings() {
+        Slice<TestEntity> slice = repo.findByTypeWithKeysetReadOnlyNamedQuery(1, null, 10);
+        Assert.assertEquals(1, slice.size());
+
+        slice.getContent().get(0).setFirstname("changed");
+        getSession().flush();
+        getSession().clear();
+        Assert.assertEquals("firstname", repo.getByUsername("username").getFirstname());
+    }
+
+    @Test(expected = ConfigurationException.class)
+    public void testKeysetPagingWithConflictingOrder() {
+        repo.findByTypeWithKeysetConflictingOrder(0, null, 10);
+    }
+
     @Test
     public void testDefaultPaging() {
         createTestEntities(10);
@@ -124,4 +212,62 @@ public class HibernateRepositoryTest extends AbstractHibernateRepositoryTest {
         Assert.assertEquals(1, result.size());
     }
 
+    @Test
+    public void testSaveAll() {
+        List<TestEntity> list = new ArrayList<TestEntity>();
+        for (int i = 0; i < 5; i++) {
+            list.add(new TestEntity("username" + i, 2));
+        }
+
+        List<Long> ids = repo.saveAll(list);
+        Assert.assertEquals(5, ids.size());
+        for (int i = 0; i < 5; i++) {
+            Assert.assertEquals(list.get(i).getId(), ids.get(i));
+            // the session is cleared after each batch...
+            Assert.assertFalse(getSession().contains(list.get(i)));
+        }
+        Assert.assertEquals(5, repo.findByType(2, 0, 10).size());
+    }
+
+    @Test
+    public void testUpdateAll() {
+        createTestEntities(6);
+        List<TestEntity> list = repo.findByType(0, 0, 10);
+        Assert.assertEquals(3, list.size());
+        getSession().clear();
+
+        for (TestEntity entity : list) {
+            entity.setType(2);
+        }
+        repo.updateAll(list);
+        Assert.assertEquals(3, repo.findByType(2, 0, 10).size());
+        Assert.assertEquals(0, repo.findByType(0, 0, 10).size());
+    }
+
+    @Test
+    public void testSaveOrUpdateAll() {
+        createTestEntities(4);
+        List<TestEntity> list = repo.findByType(0, 0, 10);
+        Assert.assertEquals(2, list.size());
+        getSession().clear();
+
+        for (TestEntity entity : list) {
+            entity.setType(2);
+        }
+        list.add(new TestEntity("new", 2));
+        repo.saveOrUpdateAll(list);
+        Assert.assertNotNull(list.get(2).getId());
+        Assert.assertEquals(3, repo.findByType(2, 0, 10).size());
+    }
+
+    @Test
+    public void testDeleteAll() {
+        createTestEntities(6);
+        List<TestEntity> list = repo.findByType(1, 0, 10);
+        Assert.assertEquals(4, list.size());
+
+        repo.deleteAll(list);
+        Assert.assertEquals(0, repo.findByType(1, 0, 10).size());
+    }
+
 }
@@ -16,15 +16,21 @@
 
 package org.codehaus.grepo.query.hibernate.repository;
 
+import java.util.Iterator;
 import java.util.List;
 
 import org.codehaus.grepo.core.annotation.Param;
 import org.codehaus.grepo.query.commons.annotation.FirstResult;
 import org.codehaus.grepo.query.commons.annotation.GenericQuery;
 import org.codehaus.grepo.query.commons.annotation.MaxResults;
+import org.codehaus.grepo.query.commons.annotation.SeekAfter;
+import org.codehaus.grepo.query.commons.executor.Slice;
 import org.codehaus.grepo.query.hibernate.TestEntity;
 import org.codehaus.grepo.query.hibernate.annotation.EntityClass;
 import org.codehaus.grepo.query.hibernate.annotation.HibernateQueryOptions;
+import org.codehaus.grepo.query.hibernate.annotation.HibernateReadOnly;
+import org.codehaus.grepo.query.hibernate.generator.TestCriteriaGenerator;
+import org.hibernate.ScrollableResults;
 
 /**
  * @author dguggi
@@ -37,6 +43,14 @@ public interface HibernateTestRepository extends ReadWriteHibernateRepository<Te
     @GenericQuery
     TestEntity getByUsername(String username);
 
+    /**
+     * @param username The username.
+     * @return Returns the (modifiable) entity.
+     */
+    @GenericQuery(queryName = "org.codehaus.grepo.query.hibernate.TestEntity.ByUsername")
+    @HibernateQueryOptions(readOnly = HibernateReadOnly.DISABLED)
+    TestEntity getByUsernameNotReadOnly(String username);
+
     /**
      * @param username The username.
      * @return Returns the entity.
@@ -93,6 +107,13 @@ public interface HibernateTestRepository extends ReadWriteHibernateRepository<Te
             @FirstResult int firstResult,
             @MaxResults int maxResults);
 
+    /**
+     * @param type The type.
+     * @return Returns the entity.
+     */
+    @GenericQuery
+    TestEntity getByType(int type);
+
     /**
      * @param type The type.
      * @return Returns the entity.
@@ -102,6 +123,58 @@ public interface HibernateTestRepository extends ReadWriteHibernateRepository<Te
         firstResult = 0, maxResults = 1)
     TestEntity getByTypeWithDefaultPaging(int type);
 
+    /**
+     * @param type The type.
+     * @param lastId The id of the last entity of the previous page.
+     * @param maxResults The max results.
+     * @return Returns a slice of entities.
+     */
+    @GenericQuery(queryName = "org.codehaus.grepo.query.hibernate.TestEntity.ByType")
+    Slice<TestEntity> findByTypeWithKeyset(int type,
+            @SeekAfter("id") Long lastId,
+            @MaxResults int maxResults);
+
+    /**
+     * @param type The type.
+     * @param previous The previous slice.
+     * @param maxResults The max results.
+     * @return Returns a slice of entities.
+     */
+    @GenericQuery(query = "FROM TestEntity e WHERE e.type = :type ORDER BY e.id DESC")
+    Slice<TestEntity> findByTypeWithKeysetDescending(@Param("type") int type,
+            @SeekAfter(value = "e.id", descending = true) Slice<TestEntity> previous,
+            @MaxResults int maxResults);
+
+    /**
+     * @param type The type.
+     * @param lastId The id of the last entity of the previous page.
+     * @param maxResults The max results.
+     * @return Returns a slice of entities.
+     */
+    @GenericQuery(queryName = "org.codehaus.grepo.query.hibernate.TestEntity.ByTypeReadOnly")
+    @HibernateQueryOptions(readOnly = HibernateReadOnly.DISABLED)
+    Slice<TestEntity> findByTypeWithKeysetReadOnlyNamedQuery(int type,
+            @SeekAfter("id") Long lastId,
+            @MaxResults int maxResults);
+
+    /**
+     * @param type The type.
+     * @param lastId The id of the last entity of the previous page.
+     * @param maxResults The max results.
+     * @return Returns a slice of entities.
+     */
+    @GenericQuery(query = "FROM TestEntity e WHERE e.type = :type ORDER BY e.username")
+    Slice<TestEntity> findByTypeWithKeysetConflictingOrder(@Param("type") int type,
+            @SeekAfter("e.id") Long lastId,
+            @MaxResults int maxResults);
+
+    /**
+     * @param usernames The usernames.
+     * @return Returns a list of entities.
+     */
+    @GenericQuery(queryGenerator = TestCriteriaGenerator.class)
+    List<TestEntity> findByUsernamesWithCriteria(@Param("usernames") String... usernames);
+
     /**
      * @param list A list of usernames.
      * @return Returns a list of entities.
@@ -115,4 +188,18 @@ public interface HibernateTestRepository extends ReadWriteHibernateRepository<Te
      */
     @GenericQuery
     List<TestEntity> findByUsernames(@Param("list") String... list);
+
+    /**
+     * @param username The username.
+     * @return Returns the scrollable results.
+     */
+    @GenericQuery
+    ScrollableResults scrollByUsername(String username);
+
+    /**
+     * @param username The username.
+     * @return Returns an iterator.
+     */
+    @GenericQuery
+    Iterator<TestEntity> iterateByUsername(String username);
 }
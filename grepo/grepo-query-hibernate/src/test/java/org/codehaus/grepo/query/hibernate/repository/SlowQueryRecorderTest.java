@@ -0,0 +1,143 @@
+/*
+ * Copyright 2009 Grepo Committers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.codehaus.grepo.query.hibernate.repository;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import junit.framework.Assert;
+
+import org.codehaus.grepo.core.context.GrepoHsqlTestContextLoaderWithDefLoc;
+import org.codehaus.grepo.query.commons.slowquery.FileSlowQuerySink;
+import org.codehaus.grepo.query.commons.slowquery.QueryParameterMaskerImpl;
+import org.codehaus.grepo.query.commons.slowquery.SlowQueryRecord;
+import org.codehaus.grepo.query.commons.slowquery.SlowQueryRecorderImpl;
+import org.codehaus.grepo.query.hibernate.AbstractHibernateRepositoryTest;
+import org.codehaus.grepo.query.hibernate.TestEntity;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ContextConfiguration;
+
+/**
+ * @author dguggi
+ */
+@ContextConfiguration(loader = GrepoHsqlTestContextLoaderWithDefLoc.class)
+public class SlowQueryRecorderTest extends AbstractHibernateRepositoryTest {
+
+    @Autowired
+    private HibernateTestRepository repo;
+
+    @Autowired
+    private SlowQueryRecorderImpl recorder;
+
+    @Before
+    public void before() {
+        recorder.clear();
+        saveFlushEvict(new TestEntity("username", 1, "firstname"));
+    }
+
+    @After
+    public void after() {
+        recorder.setSink(null);
+    }
+
+    @Test
+    public void testRecordQueryAndMaskedParameters() {
+        Assert.assertNotNull(repo.getByUsername("username"));
+        Assert.assertEquals(1, repo.findByUsernames("username", "unknown").size());
+        Assert.assertNull(repo.getByUsernameUsingNamedParams("unknown"));
+
+        // capacity is 2, so the oldest record has been discarded...
+        Assert.assertEquals(3, recorder.getNumberOfRecordedQueries());
+        List<SlowQueryRecord> records = recorder.getRecords();
+        Assert.assertEquals(2, records.size());
+
+        SlowQueryRecord record = records.get(0);
+        Assert.assertEquals(HibernateTestRepository.class.getName() + ".getByUsernameUsingNamedParams",
+            record.getIdentifier());
+        Assert.assertTrue(record.getQuery(), record.getQuery().contains(":username"));
+        Assert.assertEquals(QueryParameterMaskerImpl.DEFAULT_MASK, record.getParameters().get("username"));
+        Assert.assertEquals(0L, record.getRowCount().longValue());
+
+        record = records.get(1);
+        Assert.assertEquals(HibernateTestRepository.class.getName() + ".findByUsernames", record.getIdentifier());
+        Assert.assertEquals("{username,unknown}", record.getParameters().get("list"));
+        Assert.assertEquals(1L, record.getRowCount().longValue());
+        Assert.assertTrue(recorder.printRecords().contains("findByUsernames"));
+
+        recorder.setThresholdMillis(60000L);
+        repo.getByUsername("username");
+        Assert.assertEquals(3, recorder.getNumberOfRecordedQueries());
+        recorder.setThresholdMillis(0L);
+    }
+
+    @Test
+    public void testRecordCriteriaWithoutValues() {
+        Assert.assertEquals(1, repo.findByUsernamesWithCriteria("username", "secret").size());
+
+        SlowQueryRecord record = recorder.getRecords().get(recorder.getRecords().size() - 1);
+        Assert.assertEquals(HibernateTestRepository.class.getName() + ".findByUsernamesWithCriteria",
+            record.getIdentifier());
+        Assert.assertTrue(record.getQuery(), record.getQuery().startsWith(
+            "criteria " + TestEntity.class.getName() + " as this (1 restrictions)"));
+        Assert.assertFalse(record.getQuery(), record.getQuery().contains("secret"));
+        Assert.assertTrue(record.getParameters().isEmpty());
+    }
+
+    @Test
+    public void testInvalidCapacity() {
+        int capacity = recorder.getCapacity();
+        for (int invalid : new int[] {0, -1}) {
+            try {
+                recorder.setCapacity(invalid);
+                Assert.fail("Expected IllegalArgumentException for capacity " + invalid);
+            } catch (IllegalArgumentException e) {
+                // expected...
+            }
+        }
+        Assert.assertEquals(capacity, recorder.getCapacity());
+    }
+
+    @Test
+    public void testFileSink() throws IOException {
+        File file = File.createTempFile("grepo-slow-queries", ".log");
+        file.deleteOnExit();
+        recorder.setSink(new FileSlowQuerySink(file));
+
+        repo.getByUsername("username");
+        repo.getByUsername("unknown");
+
+        List<String> lines = new ArrayList<String>();
+        BufferedReader reader = new BufferedReader(new FileReader(file));
+        try {
+            String line = null;
+            while ((line = reader.readLine()) != null) {
+                lines.add(line);
+            }
+        } finally {
+            reader.close();
+        }
+        Assert.assertEquals(2, lines.size());
+        Assert.assertTrue(lines.get(1), lines.get(1).contains("parameters=[0=unknown]"));
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2009 Grepo Committers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.codehaus.grepo.query.hibernate.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import junit.framework.Assert;
+
+import org.codehaus.grepo.core.context.GrepoHsqlTestContextLoaderWithDefLoc;
+import org.codehaus.grepo.query.hibernate.AbstractHibernateRepositoryTest;
+import org.codehaus.grepo.query.hibernate.TestEntity;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ContextConfiguration;
+
+/**
+ * Tests a repository which is configured to use stateless sessions.
+ *
+ * @author dguggi
+ */
+@ContextConfiguration(loader = GrepoHsqlTestContextLoaderWithDefLoc.class)
+public class StatelessHibernateRepositoryTest extends AbstractHibernateRepositoryTest {
+
+    @Autowired
+    private HibernateTestRepository repo;
+
+    @Before
+    public void before() {
+        TestEntity entity = new TestEntity("username", 1, "firstname");
+        saveFlushEvict(entity);
+    }
+
+    @Test
+    public void testGenericQuery() {
+        List<TestEntity> list = repo.findByType(1, 0, 10);
+        Assert.assertEquals(1, list.size());
+        Assert.assertFalse(getSession().contains(list.get(0)));
+    }
+
+    @Test
+    public void testSaveAll() {
+        List<TestEntity> list = new ArrayList<TestEntity>();
+        for (int i = 0; i < 5; i++) {
+            list.add(new TestEntity("username" + i, 2));
+        }
+
+        List<Long> ids = repo.saveAll(list);
+        Assert.assertEquals(5, ids.size());
+        for (int i = 0; i < 5; i++) {
+            Assert.assertNotNull(ids.get(i));
+            Assert.assertFalse(getSession().contains(list.get(i)));
+        }
+        Assert.assertEquals(5, repo.findByType(2, 0, 10).size());
+    }
+
+    @Test
+    public void testUpdateAll() {
+        List<TestEntity> list = repo.findByType(1, 0, 10);
+        for (TestEntity entity : list) {
+            entity.setType(2);
+        }
+        repo.updateAll(list);
+        Assert.assertEquals(1, repo.findByType(2, 0, 10).size());
+    }
+
+    @Test
+    public void testSaveOrUpdateAll() {
+        List<TestEntity> list = repo.findByType(1, 0, 10);
+        for (TestEntity entity : list) {
+            entity.setType(2);
+        }
+        list.add(new TestEntity("new", 2));
+        repo.saveOrUpdateAll(list);
+        Assert.assertNotNull(list.get(1).getId());
+        Assert.assertEquals(2, repo.findByType(2, 0, 10).size());
+    }
+
+    @Test
+    public void testDeleteAll() {
+        repo.deleteAll(repo.findByType(1, 0, 10));
+        Assert.assertEquals(0, repo.findByType(1, 0, 10).size());
+    }
+
+    @Test
+    public void testSaveUsesRegularSession() {
+        TestEntity entity = new TestEntity("username2", 2);
+        repo.save(entity);
+        Assert.assertTrue(getSession().contains(entity));
+    }
+
+    @Test
+    public void testStatelessQuerySeesPendingChanges() {
+        repo.save(new TestEntity("username2", 2));
+        TestEntity entity = (TestEntity)getSession().createQuery("FROM TestEntity WHERE username = ?").setString(0,
+            "username").uniqueResult();
+        entity.setType(2);
+
+        List<TestEntity> list = repo.findByType(2, 0, 10);
+        Assert.assertEquals(2, list.size());
+        Assert.assertEquals(0, repo.findByType(1, 0, 10).size());
+    }
+
+}
@@ -21,6 +21,10 @@ import javax.persistence.Query;
 import org.codehaus.grepo.core.util.ClassUtils;
 import org.codehaus.grepo.query.commons.annotation.GenericQuery;
 import org.codehaus.grepo.query.commons.aop.QueryMethodParameterInfo;
+import org.codehaus.grepo.query.commons.executor.QueryExecutorUtils;
+import org.codehaus.grepo.query.commons.executor.QueryResultMonitor;
+import org.codehaus.grepo.query.commons.generator.QueryGenerator;
+import org.codehaus.grepo.query.commons.generator.QueryGeneratorFactory;
 import org.codehaus.grepo.query.jpa.context.JpaQueryExecutionContext;
 import org.codehaus.grepo.query.jpa.generator.DefaultQueryGenerator;
 import org.codehaus.grepo.query.jpa.generator.JpaGeneratorUtils;
@@ -37,6 +41,9 @@ public abstract class AbstractQueryExecutor implements JpaQueryExecutor {
 
     private static final Logger logger = LoggerFactory.getLogger(AbstractQueryExecutor.class);
 
+    /** The shared default query generator (which is stateless). */
+    private static final JpaQueryGenerator DEFAULT_QUERY_GENERATOR = new DefaultQueryGenerator();
+
     /**
      * Creates a query using a {@link JpaQueryGenerator}. If none is specified the {@link DefaultQueryGenerator}
      * will be used in order to generate a query.
@@ -51,15 +58,46 @@ public abstract class AbstractQueryExecutor implements JpaQueryExecutor {
             @SuppressWarnings("unchecked")
             Class<? extends JpaQueryGenerator> clazz =
                 (Class<? extends JpaQueryGenerator>)genericQuery.queryGenerator();
-            JpaQueryGenerator generator = ClassUtils.instantiateClass(clazz);
+            JpaQueryGenerator generator = createGenerator(clazz, context);
             logger.info("Generating query using queryGenerator: {}", clazz.getName());
             return generator.generate(qmpi, context);
         }
         return createDefaultQueryGenerator().generate(qmpi, context);
     }
 
+    /**
+     * Reports the number of rows of the (materialized) result, see
+     * {@link QueryExecutorUtils#getNumberOfRows(Object)}.
+     *
+     * @param qmpi The query method parameter info.
+     * @param result The result.
+     * @param monitor The monitor.
+     * @return Returns the result.
+     */
+    public Object monitorResult(QueryMethodParameterInfo qmpi, Object result, QueryResultMonitor monitor) {
+        monitor.rowsReturned(qmpi, QueryExecutorUtils.getNumberOfRows(result));
+        return result;
+    }
+
     protected JpaQueryGenerator createDefaultQueryGenerator() {
-        return new DefaultQueryGenerator();
+        return DEFAULT_QUERY_GENERATOR;
+    }
+
+    /**
+     * Creates a generator of the given type using the {@link QueryGeneratorFactory} of the given context. If the
+     * context does not provide a factory, a new instance is created.
+     *
+     * @param <T> The generator type.
+     * @param clazz The generator class.
+     * @param context The context.
+     * @return Returns the generator.
+     */
+    protected <T extends QueryGenerator<?, ?>> T createGenerator(Class<T> clazz, JpaQueryExecutionContext context) {
+        QueryGeneratorFactory factory = context.getQueryGeneratorFactory();
+        if (factory == null) {
+            return ClassUtils.instantiateClass(clazz);
+        }
+        return factory.createGenerator(clazz);
     }
 
 }
@@ -20,12 +20,14 @@ import java.util.List;
 
 import javax.persistence.NonUniqueResultException;
 
+import org.codehaus.grepo.core.annotation.Stateless;
 import org.codehaus.grepo.query.commons.aop.QueryMethodParameterInfo;
 import org.codehaus.grepo.query.jpa.context.JpaQueryExecutionContext;
 
 /**
  * @author dguggi
  */
+@Stateless
 public class GetQueryExecutor extends ListQueryExecutor {
 
     /**
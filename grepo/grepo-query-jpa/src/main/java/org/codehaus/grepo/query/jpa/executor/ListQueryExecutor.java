@@ -16,14 +16,25 @@
 
 package org.codehaus.grepo.query.jpa.executor;
 
+import java.util.List;
+
 import javax.persistence.Query;
 
+import org.codehaus.grepo.core.annotation.Stateless;
+import org.codehaus.grepo.query.commons.annotation.GenericQuery;
 import org.codehaus.grepo.query.commons.aop.QueryMethodParameterInfo;
+import org.codehaus.grepo.query.commons.generator.GeneratorUtils;
+import org.codehaus.grepo.query.commons.generator.KeysetUtils;
 import org.codehaus.grepo.query.jpa.context.JpaQueryExecutionContext;
 
 /**
+ * This executor is used to execute generic "list" queries. Methods returning a
+ * {@link org.codehaus.grepo.query.commons.executor.Slice} get the rows of the requested page along with the key
+ * required to fetch the next page.
+ *
  * @author dguggi
  */
+@Stateless
 public class ListQueryExecutor extends AbstractQueryExecutor {
 
     /**
@@ -31,7 +42,14 @@ public class ListQueryExecutor extends AbstractQueryExecutor {
      */
     public Object execute(QueryMethodParameterInfo qmpi, JpaQueryExecutionContext context) {
         Query query = createQuery(qmpi, context);
-        return query.getResultList();
+        List<?> list = query.getResultList();
+
+        if (KeysetUtils.isSliceMethod(qmpi)) {
+            GenericQuery genericQuery = qmpi.getMethodAnnotation(GenericQuery.class);
+            return KeysetUtils.createSlice(qmpi, list,
+                GeneratorUtils.getMaxResults(qmpi, genericQuery, context.getMaxResults()));
+        }
+        return list;
     }
 
     /**
@@ -18,12 +18,14 @@ package org.codehaus.grepo.query.jpa.executor;
 
 import javax.persistence.Query;
 
+import org.codehaus.grepo.core.annotation.Stateless;
 import org.codehaus.grepo.query.commons.aop.QueryMethodParameterInfo;
 import org.codehaus.grepo.query.jpa.context.JpaQueryExecutionContext;
 
 /**
  * @author dguggi
  */
+@Stateless
 public class LoadQueryExecutor extends AbstractQueryExecutor {
 
     /**
@@ -20,6 +20,7 @@ import javax.persistence.Query;
 
 import org.codehaus.grepo.query.commons.annotation.GenericQuery;
 import org.codehaus.grepo.query.commons.aop.QueryMethodParameterInfo;
+import org.codehaus.grepo.query.commons.generator.GeneratorUtils;
 import org.codehaus.grepo.query.jpa.context.JpaQueryExecutionContext;
 
 /**
@@ -40,7 +41,8 @@ public abstract class AbstractQueryGenerator extends QueryGeneratorBase {
     @Override
     protected Query createQuery(QueryMethodParameterInfo qmpi, JpaQueryExecutionContext context) {
         GenericQuery genericQuery = qmpi.getMethodAnnotation(GenericQuery.class);
-        String queryString = createQueryString(qmpi, context);
+        String queryString = applyKeysetSetting(qmpi, createQueryString(qmpi, context));
+        GeneratorUtils.captureQuery(qmpi, queryString);
 
         final Query query;
         if (isNativeQuery(genericQuery)) {
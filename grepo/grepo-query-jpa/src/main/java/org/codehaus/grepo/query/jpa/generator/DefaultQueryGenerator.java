@@ -19,13 +19,18 @@ package org.codehaus.grepo.query.jpa.generator;
 import javax.persistence.Query;
 
 import org.apache.commons.lang.StringUtils;
+import org.codehaus.grepo.core.annotation.Stateless;
+import org.codehaus.grepo.core.exception.ConfigurationException;
 import org.codehaus.grepo.query.commons.annotation.GenericQuery;
 import org.codehaus.grepo.query.commons.aop.QueryMethodParameterInfo;
+import org.codehaus.grepo.query.commons.generator.GeneratorUtils;
+import org.codehaus.grepo.query.commons.generator.KeysetUtils;
 import org.codehaus.grepo.query.jpa.context.JpaQueryExecutionContext;
 
 /**
  * @author dguggi
  */
+@Stateless
 public final class DefaultQueryGenerator extends QueryGeneratorBase {
 
     private static final long serialVersionUID = 5140350252527622671L;
@@ -39,13 +44,22 @@ public final class DefaultQueryGenerator extends QueryGeneratorBase {
 
         final Query query;
         if (StringUtils.isNotEmpty(genericQuery.query())) {
+            String queryString = applyKeysetSetting(qmpi, genericQuery.query());
+            GeneratorUtils.captureQuery(qmpi, queryString);
             if (isNativeQuery(genericQuery)) {
-                query = createNativeQuery(genericQuery.query(), qmpi, context);
+                query = createNativeQuery(queryString, qmpi, context);
             } else {
-                query = context.getEntityManager().createQuery(genericQuery.query());
+                query = context.getEntityManager().createQuery(queryString);
             }
         } else {
-            String queryName = context.getQueryNamingStrategy().getQueryName(qmpi);
+            String queryName = GeneratorUtils.getQueryName(qmpi, context.getQueryNamingStrategy());
+            if (KeysetUtils.getSeekAfter(qmpi) != null) {
+                // the query string of named queries is not accessible using the jpa api...
+                throw new ConfigurationException(String.format(
+                    "Keyset pagination is not supported for named queries (query='%s', method='%s')", queryName,
+                    qmpi.getMethodName()));
+            }
+            GeneratorUtils.captureQuery(qmpi, "named query " + queryName);
             query = context.getEntityManager().createNamedQuery(queryName);
         }
 
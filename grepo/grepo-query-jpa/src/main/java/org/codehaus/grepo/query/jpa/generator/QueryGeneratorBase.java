@@ -33,10 +33,12 @@ import org.codehaus.grepo.core.annotation.Param;
 import org.codehaus.grepo.query.commons.annotation.FirstResult;
 import org.codehaus.grepo.query.commons.annotation.GenericQuery;
 import org.codehaus.grepo.query.commons.annotation.MaxResults;
+import org.codehaus.grepo.query.commons.annotation.SeekAfter;
 import org.codehaus.grepo.query.commons.aop.QueryMethodParameterInfo;
 import org.codehaus.grepo.query.commons.generator.DynamicQueryParamsAware;
 import org.codehaus.grepo.query.commons.generator.DynamicQueryParamsAwareImpl;
 import org.codehaus.grepo.query.commons.generator.GeneratorUtils;
+import org.codehaus.grepo.query.commons.generator.KeysetUtils;
 import org.codehaus.grepo.query.jpa.annotation.GTemporal;
 import org.codehaus.grepo.query.jpa.annotation.JpaQueryOptions;
 import org.codehaus.grepo.query.jpa.context.JpaQueryExecutionContext;
@@ -84,6 +86,10 @@ public abstract class QueryGeneratorBase implements JpaQueryGenerator, DynamicQu
     public Query generate(QueryMethodParameterInfo qmpi, JpaQueryExecutionContext context) {
         Query query = createQuery(qmpi, context);
         logger.debug("Using query: {}", query.toString().trim());
+        if (qmpi.getCapturedQuery() != null && qmpi.getCapturedQuery().getQuery() == null) {
+            // the query string has not been captured by the subclass...
+            GeneratorUtils.captureQuery(qmpi, query);
+        }
         applyQuerySettings(qmpi, context, query);
         return query;
     }
@@ -221,8 +227,36 @@ public abstract class QueryGeneratorBase implements JpaQueryGenerator, DynamicQu
                                           JpaQueryExecutionContext context, Query query) {
         Integer maxResults = GeneratorUtils.getMaxResults(qmpi, genericQuery, context.getMaxResults());
         if (maxResults != null) {
-            query.setMaxResults(maxResults);
+            // fetch one more row for slices in order to detect whether there is a next page...
+            query.setMaxResults(KeysetUtils.isSliceMethod(qmpi) ? maxResults + 1 : maxResults);
+        }
+    }
+
+    /**
+     * Applies keyset pagination (see {@link SeekAfter}) to the given {@code queryString}.
+     *
+     * @param qmpi The query method parameter info.
+     * @param queryString The query string.
+     * @return Returns the (rewritten) query string.
+     */
+    protected String applyKeysetSetting(QueryMethodParameterInfo qmpi, String queryString) {
+        SeekAfter seekAfter = KeysetUtils.getSeekAfter(qmpi);
+        if (seekAfter == null) {
+            return queryString;
+        }
+
+        String placeholder = null;
+        if (KeysetUtils.getSeekValue(qmpi) != null) {
+            if (hasNamedParameters(qmpi)) {
+                placeholder = ":" + KeysetUtils.SEEK_PARAMETER_NAME;
+            } else if (KeysetUtils.hasOrdinalParameters(queryString)) {
+                // do not mix ordinal and numbered positional parameters...
+                placeholder = "?";
+            } else {
+                placeholder = "?" + getKeysetParameterPosition(qmpi);
+            }
         }
+        return KeysetUtils.applyKeyset(queryString, seekAfter, placeholder);
     }
 
     /**
@@ -238,6 +272,35 @@ public abstract class QueryGeneratorBase implements JpaQueryGenerator, DynamicQu
         } else {
             setPositionalParameters(qmpi, query);
         }
+        setKeysetParameter(qmpi, query);
+    }
+
+    protected void setKeysetParameter(QueryMethodParameterInfo qmpi, Query query) {
+        Object value = KeysetUtils.getSeekValue(qmpi);
+        if (value != null && KeysetUtils.getSeekAfter(qmpi) != null) {
+            if (hasNamedParameters(qmpi)) {
+                setNamedParameter(new JpaQueryParam(KeysetUtils.SEEK_PARAMETER_NAME, value, null), query);
+                GeneratorUtils.captureParameter(qmpi, KeysetUtils.SEEK_PARAMETER_NAME, value);
+            } else {
+                int index = getKeysetParameterPosition(qmpi);
+                setPositionalParameter(index, value, null, query);
+                GeneratorUtils.captureParameter(qmpi, String.valueOf(index), value);
+            }
+        }
+    }
+
+    /**
+     * @param qmpi The query method parameter info.
+     * @return Returns the position of the key parameter, which follows all other positional parameters.
+     */
+    private int getKeysetParameterPosition(QueryMethodParameterInfo qmpi) {
+        int index = 1;
+        for (int i = 0; i < qmpi.getParameters().size(); i++) {
+            if (isValidPositionalParameter(qmpi, i)) {
+                index += 1;
+            }
+        }
+        return index;
     }
 
     protected boolean hasNamedParameters(QueryMethodParameterInfo qmpi) {
@@ -256,6 +319,7 @@ public abstract class QueryGeneratorBase implements JpaQueryGenerator, DynamicQu
                 // first set all dynamic named parameters...
                 for (JpaQueryParam dynParam : getDynamicQueryParams()) {
                     setNamedParameter(dynParam, query);
+                    GeneratorUtils.captureParameter(qmpi, dynParam.getName(), dynParam.getValue());
                     alreadyHandeledParamNames.add(dynParam.getName());
                 }
             }
@@ -270,6 +334,7 @@ public abstract class QueryGeneratorBase implements JpaQueryGenerator, DynamicQu
                         JpaQueryParam param =
                             new JpaQueryParam(queryParam.value(), value, (gt == null ? null : gt.value()));
                         setNamedParameter(param, query);
+                        GeneratorUtils.captureParameter(qmpi, param.getName(), value);
                     }
                 }
             }
@@ -284,6 +349,7 @@ public abstract class QueryGeneratorBase implements JpaQueryGenerator, DynamicQu
                     Object value = qmpi.getParameter(i);
                     GTemporal gt = qmpi.getParameterAnnotation(i, GTemporal.class);
                     setPositionalParameter(index, value, (gt == null ? null : gt.value()), query);
+                    GeneratorUtils.captureParameter(qmpi, String.valueOf(index), value);
 
                     // increment index
                     index += 1;
@@ -294,7 +360,8 @@ public abstract class QueryGeneratorBase implements JpaQueryGenerator, DynamicQu
 
     private boolean isValidPositionalParameter(QueryMethodParameterInfo qmpi, int index) {
         return !qmpi.parameterHasAnnotation(index, MaxResults.class)
-            && !qmpi.parameterHasAnnotation(index, FirstResult.class);
+            && !qmpi.parameterHasAnnotation(index, FirstResult.class)
+            && !qmpi.parameterHasAnnotation(index, SeekAfter.class);
     }
 
     protected void setNamedParameter(JpaQueryParam param, Query query) {
@@ -26,6 +26,7 @@ import javax.persistence.EntityManager;
 import javax.persistence.EntityManagerFactory;
 import javax.persistence.FlushModeType;
 
+import org.codehaus.grepo.core.exception.ConfigurationException;
 import org.codehaus.grepo.core.validator.GenericValidationUtils;
 import org.codehaus.grepo.query.commons.annotation.GenericQuery;
 import org.codehaus.grepo.query.commons.aop.QueryMethodParameterInfo;
@@ -96,15 +97,22 @@ public class DefaultJpaRepository<T> extends GenericQueryRepositorySupport<T> im
      */
     public Object executeGenericQuery(QueryMethodParameterInfo qmpi, GenericQuery genericQuery) throws Exception {
         createStatisticsEntry(qmpi);
+        startQueryCapture(qmpi);
         try {
             Object result = executeQuery(qmpi, genericQuery);
 
+            recordStatisticsSuccess(qmpi);
+
             result = convertResult(result, qmpi, genericQuery);
 
             validateResult(result, qmpi, genericQuery);
             return result;
+        } catch (Exception e) {
+            recordStatisticsFailure(qmpi, e);
+            throw e;
         } finally {
-            completeStatisticsEntry(qmpi.getStatisticsEntry());
+            completeStatisticsEntry(qmpi);
+            completeQueryCapture(qmpi);
         }
     }
 
@@ -126,13 +134,10 @@ public class DefaultJpaRepository<T> extends GenericQueryRepositorySupport<T> im
      * @param genericQuery The annotation.
      * @return Returns the result of query execution.
      */
-    @SuppressWarnings("unchecked")
     protected Object executeQuery(final QueryMethodParameterInfo qmpi, final GenericQuery genericQuery) {
-        Class<? extends QueryExecutor<?>> clazz =
-            (Class<? extends QueryExecutor<?>>)getQueryExecutorFindingStrategy().findExecutor(
-                genericQuery.queryExecutor(), qmpi);
+        Class<? extends QueryExecutor<?>> clazz = findQueryExecutorClass(qmpi, genericQuery);
         final JpaQueryExecutor executor = (JpaQueryExecutor)getQueryExecutorFactory().createExecutor(clazz);
-        GeneratorUtils.validateQueryGenerator(genericQuery.queryGenerator(), JpaQueryGenerator.class);
+        validateQueryGenerator(genericQuery);
 
         JpaCallbackCreator callback = new JpaCallbackCreator() {
 
@@ -140,13 +145,39 @@ public class DefaultJpaRepository<T> extends GenericQueryRepositorySupport<T> im
             protected Object doExecute(JpaQueryExecutionContext context) {
                 Object result = executor.execute(qmpi, context);
                 logger.debug("Query result is '{}'", result);
-                return result;
+                return monitorQueryResult(executor, qmpi, result);
             }
         };
 
         return executeCallback(callback.create(qmpi, isExposeNativeEntityManager()), executor.isReadOnlyOperation());
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void validateQueryGenerator(GenericQuery genericQuery) {
+        GeneratorUtils.validateQueryGenerator(genericQuery.queryGenerator(), JpaQueryGenerator.class);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void validateNamedQuery(String queryName, QueryMethodParameterInfo qmpi) {
+        EntityManager em = createEntityManager();
+        try {
+            em.createNamedQuery(queryName);
+        } catch (IllegalArgumentException e) {
+            String msg = String.format("Named query '%s' not found (method='%s', repository='%s')", queryName,
+                qmpi.getMethodName(), getProxyInterface().getName());
+            throw new ConfigurationException(msg, e);
+        } finally {
+            EntityManagerFactoryUtils.closeEntityManager(em);
+        }
+    }
+
     /**
      * @return Returns {@code true} if the entity manager was newly created.
      */
@@ -192,6 +223,7 @@ public class DefaultJpaRepository<T> extends GenericQueryRepositorySupport<T> im
         context.setApplicationContext(getApplicationContext());
         context.setMaxResults(getMaxResults());
         context.setQueryNamingStrategy(getQueryNamingStrategy());
+        context.setQueryGeneratorFactory(getQueryGeneratorFactory());
 
         if (doExposeNativeEntityManager) {
             context.setEntityManager(emHolder.getEntityManager());
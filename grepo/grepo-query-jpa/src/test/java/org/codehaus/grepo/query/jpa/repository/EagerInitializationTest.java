@@ -0,0 +1,76 @@
+/*
+ * Copyright 2010 Grepo Committers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.codehaus.grepo.query.jpa.repository;
+
+import java.lang.reflect.Method;
+
+import org.codehaus.grepo.core.context.GrepoHsqlTestContextLoaderWithDefLoc;
+import org.codehaus.grepo.core.exception.ConfigurationException;
+import org.codehaus.grepo.query.commons.aop.QueryMethodInvocationPlan;
+import org.codehaus.grepo.query.commons.repository.GenericQueryMethodInterceptor;
+import org.codehaus.grepo.query.jpa.AbstractJpaRepositoryTest;
+import org.codehaus.grepo.query.jpa.TestEntity;
+import org.codehaus.grepo.query.jpa.executor.ExecutorTestRepository;
+import org.codehaus.grepo.query.jpa.executor.GetQueryExecutor;
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.ContextConfiguration;
+
+/**
+ * @author dguggi
+ */
+@ContextConfiguration(loader = GrepoHsqlTestContextLoaderWithDefLoc.class)
+public class EagerInitializationTest extends AbstractJpaRepositoryTest {
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private GrepoQueryJpaConfiguration configuration;
+
+    /**
+     * Tests that the invocation plans of an eagerly initialized repository are resolved before the first invocation.
+     *
+     * @throws Exception in case of errors.
+     */
+    @Test
+    public void testEagerInitialization() throws Exception {
+        GenericQueryMethodInterceptor interceptor = (GenericQueryMethodInterceptor)configuration.getMethodInterceptor();
+
+        Method method = ExecutorTestRepository.class.getMethod("getByUsername", String.class);
+        QueryMethodInvocationPlan plan = interceptor.getInvocationPlan(method, TestEntity.class);
+        Assert.assertEquals(GetQueryExecutor.class, plan.getQueryExecutorClass());
+        Assert.assertEquals("org.codehaus.grepo.query.jpa.TestEntity.ByUsername", plan.getQueryName());
+    }
+
+    /**
+     * Tests that eager initialization fails for a not existing named query.
+     *
+     * @throws Exception in case of errors.
+     */
+    @Test(expected = ConfigurationException.class)
+    public void testEagerInitializationWithNotExistingNamedQuery() throws Exception {
+        JpaRepositoryFactoryBean<TestEntity> factory = new JpaRepositoryFactoryBean<TestEntity>();
+        factory.setApplicationContext(applicationContext);
+        factory.setProxyInterface(EagerInitializationTestRepository.class);
+        factory.setEagerInitialization(true);
+        factory.afterPropertiesSet();
+        factory.getObject();
+    }
+}
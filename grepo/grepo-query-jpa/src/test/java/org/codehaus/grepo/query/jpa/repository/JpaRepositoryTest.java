@@ -22,6 +22,7 @@ import java.util.List;
 import junit.framework.Assert;
 
 import org.codehaus.grepo.core.context.GrepoHsqlTestContextLoaderWithDefLoc;
+import org.codehaus.grepo.query.commons.executor.Slice;
 import org.codehaus.grepo.query.jpa.AbstractJpaRepositoryTest;
 import org.codehaus.grepo.query.jpa.TestEntity;
 import org.junit.Before;
@@ -102,6 +103,41 @@ public class JpaRepositoryTest extends AbstractJpaRepositoryTest {
         Assert.assertEquals(0, repo.findByType(0, 10, 2).size());
     }
 
+    @Test
+    public void testKeysetPaging() {
+        createTestEntities(20);
+
+        int usernameCounter = -1;
+        Long lastId = null;
+        for (int i = 0; i < 5; i++) {
+            Slice<TestEntity> slice = repo.findByTypeWithKeyset(0, lastId, 2);
+            Assert.assertEquals(2, slice.size());
+            Assert.assertEquals("username" + (++usernameCounter), slice.getContent().get(0).getUsername());
+            Assert.assertEquals("username" + (++usernameCounter), slice.getContent().get(1).getUsername());
+            Assert.assertEquals(i < 4, slice.hasNext());
+            lastId = (Long)slice.getNextKey();
+        }
+    }
+
+    @Test
+    public void testKeysetPagingDescending() {
+        createTestEntities(20);
+
+        List<String> usernames = new ArrayList<String>();
+        Slice<TestEntity> slice = null;
+        do {
+            slice = repo.findByTypeWithKeysetDescending(0, slice, 3);
+            for (TestEntity entity : slice) {
+                usernames.add(entity.getUsername());
+            }
+        } while (slice.hasNext());
+
+        Assert.assertEquals(10, usernames.size());
+        for (int i = 0; i < 10; i++) {
+            Assert.assertEquals("username" + (9 - i), usernames.get(i));
+        }
+    }
+
     @Test
     public void testDefaultPaging() {
         createTestEntities(10);
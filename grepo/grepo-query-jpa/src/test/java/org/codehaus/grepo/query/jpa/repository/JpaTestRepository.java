@@ -25,6 +25,8 @@ import org.codehaus.grepo.core.annotation.Param;
 import org.codehaus.grepo.query.commons.annotation.FirstResult;
 import org.codehaus.grepo.query.commons.annotation.GenericQuery;
 import org.codehaus.grepo.query.commons.annotation.MaxResults;
+import org.codehaus.grepo.query.commons.annotation.SeekAfter;
+import org.codehaus.grepo.query.commons.executor.Slice;
 import org.codehaus.grepo.query.jpa.TestEntity;
 import org.codehaus.grepo.query.jpa.annotation.GTemporal;
 import org.codehaus.grepo.query.jpa.annotation.JpaQueryOptions;
@@ -102,6 +104,25 @@ public interface JpaTestRepository extends ReadWriteJpaRepository<TestEntity, Lo
         firstResult = 0, maxResults = 1)
     TestEntity getByTypeWithDefaultPaging(int type);
 
+    /**
+     * @param type The type.
+     * @param lastId The id of the last entity of the previous page.
+     * @param maxResults The max results.
+     * @return Returns a slice of entities.
+     */
+    @GenericQuery(query = "FROM TestEntity WHERE type = ?")
+    Slice<TestEntity> findByTypeWithKeyset(int type, @SeekAfter("id") Long lastId, @MaxResults int maxResults);
+
+    /**
+     * @param type The type.
+     * @param previous The previous slice.
+     * @param maxResults The max results.
+     * @return Returns a slice of entities.
+     */
+    @GenericQuery(query = "SELECT e FROM TestEntity e WHERE e.type = :type ORDER BY e.id DESC")
+    Slice<TestEntity> findByTypeWithKeysetDescending(@Param("type") int type,
+            @SeekAfter(value = "e.id", descending = true) Slice<TestEntity> previous, @MaxResults int maxResults);
+
     /**
      * @param list A list of usernames.
      * @return Returns a list of entities.
@@ -37,4 +37,17 @@ public @interface MethodStatistics {
 
     /** The statistics manager to use. */
     String manager() default "";
+
+    /**
+     * The rate (between {@code 0} and {@code 1}) of invocations for which detailed entries are collected, a negative
+     * value means that the default of the configured sampling strategy is used. Note that the number of invocations
+     * is always exact.
+     */
+    double sampleRate() default -1;
+
+    /**
+     * Invocations which take at least the given number of milliseconds are always sampled, a negative value means
+     * that the default of the configured sampling strategy is used.
+     */
+    long alwaysSampleSlowerThanMillis() default -1;
 }
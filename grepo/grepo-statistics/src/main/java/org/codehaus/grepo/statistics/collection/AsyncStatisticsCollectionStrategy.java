@@ -0,0 +1,320 @@
+/*
+ * Copyright 2010 Grepo Committers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.codehaus.grepo.statistics.collection;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.codehaus.grepo.statistics.domain.StatisticsEntry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Required;
+import org.springframework.util.Assert;
+
+/**
+ * A strategy which moves the aggregation of completed entries off the caller threads: completed entries are appended
+ * to a bounded lock-free queue and a single background thread drains the queue in batches into the delegate
+ * strategy (for instance the {@link InMemoryStatisticsCollectionStrategy}). Callers only take a lock-free slot in the
+ * queue, the idle background thread is parked and woken up by the caller which makes the queue non-empty.
+ * <p>
+ * If the queue is full, entries are either dropped (and counted) or the caller blocks until there is space,
+ * depending on the configured {@link OverflowPolicy}. The background thread is started by
+ * {@link #afterPropertiesSet()}, {@link #destroy()} stops it and flushes all pending entries. Entries which are
+ * completed after {@link #stop()} are passed to the delegate synchronously on the caller thread.
+ *
+ * @author dguggi
+ */
+public class AsyncStatisticsCollectionStrategy implements CountingStatisticsCollectionStrategy, InitializingBean,
+        DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(AsyncStatisticsCollectionStrategy.class);
+
+    /** The time a blocked caller parks before checking for space in the queue again. */
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    /**
+     * Defines what happens with a completed entry if the queue is full.
+     */
+    public enum OverflowPolicy {
+        /** The entry is dropped and counted (see {@link AsyncStatisticsCollectionStrategy#getDroppedCount()}). */
+        DROP,
+        /** The caller blocks until there is space in the queue (or drops the entry if the consumer is not running). */
+        BLOCK;
+    }
+
+    /** The queue. */
+    private final Queue<StatisticsEntry> queue = new ConcurrentLinkedQueue<StatisticsEntry>();
+
+    /** The number of entries in the queue (including reserved slots, used to bound the queue). */
+    private final AtomicInteger queueSize = new AtomicInteger();
+
+    /** The number of dropped entries. */
+    private final AtomicLong droppedCount = new AtomicLong();
+
+    /** The delegate strategy. */
+    private StatisticsCollectionStrategy delegate;
+
+    /** The max number of pending entries. */
+    private int queueCapacity = 10000;
+
+    /** The max number of entries drained at once. */
+    private int batchSize = 256;
+
+    /** The overflow policy. */
+    private OverflowPolicy overflowPolicy = OverflowPolicy.DROP;
+
+    /** The consumer thread. */
+    private volatile Thread consumer;
+
+    /** Flag to indicate whether or not the consumer is running. */
+    private volatile boolean running;
+
+    /** Flag to indicate whether or not the strategy has been stopped. */
+    private volatile boolean stopped;
+
+    /**
+     * {@inheritDoc}
+     */
+    public void afterPropertiesSet() {
+        Assert.notNull(delegate, "delegate must not be null");
+        Assert.isTrue(queueCapacity > 0, "queueCapacity must be greater than 0");
+        Assert.isTrue(batchSize > 0, "batchSize must be greater than 0");
+        start();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void destroy() {
+        stop();
+    }
+
+    /**
+     * Starts the consumer thread (if not already running).
+     */
+    public synchronized void start() {
+        if (consumer == null) {
+            stopped = false;
+            running = true;
+            consumer = new Thread(new Runnable() {
+                public void run() {
+                    consume();
+                }
+            }, "grepo-statistics-collector");
+            consumer.setDaemon(true);
+            consumer.start();
+        }
+    }
+
+    /**
+     * Stops the consumer thread and flushes all pending entries.
+     */
+    public synchronized void stop() {
+        stopped = true;
+        Thread thread = consumer;
+        if (thread != null) {
+            running = false;
+            LockSupport.unpark(thread);
+            try {
+                thread.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            consumer = null;
+        }
+        flush();
+    }
+
+    /**
+     * Synchronously drains all pending entries into the delegate on the calling thread.
+     */
+    public void flush() {
+        while (drain() > 0) {
+            // continue
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void startStatistics(StatisticsEntry entry) {
+        delegate.startStatistics(entry);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void completeStatistics(StatisticsEntry entry) {
+        if (stopped) {
+            delegate.completeStatistics(entry);
+            return;
+        }
+
+        int size = reserveSlot();
+        if (size == -1) {
+            droppedCount.incrementAndGet();
+            return;
+        }
+
+        queue.offer(entry);
+        if (size == 0) {
+            // the queue was empty, so the consumer may be parked...
+            Thread thread = consumer;
+            if (thread != null) {
+                LockSupport.unpark(thread);
+            }
+        }
+
+        if (stopped) {
+            // stopped concurrently, ensure the entry does not remain in the queue...
+            flush();
+        }
+    }
+
+    /**
+     * Reserves a slot in the queue. If the queue is full, the caller waits for space as long as the consumer is
+     * running if the overflow policy is {@link OverflowPolicy#BLOCK}.
+     *
+     * @return Returns the number of entries in the queue before the slot was reserved or {@code -1} if no slot could
+     *         be reserved.
+     */
+    protected int reserveSlot() {
+        int size = queueSize.get();
+        while (true) {
+            if (size >= queueCapacity) {
+                if (overflowPolicy == OverflowPolicy.DROP || consumer == null) {
+                    return -1;
+                }
+                LockSupport.parkNanos(BLOCK_PARK_NANOS);
+                size = queueSize.get();
+            } else if (queueSize.compareAndSet(size, size + 1)) {
+                return size;
+            } else {
+                size = queueSize.get();
+            }
+        }
+    }
+
+    /**
+     * Counts the given entry directly on the caller thread, since counting only updates cheap aggregates. If the
+     * delegate is not able to count entries, the entry is completed asynchronously instead.
+     *
+     * @param entry The entry to count.
+     */
+    public void countStatistics(StatisticsEntry entry) {
+        if (delegate instanceof CountingStatisticsCollectionStrategy) {
+            ((CountingStatisticsCollectionStrategy)delegate).countStatistics(entry);
+        } else {
+            completeStatistics(entry);
+        }
+    }
+
+    /**
+     * The consumer loop.
+     */
+    protected void consume() {
+        while (running) {
+            try {
+                if (drain() == 0) {
+                    if (queueSize.get() == 0) {
+                        // the caller which makes the queue non-empty unparks the consumer...
+                        LockSupport.park(this);
+                    } else {
+                        // a slot is reserved, but the entry has not been added yet...
+                        Thread.yield();
+                    }
+                }
+            } catch (RuntimeException e) {
+                logger.warn("Unable to collect statistics entries: " + e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Drains (up to) {@code batchSize} entries into the delegate.
+     *
+     * @return Returns the number of drained entries.
+     */
+    protected int drain() {
+        int drained = 0;
+        StatisticsEntry entry;
+        while (drained < batchSize && (entry = queue.poll()) != null) {
+            queueSize.decrementAndGet();
+            drained++;
+            delegate.completeStatistics(entry);
+        }
+        return drained;
+    }
+
+    /**
+     * @return Returns the number of pending entries.
+     */
+    public int getQueueSize() {
+        return queueSize.get();
+    }
+
+    /**
+     * @return Returns the number of entries dropped because the queue was full.
+     */
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    @Required
+    public void setDelegate(StatisticsCollectionStrategy delegate) {
+        this.delegate = delegate;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    /**
+     * Sets the max number of pending entries. Must be set before the strategy is started.
+     *
+     * @param queueCapacity The capacity.
+     */
+    public synchronized void setQueueCapacity(int queueCapacity) {
+        Assert.state(consumer == null && !stopped,
+            "queueCapacity must not be changed after the strategy has been started");
+        Assert.isTrue(queueCapacity > 0, "queueCapacity must be greater than 0");
+        this.queueCapacity = queueCapacity;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    public void setOverflowPolicy(OverflowPolicy overflowPolicy) {
+        this.overflowPolicy = overflowPolicy;
+    }
+
+}
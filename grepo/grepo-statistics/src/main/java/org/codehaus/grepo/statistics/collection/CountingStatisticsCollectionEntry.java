@@ -0,0 +1,36 @@
+/*
+ * Copyright 2010 Grepo Committers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.codehaus.grepo.statistics.collection;
+
+import org.codehaus.grepo.statistics.domain.StatisticsEntry;
+
+/**
+ * A {@link StatisticsCollectionEntry} which is able to count entries which are not sampled.
+ *
+ * @author dguggi
+ */
+public interface CountingStatisticsCollectionEntry extends StatisticsCollectionEntry {
+
+    /**
+     * Counts an entry which is not sampled, which means that only the number of invocations and the duration
+     * histogram are updated (the entry is not retained).
+     *
+     * @param entry The entry to count.
+     */
+    void countStatisticsEntry(StatisticsEntry entry);
+
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2010 Grepo Committers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.codehaus.grepo.statistics.collection;
+
+import org.codehaus.grepo.statistics.domain.StatisticsEntry;
+
+/**
+ * A {@link StatisticsCollectionStrategy} which is able to count entries which are not sampled. Strategies which do
+ * not implement this interface get all entries passed to {@link #completeStatistics(StatisticsEntry)}.
+ *
+ * @author dguggi
+ */
+public interface CountingStatisticsCollectionStrategy extends StatisticsCollectionStrategy {
+
+    /**
+     * Counts a completed entry which is not sampled, implementations should only update cheap aggregates (such as the
+     * number of invocations) and must not retain the entry.
+     *
+     * @param entry The entry to count.
+     */
+    void countStatistics(StatisticsEntry entry);
+
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright 2009 Grepo Committers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.codehaus.grepo.statistics.collection;
+
+import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.springframework.util.Assert;
+
+/**
+ * A fixed-memory, lock-free histogram for durations, similar to the HdrHistogram layout.
+ * <p>
+ * Values are recorded into log-linear buckets: with the default precision values below {@code 64} are recorded
+ * exactly, larger values are recorded into one of {@code 32} linear sub-buckets per power of two, which limits the
+ * relative error of reported percentiles to about 3%. A lower precision may be requested to reduce the memory
+ * footprint (each precision bit less halves the number of counters). Values larger than
+ * {@link #MAX_TRACKABLE_VALUE} are recorded as {@link #MAX_TRACKABLE_VALUE}. Recording a value costs a constant
+ * number of atomic operations.
+ *
+ * @author dguggi
+ */
+public class DurationHistogram implements Serializable {
+
+    private static final long serialVersionUID = 4528614916071377613L;
+
+    /** The default number of bits used for the sub-bucket index within a power of two. */
+    public static final int DEFAULT_SUB_BUCKET_BITS = 5;
+
+    /** The max value which is tracked (with the configured precision). */
+    public static final long MAX_TRACKABLE_VALUE = (1L << 36) - 1;
+
+    /** The number of counters (using the default precision). */
+    static final int COUNTS_LENGTH = countsLength(DEFAULT_SUB_BUCKET_BITS);
+
+    /** The number of bits used for the sub-bucket index within a power of two. */
+    private final int subBucketBits;
+
+    private final AtomicLongArray counts;
+
+    private final AtomicLong totalCount = new AtomicLong();
+
+    private final AtomicLong totalSum = new AtomicLong();
+
+    private final AtomicLong maxValue = new AtomicLong();
+
+    /**
+     * Creates a histogram with the default precision.
+     */
+    public DurationHistogram() {
+        this(DEFAULT_SUB_BUCKET_BITS);
+    }
+
+    /**
+     * @param subBucketBits The number of bits used for the sub-bucket index within a power of two (between
+     *            {@code 1} and {@link #DEFAULT_SUB_BUCKET_BITS}), the relative error of reported percentiles is
+     *            about {@code 1 / 2^subBucketBits}.
+     */
+    public DurationHistogram(int subBucketBits) {
+        Assert.isTrue(subBucketBits >= 1 && subBucketBits <= DEFAULT_SUB_BUCKET_BITS,
+            "subBucketBits must be between 1 and " + DEFAULT_SUB_BUCKET_BITS);
+        this.subBucketBits = subBucketBits;
+        this.counts = new AtomicLongArray(countsLength(subBucketBits));
+    }
+
+    /**
+     * Records the given {@code value}. Negative values are ignored.
+     *
+     * @param value The value to record.
+     */
+    public void record(long value) {
+        if (value < 0) {
+            return;
+        }
+        long v = Math.min(value, MAX_TRACKABLE_VALUE);
+        counts.incrementAndGet(countsIndex(v, subBucketBits));
+        totalCount.incrementAndGet();
+        totalSum.addAndGet(v);
+
+        long max = maxValue.get();
+        while (v > max && !maxValue.compareAndSet(max, v)) {
+            max = maxValue.get();
+        }
+    }
+
+    /**
+     * @return Returns the number of recorded values.
+     */
+    public long getCount() {
+        return totalCount.get();
+    }
+
+    /**
+     * @return Returns the number of bits used for the sub-bucket index.
+     */
+    public int getSubBucketBits() {
+        return subBucketBits;
+    }
+
+    /**
+     * Clears all recorded values.
+     */
+    public void reset() {
+        for (int i = 0; i < counts.length(); i++) {
+            counts.set(i, 0L);
+        }
+        totalCount.set(0L);
+        totalSum.set(0L);
+        maxValue.set(0L);
+    }
+
+    /**
+     * @return Returns a point-in-time copy of this histogram which may be used to calculate percentiles.
+     */
+    public DurationHistogramSnapshot getSnapshot() {
+        long[] copy = new long[counts.length()];
+        long count = addTo(copy);
+        return new DurationHistogramSnapshot(copy, count, totalSum.get(), maxValue.get(), subBucketBits);
+    }
+
+    /**
+     * Adds the counters of this histogram to the given array, which must have been created for the same precision.
+     *
+     * @param target The target counters.
+     * @return Returns the number of values added.
+     */
+    long addTo(long[] target) {
+        long count = 0L;
+        for (int i = 0; i < target.length; i++) {
+            long c = counts.get(i);
+            target[i] += c;
+            count += c;
+        }
+        return count;
+    }
+
+    long getSum() {
+        return totalSum.get();
+    }
+
+    long getMax() {
+        return maxValue.get();
+    }
+
+    /**
+     * @param subBucketBits The number of bits used for the sub-bucket index.
+     * @return Returns the number of counters required for the given precision.
+     */
+    static int countsLength(int subBucketBits) {
+        return countsIndex(MAX_TRACKABLE_VALUE, subBucketBits) + 1;
+    }
+
+    /**
+     * @param value The (non-negative) value.
+     * @return Returns the index of the counter for the given value (using the default precision).
+     */
+    static int countsIndex(long value) {
+        return countsIndex(value, DEFAULT_SUB_BUCKET_BITS);
+    }
+
+    /**
+     * @param value The (non-negative) value.
+     * @param subBucketBits The number of bits used for the sub-bucket index.
+     * @return Returns the index of the counter for the given value.
+     */
+    static int countsIndex(long value, int subBucketBits) {
+        long subBucketMask = (1L << (subBucketBits + 1)) - 1;
+        int bucketIndex = (64 - Long.numberOfLeadingZeros(value | subBucketMask)) - (subBucketBits + 1);
+        int subBucketIndex = (int)(value >>> bucketIndex);
+        return (bucketIndex << subBucketBits) + subBucketIndex;
+    }
+
+    /**
+     * @param index The index of a counter.
+     * @return Returns the highest value which is recorded into the counter with the given index (using the default
+     *         precision).
+     */
+    static long highestEquivalentValue(int index) {
+        return highestEquivalentValue(index, DEFAULT_SUB_BUCKET_BITS);
+    }
+
+    /**
+     * @param index The index of a counter.
+     * @param subBucketBits The number of bits used for the sub-bucket index.
+     * @return Returns the highest value which is recorded into the counter with the given index.
+     */
+    static long highestEquivalentValue(int index, int subBucketBits) {
+        int subBucketHalfCount = 1 << subBucketBits;
+        int bucketIndex = (index >> subBucketBits) - 1;
+        int subBucketIndex = (index & (subBucketHalfCount - 1)) + subBucketHalfCount;
+        if (bucketIndex < 0) {
+            subBucketIndex -= subBucketHalfCount;
+            bucketIndex = 0;
+        }
+        long lowest = ((long)subBucketIndex) << bucketIndex;
+        return lowest + (1L << bucketIndex) - 1;
+    }
+
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2009 Grepo Committers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.codehaus.grepo.statistics.collection;
+
+import java.io.Serializable;
+
+/**
+ * An immutable point-in-time copy of a {@link DurationHistogram}.
+ *
+ * @author dguggi
+ */
+public class DurationHistogramSnapshot implements Serializable {
+
+    private static final long serialVersionUID = -1842377395806545870L;
+
+    private final long[] counts;
+
+    private final long count;
+
+    private final long sum;
+
+    private final long max;
+
+    private final int subBucketBits;
+
+    /**
+     * @param counts The counts (not copied).
+     * @param count The total count.
+     * @param sum The sum of all recorded values.
+     * @param max The max recorded value.
+     * @param subBucketBits The precision of the histogram.
+     */
+    DurationHistogramSnapshot(long[] counts, long count, long sum, long max, int subBucketBits) {
+        this.counts = counts;
+        this.count = count;
+        this.sum = sum;
+        this.max = max;
+        this.subBucketBits = subBucketBits;
+    }
+
+    /**
+     * @return Returns the number of recorded values.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * @return Returns the sum of all recorded values.
+     */
+    public long getSum() {
+        return sum;
+    }
+
+    /**
+     * @return Returns the mean of all recorded values or {@code 0} if no values are recorded.
+     */
+    public double getMean() {
+        return (count == 0 ? 0.0d : (double)sum / count);
+    }
+
+    /**
+     * @return Returns the max recorded value.
+     */
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * @param percentile The percentile (between {@code 0} and {@code 100}).
+     * @return Returns the value at the given percentile or {@code 0} if no values are recorded.
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (count == 0) {
+            return 0L;
+        }
+        double p = Math.min(Math.max(percentile, 0.0d), 100.0d);
+        long countAtPercentile = Math.max(1L, (long)Math.ceil((p / 100.0d) * count));
+
+        long totalToCurrentIndex = 0L;
+        for (int i = 0; i < counts.length; i++) {
+            totalToCurrentIndex += counts[i];
+            if (totalToCurrentIndex >= countAtPercentile) {
+                return Math.min(DurationHistogram.highestEquivalentValue(i, subBucketBits), max);
+            }
+        }
+        return max;
+    }
+
+    public long getP50() {
+        return getValueAtPercentile(50.0d);
+    }
+
+    public long getP90() {
+        return getValueAtPercentile(90.0d);
+    }
+
+    public long getP99() {
+        return getValueAtPercentile(99.0d);
+    }
+
+    public long getP999() {
+        return getValueAtPercentile(99.9d);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return String.format("count=%d mean=%.2f p50=%d p90=%d p99=%d p999=%d max=%d", count, getMean(), getP50(),
+            getP90(), getP99(), getP999(), max);
+    }
+
+}
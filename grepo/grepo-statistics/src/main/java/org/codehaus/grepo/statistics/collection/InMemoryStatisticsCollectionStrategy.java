@@ -22,7 +22,7 @@ import org.springframework.beans.factory.annotation.Required;
 /**
  * @author dguggi
  */
-public class InMemoryStatisticsCollectionStrategy implements StatisticsCollectionStrategy {
+public class InMemoryStatisticsCollectionStrategy implements CountingStatisticsCollectionStrategy {
 
     private StatisticsCollection statisticsCollection;
 
@@ -33,6 +33,17 @@ public class InMemoryStatisticsCollectionStrategy implements StatisticsCollectio
         statisticsCollection.addStatisticsEntry(entry);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    public void countStatistics(StatisticsEntry entry) {
+        if (statisticsCollection instanceof CountingStatisticsCollection) {
+            ((CountingStatisticsCollection)statisticsCollection).countStatisticsEntry(entry);
+        } else {
+            statisticsCollection.addStatisticsEntry(entry);
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2010 Grepo Committers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.codehaus.grepo.statistics.collection;
+
+import org.codehaus.grepo.statistics.domain.StatisticsEntry;
+import org.codehaus.grepo.statistics.metrics.AbstractMetric;
+import org.codehaus.grepo.statistics.metrics.MetricsCounter;
+import org.codehaus.grepo.statistics.metrics.MetricsGauge;
+import org.codehaus.grepo.statistics.metrics.MetricsRegistry;
+import org.springframework.beans.factory.annotation.Required;
+
+/**
+ * Publishes completed entries to a {@link MetricsRegistry}: per identifier a timer ({@link #DURATION}), a result
+ * size distribution ({@link #RESULT_SIZE}), an invocation counter ({@link #INVOCATIONS}), an error counter
+ * ({@link #ERRORS}) and an error ratio gauge ({@link #ERROR_RATIO}). All entries are passed on to the (optional)
+ * delegate strategy.
+ *
+ * @author dguggi
+ */
+public class MetricsStatisticsCollectionStrategy implements CountingStatisticsCollectionStrategy {
+
+    /** The name of the duration timers. */
+    public static final String DURATION = "duration_milliseconds";
+
+    /** The name of the invocation counters. */
+    public static final String INVOCATIONS = "invocations_total";
+
+    /** The name of the error counters. */
+    public static final String ERRORS = "errors_total";
+
+    /** The name of the result size (rows per call) distributions. */
+    public static final String RESULT_SIZE = "result_size_rows";
+
+    /** The name of the error ratio gauges. */
+    public static final String ERROR_RATIO = "error_ratio";
+
+    private MetricsRegistry metricsRegistry;
+
+    /** The delegate strategy (optional). */
+    private StatisticsCollectionStrategy delegate;
+
+    /**
+     * {@inheritDoc}
+     */
+    public void startStatistics(StatisticsEntry entry) {
+        if (delegate != null) {
+            delegate.startStatistics(entry);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void completeStatistics(StatisticsEntry entry) {
+        publish(entry);
+        if (delegate != null) {
+            delegate.completeStatistics(entry);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void countStatistics(StatisticsEntry entry) {
+        publish(entry);
+        if (delegate != null) {
+            StatisticsCollectionUtils.countStatistics(delegate, entry);
+        }
+    }
+
+    /**
+     * @param entry The entry to publish.
+     */
+    protected void publish(StatisticsEntry entry) {
+        String identifier = entry.getIdentifier();
+        MetricsCounter invocations = metricsRegistry.getCounter(INVOCATIONS, identifier);
+        if (invocations.increment() == 1L) {
+            // exactly one caller observes the first invocation...
+            metricsRegistry.registerGauge(new ErrorRatioGauge(identifier, invocations,
+                metricsRegistry.getCounter(ERRORS, identifier)));
+        }
+
+        Long durationMillis = StatisticsCollectionUtils.getDurationMillis(entry);
+        if (durationMillis != null) {
+            metricsRegistry.getTimer(DURATION, identifier).record(durationMillis);
+        }
+        if (entry.hasResultSize()) {
+            metricsRegistry.getTimer(RESULT_SIZE, identifier).record(entry.getResultSize());
+        }
+        if (isError(entry)) {
+            metricsRegistry.getCounter(ERRORS, identifier).increment();
+        }
+    }
+
+    /**
+     * @param entry The entry.
+     * @return Returns {@code true} if the given entry represents a failed invocation.
+     */
+    protected boolean isError(StatisticsEntry entry) {
+        return entry.isFailure();
+    }
+
+    @Required
+    public void setMetricsRegistry(MetricsRegistry metricsRegistry) {
+        this.metricsRegistry = metricsRegistry;
+    }
+
+    public void setDelegate(StatisticsCollectionStrategy delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * Calculates the ratio of failed invocations.
+     */
+    private static final class ErrorRatioGauge extends AbstractMetric implements MetricsGauge {
+
+        private static final long serialVersionUID = -2187683870398316626L;
+
+        private final MetricsCounter invocations;
+
+        private final MetricsCounter errors;
+
+        private ErrorRatioGauge(String identifier, MetricsCounter invocations, MetricsCounter errors) {
+            super(ERROR_RATIO, identifier);
+            this.invocations = invocations;
+            this.errors = errors;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public double getValue() {
+            long count = invocations.getCount();
+            return (count == 0L ? 0.0d : (double)errors.getCount() / count);
+        }
+    }
+}
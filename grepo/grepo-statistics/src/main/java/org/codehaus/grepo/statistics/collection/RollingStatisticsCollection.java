@@ -0,0 +1,60 @@
+/*
+ * Copyright 2010 Grepo Committers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.codehaus.grepo.statistics.collection;
+
+import java.io.Serializable;
+import java.util.List;
+
+import org.codehaus.grepo.statistics.domain.StatisticsEntry;
+
+/**
+ * A collection which keeps time-windowed (rolling) statistics per identifier, so that throughput and latency may be
+ * queried for the recent past (for instance the last minute) instead of the time since the last clear.
+ * An instance of this class is used by the {@code WindowedStatisticsCollectionStrategy}.
+ *
+ * @author dguggi
+ */
+public interface RollingStatisticsCollection extends Serializable {
+
+    /**
+     * @param entry The {@link StatisticsEntry} to add.
+     */
+    void addStatisticsEntry(StatisticsEntry entry);
+
+    /**
+     * @param identifier The identifier.
+     * @param windowMillis The size of the sliding window in milliseconds (capped at {@link #getMaxWindowMillis()}).
+     * @return Returns the aggregated statistics of the sliding window ending now or {@code null} if there is no such
+     *         identifier.
+     */
+    RollingWindowSnapshot getWindowSnapshot(String identifier, long windowMillis);
+
+    /**
+     * @return Returns the size of the largest sliding window which may be queried in milliseconds.
+     */
+    long getMaxWindowMillis();
+
+    /**
+     * @return Returns a read only list of (distinct) identifiers.
+     */
+    List<String> getIdentifiersList();
+
+    /**
+     * Clears the collection.
+     */
+    void clear();
+}
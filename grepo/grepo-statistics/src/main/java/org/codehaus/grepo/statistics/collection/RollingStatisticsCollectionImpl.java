@@ -0,0 +1,200 @@
+/*
+ * Copyright 2010 Grepo Committers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.codehaus.grepo.statistics.collection;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.codehaus.grepo.statistics.domain.DurationAwareStatisticsEntry;
+import org.codehaus.grepo.statistics.domain.StatisticsEntry;
+
+/**
+ * Default implementation of {@link RollingStatisticsCollection} which keeps two {@link RollingWindow}s per
+ * identifier: one with per-second buckets (last {@code numberOfSecondBuckets} seconds) and one with per-minute
+ * buckets (last {@code numberOfMinuteBuckets} minutes).
+ * <p>
+ * Memory is bounded: an active identifier requires at most {@code numberOfSecondBuckets + numberOfMinuteBuckets}
+ * buckets, the size of a bucket is determined by {@code histogramPrecision} (about 2KB with the default precision,
+ * which limits the relative error of percentiles to about 12%). Changing the configuration affects identifiers
+ * which are added afterwards (for instance after {@link #clear()}).
+ *
+ * @author dguggi
+ */
+public class RollingStatisticsCollectionImpl implements RollingStatisticsCollection {
+
+    private static final long serialVersionUID = -2911587165236012786L;
+
+    private static final long SECOND_MILLIS = 1000L;
+
+    private static final long MINUTE_MILLIS = 60L * SECOND_MILLIS;
+
+    /** The windows mapped by identifier. */
+    private final ConcurrentMap<String, Windows> windowsMap = new ConcurrentHashMap<String, Windows>();
+
+    /** The number of per-second buckets. */
+    private int numberOfSecondBuckets = 60;
+
+    /** The number of per-minute buckets. */
+    private int numberOfMinuteBuckets = 60;
+
+    /** The precision of the bucket histograms (see {@link DurationHistogram}). */
+    private int histogramPrecision = 3;
+
+    /**
+     * {@inheritDoc}
+     */
+    public void addStatisticsEntry(StatisticsEntry entry) {
+        Windows windows = windowsMap.get(entry.getIdentifier());
+        if (windows == null) {
+            Windows newWindows = new Windows(numberOfSecondBuckets, numberOfMinuteBuckets, histogramPrecision);
+            windows = windowsMap.putIfAbsent(entry.getIdentifier(), newWindows);
+            if (windows == null) {
+                windows = newWindows;
+            }
+        }
+
+        long timeMillis = getTimeMillis(entry);
+        Long durationMillis = StatisticsCollectionUtils.getDurationMillis(entry);
+        long duration = (durationMillis == null ? -1L : durationMillis);
+        boolean error = isError(entry);
+        windows.seconds.record(timeMillis, duration, error);
+        windows.minutes.record(timeMillis, duration, error);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public RollingWindowSnapshot getWindowSnapshot(String identifier, long windowMillis) {
+        Windows windows = windowsMap.get(identifier);
+        if (windows == null) {
+            return null;
+        }
+
+        long now = currentTimeMillis();
+        if (windowMillis <= windows.seconds.getWindowMillis()) {
+            return windows.seconds.getSnapshot(now, numberOfBuckets(windowMillis, SECOND_MILLIS));
+        }
+        return windows.minutes.getSnapshot(now, numberOfBuckets(windowMillis, MINUTE_MILLIS));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public long getMaxWindowMillis() {
+        return Math.max(numberOfSecondBuckets * SECOND_MILLIS, numberOfMinuteBuckets * MINUTE_MILLIS);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public List<String> getIdentifiersList() {
+        List<String> list = new ArrayList<String>(windowsMap.keySet());
+        Collections.sort(list);
+        return Collections.unmodifiableList(list);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void clear() {
+        windowsMap.clear();
+    }
+
+    /**
+     * @param entry The entry.
+     * @return Returns {@code true} if the given entry represents a failed invocation.
+     */
+    protected boolean isError(StatisticsEntry entry) {
+        return entry.isFailure();
+    }
+
+    /**
+     * Returns the time which determines the bucket of the given entry. This is the completion time of the entry (or
+     * its creation time if it is not completed), so entries which are collected with a delay (for instance by an
+     * asynchronous strategy) are still recorded in the time slot they belong to.
+     *
+     * @param entry The entry.
+     * @return Returns the time of the entry in milliseconds, or the current time if the entry has no timestamp.
+     */
+    protected long getTimeMillis(StatisticsEntry entry) {
+        Long timeMillis = null;
+        if (entry instanceof DurationAwareStatisticsEntry) {
+            timeMillis = ((DurationAwareStatisticsEntry)entry).getCompletionMillis();
+        }
+        if (timeMillis == null) {
+            timeMillis = entry.getCreationMillis();
+        }
+        return (timeMillis == null ? currentTimeMillis() : timeMillis);
+    }
+
+    /**
+     * @return Returns the current time in milliseconds.
+     */
+    protected long currentTimeMillis() {
+        return System.currentTimeMillis();
+    }
+
+    private static int numberOfBuckets(long windowMillis, long bucketMillis) {
+        long n = (windowMillis + bucketMillis - 1) / bucketMillis;
+        return (int)Math.min(Math.max(n, 1L), Integer.MAX_VALUE);
+    }
+
+    public int getNumberOfSecondBuckets() {
+        return numberOfSecondBuckets;
+    }
+
+    public void setNumberOfSecondBuckets(int numberOfSecondBuckets) {
+        this.numberOfSecondBuckets = numberOfSecondBuckets;
+    }
+
+    public int getNumberOfMinuteBuckets() {
+        return numberOfMinuteBuckets;
+    }
+
+    public void setNumberOfMinuteBuckets(int numberOfMinuteBuckets) {
+        this.numberOfMinuteBuckets = numberOfMinuteBuckets;
+    }
+
+    public int getHistogramPrecision() {
+        return histogramPrecision;
+    }
+
+    public void setHistogramPrecision(int histogramPrecision) {
+        this.histogramPrecision = histogramPrecision;
+    }
+
+    /**
+     * The rolling windows of an identifier.
+     */
+    private static final class Windows implements Serializable {
+
+        private static final long serialVersionUID = 1457786436329474117L;
+
+        private final RollingWindow seconds;
+
+        private final RollingWindow minutes;
+
+        private Windows(int numberOfSecondBuckets, int numberOfMinuteBuckets, int histogramPrecision) {
+            seconds = new RollingWindow(numberOfSecondBuckets, SECOND_MILLIS, histogramPrecision);
+            minutes = new RollingWindow(numberOfMinuteBuckets, MINUTE_MILLIS, histogramPrecision);
+        }
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2010 Grepo Committers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.codehaus.grepo.statistics.collection;
+
+import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.springframework.util.Assert;
+
+/**
+ * A ring of fixed-size time buckets. Each bucket holds the number of invocations, the number of failed invocations
+ * and a {@link DurationHistogram} (which provides sum, max and percentiles) for its time slot.
+ * <p>
+ * Buckets are rotated lazily: a bucket which belongs to an elapsed time slot is replaced (using compare-and-set)
+ * by the first record which falls into the slot reusing the same index. Slots without any records do not allocate
+ * a bucket at all.
+ *
+ * @author dguggi
+ */
+public class RollingWindow implements Serializable {
+
+    private static final long serialVersionUID = -5126309187412417046L;
+
+    /** The size of a bucket in milliseconds. */
+    private final long bucketMillis;
+
+    /** The precision of the bucket histograms. */
+    private final int subBucketBits;
+
+    /** The buckets. */
+    private final AtomicReferenceArray<Bucket> buckets;
+
+    /**
+     * @param numberOfBuckets The number of buckets.
+     * @param bucketMillis The size of a bucket in milliseconds.
+     * @param subBucketBits The precision of the bucket histograms (see {@link DurationHistogram}).
+     */
+    public RollingWindow(int numberOfBuckets, long bucketMillis, int subBucketBits) {
+        Assert.isTrue(numberOfBuckets > 0, "numberOfBuckets must be greater than 0");
+        Assert.isTrue(bucketMillis > 0, "bucketMillis must be greater than 0");
+        this.bucketMillis = bucketMillis;
+        this.subBucketBits = subBucketBits;
+        this.buckets = new AtomicReferenceArray<Bucket>(numberOfBuckets);
+    }
+
+    /**
+     * Records an invocation. Records for time slots which are already rotated out of the window are ignored.
+     *
+     * @param timeMillis The time of the invocation.
+     * @param durationMillis The duration or a negative value if unknown.
+     * @param error Flag to indicate whether or not the invocation failed.
+     */
+    public void record(long timeMillis, long durationMillis, boolean error) {
+        long slot = timeMillis / bucketMillis;
+        int index = (int)(slot % buckets.length());
+
+        Bucket bucket = buckets.get(index);
+        while (bucket == null || bucket.slot != slot) {
+            if (bucket != null && bucket.slot > slot) {
+                return;
+            }
+            Bucket newBucket = new Bucket(slot, subBucketBits);
+            if (buckets.compareAndSet(index, bucket, newBucket)) {
+                bucket = newBucket;
+            } else {
+                bucket = buckets.get(index);
+            }
+        }
+        bucket.record(durationMillis, error);
+    }
+
+    /**
+     * @param nowMillis The current time.
+     * @param numberOfBuckets The number of (most recent) buckets to aggregate, the current (partial) bucket is
+     *            included.
+     * @return Returns the aggregated statistics of the given number of most recent buckets.
+     */
+    public RollingWindowSnapshot getSnapshot(long nowMillis, int numberOfBuckets) {
+        int n = Math.min(Math.max(numberOfBuckets, 1), buckets.length());
+        long currentSlot = nowMillis / bucketMillis;
+
+        long[] counts = new long[DurationHistogram.countsLength(subBucketBits)];
+        long count = 0L;
+        long errorCount = 0L;
+        long durationCount = 0L;
+        long sum = 0L;
+        long max = 0L;
+        for (int i = 0; i < buckets.length(); i++) {
+            Bucket bucket = buckets.get(i);
+            if (bucket != null && bucket.slot <= currentSlot && bucket.slot > currentSlot - n) {
+                count += bucket.count.get();
+                errorCount += bucket.errorCount.get();
+                durationCount += bucket.histogram.addTo(counts);
+                sum += bucket.histogram.getSum();
+                max = Math.max(max, bucket.histogram.getMax());
+            }
+        }
+
+        long windowMillis = ((n - 1) * bucketMillis) + (nowMillis - (currentSlot * bucketMillis)) + 1;
+        return new RollingWindowSnapshot(windowMillis, count, errorCount, new DurationHistogramSnapshot(counts,
+            durationCount, sum, max, subBucketBits));
+    }
+
+    /**
+     * @return Returns the number of buckets.
+     */
+    public int getNumberOfBuckets() {
+        return buckets.length();
+    }
+
+    /**
+     * @return Returns the size of a bucket in milliseconds.
+     */
+    public long getBucketMillis() {
+        return bucketMillis;
+    }
+
+    /**
+     * @return Returns the size of the whole window in milliseconds.
+     */
+    public long getWindowMillis() {
+        return buckets.length() * bucketMillis;
+    }
+
+    /**
+     * Statistics for a single time slot.
+     */
+    private static final class Bucket implements Serializable {
+
+        private static final long serialVersionUID = 3367016283208471913L;
+
+        private final long slot;
+
+        private final AtomicLong count = new AtomicLong();
+
+        private final AtomicLong errorCount = new AtomicLong();
+
+        private final DurationHistogram histogram;
+
+        private Bucket(long slot, int subBucketBits) {
+            this.slot = slot;
+            this.histogram = new DurationHistogram(subBucketBits);
+        }
+
+        private void record(long durationMillis, boolean error) {
+            count.incrementAndGet();
+            if (error) {
+                errorCount.incrementAndGet();
+            }
+            histogram.record(durationMillis);
+        }
+    }
+}
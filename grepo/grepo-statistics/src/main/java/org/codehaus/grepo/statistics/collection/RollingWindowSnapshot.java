@@ -0,0 +1,102 @@
+/*
+ * Copyright 2010 Grepo Committers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.codehaus.grepo.statistics.collection;
+
+import java.io.Serializable;
+
+/**
+ * An immutable point-in-time aggregation of the buckets of a {@link RollingWindow}.
+ *
+ * @author dguggi
+ */
+public class RollingWindowSnapshot implements Serializable {
+
+    private static final long serialVersionUID = 6802414751950232208L;
+
+    private final long windowMillis;
+
+    private final long count;
+
+    private final long errorCount;
+
+    private final DurationHistogramSnapshot durations;
+
+    /**
+     * @param windowMillis The covered time span in milliseconds.
+     * @param count The number of invocations.
+     * @param errorCount The number of failed invocations.
+     * @param durations The durations.
+     */
+    public RollingWindowSnapshot(long windowMillis, long count, long errorCount, DurationHistogramSnapshot durations) {
+        this.windowMillis = windowMillis;
+        this.count = count;
+        this.errorCount = errorCount;
+        this.durations = durations;
+    }
+
+    /**
+     * @return Returns the covered time span in milliseconds.
+     */
+    public long getWindowMillis() {
+        return windowMillis;
+    }
+
+    /**
+     * @return Returns the number of invocations.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * @return Returns the number of failed invocations.
+     */
+    public long getErrorCount() {
+        return errorCount;
+    }
+
+    /**
+     * @return Returns the fraction of failed invocations (between {@code 0} and {@code 1}).
+     */
+    public double getErrorRate() {
+        return (count == 0 ? 0.0d : (double)errorCount / count);
+    }
+
+    /**
+     * @return Returns the number of invocations per second.
+     */
+    public double getThroughputPerSecond() {
+        return (windowMillis <= 0 ? 0.0d : (count * 1000.0d) / windowMillis);
+    }
+
+    /**
+     * @return Returns the durations (providing mean, max and percentiles).
+     */
+    public DurationHistogramSnapshot getDurations() {
+        return durations;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return String.format("window=%dms throughput=%.2f/s errors=%d ", windowMillis, getThroughputPerSecond(),
+            errorCount) + durations;
+    }
+
+}
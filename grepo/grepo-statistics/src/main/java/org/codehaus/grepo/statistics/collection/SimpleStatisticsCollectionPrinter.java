@@ -190,19 +190,28 @@ public class SimpleStatisticsCollectionPrinter {
                 maxDurationDate = formatDate(maxEntry.getCreationDate());
             }
 
-            // calculate average duration millis
-            String avgDuration = "";
-            Long avgDurationValue = StatisticsCollectionUtils.getAverageDuration(
-                entry.getRecentStatisticsEntriesReadOnly());
-            if (avgDuration != null) {
-                avgDuration = String.valueOf(avgDurationValue);
-            }
+            // average duration and percentiles over all recorded durations
+            DurationHistogramSnapshot histogram = entry.getDurationHistogram().getSnapshot();
+            String avgDuration = formatMean(histogram);
 
             sb.append("identifier: " + identifier + nl());
             sb.append("invocations: " + entry.getNumberOfInvocations() + nl());
+            sb.append("errors: " + entry.getNumberOfErrors() + nl());
             sb.append("minDuration: " + minDurationMillis + " (" + minDurationDate + ")" + nl());
             sb.append("maxDuration: " + maxDurationMillis + " (" + maxDurationDate + ")" + nl());
             sb.append("avgDuration: " + avgDuration + nl());
+            sb.append("p50: " + formatPercentile(histogram, 50.0d) + nl());
+            sb.append("p90: " + formatPercentile(histogram, 90.0d) + nl());
+            sb.append("p99: " + formatPercentile(histogram, 99.0d) + nl());
+            sb.append("p999: " + formatPercentile(histogram, 99.9d) + nl());
+
+            DurationHistogramSnapshot rows = entry.getResultSizeSnapshot();
+            if (rows.getCount() > 0) {
+                sb.append("avgRows: " + formatMean(rows) + nl());
+                sb.append("p50Rows: " + formatPercentile(rows, 50.0d) + nl());
+                sb.append("p99Rows: " + formatPercentile(rows, 99.0d) + nl());
+                sb.append("maxRows: " + rows.getMax() + nl());
+            }
             sb.append(nl());
 
             List<DurationAwareStatisticsEntry> topDurationList = StatisticsCollectionUtils.
@@ -246,11 +255,16 @@ public class SimpleStatisticsCollectionPrinter {
             sb.append("<table border=\"1\" cellpadding=\"2px\"><tr>");
             sb.append("<td><b>identifier</b></td>");
             sb.append("<td><b>invocations</b></td>");
+            sb.append("<td><b>errors</b></td>");
             sb.append("<td><b>minDuration</b></td>");
             sb.append("<td><b>maxDuration</b></td>");
             if (calcAverageDuration) {
                 sb.append("<td><b>avgDuration</b></td>");
             }
+            sb.append("<td><b>p50</b></td>");
+            sb.append("<td><b>p90</b></td>");
+            sb.append("<td><b>p99</b></td>");
+            sb.append("<td><b>p999</b></td>");
             sb.append("</tr>");
         }
     }
@@ -264,6 +278,8 @@ public class SimpleStatisticsCollectionPrinter {
             sb.append("<tr><td><b>duration</b></td>");
             sb.append("<td><b>creation</b></td>");
             sb.append("<td><b>completion</b></td>");
+            sb.append("<td><b>outcome</b></td>");
+            sb.append("<td><b>rows</b></td>");
             sb.append("<td><b>origin</b></td></tr>");
         }
     }
@@ -317,34 +333,45 @@ public class SimpleStatisticsCollectionPrinter {
                 maxDurationDate = formatDate(maxEntry.getCreationDate());
             }
 
-            // calculate average duration millis
+            // average duration and percentiles over all recorded durations
+            DurationHistogramSnapshot histogram = entry.getDurationHistogram().getSnapshot();
             String avgDuration = "";
             if (calcAverageDuration) {
-                Long avgDurationValue = StatisticsCollectionUtils.getAverageDuration(
-                        entry.getRecentStatisticsEntriesReadOnly());
-                if (avgDuration != null) {
-                    avgDuration = String.valueOf(avgDurationValue);
-                }
+                avgDuration = formatMean(histogram);
             }
+            String p50 = formatPercentile(histogram, 50.0d);
+            String p90 = formatPercentile(histogram, 90.0d);
+            String p99 = formatPercentile(histogram, 99.0d);
+            String p999 = formatPercentile(histogram, 99.9d);
 
             if (isHtml()) {
                 sb.append("<tr>");
                 sb.append("<td>" + identifier + "</td>");
                 sb.append("<td>" + entry.getNumberOfInvocations() + "</td>");
+                sb.append("<td>" + entry.getNumberOfErrors() + "</td>");
                 sb.append("<td>" + minDurationMillis + " (" + minDurationDate + ")" + "</td>");
                 sb.append("<td>" + maxDurationMillis + " (" + maxDurationDate + ")" + "</td>");
                 if (calcAverageDuration) {
                     sb.append("<td>" + avgDuration + "</td>");
                 }
+                sb.append("<td>" + p50 + "</td>");
+                sb.append("<td>" + p90 + "</td>");
+                sb.append("<td>" + p99 + "</td>");
+                sb.append("<td>" + p999 + "</td>");
                 sb.append("</tr>");
             } else {
                 sb.append(identifier).append(":");
                 sb.append(" invocations=" + entry.getNumberOfInvocations());
+                sb.append(" errors=" + entry.getNumberOfErrors());
                 sb.append(" minDuration=" + minDurationMillis + " (" + minDurationDate + ")");
                 sb.append(" maxDuration=" + maxDurationMillis + " (" + maxDurationDate + ")");
                 if (calcAverageDuration) {
                     sb.append(" avgDuration=" + avgDuration);
                 }
+                sb.append(" p50=" + p50);
+                sb.append(" p90=" + p90);
+                sb.append(" p99=" + p99);
+                sb.append(" p999=" + p999);
                 sb.append(nl());
             }
         }
@@ -367,22 +394,52 @@ public class SimpleStatisticsCollectionPrinter {
 
             String origin = StringUtils.defaultString(entry.getOrigin());
 
+            String outcome = "";
+            if (entry.getOutcome() != null) {
+                outcome = entry.getOutcome().toString();
+                if (entry.getExceptionClassName() != null) {
+                    outcome += " (" + entry.getExceptionClassName() + ")";
+                }
+            }
+            String rows = (entry.hasResultSize() ? entry.getResultSize().toString() : "");
+
             if (isHtml()) {
                 sb.append("<tr>");
                 sb.append("<td>" + (StringUtils.isEmpty(duration) ? NBSP : duration) + "</td>");
                 sb.append("<td>" + (StringUtils.isEmpty(creationDate) ? NBSP : creationDate) + "</td>");
                 sb.append("<td>" + (StringUtils.isEmpty(completionDate) ? NBSP : completionDate) + "</td>");
+                sb.append("<td>" + (StringUtils.isEmpty(outcome) ? NBSP : outcome) + "</td>");
+                sb.append("<td>" + (StringUtils.isEmpty(rows) ? NBSP : rows) + "</td>");
                 sb.append("<td>" + (StringUtils.isEmpty(origin) ? NBSP : origin) + "</td>");
                 sb.append("</tr>");
             } else {
                 sb.append(" duration: " + duration);
                 sb.append(" creation: " + creationDate);
                 sb.append(" completion: " + completionDate);
+                sb.append(" outcome: " + outcome);
+                sb.append(" rows: " + rows);
                 sb.append(" origin: " + origin + nl());
             }
         }
     }
 
+    /**
+     * @param histogram The histogram snapshot.
+     * @return Returns the (rounded) mean duration or an empty string if no durations are recorded.
+     */
+    private String formatMean(DurationHistogramSnapshot histogram) {
+        return (histogram.getCount() == 0 ? "" : String.valueOf(Math.round(histogram.getMean())));
+    }
+
+    /**
+     * @param histogram The histogram snapshot.
+     * @param percentile The percentile.
+     * @return Returns the duration at the given percentile or an empty string if no durations are recorded.
+     */
+    private String formatPercentile(DurationHistogramSnapshot histogram, double percentile) {
+        return (histogram.getCount() == 0 ? "" : String.valueOf(histogram.getValueAtPercentile(percentile)));
+    }
+
     /**
      * @param date The date to format.
      * @return Returns the date as string.
@@ -41,6 +41,20 @@ public interface StatisticsCollection extends Serializable {
      */
     StatisticsCollectionEntry get(String identifier);
 
+    /**
+     * @param identifier The identifier.
+     * @return Returns a snapshot of the duration histogram (providing count, mean and percentiles) for the given
+     *         identifier or {@code null} if there is no such identifier.
+     */
+    DurationHistogramSnapshot getDurationHistogramSnapshot(String identifier);
+
+    /**
+     * @param identifier The identifier.
+     * @return Returns a snapshot of the result size histogram (rows per call) for the given identifier or
+     *         {@code null} if there is no such identifier.
+     */
+    DurationHistogramSnapshot getResultSizeHistogramSnapshot(String identifier);
+
     /**
      * @return Returns a read only map of {@link StatisticsCollectionEntry} objects.
      */
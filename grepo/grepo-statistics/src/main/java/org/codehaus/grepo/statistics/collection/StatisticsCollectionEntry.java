@@ -44,7 +44,8 @@ public interface StatisticsCollectionEntry extends Serializable {
             Integer maxNumberOfTopDurationStatisticsEntries);
 
     /**
-     * @return Returns a read-only list of recent {@link StatisticsEntry} objects.
+     * @return Returns a read-only list of recent {@link StatisticsEntry} objects. Implementations may return a
+     *         snapshot rather than a live view.
      */
     List<StatisticsEntry> getRecentStatisticsEntriesReadOnly();
 
@@ -54,7 +55,8 @@ public interface StatisticsCollectionEntry extends Serializable {
     List<StatisticsEntry> getRecentStatisticsEntriesList();
 
     /**
-     * @return Returns a read-only list of top duration {@link StatisticsEntry} objects.
+     * @return Returns a read-only list of top duration {@link StatisticsEntry} objects. Implementations may return a
+     *         snapshot rather than a live view.
      */
     List<DurationAwareStatisticsEntry> getTopDurationStatisticsEntriesReadOnly();
 
@@ -68,6 +70,11 @@ public interface StatisticsCollectionEntry extends Serializable {
      */
     long getNumberOfInvocations();
 
+    /**
+     * @return Returns the number of failed invocations.
+     */
+    long getNumberOfErrors();
+
     /**
      * @return Returns the top max duration statistics entry.
      */
@@ -77,4 +84,14 @@ public interface StatisticsCollectionEntry extends Serializable {
      * @return Returns the top min duration statistics entry.
      */
     DurationAwareStatisticsEntry getMinDurationStatisticsEntry();
+
+    /**
+     * @return Returns the histogram of all recorded durations (over the lifetime of this entry).
+     */
+    DurationHistogram getDurationHistogram();
+
+    /**
+     * @return Returns an immutable snapshot of all recorded result sizes (rows per call).
+     */
+    DurationHistogramSnapshot getResultSizeSnapshot();
 }
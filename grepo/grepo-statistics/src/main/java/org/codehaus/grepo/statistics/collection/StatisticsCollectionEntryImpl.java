@@ -1,5 +1,5 @@
 /*
- * Copyright 2010 Grepo Committers.
+ * Copyright 2009 Grepo Committers.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -20,28 +20,57 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.codehaus.grepo.statistics.domain.DurationAwareStatisticsEntry;
 import org.codehaus.grepo.statistics.domain.StatisticsEntry;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 /**
+ * Thread-safe implementation of {@link StatisticsCollectionEntry}.
+ * <p>
+ * The number of invocations as well as the min/max duration entries are maintained lock-free. Recent entries are
+ * kept in a {@link StatisticsEntryRingBuffer}. Top duration entries are kept in a bounded min-heap, which is only
+ * locked if a new entry is actually slower than the fastest entry in the (full) heap. Additionally all durations are
+ * recorded in a {@link DurationHistogram}.
+ * <p>
+ * If no max number of recent or top duration entries is given, {@link #DEFAULT_MAX_NUMBER_OF_ENTRIES} is used.
+ *
  * @author dguggi
  */
-public class StatisticsCollectionEntryImpl implements StatisticsCollectionEntry {
+public class StatisticsCollectionEntryImpl implements CountingStatisticsCollectionEntry {
 
     private static final long serialVersionUID = 9122661088316356000L;
 
-    private static final Logger logger = LoggerFactory.getLogger(StatisticsCollectionEntryImpl.class);
+    /** The max number of recent/top duration entries used if none is specified. */
+    public static final int DEFAULT_MAX_NUMBER_OF_ENTRIES = 1000;
+
+    private final AtomicLong numberOfInvocations = new AtomicLong();
+
+    private final AtomicReference<StatisticsEntryRingBuffer> recentStatisticsEntries =
+        new AtomicReference<StatisticsEntryRingBuffer>();
+
+    /** Min-heap of the top duration entries (guarded by itself). */
+    private final PriorityQueue<DurationAwareStatisticsEntry> topDurationStatisticsEntries =
+        new PriorityQueue<DurationAwareStatisticsEntry>(11, StatisticsEntryComparator.DURATION_MILLIS_ASC);
+
+    /** The duration an entry has to exceed to get into the full heap, or {@code -1} if the heap is not full. */
+    private volatile long topDurationThreshold = -1L;
+
+    /** The capacity the {@code topDurationThreshold} was computed for. */
+    private volatile int topDurationCapacity;
 
-    private List<StatisticsEntry> recentStatisticsEntries = new ArrayList<StatisticsEntry>(10);
-    private List<DurationAwareStatisticsEntry> topDurationStatisticsEntries = //
-            new ArrayList<DurationAwareStatisticsEntry>(10);
+    private final AtomicReference<DurationAwareStatisticsEntry> maxDurationStatisticsEntry =
+        new AtomicReference<DurationAwareStatisticsEntry>();
+    private final AtomicReference<DurationAwareStatisticsEntry> minDurationStatisticsEntry =
+        new AtomicReference<DurationAwareStatisticsEntry>();
 
-    private long numberOfInvocations = 0L;
-    private DurationAwareStatisticsEntry maxDurationStatisticsEntry;
-    private DurationAwareStatisticsEntry minDurationStatisticsEntry;
+    private final DurationHistogram durationHistogram = new DurationHistogram();
+
+    private final AtomicLong numberOfErrors = new AtomicLong();
+
+    private final DurationHistogram resultSizeHistogram = new DurationHistogram();
 
     /**
      * {@inheritDoc}
@@ -50,6 +79,8 @@ public class StatisticsCollectionEntryImpl implements StatisticsCollectionEntry
             Integer maxNumberOfTopDurationStatisticsEntries) {
         incrementNrOfInvocations(entry);
 
+        handleOutcome(entry);
+
         handleRecentStatisticsEntries(entry, maxNumberOfRecentStatisticsEntries);
 
         if (entry instanceof DurationAwareStatisticsEntry) {
@@ -59,17 +90,46 @@ public class StatisticsCollectionEntryImpl implements StatisticsCollectionEntry
 
             handleMinDurationStatisticsEntry(daEntry);
 
+            recordDuration(daEntry);
+
             handleTopDurationStatisticsEntries(daEntry, maxNumberOfTopDurationStatisticsEntries);
         }
 
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    public void countStatisticsEntry(StatisticsEntry entry) {
+        incrementNrOfInvocations(entry);
+
+        handleOutcome(entry);
+
+        if (entry instanceof DurationAwareStatisticsEntry) {
+            recordDuration((DurationAwareStatisticsEntry)entry);
+        }
+    }
+
     /**
      * @param entry The entry.
      */
     protected void incrementNrOfInvocations(StatisticsEntry entry) {
         if (entry != null) {
-            numberOfInvocations += 1;
+            numberOfInvocations.incrementAndGet();
+        }
+    }
+
+    /**
+     * @param entry The entry.
+     */
+    protected void handleOutcome(StatisticsEntry entry) {
+        if (entry != null) {
+            if (entry.isFailure()) {
+                numberOfErrors.incrementAndGet();
+            }
+            if (entry.hasResultSize()) {
+                resultSizeHistogram.record(entry.getResultSize());
+            }
         }
     }
 
@@ -78,12 +138,14 @@ public class StatisticsCollectionEntryImpl implements StatisticsCollectionEntry
      */
     protected void handleMaxDurationStatisticsEntry(DurationAwareStatisticsEntry entry) {
         if (entry != null && entry.hasDurationMillis()) {
-            // set top max duration statistics entry...
-            if (maxDurationStatisticsEntry == null) {
-                maxDurationStatisticsEntry = entry;
-            } else if (maxDurationStatisticsEntry.getDurationMillis() < entry.getDurationMillis()) {
-                maxDurationStatisticsEntry = entry;
-            }
+            long duration = entry.getDurationMillis();
+            DurationAwareStatisticsEntry current = null;
+            do {
+                current = maxDurationStatisticsEntry.get();
+                if (current != null && current.getDurationMillis() >= duration) {
+                    return;
+                }
+            } while (!maxDurationStatisticsEntry.compareAndSet(current, entry));
         }
     }
 
@@ -92,13 +154,23 @@ public class StatisticsCollectionEntryImpl implements StatisticsCollectionEntry
      */
     protected void handleMinDurationStatisticsEntry(DurationAwareStatisticsEntry entry) {
         if (entry != null && entry.hasDurationMillis()) {
-            if (minDurationStatisticsEntry == null) {
-                minDurationStatisticsEntry = entry;
-            } else {
-                if (minDurationStatisticsEntry.getDurationMillis() > entry.getDurationMillis()) {
-                    minDurationStatisticsEntry = entry;
+            long duration = entry.getDurationMillis();
+            DurationAwareStatisticsEntry current = null;
+            do {
+                current = minDurationStatisticsEntry.get();
+                if (current != null && current.getDurationMillis() <= duration) {
+                    return;
                 }
-            }
+            } while (!minDurationStatisticsEntry.compareAndSet(current, entry));
+        }
+    }
+
+    /**
+     * @param entry The entry.
+     */
+    protected void recordDuration(DurationAwareStatisticsEntry entry) {
+        if (entry != null && entry.hasDurationMillis()) {
+            durationHistogram.record(entry.getDurationMillis());
         }
     }
 
@@ -109,20 +181,28 @@ public class StatisticsCollectionEntryImpl implements StatisticsCollectionEntry
     protected void handleTopDurationStatisticsEntries(DurationAwareStatisticsEntry entry,
             Integer maxNumberOfTopDurationStatisticsEntries) {
         if (entry != null && entry.hasDurationMillis()) {
-            if (maxNumberOfTopDurationStatisticsEntries == null) {
-                topDurationStatisticsEntries.add(entry);
-            } else {
-                if (maxNumberOfTopDurationStatisticsEntries > topDurationStatisticsEntries.size()) {
-                    topDurationStatisticsEntries.add(entry);
+            int capacity = getCapacity(maxNumberOfTopDurationStatisticsEntries);
+            long duration = entry.getDurationMillis();
+
+            // fast path: the heap is full and the entry is not slower than the fastest entry in the heap...
+            long threshold = topDurationThreshold;
+            if (threshold >= 0 && capacity == topDurationCapacity && duration <= threshold) {
+                return;
+            }
+
+            synchronized (topDurationStatisticsEntries) {
+                if (capacity > 0) {
+                    topDurationStatisticsEntries.offer(entry);
+                }
+                while (topDurationStatisticsEntries.size() > capacity) {
+                    topDurationStatisticsEntries.poll();
+                }
+
+                topDurationCapacity = capacity;
+                if (capacity > 0 && topDurationStatisticsEntries.size() >= capacity) {
+                    topDurationThreshold = topDurationStatisticsEntries.peek().getDurationMillis();
                 } else {
-                    DurationAwareStatisticsEntry min = StatisticsCollectionUtils.getMinDurationEntry(
-                        topDurationStatisticsEntries);
-                    if (min != null && min.getDurationMillis() < entry.getDurationMillis()) {
-                        topDurationStatisticsEntries.add(entry);
-
-                        // ensure top duration statistics entries max-size...
-                        ensureTopDurationStatisticsEntriesSize(maxNumberOfTopDurationStatisticsEntries);
-                    }
+                    topDurationThreshold = -1L;
                 }
             }
         }
@@ -134,89 +214,84 @@ public class StatisticsCollectionEntryImpl implements StatisticsCollectionEntry
      */
     protected void handleRecentStatisticsEntries(StatisticsEntry entry, Integer maxNumberOfRecentStatisticsEntries) {
         if (entry != null) {
-            if (maxNumberOfRecentStatisticsEntries == null) {
-                recentStatisticsEntries.add(entry);
+            int capacity = getCapacity(maxNumberOfRecentStatisticsEntries);
+            if (capacity > 0) {
+                getRecentStatisticsEntriesBuffer(capacity).add(entry);
             } else {
-                if (maxNumberOfRecentStatisticsEntries > recentStatisticsEntries.size()) {
-                    recentStatisticsEntries.add(entry);
-                } else {
-                    recentStatisticsEntries.add(entry);
+                recentStatisticsEntries.set(null);
+            }
+        }
+    }
 
-                    // ensure recent statistics entries max-size...
-                    ensureRecentStatisticsEntriesSize(maxNumberOfRecentStatisticsEntries);
-                }
+    /**
+     * Returns the ring buffer for recent entries with the given {@code capacity}. If the current buffer has a
+     * different capacity (because the max number of recent entries has been changed), it is replaced by a new buffer
+     * which contains the most recent entries of the old one.
+     *
+     * @param capacity The capacity.
+     * @return Returns the buffer.
+     */
+    protected StatisticsEntryRingBuffer getRecentStatisticsEntriesBuffer(int capacity) {
+        StatisticsEntryRingBuffer buffer = recentStatisticsEntries.get();
+        while (buffer == null || buffer.getCapacity() != capacity) {
+            StatisticsEntryRingBuffer resized = new StatisticsEntryRingBuffer(capacity);
+            if (buffer != null) {
+                resized.addAll(buffer.toList());
+            }
+            if (recentStatisticsEntries.compareAndSet(buffer, resized)) {
+                return resized;
             }
+            buffer = recentStatisticsEntries.get();
         }
+        return buffer;
     }
 
     /**
-     * This method ensures that {@code topDurationStatisticsEntries} does not exceed the given {@code
-     * maxNumberOfTopDurationStatisticsEntries} by removing the appropriate items from {@code
-     * topDurationStatisticsEntries}.<br/>
-     * <br/>
-     * <b>Note:</b> This method does not perform any synchronization - subclasses may to override this method and
-     * provide desired synchronization mechanisms.
+     * @param maxNumberOfEntries The max number of entries (may be {@code null}).
+     * @return Returns the capacity to use.
+     */
+    protected int getCapacity(Integer maxNumberOfEntries) {
+        if (maxNumberOfEntries == null) {
+            return DEFAULT_MAX_NUMBER_OF_ENTRIES;
+        }
+        return Math.max(0, maxNumberOfEntries);
+    }
+
+    /**
+     * This method ensures that the top duration statistics entries do not exceed the given {@code
+     * maxNumberOfTopDurationStatisticsEntries} by removing the fastest entries.
      *
      * @param maxNumberOfTopDurationStatisticsEntries The max number of top duration statistics entries.
+     * @deprecated The size is maintained by {@link #handleTopDurationStatisticsEntries(DurationAwareStatisticsEntry,
+     *             Integer)}, this method is not invoked anymore.
      */
+    @Deprecated
     protected void ensureTopDurationStatisticsEntriesSize(int maxNumberOfTopDurationStatisticsEntries) {
-        try {
-            if (topDurationStatisticsEntries.size() > maxNumberOfTopDurationStatisticsEntries) {
-                // list contains too many entries...
-                int nrOfEntriesToRemove = Math.max(0,
-                    (topDurationStatisticsEntries.size() - maxNumberOfTopDurationStatisticsEntries));
-                DurationAwareStatisticsEntry min = null;
-                for (int i = 0; i < nrOfEntriesToRemove; i++) {
-                    min = StatisticsCollectionUtils.getMinDurationEntry(topDurationStatisticsEntries);
-                    if (min != null) {
-                        topDurationStatisticsEntries.remove(min);
-                    }
-
-                    // Note: we use this, because there is no synchronization, just to ensure
-                    // we do not delete too much entries from list...
-                    if (topDurationStatisticsEntries.size() <= maxNumberOfTopDurationStatisticsEntries) {
-                        break;
-                    }
-                }
+        int capacity = Math.max(0, maxNumberOfTopDurationStatisticsEntries);
+        synchronized (topDurationStatisticsEntries) {
+            while (topDurationStatisticsEntries.size() > capacity) {
+                topDurationStatisticsEntries.poll();
             }
-        } catch (Exception e) {
-            logger.warn("Unable to ensureTopDurationStatisticsEntriesSize: " + e.getMessage(), e);
+            topDurationThreshold = -1L;
         }
     }
 
     /**
-     * This method ensures that {@code recentStatisticsEntries} does not exceed the given {@code
-     * maxNumberOfRecentStatisticsEntries} by removing the appropriate items from {@code recentStatisticsEntries}.<br/>
-     * <br/>
-     * <b>Note:</b> This method does not perform any synchronization - subclasses may to override this method and
-     * provide desired synchronization mechanisms.
+     * This method ensures that the recent statistics entries do not exceed the given {@code
+     * maxNumberOfRecentStatisticsEntries} by removing the oldest entries.
      *
-     * @param maxNumberOfRecentStatisticsEntries The max number of top recent entries.
+     * @param maxNumberOfRecentStatisticsEntries The max number of recent entries.
+     * @deprecated The size is maintained by the {@link StatisticsEntryRingBuffer}, this method is not invoked anymore.
      */
+    @Deprecated
     protected void ensureRecentStatisticsEntriesSize(int maxNumberOfRecentStatisticsEntries) {
-        try {
-            if (recentStatisticsEntries.size() > maxNumberOfRecentStatisticsEntries) {
-                // list contains too many entries...
-                int nrOfEntriesToRemove = Math.max(0,
-                    (recentStatisticsEntries.size() - maxNumberOfRecentStatisticsEntries));
-                StatisticsEntry oldest = null;
-                for (int i = 0; i < nrOfEntriesToRemove; i++) {
-                    if (!recentStatisticsEntries.isEmpty()) {
-                        oldest = recentStatisticsEntries.get(0);
-                    }
-                    if (oldest != null) {
-                        recentStatisticsEntries.remove(oldest);
-                    }
-
-                    // Note: we use this, because there is no synchronization, just to ensure
-                    // we do not delete too much entries from list...
-                    if (recentStatisticsEntries.size() <= maxNumberOfRecentStatisticsEntries) {
-                        break;
-                    }
-                }
+        StatisticsEntryRingBuffer buffer = recentStatisticsEntries.get();
+        if (buffer != null && buffer.size() > maxNumberOfRecentStatisticsEntries) {
+            if (maxNumberOfRecentStatisticsEntries > 0) {
+                getRecentStatisticsEntriesBuffer(maxNumberOfRecentStatisticsEntries);
+            } else {
+                recentStatisticsEntries.set(null);
             }
-        } catch (Exception e) {
-            logger.warn("Unable to ensureRecentStatisticsEntriesSize: " + e.getMessage(), e);
         }
     }
 
@@ -232,67 +307,102 @@ public class StatisticsCollectionEntryImpl implements StatisticsCollectionEntry
 
     /**
      * {@inheritDoc}
+     * <p>
+     * <b>Note:</b> The returned list is a read-only snapshot, it does not reflect entries added afterwards.
      */
     public List<StatisticsEntry> getRecentStatisticsEntriesReadOnly() {
-        return Collections.unmodifiableList(recentStatisticsEntries);
+        return Collections.unmodifiableList(getRecentStatisticsEntriesList());
     }
 
     /**
      * {@inheritDoc}
      */
     public List<StatisticsEntry> getRecentStatisticsEntriesList() {
-        return new ArrayList<StatisticsEntry>(recentStatisticsEntries);
+        StatisticsEntryRingBuffer buffer = recentStatisticsEntries.get();
+        if (buffer == null) {
+            return new ArrayList<StatisticsEntry>();
+        }
+        return buffer.toList();
     }
 
+    /**
+     * @return Returns a snapshot of the recent statistics entries.
+     * @deprecated The entries are no longer kept in a list which could be modified directly, use
+     *             {@link #getRecentStatisticsEntriesList()} instead.
+     */
+    @Deprecated
     protected List<StatisticsEntry> getRecentStatisticsEntries() {
-        return recentStatisticsEntries;
-    }
-
-    protected void setRecentStatisticsEntries(List<StatisticsEntry> recentStatisticsEntries) {
-        this.recentStatisticsEntries = recentStatisticsEntries;
+        return getRecentStatisticsEntriesList();
     }
 
     /**
      * {@inheritDoc}
+     * <p>
+     * <b>Note:</b> The returned list is a read-only snapshot, it does not reflect entries added afterwards.
      */
     public List<DurationAwareStatisticsEntry> getTopDurationStatisticsEntriesReadOnly() {
-        return Collections.unmodifiableList(topDurationStatisticsEntries);
+        return Collections.unmodifiableList(getTopDurationStatisticsEntriesList());
     }
 
     /**
      * {@inheritDoc}
      */
     public List<DurationAwareStatisticsEntry> getTopDurationStatisticsEntriesList() {
-        return new ArrayList<DurationAwareStatisticsEntry>(topDurationStatisticsEntries);
+        synchronized (topDurationStatisticsEntries) {
+            return new ArrayList<DurationAwareStatisticsEntry>(topDurationStatisticsEntries);
+        }
     }
 
+    /**
+     * @return Returns a snapshot of the top duration statistics entries.
+     * @deprecated The entries are no longer kept in a list which could be modified directly, use
+     *             {@link #getTopDurationStatisticsEntriesList()} instead.
+     */
+    @Deprecated
     protected List<DurationAwareStatisticsEntry> getTopDurationStatisticsEntries() {
-        return topDurationStatisticsEntries;
-    }
-
-    protected void setTopDurationStatisticsEntries(List<DurationAwareStatisticsEntry> topDurationStatisticsEntries) {
-        this.topDurationStatisticsEntries = topDurationStatisticsEntries;
+        return getTopDurationStatisticsEntriesList();
     }
 
     /**
      * {@inheritDoc}
      */
     public long getNumberOfInvocations() {
-        return numberOfInvocations;
+        return numberOfInvocations.get();
     }
 
     /**
      * {@inheritDoc}
      */
     public DurationAwareStatisticsEntry getMaxDurationStatisticsEntry() {
-        return maxDurationStatisticsEntry;
+        return maxDurationStatisticsEntry.get();
     }
 
     /**
      * {@inheritDoc}
      */
     public DurationAwareStatisticsEntry getMinDurationStatisticsEntry() {
-        return minDurationStatisticsEntry;
+        return minDurationStatisticsEntry.get();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public DurationHistogram getDurationHistogram() {
+        return durationHistogram;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public long getNumberOfErrors() {
+        return numberOfErrors.get();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public DurationHistogramSnapshot getResultSizeSnapshot() {
+        return resultSizeHistogram.getSnapshot();
     }
 
 }
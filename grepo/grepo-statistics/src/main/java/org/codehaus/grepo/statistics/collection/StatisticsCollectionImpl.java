@@ -18,39 +18,73 @@ package org.codehaus.grepo.statistics.collection;
 
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.codehaus.grepo.statistics.domain.StatisticsEntry;
 
 /**
+ * Thread-safe implementation of {@link StatisticsCollection}. Collection entries are held in a
+ * {@link ConcurrentHashMap} keyed by identifier, so adding entries for different identifiers does not contend.
+ *
  * @author dguggi
  */
-public class StatisticsCollectionImpl implements StatisticsCollection {
+public class StatisticsCollectionImpl implements CountingStatisticsCollection {
 
     private static final long serialVersionUID = 8116130509981679653L;
 
-    private Map<String, StatisticsCollectionEntry> collectionEntries = new HashMap<String, StatisticsCollectionEntry>();
-    private Integer maxNumberOfTopDurationStatisticsEntries;
-    private Integer maxNumberOfRecentStatisticsEntries;
+    private final ConcurrentMap<String, StatisticsCollectionEntry> collectionEntries =
+        new ConcurrentHashMap<String, StatisticsCollectionEntry>();
+    private volatile Integer maxNumberOfTopDurationStatisticsEntries;
+    private volatile Integer maxNumberOfRecentStatisticsEntries;
 
     /**
      * {@inheritDoc}
      */
     public void addStatisticsEntry(StatisticsEntry entry) {
-        StatisticsCollectionEntry collectionEntry = collectionEntries.get(entry.getIdentifier());
-        if (collectionEntry == null) {
-            collectionEntry = new StatisticsCollectionEntryImpl();
-            collectionEntry.addStatisticsEntry(entry, maxNumberOfRecentStatisticsEntries,
-                maxNumberOfTopDurationStatisticsEntries);
-            collectionEntries.put(entry.getIdentifier(), collectionEntry);
+        StatisticsCollectionEntry collectionEntry = getOrCreateCollectionEntry(entry.getIdentifier());
+        collectionEntry.addStatisticsEntry(entry, maxNumberOfRecentStatisticsEntries,
+            maxNumberOfTopDurationStatisticsEntries);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void countStatisticsEntry(StatisticsEntry entry) {
+        StatisticsCollectionEntry collectionEntry = getOrCreateCollectionEntry(entry.getIdentifier());
+        if (collectionEntry instanceof CountingStatisticsCollectionEntry) {
+            ((CountingStatisticsCollectionEntry)collectionEntry).countStatisticsEntry(entry);
         } else {
             collectionEntry.addStatisticsEntry(entry, maxNumberOfRecentStatisticsEntries,
                 maxNumberOfTopDurationStatisticsEntries);
         }
     }
 
+    /**
+     * @param identifier The identifier.
+     * @return Returns the {@link StatisticsCollectionEntry} for the given identifier (which is created if necessary).
+     */
+    protected StatisticsCollectionEntry getOrCreateCollectionEntry(String identifier) {
+        StatisticsCollectionEntry collectionEntry = collectionEntries.get(identifier);
+        if (collectionEntry == null) {
+            StatisticsCollectionEntry created = createCollectionEntry();
+            collectionEntry = collectionEntries.putIfAbsent(identifier, created);
+            if (collectionEntry == null) {
+                collectionEntry = created;
+            }
+        }
+        return collectionEntry;
+    }
+
+    /**
+     * @return Returns a new (empty) {@link StatisticsCollectionEntry}.
+     */
+    protected StatisticsCollectionEntry createCollectionEntry() {
+        return new StatisticsCollectionEntryImpl();
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -58,6 +92,22 @@ public class StatisticsCollectionImpl implements StatisticsCollection {
         return collectionEntries.get(identifier);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    public DurationHistogramSnapshot getDurationHistogramSnapshot(String identifier) {
+        StatisticsCollectionEntry entry = collectionEntries.get(identifier);
+        return (entry == null ? null : entry.getDurationHistogram().getSnapshot());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public DurationHistogramSnapshot getResultSizeHistogramSnapshot(String identifier) {
+        StatisticsCollectionEntry entry = collectionEntries.get(identifier);
+        return (entry == null ? null : entry.getResultSizeSnapshot());
+    }
+
     /**
      * {@inheritDoc}
      */
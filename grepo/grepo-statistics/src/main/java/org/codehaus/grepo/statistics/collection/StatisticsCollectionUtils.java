@@ -31,6 +31,21 @@ public final class StatisticsCollectionUtils {
     private StatisticsCollectionUtils() {
     }
 
+    /**
+     * Counts the given (not sampled) entry using the given strategy. If the strategy is not able to count entries,
+     * the entry is completed instead.
+     *
+     * @param strategy The strategy.
+     * @param entry The entry to count.
+     */
+    public static void countStatistics(StatisticsCollectionStrategy strategy, StatisticsEntry entry) {
+        if (strategy instanceof CountingStatisticsCollectionStrategy) {
+            ((CountingStatisticsCollectionStrategy)strategy).countStatistics(entry);
+        } else {
+            strategy.completeStatistics(entry);
+        }
+    }
+
     /**
      * @param collection The collection.
      * @return Returns a sorted list of Strings.
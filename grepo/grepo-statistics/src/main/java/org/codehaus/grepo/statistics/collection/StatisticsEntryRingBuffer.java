@@ -0,0 +1,110 @@
+/*
+ * Copyright 2009 Grepo Committers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.codehaus.grepo.statistics.collection;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.codehaus.grepo.statistics.domain.StatisticsEntry;
+
+/**
+ * A lock-free ring buffer holding the most recently added {@link StatisticsEntry} objects. Once the buffer is full,
+ * each added entry overwrites the oldest one.
+ * <p>
+ * Adding an entry costs one atomic increment and one volatile write. Snapshots taken while other threads are adding
+ * entries are best-effort, i.e. they may miss entries which are being written concurrently.
+ *
+ * @author dguggi
+ */
+public class StatisticsEntryRingBuffer implements Serializable {
+
+    private static final long serialVersionUID = -2178843457467394372L;
+
+    /** The slots. */
+    private final AtomicReferenceArray<StatisticsEntry> slots;
+
+    /** The sequence of the next entry to add. */
+    private final AtomicLong sequence = new AtomicLong();
+
+    /**
+     * @param capacity The capacity (must be greater than zero).
+     */
+    public StatisticsEntryRingBuffer(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be greater than zero");
+        }
+        this.slots = new AtomicReferenceArray<StatisticsEntry>(capacity);
+    }
+
+    /**
+     * @param entry The entry to add.
+     */
+    public void add(StatisticsEntry entry) {
+        long seq = sequence.getAndIncrement();
+        slots.set((int)(seq % slots.length()), entry);
+    }
+
+    /**
+     * @param entries The entries to add (in order).
+     */
+    public void addAll(List<StatisticsEntry> entries) {
+        for (StatisticsEntry entry : entries) {
+            add(entry);
+        }
+    }
+
+    /**
+     * @return Returns a snapshot of the buffered entries, ordered from the oldest to the most recent one.
+     */
+    public List<StatisticsEntry> toList() {
+        long end = sequence.get();
+        long start = Math.max(0L, end - slots.length());
+        List<StatisticsEntry> list = new ArrayList<StatisticsEntry>((int)(end - start));
+        for (long seq = start; seq < end; seq++) {
+            StatisticsEntry entry = slots.get((int)(seq % slots.length()));
+            if (entry != null) {
+                list.add(entry);
+            }
+        }
+        return list;
+    }
+
+    /**
+     * @return Returns the number of buffered entries.
+     */
+    public int size() {
+        return (int)Math.min(sequence.get(), slots.length());
+    }
+
+    /**
+     * @return Returns the capacity.
+     */
+    public int getCapacity() {
+        return slots.length();
+    }
+
+    /**
+     * @return Returns the total number of entries added so far.
+     */
+    public long getTotalAdded() {
+        return sequence.get();
+    }
+
+}
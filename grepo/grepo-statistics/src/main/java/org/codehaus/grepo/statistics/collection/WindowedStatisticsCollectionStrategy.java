@@ -0,0 +1,78 @@
+/*
+ * Copyright 2010 Grepo Committers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.codehaus.grepo.statistics.collection;
+
+import org.codehaus.grepo.statistics.domain.StatisticsEntry;
+import org.springframework.beans.factory.annotation.Required;
+
+/**
+ * Adds completed entries to a {@link RollingStatisticsCollection} and (optionally) passes all entries on to a
+ * delegate strategy, which allows to keep time-windowed statistics in addition to the statistics collected by (for
+ * instance) the {@link InMemoryStatisticsCollectionStrategy}.
+ * <p>
+ * This strategy is not used by default (see {@code grepo-statistics-default.cfg.xml}). To enable it, redefine the
+ * {@code grepo.statisticsCollectionStrategy} bean with this class, a {@link RollingStatisticsCollectionImpl} and the
+ * previous strategy as delegate, and pass the same rolling collection to the {@code StatisticsControllerImpl}.
+ *
+ * @author dguggi
+ */
+public class WindowedStatisticsCollectionStrategy implements CountingStatisticsCollectionStrategy {
+
+    private RollingStatisticsCollection rollingStatisticsCollection;
+
+    /** The delegate strategy (optional). */
+    private StatisticsCollectionStrategy delegate;
+
+    /**
+     * {@inheritDoc}
+     */
+    public void startStatistics(StatisticsEntry entry) {
+        if (delegate != null) {
+            delegate.startStatistics(entry);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void completeStatistics(StatisticsEntry entry) {
+        rollingStatisticsCollection.addStatisticsEntry(entry);
+        if (delegate != null) {
+            delegate.completeStatistics(entry);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void countStatistics(StatisticsEntry entry) {
+        rollingStatisticsCollection.addStatisticsEntry(entry);
+        if (delegate != null) {
+            StatisticsCollectionUtils.countStatistics(delegate, entry);
+        }
+    }
+
+    @Required
+    public void setRollingStatisticsCollection(RollingStatisticsCollection rollingStatisticsCollection) {
+        this.rollingStatisticsCollection = rollingStatisticsCollection;
+    }
+
+    public void setDelegate(StatisticsCollectionStrategy delegate) {
+        this.delegate = delegate;
+    }
+
+}
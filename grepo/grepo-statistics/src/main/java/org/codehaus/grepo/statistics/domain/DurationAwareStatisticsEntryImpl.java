@@ -105,6 +105,7 @@ public class DurationAwareStatisticsEntryImpl extends StatisticsEntryImpl //
     public String toString() {
         return new ToStringBuilder(this).append("identifier", getIdentifier())
             .append("creationDate", getCreationDate()).append("completionDate", getCompletionDate()).append(
-                "durationMillis", getDurationMillis()).append("origin", getOrigin()).toString();
+                "durationMillis", getDurationMillis()).append("origin", getOrigin()).append("outcome", getOutcome())
+            .append("exceptionClassName", getExceptionClassName()).append("resultSize", getResultSize()).toString();
     }
 }
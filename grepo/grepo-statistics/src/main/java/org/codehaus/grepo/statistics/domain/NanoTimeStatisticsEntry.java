@@ -0,0 +1,56 @@
+/*
+ * Copyright 2009 Grepo Committers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.codehaus.grepo.statistics.domain;
+
+/**
+ * A {@link DurationAwareStatisticsEntry} which measures its duration using {@link System#nanoTime()}. Wall-clock
+ * timestamps are only kept as {@code long} millis, {@link java.util.Calendar} objects are created on demand only.
+ *
+ * @author dguggi
+ */
+public interface NanoTimeStatisticsEntry extends DurationAwareStatisticsEntry {
+
+    /**
+     * Starts this entry.
+     *
+     * @param creationMillis The wall-clock creation time in millis.
+     * @param startNanos The start time as returned by {@link System#nanoTime()}.
+     */
+    void start(long creationMillis, long startNanos);
+
+    /**
+     * Completes this entry and calculates its duration. Entries which have not been started are not changed.
+     *
+     * @param endNanos The end time as returned by {@link System#nanoTime()}.
+     */
+    void complete(long endNanos);
+
+    /**
+     * @return Returns the start time as returned by {@link System#nanoTime()}.
+     */
+    long getStartNanos();
+
+    /**
+     * @return Returns the duration in nanos or {@code -1} if the entry has no duration.
+     */
+    long getDurationNanos();
+
+    /**
+     * @return Returns the duration in micros or {@code -1} if the entry has no duration.
+     */
+    long getDurationMicros();
+}
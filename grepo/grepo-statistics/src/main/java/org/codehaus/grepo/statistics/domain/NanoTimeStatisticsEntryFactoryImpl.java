@@ -0,0 +1,83 @@
+/*
+ * Copyright 2009 Grepo Committers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.codehaus.grepo.statistics.domain;
+
+import java.util.Calendar;
+
+import org.apache.commons.lang.StringUtils;
+
+/**
+ * Lightweight {@link StatisticsEntryFactory} which starts {@link NanoTimeStatisticsEntry} objects. Starting an entry
+ * reads {@link System#currentTimeMillis()} and {@link System#nanoTime()} only, no {@link java.util.Calendar} objects
+ * are created and no reflection is used. Entries created via
+ * {@link #createStatisticsEntry(String, java.util.Calendar, String)} are started with the given creation time.
+ *
+ * @author dguggi
+ */
+public class NanoTimeStatisticsEntryFactoryImpl extends StatisticsEntryFactoryImpl {
+
+    /**
+     * Default constructor.
+     */
+    public NanoTimeStatisticsEntryFactoryImpl() {
+        setEntryClass(NanoTimeStatisticsEntryImpl.class);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public StatisticsEntry createStatisticsEntry(String identifier, Calendar creation, String origin) {
+        long creationMillis = (creation == null ? System.currentTimeMillis() : creation.getTimeInMillis());
+        return startStatisticsEntry(identifier, origin, creationMillis);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public StatisticsEntry startStatisticsEntry(String identifier, String origin) {
+        return startStatisticsEntry(identifier, origin, System.currentTimeMillis());
+    }
+
+    /**
+     * @param identifier The identifier.
+     * @param origin The origin (may be {@code null}).
+     * @param creationMillis The creation time in millis.
+     * @return Returns the started entry.
+     */
+    private StatisticsEntry startStatisticsEntry(String identifier, String origin, long creationMillis) {
+        NanoTimeStatisticsEntry entry = createNanoTimeStatisticsEntry();
+        entry.setIdentifier(identifier);
+
+        String originToSet = resolveOrigin(origin);
+        if (StringUtils.isNotEmpty(originToSet)) {
+            entry.setOrigin(originToSet);
+        }
+
+        entry.start(creationMillis, System.nanoTime());
+        return entry;
+    }
+
+    /**
+     * @return Returns a new (not yet started) entry.
+     */
+    protected NanoTimeStatisticsEntry createNanoTimeStatisticsEntry() {
+        return new NanoTimeStatisticsEntryImpl();
+    }
+
+}
@@ -0,0 +1,301 @@
+/*
+ * Copyright 2009 Grepo Committers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.codehaus.grepo.statistics.domain;
+
+import java.util.Calendar;
+import java.util.Date;
+
+import org.apache.commons.lang.builder.ToStringBuilder;
+
+/**
+ * Default implementation of {@link NanoTimeStatisticsEntry}.
+ *
+ * @author dguggi
+ */
+public class NanoTimeStatisticsEntryImpl implements NanoTimeStatisticsEntry {
+
+    private static final long serialVersionUID = 3304875366180411396L;
+
+    private static final long NANOS_PER_MICRO = 1000L;
+
+    private static final long NANOS_PER_MILLI = 1000000L;
+
+    /** Marks an unset value. */
+    private static final long NONE = -1L;
+
+    private String identifier;
+
+    private String origin;
+
+    private long creationMillis = NONE;
+
+    private long completionMillis = NONE;
+
+    private long startNanos;
+
+    private boolean started;
+
+    private long durationNanos = NONE;
+
+    private StatisticsEntryOutcome outcome;
+
+    private String exceptionClassName;
+
+    private long resultSize = NONE;
+
+    /**
+     * {@inheritDoc}
+     */
+    public void start(long creationMillis, long startNanos) {
+        this.creationMillis = creationMillis;
+        this.startNanos = startNanos;
+        started = true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void complete(long endNanos) {
+        if (!started) {
+            return;
+        }
+        durationNanos = Math.max(0L, endNanos - startNanos);
+        if (creationMillis != NONE) {
+            completionMillis = creationMillis + (durationNanos / NANOS_PER_MILLI);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public long getStartNanos() {
+        return startNanos;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public long getDurationMicros() {
+        return (durationNanos == NONE ? NONE : durationNanos / NANOS_PER_MICRO);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void setDurationMillis(Long durationMillis) {
+        durationNanos = (durationMillis == null ? NONE : durationMillis * NANOS_PER_MILLI);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Long getDurationMillis() {
+        return (durationNanos == NONE ? null : Long.valueOf(durationNanos / NANOS_PER_MILLI));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean hasDurationMillis() {
+        return durationNanos != NONE;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void setCreation(Calendar creation) {
+        creationMillis = (creation == null ? NONE : creation.getTimeInMillis());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Calendar getCreation() {
+        return toCalendar(creationMillis);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Date getCreationDate() {
+        return (hasCreation() ? new Date(creationMillis) : null);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Long getCreationMillis() {
+        return (hasCreation() ? Long.valueOf(creationMillis) : null);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean hasCreation() {
+        return creationMillis != NONE;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void setCompletion(Calendar completion) {
+        completionMillis = (completion == null ? NONE : completion.getTimeInMillis());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Calendar getCompletion() {
+        return toCalendar(completionMillis);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Date getCompletionDate() {
+        return (hasCompletion() ? new Date(completionMillis) : null);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Long getCompletionMillis() {
+        return (hasCompletion() ? Long.valueOf(completionMillis) : null);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean hasCompletion() {
+        return completionMillis != NONE;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void setIdentifier(String identifier) {
+        this.identifier = identifier;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public String getIdentifier() {
+        return identifier;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void setOrigin(String origin) {
+        this.origin = origin;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public String getOrigin() {
+        return origin;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void setOutcome(StatisticsEntryOutcome outcome) {
+        this.outcome = outcome;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public StatisticsEntryOutcome getOutcome() {
+        return outcome;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean isFailure() {
+        return outcome == StatisticsEntryOutcome.FAILURE;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void setExceptionClassName(String exceptionClassName) {
+        this.exceptionClassName = exceptionClassName;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public String getExceptionClassName() {
+        return exceptionClassName;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void setResultSize(Long resultSize) {
+        this.resultSize = (resultSize == null ? NONE : resultSize);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Long getResultSize() {
+        return (hasResultSize() ? Long.valueOf(resultSize) : null);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean hasResultSize() {
+        return resultSize != NONE;
+    }
+
+    /**
+     * @param millis The millis.
+     * @return Returns a new calendar for the given millis or {@code null}.
+     */
+    private static Calendar toCalendar(long millis) {
+        if (millis == NONE) {
+            return null;
+        }
+        Calendar calendar = Calendar.getInstance();
+        calendar.setTimeInMillis(millis);
+        return calendar;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this).append("identifier", getIdentifier())
+            .append("creationDate", getCreationDate()).append("completionDate", getCompletionDate()).append(
+                "durationMicros", getDurationMicros()).append("origin", getOrigin()).append("outcome", getOutcome())
+            .append("exceptionClassName", getExceptionClassName()).append("resultSize", getResultSize()).toString();
+    }
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright 2010 Grepo Committers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.codehaus.grepo.statistics.domain;
+
+/**
+ * A {@link StatisticsEntryFactory} which creates entries and records their start time in one step, so that it can
+ * choose the clock to use (see {@link NanoTimeStatisticsEntryFactoryImpl}).
+ *
+ * @author dguggi
+ */
+public interface StartingStatisticsEntryFactory extends StatisticsEntryFactory {
+
+    /**
+     * Creates a new {@link StatisticsEntry} and records its start (creation) time.
+     *
+     * @param identifier The identifier.
+     * @param origin The origin (may be {@code null}).
+     * @return Returns the {@link StatisticsEntry}.
+     */
+    StatisticsEntry startStatisticsEntry(String identifier, String origin);
+}
@@ -68,4 +68,45 @@ public interface StatisticsEntry extends Serializable {
      * @return Returns the origin.
      */
     String getOrigin();
+
+    /**
+     * @param outcome The outcome.
+     */
+    void setOutcome(StatisticsEntryOutcome outcome);
+
+    /**
+     * @return Returns the outcome or {@code null} if unknown.
+     */
+    StatisticsEntryOutcome getOutcome();
+
+    /**
+     * @return Returns {@code true} if the outcome is {@link StatisticsEntryOutcome#FAILURE} and {@code false}
+     *         otherwise.
+     */
+    boolean isFailure();
+
+    /**
+     * @param exceptionClassName The class name of the exception which caused the failure.
+     */
+    void setExceptionClassName(String exceptionClassName);
+
+    /**
+     * @return Returns the class name of the exception which caused the failure (may be {@code null}).
+     */
+    String getExceptionClassName();
+
+    /**
+     * @param resultSize The result size (for instance the number of rows returned or updated).
+     */
+    void setResultSize(Long resultSize);
+
+    /**
+     * @return Returns the result size or {@code null} if unknown.
+     */
+    Long getResultSize();
+
+    /**
+     * @return Returns {@code true} if {@code resultSize} is set and {@code false} otherwise.
+     */
+    boolean hasResultSize();
 }
@@ -25,7 +25,7 @@ import org.codehaus.grepo.core.util.ClassUtils;
 /**
  * @author dguggi
  */
-public class StatisticsEntryFactoryImpl implements StatisticsEntryFactory {
+public class StatisticsEntryFactoryImpl implements StartingStatisticsEntryFactory {
 
     private OriginGenerationStrategy originGenerationStrategy;
     private Class<? extends StatisticsEntry> entryClass = DurationAwareStatisticsEntryImpl.class;
@@ -45,16 +45,32 @@ public class StatisticsEntryFactoryImpl implements StatisticsEntryFactory {
         entry.setIdentifier(identifier);
         entry.setCreation(creation);
 
-        String originToSet = origin;
-        if (StringUtils.isEmpty(originToSet) && originGenerationStrategy != null) {
-            originToSet = originGenerationStrategy.generateOrigin();
-        }
+        String originToSet = resolveOrigin(origin);
         if (StringUtils.isNotEmpty(originToSet)) {
             entry.setOrigin(originToSet);
         }
         return entry;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    public StatisticsEntry startStatisticsEntry(String identifier, String origin) {
+        return createStatisticsEntry(identifier, Calendar.getInstance(), origin);
+    }
+
+    /**
+     * @param origin The origin (may be {@code null}).
+     * @return Returns the given origin, or a generated one if the given origin is empty.
+     */
+    protected String resolveOrigin(String origin) {
+        String originToSet = origin;
+        if (StringUtils.isEmpty(originToSet) && originGenerationStrategy != null) {
+            originToSet = originGenerationStrategy.generateOrigin();
+        }
+        return originToSet;
+    }
+
 
     public void setOriginGenerationStrategy(OriginGenerationStrategy originGenerationStrategy) {
         this.originGenerationStrategy = originGenerationStrategy;
@@ -38,6 +38,15 @@ public class StatisticsEntryImpl implements StatisticsEntry {
     /** The origin. */
     private String origin;
 
+    /** The outcome. */
+    private StatisticsEntryOutcome outcome;
+
+    /** The exception class name. */
+    private String exceptionClassName;
+
+    /** The result size. */
+    private Long resultSize;
+
     /**
      * {@inheritDoc}
      */
@@ -52,6 +61,62 @@ public class StatisticsEntryImpl implements StatisticsEntry {
         this.origin = origin;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    public void setOutcome(StatisticsEntryOutcome outcome) {
+        this.outcome = outcome;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public StatisticsEntryOutcome getOutcome() {
+        return outcome;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean isFailure() {
+        return outcome == StatisticsEntryOutcome.FAILURE;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void setExceptionClassName(String exceptionClassName) {
+        this.exceptionClassName = exceptionClassName;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public String getExceptionClassName() {
+        return exceptionClassName;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void setResultSize(Long resultSize) {
+        this.resultSize = resultSize;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Long getResultSize() {
+        return resultSize;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean hasResultSize() {
+        return resultSize != null;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -113,6 +178,7 @@ public class StatisticsEntryImpl implements StatisticsEntry {
     @Override
     public String toString() {
         return new ToStringBuilder(this).append("identifier", getIdentifier())
-            .append("creationDate", getCreationDate()).append("origin", getOrigin()).toString();
+            .append("creationDate", getCreationDate()).append("origin", getOrigin()).append("outcome", getOutcome())
+            .append("exceptionClassName", getExceptionClassName()).append("resultSize", getResultSize()).toString();
     }
 }
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2010 Grepo Committers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.codehaus.grepo.statistics.metrics;
+
+import java.util.Comparator;
+
+/**
+ * Base class for metrics.
+ *
+ * @author dguggi
+ */
+public abstract class AbstractMetric implements Metric {
+
+    private static final long serialVersionUID = -5640262935738719213L;
+
+    /** Compares metrics by name and identifier. */
+    public static final Comparator<Metric> NAME_IDENTIFIER_ASC = new Comparator<Metric>() {
+        public int compare(Metric o1, Metric o2) {
+            int result = o1.getName().compareTo(o2.getName());
+            return (result == 0 ? o1.getIdentifier().compareTo(o2.getIdentifier()) : result);
+        }
+    };
+
+    private final String name;
+
+    private final String identifier;
+
+    /**
+     * @param name The metric name.
+     * @param identifier The statistics identifier.
+     */
+    protected AbstractMetric(String name, String identifier) {
+        this.name = name;
+        this.identifier = identifier;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public String getIdentifier() {
+        return identifier;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return name + "{" + identifier + "}";
+    }
+}
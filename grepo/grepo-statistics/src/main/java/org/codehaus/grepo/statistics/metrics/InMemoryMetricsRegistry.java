@@ -0,0 +1,170 @@
+/*
+ * Copyright 2010 Grepo Committers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.codehaus.grepo.statistics.metrics;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * An in-process {@link MetricsRegistry} which keeps all metrics in memory.
+ *
+ * @author dguggi
+ */
+public class InMemoryMetricsRegistry implements MetricsRegistry {
+
+    private static final long serialVersionUID = 1792313046934587436L;
+
+    private final ConcurrentMap<MetricKey, MetricsTimer> timers = new ConcurrentHashMap<MetricKey, MetricsTimer>();
+
+    private final ConcurrentMap<MetricKey, MetricsCounter> counters =
+        new ConcurrentHashMap<MetricKey, MetricsCounter>();
+
+    private final ConcurrentMap<MetricKey, MetricsGauge> gauges = new ConcurrentHashMap<MetricKey, MetricsGauge>();
+
+    /**
+     * {@inheritDoc}
+     */
+    public MetricsTimer getTimer(String name, String identifier) {
+        MetricKey key = new MetricKey(name, identifier);
+        MetricsTimer timer = timers.get(key);
+        if (timer == null) {
+            MetricsTimer created = createTimer(name, identifier);
+            timer = timers.putIfAbsent(key, created);
+            if (timer == null) {
+                timer = created;
+            }
+        }
+        return timer;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public MetricsCounter getCounter(String name, String identifier) {
+        MetricKey key = new MetricKey(name, identifier);
+        MetricsCounter counter = counters.get(key);
+        if (counter == null) {
+            MetricsCounter created = createCounter(name, identifier);
+            counter = counters.putIfAbsent(key, created);
+            if (counter == null) {
+                counter = created;
+            }
+        }
+        return counter;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public MetricsGauge registerGauge(MetricsGauge gauge) {
+        MetricsGauge registered = gauges.putIfAbsent(new MetricKey(gauge.getName(), gauge.getIdentifier()), gauge);
+        return (registered == null ? gauge : registered);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public List<MetricsTimer> getTimers() {
+        return sortedReadOnly(timers.values());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public List<MetricsCounter> getCounters() {
+        return sortedReadOnly(counters.values());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public List<MetricsGauge> getGauges() {
+        return sortedReadOnly(gauges.values());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void clear() {
+        timers.clear();
+        counters.clear();
+        gauges.clear();
+    }
+
+    /**
+     * @param name The metric name.
+     * @param identifier The statistics identifier.
+     * @return Returns a new timer.
+     */
+    protected MetricsTimer createTimer(String name, String identifier) {
+        return new MetricsTimerImpl(name, identifier);
+    }
+
+    /**
+     * @param name The metric name.
+     * @param identifier The statistics identifier.
+     * @return Returns a new counter.
+     */
+    protected MetricsCounter createCounter(String name, String identifier) {
+        return new MetricsCounterImpl(name, identifier);
+    }
+
+    private static <T extends Metric> List<T> sortedReadOnly(Collection<T> metrics) {
+        List<T> list = new ArrayList<T>(metrics);
+        Collections.sort(list, AbstractMetric.NAME_IDENTIFIER_ASC);
+        return Collections.unmodifiableList(list);
+    }
+
+    /**
+     * The key of a metric.
+     */
+    private static final class MetricKey implements Serializable {
+
+        private static final long serialVersionUID = -3010591283563383795L;
+
+        private final String name;
+
+        private final String identifier;
+
+        private MetricKey(String name, String identifier) {
+            this.name = name;
+            this.identifier = identifier;
+        }
+
+        @Override
+        public int hashCode() {
+            return (31 * name.hashCode()) + identifier.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof MetricKey)) {
+                return false;
+            }
+            MetricKey other = (MetricKey)obj;
+            return name.equals(other.name) && identifier.equals(other.identifier);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2010 Grepo Committers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.codehaus.grepo.statistics.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Default implementation of {@link MetricsCounter}.
+ *
+ * @author dguggi
+ */
+public class MetricsCounterImpl extends AbstractMetric implements MetricsCounter {
+
+    private static final long serialVersionUID = -4412587064216271151L;
+
+    private final AtomicLong count = new AtomicLong();
+
+    /**
+     * @param name The metric name.
+     * @param identifier The statistics identifier.
+     */
+    public MetricsCounterImpl(String name, String identifier) {
+        super(name, identifier);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public long increment() {
+        return count.incrementAndGet();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public long getCount() {
+        return count.get();
+    }
+}
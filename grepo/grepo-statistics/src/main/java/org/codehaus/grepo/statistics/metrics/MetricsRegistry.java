@@ -0,0 +1,69 @@
+/*
+ * Copyright 2010 Grepo Committers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.codehaus.grepo.statistics.metrics;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * A registry which holds timers, counters and gauges, each identified by a metric name and a statistics identifier.
+ *
+ * @author dguggi
+ */
+public interface MetricsRegistry extends Serializable {
+
+    /**
+     * @param name The metric name.
+     * @param identifier The statistics identifier.
+     * @return Returns the timer with the given name and identifier (which is created if necessary).
+     */
+    MetricsTimer getTimer(String name, String identifier);
+
+    /**
+     * @param name The metric name.
+     * @param identifier The statistics identifier.
+     * @return Returns the counter with the given name and identifier (which is created if necessary).
+     */
+    MetricsCounter getCounter(String name, String identifier);
+
+    /**
+     * @param gauge The gauge to register.
+     * @return Returns the registered gauge, which is the gauge already registered with the same name and identifier
+     *         (if any) or the given gauge.
+     */
+    MetricsGauge registerGauge(MetricsGauge gauge);
+
+    /**
+     * @return Returns a read only list of all timers sorted by name and identifier.
+     */
+    List<MetricsTimer> getTimers();
+
+    /**
+     * @return Returns a read only list of all counters sorted by name and identifier.
+     */
+    List<MetricsCounter> getCounters();
+
+    /**
+     * @return Returns a read only list of all gauges sorted by name and identifier.
+     */
+    List<MetricsGauge> getGauges();
+
+    /**
+     * Removes all metrics.
+     */
+    void clear();
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2010 Grepo Committers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.codehaus.grepo.statistics.metrics;
+
+import org.codehaus.grepo.statistics.collection.DurationHistogramSnapshot;
+
+/**
+ * A timer records durations and provides count, sum, max and percentiles.
+ *
+ * @author dguggi
+ */
+public interface MetricsTimer extends Metric {
+
+    /**
+     * @param durationMillis The duration to record (negative values are ignored).
+     */
+    void record(long durationMillis);
+
+    /**
+     * @return Returns the number of recorded durations.
+     */
+    long getCount();
+
+    /**
+     * @return Returns a point-in-time snapshot of the recorded durations.
+     */
+    DurationHistogramSnapshot getSnapshot();
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2010 Grepo Committers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.codehaus.grepo.statistics.metrics;
+
+import org.codehaus.grepo.statistics.collection.DurationHistogram;
+import org.codehaus.grepo.statistics.collection.DurationHistogramSnapshot;
+
+/**
+ * Default implementation of {@link MetricsTimer} backed by a {@link DurationHistogram}.
+ *
+ * @author dguggi
+ */
+public class MetricsTimerImpl extends AbstractMetric implements MetricsTimer {
+
+    private static final long serialVersionUID = 3035569446286513867L;
+
+    private final DurationHistogram histogram = new DurationHistogram();
+
+    /**
+     * @param name The metric name.
+     * @param identifier The statistics identifier.
+     */
+    public MetricsTimerImpl(String name, String identifier) {
+        super(name, identifier);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void record(long durationMillis) {
+        histogram.record(durationMillis);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public long getCount() {
+        return histogram.getCount();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public DurationHistogramSnapshot getSnapshot() {
+        return histogram.getSnapshot();
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright 2010 Grepo Committers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.codehaus.grepo.statistics.metrics;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.codehaus.grepo.statistics.collection.DurationHistogramSnapshot;
+import org.springframework.beans.factory.annotation.Required;
+import org.springframework.jmx.export.annotation.ManagedOperation;
+import org.springframework.jmx.export.annotation.ManagedResource;
+
+/**
+ * Writes all metrics of a {@link MetricsRegistry} using the plain text exposition format understood by common metric
+ * scrapers (for instance Prometheus): timers are written as summaries (with quantiles, sum and count) plus a max
+ * gauge, counters as counters and gauges as gauges. The statistics identifier is written as label.
+ *
+ * @author dguggi
+ */
+@ManagedResource("Plain text metrics exporter")
+public class PlainTextMetricsExporter {
+
+    /** The content type of the exposition format. */
+    public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private static final double[] QUANTILES = {0.5d, 0.9d, 0.99d, 0.999d};
+
+    private MetricsRegistry metricsRegistry;
+
+    /** The prefix of all metric names. */
+    private String prefix = "grepo_statistics";
+
+    /**
+     * @return Returns all metrics in plain text exposition format.
+     */
+    @ManagedOperation(description = "Exports all metrics in plain text exposition format")
+    public String export() {
+        StringWriter writer = new StringWriter();
+        try {
+            export(writer);
+        } catch (IOException e) {
+            // cannot happen with StringWriter
+            throw new IllegalStateException(e);
+        }
+        return writer.toString();
+    }
+
+    /**
+     * @param writer The writer.
+     * @throws IOException in case of errors.
+     */
+    public void export(Writer writer) throws IOException {
+        writeTimers(writer, metricsRegistry.getTimers());
+        writeCounters(writer, metricsRegistry.getCounters());
+        writeGauges(writer, metricsRegistry.getGauges());
+        writer.flush();
+    }
+
+    /**
+     * @param writer The writer.
+     * @param timers The timers (sorted by name).
+     * @throws IOException in case of errors.
+     */
+    protected void writeTimers(Writer writer, List<MetricsTimer> timers) throws IOException {
+        // take one snapshot per timer, so that the summary and the max are consistent...
+        List<DurationHistogramSnapshot> snapshots = new ArrayList<DurationHistogramSnapshot>(timers.size());
+        String currentName = null;
+        for (MetricsTimer timer : timers) {
+            String name = metricName(timer);
+            if (!name.equals(currentName)) {
+                writeType(writer, name, "summary");
+                currentName = name;
+            }
+            DurationHistogramSnapshot snapshot = timer.getSnapshot();
+            snapshots.add(snapshot);
+            for (double quantile : QUANTILES) {
+                writer.write(name + "{identifier=\"" + escape(timer.getIdentifier()) + "\",quantile=\"" + quantile
+                    + "\"} " + snapshot.getValueAtPercentile(quantile * 100.0d) + "\n");
+            }
+            writeSample(writer, name + "_sum", timer, Long.toString(snapshot.getSum()));
+            writeSample(writer, name + "_count", timer, Long.toString(snapshot.getCount()));
+        }
+
+        currentName = null;
+        for (int i = 0; i < timers.size(); i++) {
+            MetricsTimer timer = timers.get(i);
+            String name = metricName(timer) + "_max";
+            if (!name.equals(currentName)) {
+                writeType(writer, name, "gauge");
+                currentName = name;
+            }
+            writeSample(writer, name, timer, Long.toString(snapshots.get(i).getMax()));
+        }
+    }
+
+    /**
+     * @param writer The writer.
+     * @param counters The counters (sorted by name).
+     * @throws IOException in case of errors.
+     */
+    protected void writeCounters(Writer writer, List<MetricsCounter> counters) throws IOException {
+        String currentName = null;
+        for (MetricsCounter counter : counters) {
+            String name = metricName(counter);
+            if (!name.equals(currentName)) {
+                writeType(writer, name, "counter");
+                currentName = name;
+            }
+            writeSample(writer, name, counter, Long.toString(counter.getCount()));
+        }
+    }
+
+    /**
+     * @param writer The writer.
+     * @param gauges The gauges (sorted by name).
+     * @throws IOException in case of errors.
+     */
+    protected void writeGauges(Writer writer, List<MetricsGauge> gauges) throws IOException {
+        String currentName = null;
+        for (MetricsGauge gauge : gauges) {
+            String name = metricName(gauge);
+            if (!name.equals(currentName)) {
+                writeType(writer, name, "gauge");
+                currentName = name;
+            }
+            writeSample(writer, name, gauge, Double.toString(gauge.getValue()));
+        }
+    }
+
+    private static void writeType(Writer writer, String name, String type) throws IOException {
+        writer.write("# TYPE " + name + " " + type + "\n");
+    }
+
+    private static void writeSample(Writer writer, String name, Metric metric, String value) throws IOException {
+        writer.write(name + "{identifier=\"" + escape(metric.getIdentifier()) + "\"} " + value + "\n");
+    }
+
+    /**
+     * @param metric The metric.
+     * @return Returns the (sanitized) metric name including the prefix.
+     */
+    protected String metricName(Metric metric) {
+        String name = (prefix == null || prefix.length() == 0 ? metric.getName() : prefix + "_" + metric.getName());
+        StringBuilder sb = new StringBuilder(name.length());
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            boolean valid = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || c == '_' || c == ':'
+                || (i > 0 && c >= '0' && c <= '9');
+            sb.append(valid ? c : '_');
+        }
+        return sb.toString();
+    }
+
+    /**
+     * @param value The label value.
+     * @return Returns the escaped label value.
+     */
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    @Required
+    public void setMetricsRegistry(MetricsRegistry metricsRegistry) {
+        this.metricsRegistry = metricsRegistry;
+    }
+
+    public String getPrefix() {
+        return prefix;
+    }
+
+    public void setPrefix(String prefix) {
+        this.prefix = prefix;
+    }
+
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2010 Grepo Committers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.codehaus.grepo.statistics.metrics;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Required;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * A minimal HTTP endpoint (based on the HTTP server shipped with the JDK) which serves the output of a
+ * {@link PlainTextMetricsExporter}, so that local scrapers can read the metrics. By default the endpoint binds to the
+ * loopback interface only.
+ *
+ * @author dguggi
+ */
+public class PlainTextMetricsHttpEndpoint implements InitializingBean, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(PlainTextMetricsHttpEndpoint.class);
+
+    private PlainTextMetricsExporter exporter;
+
+    /** The host to bind to. */
+    private String host = "127.0.0.1";
+
+    /** The port to bind to ({@code 0} means any free port). */
+    private int port = 9404;
+
+    /** The context path. */
+    private String path = "/metrics";
+
+    /** The server. */
+    private HttpServer server;
+
+    /**
+     * {@inheritDoc}
+     */
+    public void afterPropertiesSet() throws IOException {
+        start();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void destroy() {
+        stop();
+    }
+
+    /**
+     * Starts the endpoint (if not already started).
+     *
+     * @throws IOException in case of errors.
+     */
+    public synchronized void start() throws IOException {
+        if (server == null) {
+            server = HttpServer.create(new InetSocketAddress(host, port), 0);
+            server.createContext(path, new HttpHandler() {
+                public void handle(HttpExchange exchange) throws IOException {
+                    handleRequest(exchange);
+                }
+            });
+            server.start();
+            logger.info("Serving metrics on http://{}:{}{}", new Object[] {host, getPort(), path});
+        }
+    }
+
+    /**
+     * Stops the endpoint.
+     */
+    public synchronized void stop() {
+        if (server != null) {
+            server.stop(0);
+            server = null;
+        }
+    }
+
+    /**
+     * @param exchange The exchange.
+     * @throws IOException in case of errors.
+     */
+    protected void handleRequest(HttpExchange exchange) throws IOException {
+        try {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            byte[] body = exporter.export().getBytes("UTF-8");
+            exchange.getResponseHeaders().set("Content-Type", PlainTextMetricsExporter.CONTENT_TYPE);
+            exchange.sendResponseHeaders(200, body.length);
+            OutputStream os = exchange.getResponseBody();
+            try {
+                os.write(body);
+            } finally {
+                os.close();
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * @return Returns the port the endpoint is bound to (or the configured port if the endpoint is not started).
+     */
+    public synchronized int getPort() {
+        return (server == null ? port : server.getAddress().getPort());
+    }
+
+    @Required
+    public void setExporter(PlainTextMetricsExporter exporter) {
+        this.exporter = exporter;
+    }
+
+    public void setHost(String host) {
+        this.host = host;
+    }
+
+    public void setPort(int port) {
+        this.port = port;
+    }
+
+    public void setPath(String path) {
+        this.path = path;
+    }
+
+}
@@ -20,6 +20,8 @@ import org.codehaus.grepo.core.repository.GenericRepositorySupport;
 import org.codehaus.grepo.statistics.annotation.MethodStatistics;
 import org.codehaus.grepo.statistics.aop.StatisticsMethodParameterInfo;
 import org.codehaus.grepo.statistics.domain.StatisticsEntry;
+import org.codehaus.grepo.statistics.domain.StatisticsEntryOutcome;
+import org.codehaus.grepo.statistics.service.SamplingStatisticsManager;
 import org.codehaus.grepo.statistics.service.StatisticsEntryIdentifierGenerationStrategy;
 import org.codehaus.grepo.statistics.service.StatisticsManager;
 import org.slf4j.Logger;
@@ -49,7 +51,12 @@ public class GenericStatisticsRepositorySupport extends GenericRepositorySupport
                         String identifier = getStatisticsEntryIdentifierGenerationStrategy().getIdentifier(mpi, null);
                         MethodStatistics annotation = mpi.getMethodAnnotation(MethodStatistics.class);
                         String origin = (annotation == null ? null : annotation.origin());
-                        entry = getStatisticsManager().createStatisticsEntry(identifier, origin);
+                        if (getStatisticsManager() instanceof SamplingStatisticsManager) {
+                            entry = ((SamplingStatisticsManager)getStatisticsManager()).createStatisticsEntry(
+                                identifier, origin, annotation);
+                        } else {
+                            entry = getStatisticsManager().createStatisticsEntry(identifier, origin);
+                        }
                         mpi.setStatisticsEntry(entry);
                     }
                 }
@@ -81,14 +88,93 @@ public class GenericStatisticsRepositorySupport extends GenericRepositorySupport
     }
 
 
+    /**
+     * Marks the statistics entry of the given method parameter info (if any) as successful, an already recorded
+     * result size is kept.
+     *
+     * @param mpi The method parameter info.
+     */
+    protected void recordStatisticsSuccess(StatisticsMethodParameterInfo mpi) {
+        recordStatisticsSuccess(mpi.getStatisticsEntry());
+    }
+
+    /**
+     * Marks the statistics entry of the given method parameter info (if any) as successful.
+     *
+     * @param mpi The method parameter info.
+     * @param resultSize The result size (may be {@code null}).
+     */
+    protected void recordStatisticsSuccess(StatisticsMethodParameterInfo mpi, Long resultSize) {
+        StatisticsEntry entry = mpi.getStatisticsEntry();
+        if (entry != null) {
+            entry.setResultSize(resultSize);
+        }
+        recordStatisticsSuccess(entry);
+    }
+
+    /**
+     * Marks the given statistics entry (if not {@code null}) as successful, an already recorded result size is kept.
+     *
+     * @param entry The statistics entry (may be {@code null}).
+     */
+    protected void recordStatisticsSuccess(StatisticsEntry entry) {
+        if (entry != null) {
+            entry.setOutcome(StatisticsEntryOutcome.SUCCESS);
+        }
+    }
+
+    /**
+     * Marks the statistics entry of the given method parameter info (if any) as failed.
+     *
+     * @param mpi The method parameter info.
+     * @param cause The exception which caused the failure.
+     */
+    protected void recordStatisticsFailure(StatisticsMethodParameterInfo mpi, Throwable cause) {
+        recordStatisticsFailure(mpi.getStatisticsEntry(), cause);
+    }
+
+    /**
+     * Marks the given statistics entry (if not {@code null}) as failed and records the class name of the given
+     * {@code cause}.
+     *
+     * @param entry The statistics entry (may be {@code null}).
+     * @param cause The exception which caused the failure.
+     */
+    protected void recordStatisticsFailure(StatisticsEntry entry, Throwable cause) {
+        if (entry != null) {
+            entry.setOutcome(StatisticsEntryOutcome.FAILURE);
+            entry.setExceptionClassName(cause.getClass().getName());
+        }
+    }
+
     /**
      * @param entry The statistics entry.
      */
     protected void completeStatisticsEntry(StatisticsEntry entry) {
+        completeStatisticsEntry(entry, null);
+    }
+
+    /**
+     * Completes the statistics entry of the given method parameter info, sampling options may be specified using the
+     * {@link MethodStatistics} annotation.
+     *
+     * @param mpi The method parameter info.
+     */
+    protected void completeStatisticsEntry(StatisticsMethodParameterInfo mpi) {
+        completeStatisticsEntry(mpi.getStatisticsEntry(), mpi.getMethodAnnotation(MethodStatistics.class));
+    }
+
+    /**
+     * @param entry The statistics entry.
+     * @param annotation The {@link MethodStatistics} annotation (may be {@code null}).
+     */
+    protected void completeStatisticsEntry(StatisticsEntry entry, MethodStatistics annotation) {
         try {
             if (isStatisticsEnabled() && entry != null) {
                 if (getStatisticsManager() == null) {
                     logger.warn("Unable to collect statistics, because statisticsManager is null");
+                } else if (getStatisticsManager() instanceof SamplingStatisticsManager) {
+                    ((SamplingStatisticsManager)getStatisticsManager()).completeStatisticsEntry(entry, annotation);
                 } else {
                     getStatisticsManager().completeStatisticsEntry(entry);
                 }
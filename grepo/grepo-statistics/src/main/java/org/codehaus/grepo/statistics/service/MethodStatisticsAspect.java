@@ -27,6 +27,7 @@ import org.codehaus.grepo.core.aop.MethodParameterInfo;
 import org.codehaus.grepo.core.aop.MethodParameterInfoImpl;
 import org.codehaus.grepo.statistics.annotation.MethodStatistics;
 import org.codehaus.grepo.statistics.domain.StatisticsEntry;
+import org.codehaus.grepo.statistics.domain.StatisticsEntryOutcome;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.BeansException;
@@ -61,7 +62,17 @@ public class MethodStatisticsAspect implements ApplicationContextAware {
     public Object methodStatistics(ProceedingJoinPoint pjp, MethodStatistics annotation) throws Throwable {
         StatisticsEntry entry = createEntry(pjp, annotation);
         try {
-            return pjp.proceed();
+            Object result = pjp.proceed();
+            if (entry != null) {
+                entry.setOutcome(StatisticsEntryOutcome.SUCCESS);
+            }
+            return result;
+        } catch (Throwable t) {
+            if (entry != null) {
+                entry.setOutcome(StatisticsEntryOutcome.FAILURE);
+                entry.setExceptionClassName(t.getClass().getName());
+            }
+            throw t;
         } finally {
             completeEntry(entry, annotation);
         }
@@ -82,7 +93,13 @@ public class MethodStatisticsAspect implements ApplicationContextAware {
 
             String identifier = statisticsIdentifierNamingStrategy.getIdentifier(mpi, annotation);
 
-            entry = getStatisticsManager(annotation.manager()).createStatisticsEntry(identifier, annotation.origin());
+            StatisticsManager manager = getStatisticsManager(annotation.manager());
+            if (manager instanceof SamplingStatisticsManager) {
+                entry = ((SamplingStatisticsManager)manager).createStatisticsEntry(identifier, annotation.origin(),
+                    annotation);
+            } else {
+                entry = manager.createStatisticsEntry(identifier, annotation.origin());
+            }
 
         } catch (Exception e) {
             logger.error("Unable to create StatisticsEntry: " + e.getMessage(), e);
@@ -97,7 +114,12 @@ public class MethodStatisticsAspect implements ApplicationContextAware {
     private void completeEntry(StatisticsEntry entry, MethodStatistics annotation) {
         if (entry != null) {
             try {
-                getStatisticsManager(annotation.manager()).completeStatisticsEntry(entry);
+                StatisticsManager manager = getStatisticsManager(annotation.manager());
+                if (manager instanceof SamplingStatisticsManager) {
+                    ((SamplingStatisticsManager)manager).completeStatisticsEntry(entry, annotation);
+                } else {
+                    manager.completeStatisticsEntry(entry);
+                }
             } catch (Exception e) {
                 logger.warn("Unable to complete StatisticsEntry: " + e.getMessage());
             }
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2010 Grepo Committers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.codehaus.grepo.statistics.service;
+
+import org.codehaus.grepo.statistics.annotation.MethodStatistics;
+import org.codehaus.grepo.statistics.domain.StatisticsEntry;
+
+/**
+ * A {@link StatisticsManager} which supports sampling options specified by the {@link MethodStatistics} annotation.
+ *
+ * @author dguggi
+ */
+public interface SamplingStatisticsManager extends StatisticsManager {
+
+    /**
+     * @param identifier The identifier.
+     * @param origin The origin.
+     * @param annotation The {@link MethodStatistics} annotation (may be {@code null}), which may specify sampling
+     *            options.
+     * @return The statistics entry.
+     */
+    StatisticsEntry createStatisticsEntry(String identifier, String origin, MethodStatistics annotation);
+
+    /**
+     * @param entry The statistics entry.
+     * @param annotation The {@link MethodStatistics} annotation (may be {@code null}), which may specify sampling
+     *            options.
+     */
+    void completeStatisticsEntry(StatisticsEntry entry, MethodStatistics annotation);
+
+}
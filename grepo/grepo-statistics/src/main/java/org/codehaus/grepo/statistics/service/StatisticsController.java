@@ -57,4 +57,32 @@ public interface StatisticsController extends Serializable {
      * Clears statistics.
      */
     void clearStatistics();
+
+    /**
+     * @param identifier The statistics identifier.
+     * @return Returns count, mean and p50/p90/p99/p999 of the durations recorded for the given identifier.
+     */
+    String printDurationPercentiles(String identifier);
+
+    /**
+     * @param identifier The statistics identifier.
+     * @return Returns count, mean and p50/p90/p99/p999 of the result sizes (rows per call) recorded for the given
+     *         identifier.
+     */
+    String printResultSizePercentiles(String identifier);
+
+    /**
+     * @param identifier The statistics identifier.
+     * @param windowSeconds The size of the sliding window in seconds.
+     * @return Returns throughput, errors and duration percentiles of the given identifier within the sliding window
+     *         ending now.
+     */
+    String printRollingStatistics(String identifier, long windowSeconds);
+
+    /**
+     * @param windowSeconds The size of the sliding window in seconds.
+     * @return Returns throughput, errors and duration percentiles of all identifiers within the sliding window ending
+     *         now.
+     */
+    String printAllRollingStatistics(long windowSeconds);
 }
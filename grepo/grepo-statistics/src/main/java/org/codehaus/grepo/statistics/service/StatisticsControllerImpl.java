@@ -16,10 +16,15 @@
 
 package org.codehaus.grepo.statistics.service;
 
+import org.codehaus.grepo.statistics.collection.DurationHistogramSnapshot;
+import org.codehaus.grepo.statistics.collection.RollingStatisticsCollection;
+import org.codehaus.grepo.statistics.collection.RollingWindowSnapshot;
 import org.codehaus.grepo.statistics.collection.StatisticsCollection;
 import org.springframework.beans.factory.annotation.Required;
 import org.springframework.jmx.export.annotation.ManagedAttribute;
 import org.springframework.jmx.export.annotation.ManagedOperation;
+import org.springframework.jmx.export.annotation.ManagedOperationParameter;
+import org.springframework.jmx.export.annotation.ManagedOperationParameters;
 import org.springframework.jmx.export.annotation.ManagedResource;
 
 /**
@@ -31,12 +36,17 @@ public class StatisticsControllerImpl implements StatisticsController {
     /** SerialVersionUid. */
     private static final long serialVersionUID = 2624852537573001764L;
 
+    private static final String NO_ROLLING_STATISTICS = "rolling statistics not configured";
+
     /** The statistics manager. */
     private StatisticsManager statisticsManager;
 
     /** The collection. */
     private StatisticsCollection statisticsCollection;
 
+    /** The rolling collection (optional). */
+    private RollingStatisticsCollection rollingStatisticsCollection;
+
     /**
      * {@inheritDoc}
      */
@@ -91,6 +101,82 @@ public class StatisticsControllerImpl implements StatisticsController {
     @ManagedOperation(description = "Clears statistics")
     public void clearStatistics() {
         statisticsCollection.clear();
+        if (rollingStatisticsCollection != null) {
+            rollingStatisticsCollection.clear();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @ManagedOperation(description = "Prints count, mean and duration percentiles")
+    @ManagedOperationParameters({
+        @ManagedOperationParameter(name = "identifier", description = "The identifier")
+    })
+    public String printDurationPercentiles(String identifier) {
+        DurationHistogramSnapshot snapshot = statisticsCollection.getDurationHistogramSnapshot(identifier);
+        if (snapshot == null) {
+            return "identifier '" + identifier + "' not found";
+        }
+        return identifier + ": " + snapshot;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @ManagedOperation(description = "Prints count, mean and result size percentiles")
+    @ManagedOperationParameters({
+        @ManagedOperationParameter(name = "identifier", description = "The identifier")
+    })
+    public String printResultSizePercentiles(String identifier) {
+        DurationHistogramSnapshot snapshot = statisticsCollection.getResultSizeHistogramSnapshot(identifier);
+        if (snapshot == null) {
+            return "identifier '" + identifier + "' not found";
+        }
+        return identifier + ": " + snapshot;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @ManagedOperation(description = "Prints throughput, errors and duration percentiles within a sliding window")
+    @ManagedOperationParameters({
+        @ManagedOperationParameter(name = "identifier", description = "The identifier"),
+        @ManagedOperationParameter(name = "windowSeconds", description = "The size of the window in seconds")
+    })
+    public String printRollingStatistics(String identifier, long windowSeconds) {
+        if (rollingStatisticsCollection == null) {
+            return NO_ROLLING_STATISTICS;
+        }
+        RollingWindowSnapshot snapshot = rollingStatisticsCollection.getWindowSnapshot(identifier,
+            windowSeconds * 1000L);
+        if (snapshot == null) {
+            return "identifier '" + identifier + "' not found";
+        }
+        return identifier + ": " + snapshot;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @ManagedOperation(description = "Prints throughput, errors and duration percentiles of all identifiers "
+        + "within a sliding window")
+    @ManagedOperationParameters({
+        @ManagedOperationParameter(name = "windowSeconds", description = "The size of the window in seconds")
+    })
+    public String printAllRollingStatistics(long windowSeconds) {
+        if (rollingStatisticsCollection == null) {
+            return NO_ROLLING_STATISTICS;
+        }
+        StringBuilder sb = new StringBuilder();
+        for (String identifier : rollingStatisticsCollection.getIdentifiersList()) {
+            RollingWindowSnapshot snapshot = rollingStatisticsCollection.getWindowSnapshot(identifier,
+                windowSeconds * 1000L);
+            if (snapshot != null) {
+                sb.append(identifier).append(": ").append(snapshot).append('\n');
+            }
+        }
+        return sb.toString();
     }
 
     @Required
@@ -111,5 +197,13 @@ public class StatisticsControllerImpl implements StatisticsController {
         return statisticsCollection;
     }
 
+    public void setRollingStatisticsCollection(RollingStatisticsCollection rollingStatisticsCollection) {
+        this.rollingStatisticsCollection = rollingStatisticsCollection;
+    }
+
+    protected RollingStatisticsCollection getRollingStatisticsCollection() {
+        return rollingStatisticsCollection;
+    }
+
 
 }
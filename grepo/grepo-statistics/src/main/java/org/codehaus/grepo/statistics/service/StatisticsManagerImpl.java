@@ -19,8 +19,13 @@ package org.codehaus.grepo.statistics.service;
 import java.util.Calendar;
 
 import org.apache.commons.lang.StringUtils;
+import org.codehaus.grepo.statistics.annotation.MethodStatistics;
 import org.codehaus.grepo.statistics.collection.StatisticsCollectionStrategy;
+import org.codehaus.grepo.statistics.collection.StatisticsCollectionUtils;
 import org.codehaus.grepo.statistics.domain.DurationAwareStatisticsEntry;
+import org.codehaus.grepo.statistics.domain.NanoTimeStatisticsEntry;
+import org.codehaus.grepo.statistics.domain.NanoTimeStatisticsEntryImpl;
+import org.codehaus.grepo.statistics.domain.StartingStatisticsEntryFactory;
 import org.codehaus.grepo.statistics.domain.StatisticsEntry;
 import org.codehaus.grepo.statistics.domain.StatisticsEntryFactory;
 import org.slf4j.Logger;
@@ -28,14 +33,22 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Required;
 
 /**
+ * Default implementation of {@link SamplingStatisticsManager}.
+ * <p>
+ * If a {@link StatisticsSamplingStrategy} is configured, the sampling decision is made before an entry is created.
+ * For invocations which are not sampled only a lightweight entry (without origin) is created, which is counted on
+ * completion (see {@link StatisticsCollectionUtils#countStatistics(StatisticsCollectionStrategy, StatisticsEntry)})
+ * unless the sampling strategy decides to sample it on completion (for instance because it is slow).
+ *
  * @author dguggi
  */
-public class StatisticsManagerImpl implements StatisticsManager {
+public class StatisticsManagerImpl implements SamplingStatisticsManager {
 
     private static final Logger logger = LoggerFactory.getLogger(StatisticsManagerImpl.class);
 
     private StatisticsEntryFactory statisticsEntryFactory;
     private StatisticsCollectionStrategy statisticsCollectionStrategy;
+    private StatisticsSamplingStrategy statisticsSamplingStrategy;
     private boolean enabled = true;
 
     /**
@@ -49,13 +62,31 @@ public class StatisticsManagerImpl implements StatisticsManager {
      * {@inheritDoc}
      */
     public StatisticsEntry createStatisticsEntry(String identifier, String origin) {
+        return createStatisticsEntry(identifier, origin, null);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public StatisticsEntry createStatisticsEntry(String identifier, String origin, MethodStatistics annotation) {
         StatisticsEntry entry = null;
         try {
             if (isEnabled() && StringUtils.isNotEmpty(identifier)) {
-                entry = statisticsEntryFactory.createStatisticsEntry(identifier, Calendar.getInstance(), origin);
-
-                if (statisticsCollectionStrategy != null) {
-                    statisticsCollectionStrategy.startStatistics(entry);
+                if (statisticsSamplingStrategy == null
+                    || statisticsSamplingStrategy.isSampled(identifier, annotation)) {
+                    if (statisticsEntryFactory instanceof StartingStatisticsEntryFactory) {
+                        entry = ((StartingStatisticsEntryFactory)statisticsEntryFactory).startStatisticsEntry(
+                            identifier, origin);
+                    } else {
+                        entry = statisticsEntryFactory.createStatisticsEntry(identifier, Calendar.getInstance(),
+                            origin);
+                    }
+
+                    if (statisticsCollectionStrategy != null) {
+                        statisticsCollectionStrategy.startStatistics(entry);
+                    }
+                } else {
+                    entry = createUnsampledStatisticsEntry(identifier);
                 }
             }
         } catch (Exception e) {
@@ -71,16 +102,30 @@ public class StatisticsManagerImpl implements StatisticsManager {
      * {@inheritDoc}
      */
     public void completeStatisticsEntry(StatisticsEntry entry) {
+        completeStatisticsEntry(entry, null);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void completeStatisticsEntry(StatisticsEntry entry, MethodStatistics annotation) {
         try {
             if (isEnabled()) {
-                if (entry instanceof DurationAwareStatisticsEntry) {
+                if (entry instanceof NanoTimeStatisticsEntry) {
+                    ((NanoTimeStatisticsEntry)entry).complete(System.nanoTime());
+                } else if (entry instanceof DurationAwareStatisticsEntry) {
                     DurationAwareStatisticsEntry daEntry = (DurationAwareStatisticsEntry)entry;
                     daEntry.setCompletion(Calendar.getInstance());
                     calculateDurationMillis(daEntry);
                 }
 
                 if (statisticsCollectionStrategy != null) {
-                    statisticsCollectionStrategy.completeStatistics(entry);
+                    if (!isUnsampled(entry) || (statisticsSamplingStrategy != null
+                        && statisticsSamplingStrategy.isSampledOnCompletion(entry, annotation))) {
+                        statisticsCollectionStrategy.completeStatistics(entry);
+                    } else {
+                        StatisticsCollectionUtils.countStatistics(statisticsCollectionStrategy, entry);
+                    }
                 }
             }
         } catch (Exception e) {
@@ -91,6 +136,28 @@ public class StatisticsManagerImpl implements StatisticsManager {
         }
     }
 
+    /**
+     * Creates a lightweight entry for an invocation which is not sampled. The entry has no origin and is not passed
+     * to {@link StatisticsCollectionStrategy#startStatistics(StatisticsEntry)}.
+     *
+     * @param identifier The identifier.
+     * @return Returns the entry.
+     */
+    protected StatisticsEntry createUnsampledStatisticsEntry(String identifier) {
+        UnsampledStatisticsEntry entry = new UnsampledStatisticsEntry();
+        entry.setIdentifier(identifier);
+        entry.start(System.currentTimeMillis(), System.nanoTime());
+        return entry;
+    }
+
+    /**
+     * @param entry The entry.
+     * @return Returns {@code true} if the given entry has been created for an invocation which is not sampled.
+     */
+    protected boolean isUnsampled(StatisticsEntry entry) {
+        return (entry instanceof UnsampledStatisticsEntry);
+    }
+
     /**
      * @param daEntry The entry.
      */
@@ -118,9 +185,21 @@ public class StatisticsManagerImpl implements StatisticsManager {
         this.statisticsCollectionStrategy = statisticsCollectionStrategy;
     }
 
+    public void setStatisticsSamplingStrategy(StatisticsSamplingStrategy statisticsSamplingStrategy) {
+        this.statisticsSamplingStrategy = statisticsSamplingStrategy;
+    }
+
     @Required
     public void setStatisticsEntryFactory(StatisticsEntryFactory statisticsEntryFactory) {
         this.statisticsEntryFactory = statisticsEntryFactory;
     }
 
+    /**
+     * Marks entries of invocations which are not sampled.
+     */
+    private static final class UnsampledStatisticsEntry extends NanoTimeStatisticsEntryImpl {
+
+        private static final long serialVersionUID = -4410327905447786531L;
+    }
+
 }
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2010 Grepo Committers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.codehaus.grepo.statistics.service;
+
+import org.codehaus.grepo.statistics.annotation.MethodStatistics;
+import org.codehaus.grepo.statistics.domain.StatisticsEntry;
+
+/**
+ * Decides whether or not an invocation is collected in detail (sampled) or only counted. The decision is made before
+ * the {@link StatisticsEntry} is created, so that not sampled invocations do not pay for the creation of a detailed
+ * entry (origin, calendar, start of the collection strategy). Slow invocations may still be sampled on completion.
+ *
+ * @author dguggi
+ */
+public interface StatisticsSamplingStrategy {
+
+    /**
+     * @param identifier The identifier of the invocation.
+     * @param annotation The {@link MethodStatistics} annotation (may be {@code null}).
+     * @return Returns {@code true} if the invocation should be collected in detail and {@code false} if it should
+     *         only be counted.
+     */
+    boolean isSampled(String identifier, MethodStatistics annotation);
+
+    /**
+     * @param entry The completed entry of an invocation which is not sampled.
+     * @param annotation The {@link MethodStatistics} annotation (may be {@code null}).
+     * @return Returns {@code true} if the entry should be collected in detail anyway (for instance because it is
+     *         slow) and {@code false} if it should only be counted.
+     */
+    boolean isSampledOnCompletion(StatisticsEntry entry, MethodStatistics annotation);
+}
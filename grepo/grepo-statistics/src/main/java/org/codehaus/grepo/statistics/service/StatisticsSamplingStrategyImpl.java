@@ -0,0 +1,118 @@
+/*
+ * Copyright 2010 Grepo Committers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.codehaus.grepo.statistics.service;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.codehaus.grepo.statistics.annotation.MethodStatistics;
+import org.codehaus.grepo.statistics.collection.StatisticsCollectionUtils;
+import org.codehaus.grepo.statistics.domain.StatisticsEntry;
+
+/**
+ * Default implementation of {@link StatisticsSamplingStrategy}, which samples a fixed rate of invocations per
+ * identifier and optionally always samples slow invocations. Defaults may be overridden per method using the
+ * {@link MethodStatistics} annotation.
+ * <p>
+ * The rate is applied using an accumulator: the {@code n}-th invocation of an identifier is sampled if
+ * {@code ceil((n + 1) * rate) > ceil(n * rate)}. Thus exactly (up to rounding of {@code double} values) the given
+ * fraction of invocations is sampled, evenly spread and starting with the first invocation (for instance a rate of
+ * {@code 0.4} samples two out of five invocations).
+ *
+ * @author dguggi
+ */
+public class StatisticsSamplingStrategyImpl implements StatisticsSamplingStrategy {
+
+    /** The invocation counters mapped by identifier. */
+    private final ConcurrentMap<String, AtomicLong> counters = new ConcurrentHashMap<String, AtomicLong>();
+
+    /** The default sample rate. */
+    private double defaultSampleRate = 1.0d;
+
+    /** The default threshold for slow invocations (negative values disable the threshold). */
+    private long alwaysSampleSlowerThanMillis = -1L;
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean isSampled(String identifier, MethodStatistics annotation) {
+        double sampleRate = defaultSampleRate;
+        if (annotation != null && annotation.sampleRate() >= 0) {
+            sampleRate = annotation.sampleRate();
+        }
+
+        if (sampleRate >= 1.0d) {
+            return true;
+        }
+        if (sampleRate <= 0.0d) {
+            return false;
+        }
+
+        long n = getCounter(identifier).getAndIncrement();
+        return Math.ceil((n + 1) * sampleRate) > Math.ceil(n * sampleRate);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean isSampledOnCompletion(StatisticsEntry entry, MethodStatistics annotation) {
+        long threshold = alwaysSampleSlowerThanMillis;
+        if (annotation != null && annotation.alwaysSampleSlowerThanMillis() >= 0) {
+            threshold = annotation.alwaysSampleSlowerThanMillis();
+        }
+
+        if (threshold >= 0) {
+            Long durationMillis = StatisticsCollectionUtils.getDurationMillis(entry);
+            return (durationMillis != null && durationMillis >= threshold);
+        }
+        return false;
+    }
+
+    /**
+     * @param identifier The identifier.
+     * @return Returns the invocation counter for the given identifier.
+     */
+    protected AtomicLong getCounter(String identifier) {
+        AtomicLong counter = counters.get(identifier);
+        if (counter == null) {
+            AtomicLong created = new AtomicLong();
+            counter = counters.putIfAbsent(identifier, created);
+            if (counter == null) {
+                counter = created;
+            }
+        }
+        return counter;
+    }
+
+    public double getDefaultSampleRate() {
+        return defaultSampleRate;
+    }
+
+    public void setDefaultSampleRate(double defaultSampleRate) {
+        this.defaultSampleRate = defaultSampleRate;
+    }
+
+    public long getAlwaysSampleSlowerThanMillis() {
+        return alwaysSampleSlowerThanMillis;
+    }
+
+    public void setAlwaysSampleSlowerThanMillis(long alwaysSampleSlowerThanMillis) {
+        this.alwaysSampleSlowerThanMillis = alwaysSampleSlowerThanMillis;
+    }
+
+}
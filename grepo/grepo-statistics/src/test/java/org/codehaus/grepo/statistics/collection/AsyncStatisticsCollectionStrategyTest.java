@@ -0,0 +1,138 @@
+/*
+ * Copyright 2010 Grepo Committers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.codehaus.grepo.statistics.collection;
+
+import org.codehaus.grepo.statistics.collection.AsyncStatisticsCollectionStrategy.OverflowPolicy;
+import org.codehaus.grepo.statistics.domain.DurationAwareStatisticsEntry;
+import org.codehaus.grepo.statistics.domain.DurationAwareStatisticsEntryImpl;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author dguggi
+ */
+public class AsyncStatisticsCollectionStrategyTest {
+
+    private StatisticsCollectionImpl collection;
+
+    private AsyncStatisticsCollectionStrategy strategy;
+
+    @Before
+    public void before() {
+        collection = new StatisticsCollectionImpl();
+        InMemoryStatisticsCollectionStrategy delegate = new InMemoryStatisticsCollectionStrategy();
+        delegate.setStatisticsCollection(collection);
+
+        strategy = new AsyncStatisticsCollectionStrategy();
+        strategy.setDelegate(delegate);
+    }
+
+    @Test
+    public void testCollectAndFlushOnDestroy() throws Exception {
+        strategy.setOverflowPolicy(OverflowPolicy.BLOCK);
+        strategy.setQueueCapacity(16);
+        strategy.setBatchSize(4);
+        strategy.afterPropertiesSet();
+
+        final int threads = 4;
+        final int entriesPerThread = 2000;
+        Thread[] producers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            producers[t] = new Thread(new Runnable() {
+                public void run() {
+                    for (int i = 0; i < entriesPerThread; i++) {
+                        strategy.completeStatistics(createEntry("id", i));
+                    }
+                }
+            });
+            producers[t].start();
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        strategy.destroy();
+
+        Assert.assertEquals(0, strategy.getQueueSize());
+        Assert.assertEquals(0L, strategy.getDroppedCount());
+        Assert.assertEquals(threads * entriesPerThread, collection.get("id").getNumberOfInvocations());
+    }
+
+    @Test
+    public void testDropOnOverflow() {
+        strategy.setQueueCapacity(2);
+        for (int i = 0; i < 5; i++) {
+            strategy.completeStatistics(createEntry("id", i));
+        }
+        Assert.assertEquals(2, strategy.getQueueSize());
+        Assert.assertEquals(3L, strategy.getDroppedCount());
+        Assert.assertNull(collection.get("id"));
+
+        strategy.flush();
+        Assert.assertEquals(0, strategy.getQueueSize());
+        Assert.assertEquals(2L, collection.get("id").getNumberOfInvocations());
+    }
+
+    @Test
+    public void testCompleteAfterStop() {
+        strategy.afterPropertiesSet();
+        strategy.destroy();
+
+        strategy.completeStatistics(createEntry("id", 1));
+        Assert.assertEquals(0, strategy.getQueueSize());
+        Assert.assertEquals(0L, strategy.getDroppedCount());
+        Assert.assertEquals(1L, collection.get("id").getNumberOfInvocations());
+    }
+
+    @Test
+    public void testWakeUpIdleConsumer() throws Exception {
+        strategy.afterPropertiesSet();
+        try {
+            for (int i = 1; i <= 3; i++) {
+                // give the consumer time to park...
+                Thread.sleep(50);
+                strategy.completeStatistics(createEntry("id", i));
+
+                long deadline = System.currentTimeMillis() + 5000;
+                while ((collection.get("id") == null || collection.get("id").getNumberOfInvocations() < i)
+                    && System.currentTimeMillis() < deadline) {
+                    Thread.sleep(5);
+                }
+                Assert.assertEquals(i, collection.get("id").getNumberOfInvocations());
+            }
+        } finally {
+            strategy.destroy();
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testSetQueueCapacityAfterStart() {
+        strategy.afterPropertiesSet();
+        try {
+            strategy.setQueueCapacity(16);
+        } finally {
+            strategy.destroy();
+        }
+    }
+
+    private static DurationAwareStatisticsEntry createEntry(String identifier, long duration) {
+        DurationAwareStatisticsEntry entry = new DurationAwareStatisticsEntryImpl();
+        entry.setIdentifier(identifier);
+        entry.setDurationMillis(duration);
+        return entry;
+    }
+}
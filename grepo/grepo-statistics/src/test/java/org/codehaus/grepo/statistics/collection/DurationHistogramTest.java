@@ -0,0 +1,67 @@
+/*
+ * Copyright 2009 Grepo Committers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.codehaus.grepo.statistics.collection;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author dguggi
+ */
+public class DurationHistogramTest {
+
+    @Test
+    public void testBucketLayout() {
+        for (long value = 0; value < 64; value++) {
+            Assert.assertEquals(value, DurationHistogram.highestEquivalentValue(DurationHistogram.countsIndex(value)));
+        }
+        for (long value = 64; value < 100000; value += 7) {
+            long highest = DurationHistogram.highestEquivalentValue(DurationHistogram.countsIndex(value));
+            Assert.assertTrue(highest >= value);
+            Assert.assertTrue((highest - value) <= value / 32);
+        }
+    }
+
+    @Test
+    public void testPercentiles() {
+        DurationHistogram histogram = new DurationHistogram();
+        Assert.assertEquals(0L, histogram.getSnapshot().getP99());
+
+        for (long value = 1; value <= 1000; value++) {
+            histogram.record(value);
+        }
+        histogram.record(-1L);
+
+        DurationHistogramSnapshot snapshot = histogram.getSnapshot();
+        Assert.assertEquals(1000L, snapshot.getCount());
+        Assert.assertEquals(500.5d, snapshot.getMean(), 0.001d);
+        Assert.assertEquals(1000L, snapshot.getMax());
+        assertWithinPrecision(500L, snapshot.getP50());
+        assertWithinPrecision(900L, snapshot.getP90());
+        assertWithinPrecision(990L, snapshot.getP99());
+        assertWithinPrecision(999L, snapshot.getP999());
+        Assert.assertEquals(1000L, snapshot.getValueAtPercentile(100.0d));
+
+        histogram.reset();
+        Assert.assertEquals(0L, histogram.getCount());
+    }
+
+    private static void assertWithinPrecision(long expected, long actual) {
+        Assert.assertTrue("expected " + expected + " but was " + actual,
+            actual >= expected && actual <= expected + expected / 32);
+    }
+}
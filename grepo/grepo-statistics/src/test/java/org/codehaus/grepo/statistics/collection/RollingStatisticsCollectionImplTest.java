@@ -0,0 +1,128 @@
+/*
+ * Copyright 2010 Grepo Committers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.codehaus.grepo.statistics.collection;
+
+import java.util.Calendar;
+
+import org.codehaus.grepo.statistics.domain.DurationAwareStatisticsEntry;
+import org.codehaus.grepo.statistics.domain.DurationAwareStatisticsEntryImpl;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author dguggi
+ */
+public class RollingStatisticsCollectionImplTest {
+
+    private long now;
+
+    private RollingStatisticsCollectionImpl collection;
+
+    @Before
+    public void before() {
+        now = 1000000000000L;
+        collection = new RollingStatisticsCollectionImpl() {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected long currentTimeMillis() {
+                return now;
+            }
+        };
+        collection.setNumberOfSecondBuckets(10);
+        collection.setNumberOfMinuteBuckets(5);
+    }
+
+    @Test
+    public void testSecondsWindow() {
+        Assert.assertNull(collection.getWindowSnapshot("a", 1000L));
+
+        for (int second = 0; second < 12; second++) {
+            collection.addStatisticsEntry(createEntry("a", (second + 1) * 10L));
+            collection.addStatisticsEntry(createEntry("a", (second + 1) * 10L));
+            now += 1000L;
+        }
+        now -= 1L;
+
+        RollingWindowSnapshot last = collection.getWindowSnapshot("a", 1000L);
+        Assert.assertEquals(2L, last.getCount());
+        Assert.assertEquals(120L, last.getDurations().getMax());
+
+        RollingWindowSnapshot lastFive = collection.getWindowSnapshot("a", 5000L);
+        Assert.assertEquals(10L, lastFive.getCount());
+        Assert.assertEquals(0L, lastFive.getErrorCount());
+        Assert.assertEquals(100.0d, lastFive.getDurations().getMean(), 0.001d);
+        Assert.assertEquals(2.0d, lastFive.getThroughputPerSecond(), 0.01d);
+
+        // the oldest two seconds are rotated out of the window
+        RollingWindowSnapshot all = collection.getWindowSnapshot("a", 10000L);
+        Assert.assertEquals(20L, all.getCount());
+
+        // nothing recorded within the last five seconds...
+        now += 10000L;
+        Assert.assertEquals(0L, collection.getWindowSnapshot("a", 5000L).getCount());
+    }
+
+    @Test
+    public void testMinutesWindow() {
+        for (int minute = 0; minute < 7; minute++) {
+            collection.addStatisticsEntry(createEntry("b", minute));
+            now += 60000L;
+        }
+
+        RollingWindowSnapshot snapshot = collection.getWindowSnapshot("b", 180000L);
+        Assert.assertEquals(2L, snapshot.getCount());
+        Assert.assertEquals(6L, snapshot.getDurations().getMax());
+
+        snapshot = collection.getWindowSnapshot("b", collection.getMaxWindowMillis() * 2);
+        Assert.assertEquals(4L, snapshot.getCount());
+
+        collection.clear();
+        Assert.assertTrue(collection.getIdentifiersList().isEmpty());
+    }
+
+    @Test
+    public void testEntryTimestamp() {
+        // entry completed three seconds ago (for instance collected asynchronously)...
+        DurationAwareStatisticsEntry entry = createEntry("c", 5L);
+        Calendar completion = Calendar.getInstance();
+        completion.setTimeInMillis(now - 3000L);
+        entry.setCompletion(completion);
+        collection.addStatisticsEntry(entry);
+
+        // entry created two seconds ago but not completed...
+        DurationAwareStatisticsEntry created = createEntry("c", 7L);
+        Calendar creation = Calendar.getInstance();
+        creation.setTimeInMillis(now - 2000L);
+        created.setCreation(creation);
+        collection.addStatisticsEntry(created);
+
+        Assert.assertEquals(0L, collection.getWindowSnapshot("c", 1000L).getCount());
+        Assert.assertEquals(1L, collection.getWindowSnapshot("c", 3000L).getCount());
+        RollingWindowSnapshot snapshot = collection.getWindowSnapshot("c", 4000L);
+        Assert.assertEquals(2L, snapshot.getCount());
+        Assert.assertEquals(7L, snapshot.getDurations().getMax());
+    }
+
+    private static DurationAwareStatisticsEntry createEntry(String identifier, long duration) {
+        DurationAwareStatisticsEntry entry = new DurationAwareStatisticsEntryImpl();
+        entry.setIdentifier(identifier);
+        entry.setDurationMillis(duration);
+        return entry;
+    }
+}
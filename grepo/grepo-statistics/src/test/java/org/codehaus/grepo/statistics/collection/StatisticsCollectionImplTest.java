@@ -0,0 +1,175 @@
+/*
+ * Copyright 2009 Grepo Committers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.codehaus.grepo.statistics.collection;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.codehaus.grepo.statistics.domain.DurationAwareStatisticsEntry;
+import org.codehaus.grepo.statistics.domain.DurationAwareStatisticsEntryImpl;
+import org.codehaus.grepo.statistics.domain.StatisticsEntry;
+import org.codehaus.grepo.statistics.domain.StatisticsEntryOutcome;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author dguggi
+ */
+public class StatisticsCollectionImplTest {
+
+    private StatisticsCollectionImpl collection;
+
+    @Before
+    public void before() {
+        collection = new StatisticsCollectionImpl();
+        collection.setMaxNumberOfRecentStatisticsEntries(3);
+        collection.setMaxNumberOfTopDurationStatisticsEntries(2);
+    }
+
+    @Test
+    public void testRecentAndTopDurationEntries() {
+        for (long duration : new long[] {5, 1, 9, 3, 7}) {
+            collection.addStatisticsEntry(createEntry("a", duration));
+        }
+
+        StatisticsCollectionEntry entry = collection.get("a");
+        Assert.assertEquals(5, entry.getNumberOfInvocations());
+        Assert.assertEquals(9L, entry.getMaxDurationStatisticsEntry().getDurationMillis().longValue());
+        Assert.assertEquals(1L, entry.getMinDurationStatisticsEntry().getDurationMillis().longValue());
+
+        List<StatisticsEntry> recent = entry.getRecentStatisticsEntriesList();
+        Assert.assertEquals(3, recent.size());
+        Assert.assertEquals(9L, StatisticsCollectionUtils.getDurationMillis(recent.get(0)).longValue());
+        Assert.assertEquals(7L, StatisticsCollectionUtils.getDurationMillis(recent.get(2)).longValue());
+
+        List<DurationAwareStatisticsEntry> top = StatisticsCollectionUtils.getTopDurationStatisticsEntries(entry,
+            StatisticsEntryComparator.DURATION_MILLIS_DESC);
+        Assert.assertEquals(2, top.size());
+        Assert.assertEquals(9L, top.get(0).getDurationMillis().longValue());
+        Assert.assertEquals(7L, top.get(1).getDurationMillis().longValue());
+
+        // shrink the ring buffer...
+        collection.setMaxNumberOfRecentStatisticsEntries(1);
+        collection.addStatisticsEntry(createEntry("a", 2));
+        recent = entry.getRecentStatisticsEntriesList();
+        Assert.assertEquals(1, recent.size());
+        Assert.assertEquals(2L, StatisticsCollectionUtils.getDurationMillis(recent.get(0)).longValue());
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    public void testDeprecatedHooksAndSnapshots() {
+        StatisticsCollectionEntryImpl entry = new StatisticsCollectionEntryImpl();
+        for (long duration : new long[] {5, 1, 9, 3}) {
+            entry.addStatisticsEntry(createEntry("a", duration), 3, 3);
+        }
+
+        List<StatisticsEntry> recent = entry.getRecentStatisticsEntriesReadOnly();
+        entry.addStatisticsEntry(createEntry("a", 8), 3, 3);
+        Assert.assertEquals(3, recent.size());
+        Assert.assertEquals(1L, StatisticsCollectionUtils.getDurationMillis(recent.get(0)).longValue());
+
+        entry.ensureRecentStatisticsEntriesSize(2);
+        Assert.assertEquals(2, entry.getRecentStatisticsEntries().size());
+        Assert.assertEquals(8L,
+            StatisticsCollectionUtils.getDurationMillis(entry.getRecentStatisticsEntries().get(1)).longValue());
+
+        entry.ensureTopDurationStatisticsEntriesSize(1);
+        Assert.assertEquals(1, entry.getTopDurationStatisticsEntries().size());
+        Assert.assertEquals(9L, entry.getTopDurationStatisticsEntries().get(0).getDurationMillis().longValue());
+    }
+
+    @Test
+    public void testOutcomeAndResultSize() {
+        DurationAwareStatisticsEntry success = createEntry("a", 1);
+        success.setOutcome(StatisticsEntryOutcome.SUCCESS);
+        success.setResultSize(10L);
+        collection.addStatisticsEntry(success);
+
+        DurationAwareStatisticsEntry failure = createEntry("a", 2);
+        failure.setOutcome(StatisticsEntryOutcome.FAILURE);
+        failure.setExceptionClassName(IllegalStateException.class.getName());
+        collection.addStatisticsEntry(failure);
+
+        DurationAwareStatisticsEntry counted = createEntry("a", 3);
+        counted.setOutcome(StatisticsEntryOutcome.SUCCESS);
+        counted.setResultSize(30L);
+        collection.countStatisticsEntry(counted);
+
+        StatisticsCollectionEntry entry = collection.get("a");
+        Assert.assertEquals(3, entry.getNumberOfInvocations());
+        Assert.assertEquals(1, entry.getNumberOfErrors());
+        Assert.assertTrue(failure.isFailure());
+        Assert.assertFalse(success.isFailure());
+
+        DurationHistogramSnapshot rows = collection.getResultSizeHistogramSnapshot("a");
+        Assert.assertEquals(2, rows.getCount());
+        Assert.assertEquals(40, rows.getSum());
+        Assert.assertNull(collection.getResultSizeHistogramSnapshot("unknown"));
+    }
+
+    @Test
+    public void testConcurrentAdd() throws Exception {
+        final int threads = 8;
+        final int entriesPerThread = 5000;
+        final CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (int t = 0; t < threads; t++) {
+                executor.execute(new Runnable() {
+                    public void run() {
+                        try {
+                            start.await();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            return;
+                        }
+                        for (int i = 0; i < entriesPerThread; i++) {
+                            collection.addStatisticsEntry(createEntry("id" + (i % 4), i));
+                        }
+                    }
+                });
+            }
+            start.countDown();
+        } finally {
+            executor.shutdown();
+        }
+        Assert.assertTrue(executor.awaitTermination(60, TimeUnit.SECONDS));
+
+        Assert.assertEquals(4, collection.size());
+        long total = 0;
+        for (StatisticsCollectionEntry entry : collection.getCollectionEntriesList()) {
+            total += entry.getNumberOfInvocations();
+            Assert.assertEquals(3, entry.getRecentStatisticsEntriesList().size());
+            Assert.assertEquals(2, entry.getTopDurationStatisticsEntriesList().size());
+        }
+        Assert.assertEquals(threads * entriesPerThread, total);
+        Assert.assertEquals(entriesPerThread - 1,
+            collection.get("id3").getMaxDurationStatisticsEntry().getDurationMillis().longValue());
+    }
+
+    private static DurationAwareStatisticsEntry createEntry(String identifier, long duration) {
+        DurationAwareStatisticsEntry entry = new DurationAwareStatisticsEntryImpl();
+        entry.setIdentifier(identifier);
+        entry.setDurationMillis(duration);
+        return entry;
+    }
+}
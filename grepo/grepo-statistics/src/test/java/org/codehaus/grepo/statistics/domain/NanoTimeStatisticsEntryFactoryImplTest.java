@@ -0,0 +1,74 @@
+/*
+ * Copyright 2009 Grepo Committers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.codehaus.grepo.statistics.domain;
+
+import java.util.Calendar;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author dguggi
+ */
+public class NanoTimeStatisticsEntryFactoryImplTest {
+
+    @Test
+    public void testStartAndComplete() {
+        NanoTimeStatisticsEntryFactoryImpl factory = new NanoTimeStatisticsEntryFactoryImpl();
+        long before = System.currentTimeMillis();
+        StatisticsEntry entry = factory.startStatisticsEntry("id", "origin");
+
+        Assert.assertTrue(entry instanceof NanoTimeStatisticsEntry);
+        NanoTimeStatisticsEntry ntEntry = (NanoTimeStatisticsEntry)entry;
+        Assert.assertEquals("id", ntEntry.getIdentifier());
+        Assert.assertEquals("origin", ntEntry.getOrigin());
+        Assert.assertTrue(ntEntry.getCreationMillis() >= before);
+        Assert.assertFalse(ntEntry.hasDurationMillis());
+        Assert.assertFalse(ntEntry.hasCompletion());
+        Assert.assertEquals(-1L, ntEntry.getDurationMicros());
+
+        ntEntry.complete(ntEntry.getStartNanos() + 2500000L);
+        Assert.assertEquals(2500000L, ntEntry.getDurationNanos());
+        Assert.assertEquals(2500L, ntEntry.getDurationMicros());
+        Assert.assertEquals(Long.valueOf(2L), ntEntry.getDurationMillis());
+        Assert.assertEquals(ntEntry.getCreationMillis() + 2L, ntEntry.getCompletionMillis().longValue());
+        Assert.assertEquals(ntEntry.getCreationMillis().longValue(), ntEntry.getCreation().getTimeInMillis());
+    }
+
+    @Test
+    public void testCreateWithCalendar() {
+        NanoTimeStatisticsEntryFactoryImpl factory = new NanoTimeStatisticsEntryFactoryImpl();
+        Calendar creation = Calendar.getInstance();
+        creation.setTimeInMillis(1000L);
+        NanoTimeStatisticsEntry entry =
+            (NanoTimeStatisticsEntry)factory.createStatisticsEntry("id", creation, "origin");
+
+        Assert.assertEquals(Long.valueOf(1000L), entry.getCreationMillis());
+        Assert.assertTrue(entry.getStartNanos() != 0L);
+        entry.complete(entry.getStartNanos() + 2500000L);
+        Assert.assertEquals(2500000L, entry.getDurationNanos());
+        Assert.assertEquals(Long.valueOf(1002L), entry.getCompletionMillis());
+    }
+
+    @Test
+    public void testCompleteWithoutStart() {
+        NanoTimeStatisticsEntry entry = new NanoTimeStatisticsEntryImpl();
+        entry.complete(System.nanoTime());
+        Assert.assertFalse(entry.hasDurationMillis());
+        Assert.assertFalse(entry.hasCompletion());
+    }
+}
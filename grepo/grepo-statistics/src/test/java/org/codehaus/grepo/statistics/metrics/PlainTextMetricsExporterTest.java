@@ -0,0 +1,159 @@
+/*
+ * Copyright 2010 Grepo Committers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.codehaus.grepo.statistics.metrics;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.concurrent.CountDownLatch;
+
+import org.codehaus.grepo.statistics.collection.InMemoryStatisticsCollectionStrategy;
+import org.codehaus.grepo.statistics.collection.MetricsStatisticsCollectionStrategy;
+import org.codehaus.grepo.statistics.collection.StatisticsCollectionImpl;
+import org.codehaus.grepo.statistics.domain.DurationAwareStatisticsEntry;
+import org.codehaus.grepo.statistics.domain.DurationAwareStatisticsEntryImpl;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author dguggi
+ */
+public class PlainTextMetricsExporterTest {
+
+    private InMemoryMetricsRegistry registry;
+
+    private MetricsStatisticsCollectionStrategy strategy;
+
+    private StatisticsCollectionImpl collection;
+
+    private PlainTextMetricsExporter exporter;
+
+    @Before
+    public void before() {
+        registry = new InMemoryMetricsRegistry();
+        collection = new StatisticsCollectionImpl();
+        InMemoryStatisticsCollectionStrategy delegate = new InMemoryStatisticsCollectionStrategy();
+        delegate.setStatisticsCollection(collection);
+
+        strategy = new MetricsStatisticsCollectionStrategy();
+        strategy.setMetricsRegistry(registry);
+        strategy.setDelegate(delegate);
+
+        exporter = new PlainTextMetricsExporter();
+        exporter.setMetricsRegistry(registry);
+    }
+
+    @Test
+    public void testPublishAndExport() {
+        for (long duration = 1; duration <= 10; duration++) {
+            strategy.completeStatistics(createEntry("repo.find\"x\"", duration));
+        }
+        strategy.countStatistics(createEntry("repo.find\"x\"", 100L));
+
+        Assert.assertEquals(11L, registry.getCounter(MetricsStatisticsCollectionStrategy.INVOCATIONS,
+            "repo.find\"x\"").getCount());
+        Assert.assertEquals(11L, registry.getTimer(MetricsStatisticsCollectionStrategy.DURATION,
+            "repo.find\"x\"").getCount());
+        Assert.assertEquals(11L, collection.get("repo.find\"x\"").getNumberOfInvocations());
+
+        String text = exporter.export();
+        Assert.assertTrue(text.contains("# TYPE grepo_statistics_duration_milliseconds summary\n"));
+        Assert.assertTrue(text.contains(
+            "grepo_statistics_duration_milliseconds{identifier=\"repo.find\\\"x\\\"\",quantile=\"0.5\"} 6\n"));
+        Assert.assertTrue(text.contains(
+            "grepo_statistics_duration_milliseconds_sum{identifier=\"repo.find\\\"x\\\"\"} 155\n"));
+        Assert.assertTrue(text.contains(
+            "grepo_statistics_duration_milliseconds_max{identifier=\"repo.find\\\"x\\\"\"} 100\n"));
+        Assert.assertTrue(text.contains("grepo_statistics_invocations_total{identifier=\"repo.find\\\"x\\\"\"} 11\n"));
+        Assert.assertTrue(text.contains("grepo_statistics_errors_total{identifier=\"repo.find\\\"x\\\"\"} 0\n"));
+        Assert.assertTrue(text.contains("grepo_statistics_error_ratio{identifier=\"repo.find\\\"x\\\"\"} 0.0\n"));
+    }
+
+    @Test
+    public void testConcurrentGaugeRegistration() throws Exception {
+        final int identifiers = 50;
+        final int threads = 4;
+        for (int i = 0; i < identifiers; i++) {
+            final String identifier = "id" + i;
+            final CountDownLatch startLatch = new CountDownLatch(1);
+            Thread[] publishers = new Thread[threads];
+            for (int t = 0; t < threads; t++) {
+                publishers[t] = new Thread(new Runnable() {
+                    public void run() {
+                        try {
+                            startLatch.await();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        strategy.completeStatistics(createEntry(identifier, 1L));
+                    }
+                });
+                publishers[t].start();
+            }
+            startLatch.countDown();
+            for (Thread publisher : publishers) {
+                publisher.join();
+            }
+        }
+
+        Assert.assertEquals(identifiers, registry.getGauges().size());
+        for (int i = 0; i < identifiers; i++) {
+            Assert.assertEquals(threads, registry.getCounter(MetricsStatisticsCollectionStrategy.INVOCATIONS,
+                "id" + i).getCount());
+        }
+    }
+
+    @Test
+    public void testHttpEndpoint() throws Exception {
+        strategy.completeStatistics(createEntry("a", 5L));
+
+        PlainTextMetricsHttpEndpoint endpoint = new PlainTextMetricsHttpEndpoint();
+        endpoint.setExporter(exporter);
+        endpoint.setPort(0);
+        endpoint.afterPropertiesSet();
+        try {
+            URL url = new URL("http://127.0.0.1:" + endpoint.getPort() + "/metrics");
+            HttpURLConnection connection = (HttpURLConnection)url.openConnection();
+            Assert.assertEquals(200, connection.getResponseCode());
+            Assert.assertEquals(PlainTextMetricsExporter.CONTENT_TYPE, connection.getContentType());
+
+            InputStream is = connection.getInputStream();
+            ByteArrayOutputStream bos = new ByteArrayOutputStream();
+            try {
+                byte[] buffer = new byte[1024];
+                int read;
+                while ((read = is.read(buffer)) != -1) {
+                    bos.write(buffer, 0, read);
+                }
+            } finally {
+                is.close();
+            }
+            Assert.assertEquals(exporter.export(), bos.toString("UTF-8"));
+        } finally {
+            endpoint.destroy();
+        }
+    }
+
+    private static DurationAwareStatisticsEntry createEntry(String identifier, long duration) {
+        DurationAwareStatisticsEntry entry = new DurationAwareStatisticsEntryImpl();
+        entry.setIdentifier(identifier);
+        entry.setDurationMillis(duration);
+        return entry;
+    }
+}
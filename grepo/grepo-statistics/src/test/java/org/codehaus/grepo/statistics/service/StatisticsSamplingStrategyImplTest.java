@@ -0,0 +1,123 @@
+/*
+ * Copyright 2010 Grepo Committers.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.codehaus.grepo.statistics.service;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.codehaus.grepo.statistics.annotation.MethodStatistics;
+import org.codehaus.grepo.statistics.collection.InMemoryStatisticsCollectionStrategy;
+import org.codehaus.grepo.statistics.collection.StatisticsCollectionEntry;
+import org.codehaus.grepo.statistics.collection.StatisticsCollectionImpl;
+import org.codehaus.grepo.statistics.domain.DurationAwareStatisticsEntry;
+import org.codehaus.grepo.statistics.domain.DurationAwareStatisticsEntryImpl;
+import org.codehaus.grepo.statistics.domain.NanoTimeStatisticsEntryFactoryImpl;
+import org.codehaus.grepo.statistics.domain.StatisticsEntry;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author dguggi
+ */
+public class StatisticsSamplingStrategyImplTest {
+
+    private StatisticsSamplingStrategyImpl samplingStrategy;
+
+    private MethodStatistics annotation;
+
+    @Before
+    public void before() throws Exception {
+        samplingStrategy = new StatisticsSamplingStrategyImpl();
+        annotation = getClass().getDeclaredMethod("sampledMethod").getAnnotation(MethodStatistics.class);
+    }
+
+    @Test
+    public void testDefaults() {
+        for (int i = 0; i < 10; i++) {
+            Assert.assertTrue(samplingStrategy.isSampled("a", null));
+        }
+
+        samplingStrategy.setDefaultSampleRate(0.0d);
+        samplingStrategy.setAlwaysSampleSlowerThanMillis(100L);
+        Assert.assertFalse(samplingStrategy.isSampled("a", null));
+        Assert.assertFalse(samplingStrategy.isSampledOnCompletion(createEntry("a", 99L), null));
+        Assert.assertTrue(samplingStrategy.isSampledOnCompletion(createEntry("a", 100L), null));
+    }
+
+    @Test
+    public void testAnnotationOverridesDefaults() {
+        int sampled = 0;
+        for (int i = 0; i < 100; i++) {
+            if (samplingStrategy.isSampled("a", annotation)) {
+                sampled++;
+            }
+        }
+        Assert.assertEquals(25, sampled);
+        Assert.assertFalse(samplingStrategy.isSampledOnCompletion(createEntry("a", 49L), annotation));
+        Assert.assertTrue(samplingStrategy.isSampledOnCompletion(createEntry("a", 50L), annotation));
+    }
+
+    @Test
+    public void testFractionalRate() {
+        samplingStrategy.setDefaultSampleRate(0.4d);
+        boolean[] expected = new boolean[] {true, false, true, false, false};
+        for (int i = 0; i < 100; i++) {
+            Assert.assertEquals(expected[i % 5], samplingStrategy.isSampled("a", null));
+        }
+    }
+
+    @Test
+    public void testCountsAreExact() {
+        final AtomicInteger started = new AtomicInteger();
+        StatisticsCollectionImpl collection = new StatisticsCollectionImpl();
+        InMemoryStatisticsCollectionStrategy collectionStrategy = new InMemoryStatisticsCollectionStrategy() {
+            @Override
+            public void startStatistics(StatisticsEntry entry) {
+                started.incrementAndGet();
+            }
+        };
+        collectionStrategy.setStatisticsCollection(collection);
+
+        StatisticsManagerImpl manager = new StatisticsManagerImpl();
+        manager.setStatisticsEntryFactory(new NanoTimeStatisticsEntryFactoryImpl());
+        manager.setStatisticsCollectionStrategy(collectionStrategy);
+        manager.setStatisticsSamplingStrategy(samplingStrategy);
+
+        for (int i = 0; i < 8; i++) {
+            StatisticsEntry entry = manager.createStatisticsEntry("b", "origin", annotation);
+            Assert.assertEquals((i % 4 == 0 ? "origin" : null), entry.getOrigin());
+            manager.completeStatisticsEntry(entry, annotation);
+        }
+
+        StatisticsCollectionEntry entry = collection.get("b");
+        Assert.assertEquals(8L, entry.getNumberOfInvocations());
+        Assert.assertEquals(8L, entry.getDurationHistogram().getCount());
+        Assert.assertEquals(2, entry.getRecentStatisticsEntriesList().size());
+        Assert.assertEquals(2, started.get());
+    }
+
+    @MethodStatistics(sampleRate = 0.25d, alwaysSampleSlowerThanMillis = 50L)
+    private void sampledMethod() {
+    }
+
+    private static DurationAwareStatisticsEntry createEntry(String identifier, long duration) {
+        DurationAwareStatisticsEntry entry = new DurationAwareStatisticsEntryImpl();
+        entry.setIdentifier(identifier);
+        entry.setDurationMillis(duration);
+        return entry;
+    }
+}